@@ -0,0 +1,23 @@
+package com.nbr.bankingsystem.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Transaction volume of an account.
+ * For live statistics `volume` is an estimate that may exceed the true volume by at most `error`.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountVolumeDTO {
+
+    private String account;
+    private Double volume;
+    private Double error;
+
+    public AccountVolumeDTO(String account, Double volume) {
+        this(account, volume, 0.0);
+    }
+}
@@ -1,9 +1,9 @@
 package com.nbr.bankingsystem.DTO;
 
+import com.nbr.bankingsystem.validation.ValidEmail;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
@@ -13,7 +13,7 @@ import jakarta.validation.constraints.Size;
 public class AuthenticationRequest {
 
     @NotBlank(message = "Email is required")
-    @Email(message = "Email should be valid")
+    @ValidEmail(message = "Email should be valid")
     private String email;
 
     @NotBlank(message = "Password is required")
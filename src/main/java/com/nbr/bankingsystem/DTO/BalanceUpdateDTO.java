@@ -0,0 +1,43 @@
+package com.nbr.bankingsystem.DTO;
+
+import com.nbr.bankingsystem.enums.CurrencyCode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A live balance update pushed to a customer's balance stream.
+ * The first update of a stream is the current balance, without a transaction.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BalanceUpdateDTO {
+
+    /**
+     * The transaction that changed the balance, null for the initial balance.
+     */
+    private Long transactionId;
+
+    /**
+     * SAVING, WITHDRAW, TRANSFER_SENT or TRANSFER_RECEIVED; null for the initial balance.
+     */
+    private String type;
+
+    private Double amount;
+    private Double balance;
+    private CurrencyCode currency;
+
+    /**
+     * The account on the other side of a transfer.
+     */
+    private String counterpartyAccount;
+
+    private LocalDateTime bankingDateTime;
+
+    public static BalanceUpdateDTO initial(double balance, CurrencyCode currency) {
+        return new BalanceUpdateDTO(null, null, null, balance, currency, null, null);
+    }
+}
@@ -0,0 +1,22 @@
+package com.nbr.bankingsystem.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * A batch of the change feed, oldest change first.
+ * `nextOffset` is the `after` to ask for next: the sequence of the last change, or the requested offset when empty.
+ * `headSequence` is the newest sequence published so far, so readers can tell how far behind they are.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeBatchDTO {
+
+    private List<ChangeDTO> changes;
+    private long nextOffset;
+    private long headSequence;
+}
@@ -0,0 +1,24 @@
+package com.nbr.bankingsystem.DTO;
+
+import com.nbr.bankingsystem.eventbus.SequencedEvent;
+import com.nbr.bankingsystem.events.DomainEvent;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One entry of the change feed: a committed change with its position in the feed.
+ * The event is written with its kind in the `type` property (e.g. TransferCompleted).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeDTO {
+
+    private long sequence;
+    private DomainEvent event;
+
+    public static ChangeDTO fromEvent(SequencedEvent event) {
+        return new ChangeDTO(event.sequence(), event.event());
+    }
+}
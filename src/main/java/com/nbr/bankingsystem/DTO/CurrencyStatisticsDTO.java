@@ -0,0 +1,26 @@
+package com.nbr.bankingsystem.DTO;
+
+import com.nbr.bankingsystem.enums.CurrencyCode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Live totals of the balances and transactions in one currency.
+ * Transfers are counted in the currency of the sender.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CurrencyStatisticsDTO {
+
+    private CurrencyCode currency;
+    private double totalBalances;
+    private double totalDeposits;
+    private double totalWithdrawals;
+    private double totalTransferred;
+    private List<TransactionTypeStatisticsDTO> byType;
+    private List<AccountVolumeDTO> topAccounts;
+}
@@ -0,0 +1,18 @@
+package com.nbr.bankingsystem.DTO;
+
+import com.nbr.bankingsystem.enums.CurrencyCode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A total amount in one currency.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CurrencyTotalDTO {
+
+    private CurrencyCode currency;
+    private Double amount;
+}
@@ -4,10 +4,12 @@ import jakarta.validation.constraints.Size;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import com.nbr.bankingsystem.validation.IsoDate;
 import com.nbr.bankingsystem.validation.PastOrPresentDate;
+import com.nbr.bankingsystem.validation.RwandanMobile;
+import com.nbr.bankingsystem.validation.ValidEmail;
 import io.swagger.v3.oas.annotations.media.Schema;
 
-import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 
@@ -30,7 +32,7 @@ public class CustomerDTO {
     private String lastName;
 
     @NotBlank(message = "Email is required")
-    @Email(message = "Email should be valid")
+    @ValidEmail(message = "Email should be valid")
     @Schema(description = "Email address of the customer", example = "john.doe@example.com")
     private String email;
 
@@ -40,13 +42,16 @@ public class CustomerDTO {
     private String password;
 
     @NotBlank(message = "Mobile number is required")
-    @Pattern(regexp = "^(078|079|072|073|074)\\d{7}$", message = "Mobile number should be valid")
+    @RwandanMobile(message = "Mobile number should be valid")
     @Schema(description = "Mobile number of the customer", example = "0781234567")
     private String mobile;
 
     @NotBlank(message = "Date of birth is required")
-    @Pattern(regexp = "^\\d{4}-\\d{2}-\\d{2}$", message = "Date of birth should be in the format yyyy-MM-dd")
+    @IsoDate(message = "Date of birth should be in the format yyyy-MM-dd")
     @PastOrPresentDate(message = "Date of birth cannot be in the future")
     @Schema(description = "Date of birth of the customer", example = "1990-01-01")
     private String dob;
+
+    @Schema(description = "Currency of the account: RWF, USD or EUR. Defaults to RWF", example = "RWF")
+    private String currency;
 }
@@ -0,0 +1,21 @@
+package com.nbr.bankingsystem.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of the customer listing.
+ * `nextCursor` is passed back as `cursor` to read the following page, and is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerPageDTO {
+
+    private List<CustomerSummaryDTO> items;
+    private int size;
+    private String nextCursor;
+}
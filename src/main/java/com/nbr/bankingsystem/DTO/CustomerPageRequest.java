@@ -0,0 +1,50 @@
+package com.nbr.bankingsystem.DTO;
+
+import com.nbr.bankingsystem.enums.CustomerSortField;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Query parameters of the paginated customer listing.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerPageRequest {
+
+    @Schema(description = "Column to sort by", example = "REGISTRATION_DATE")
+    private CustomerSortField sort = CustomerSortField.ID;
+
+    @Schema(description = "Sort direction", example = "DESC")
+    private Sort.Direction direction = Sort.Direction.ASC;
+
+    @Min(value = 1, message = "Page size must be at least 1")
+    @Max(value = 100, message = "Page size must be at most 100")
+    @Schema(description = "Number of customers per page", example = "50")
+    private int size = 50;
+
+    @Schema(description = "Cursor returned as nextCursor by the previous page; omit for the first page")
+    private String cursor;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    @Schema(description = "Only customers registered on or after this day", example = "2024-01-01")
+    private LocalDate registeredFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    @Schema(description = "Only customers registered on or before this day", example = "2024-12-31")
+    private LocalDate registeredTo;
+
+    @Schema(description = "Minimum balance, inclusive", example = "1000")
+    private Double minBalance;
+
+    @Schema(description = "Maximum balance, inclusive", example = "50000")
+    private Double maxBalance;
+}
@@ -0,0 +1,51 @@
+package com.nbr.bankingsystem.DTO;
+
+import com.nbr.bankingsystem.enums.CurrencyCode;
+import com.nbr.bankingsystem.models.Customer;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+
+/**
+ * Read model of a customer as returned by the API.
+ * The linked user account (and its password hash) is never part of the response.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerResponseDTO {
+
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String mobile;
+    private String account;
+    private Double balance;
+    private CurrencyCode currency;
+    private Date dob;
+    private LocalDateTime lastUpdateTime;
+
+    /**
+     * Builds the read model from a managed Customer entity.
+     *
+     * @param customer the customer
+     * @return the response DTO
+     */
+    public static CustomerResponseDTO fromEntity(Customer customer) {
+        return new CustomerResponseDTO(
+                customer.getId(),
+                customer.getFirstName(),
+                customer.getLastName(),
+                customer.getEmail(),
+                customer.getMobile(),
+                customer.getAccount(),
+                customer.getBalance(),
+                customer.getCurrency(),
+                customer.getDob(),
+                customer.getLastUpdateTime());
+    }
+}
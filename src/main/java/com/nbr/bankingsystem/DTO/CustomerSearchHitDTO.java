@@ -0,0 +1,22 @@
+package com.nbr.bankingsystem.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A single customer search result. Only the identifying columns are returned, never the balance.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerSearchHitDTO {
+
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String mobile;
+    private String account;
+    private double score;
+}
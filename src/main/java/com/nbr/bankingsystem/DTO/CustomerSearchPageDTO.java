@@ -0,0 +1,23 @@
+package com.nbr.bankingsystem.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of customer search results, best matches first.
+ * `total` counts the ranked matches, which are capped, not every customer sharing a trigram with the query.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerSearchPageDTO {
+
+    private String query;
+    private int page;
+    private int size;
+    private int total;
+    private List<CustomerSearchHitDTO> results;
+}
@@ -0,0 +1,26 @@
+package com.nbr.bankingsystem.DTO;
+
+import com.nbr.bankingsystem.enums.CurrencyCode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Slim read model of a customer for the admin listing; only the listed columns are selected.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerSummaryDTO {
+
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String account;
+    private Double balance;
+    private CurrencyCode currency;
+    private LocalDateTime registrationDateTime;
+}
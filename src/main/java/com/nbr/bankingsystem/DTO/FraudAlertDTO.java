@@ -0,0 +1,30 @@
+package com.nbr.bankingsystem.DTO;
+
+import com.nbr.bankingsystem.models.FraudAlert;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read model of a fraud alert as returned by the API.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FraudAlertDTO {
+
+    private Long id;
+    private Long customerId;
+    private Long transactionId;
+    private Double score;
+    private String reasons;
+    private boolean customerFrozen;
+    private LocalDateTime createdAt;
+
+    public static FraudAlertDTO fromEntity(FraudAlert alert) {
+        return new FraudAlertDTO(alert.getId(), alert.getCustomerId(), alert.getTransactionId(), alert.getScore(),
+                alert.getReasons(), alert.isCustomerFrozen(), alert.getCreatedAt());
+    }
+}
@@ -0,0 +1,22 @@
+package com.nbr.bankingsystem.DTO;
+
+import com.nbr.bankingsystem.enums.CurrencyCode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Exchange rate between two currencies: `rate` units of `to` per unit of `from`.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FxRateDTO {
+
+    private CurrencyCode from;
+    private CurrencyCode to;
+    private double rate;
+    private LocalDateTime loadedAt;
+}
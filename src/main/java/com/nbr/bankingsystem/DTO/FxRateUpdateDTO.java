@@ -0,0 +1,22 @@
+package com.nbr.bankingsystem.DTO;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO used by admins to set the RWF rate of a foreign currency.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FxRateUpdateDTO {
+
+    @NotNull(message = "Rate is required")
+    @Positive(message = "Rate must be positive")
+    @Schema(description = "RWF per unit of the currency", example = "1300.5")
+    private Double rwfPerUnit;
+}
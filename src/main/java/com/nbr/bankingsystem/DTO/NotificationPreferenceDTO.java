@@ -0,0 +1,20 @@
+package com.nbr.bankingsystem.DTO;
+
+import com.nbr.bankingsystem.notifications.DeliveryMode;
+import com.nbr.bankingsystem.notifications.channel.ChannelType;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationPreferenceDTO {
+
+    @NotNull(message = "Channel is required")
+    private ChannelType channel;
+
+    @NotNull(message = "Delivery mode is required")
+    private DeliveryMode mode;
+}
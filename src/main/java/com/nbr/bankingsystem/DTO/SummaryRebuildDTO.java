@@ -0,0 +1,22 @@
+package com.nbr.bankingsystem.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Result of rebuilding the daily summaries of a date range.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SummaryRebuildDTO {
+
+    private LocalDate from;
+    private LocalDate to;
+    private int days;
+    private long rows;
+    private long durationMillis;
+}
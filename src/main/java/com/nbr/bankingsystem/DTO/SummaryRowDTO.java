@@ -0,0 +1,38 @@
+package com.nbr.bankingsystem.DTO;
+
+import com.nbr.bankingsystem.enums.CurrencyCode;
+import com.nbr.bankingsystem.enums.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * One row of a summary report. Only the column the report is grouped by and the currency are set;
+ * the others are null. Amounts of different currencies are always in different rows.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SummaryRowDTO {
+
+    private LocalDate date;
+    private Long customerId;
+    private TransactionType type;
+    private CurrencyCode currency;
+    private Long transactionCount;
+    private Double totalAmount;
+
+    public SummaryRowDTO(LocalDate date, CurrencyCode currency, Long transactionCount, Double totalAmount) {
+        this(date, null, null, currency, transactionCount, totalAmount);
+    }
+
+    public SummaryRowDTO(Long customerId, CurrencyCode currency, Long transactionCount, Double totalAmount) {
+        this(null, customerId, null, currency, transactionCount, totalAmount);
+    }
+
+    public SummaryRowDTO(TransactionType type, CurrencyCode currency, Long transactionCount, Double totalAmount) {
+        this(null, null, type, currency, transactionCount, totalAmount);
+    }
+}
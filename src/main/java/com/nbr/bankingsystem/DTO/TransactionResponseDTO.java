@@ -0,0 +1,49 @@
+package com.nbr.bankingsystem.DTO;
+
+import com.nbr.bankingsystem.enums.CurrencyCode;
+import com.nbr.bankingsystem.enums.TransactionType;
+import com.nbr.bankingsystem.models.Banking;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read model of a banking transaction as returned by the API.
+ * Only carries the columns of the Banking table, so listing transactions never touches the customer table.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionResponseDTO {
+
+    private Long id;
+    private Long customerId;
+    private String account;
+    private Double amount;
+    private CurrencyCode currency;
+    private Double fxRate;
+    private TransactionType type;
+    private Long receiverId;
+    private LocalDateTime bankingDateTime;
+
+    /**
+     * Builds the read model from a managed Banking entity.
+     *
+     * @param banking the banking transaction
+     * @return the response DTO
+     */
+    public static TransactionResponseDTO fromEntity(Banking banking) {
+        return new TransactionResponseDTO(
+                banking.getId(),
+                banking.getCustomer().getId(),
+                banking.getAccount(),
+                banking.getAmount(),
+                banking.getCurrency(),
+                banking.getFxRate(),
+                banking.getType(),
+                banking.getReceiverId(),
+                banking.getBankingDateTime());
+    }
+}
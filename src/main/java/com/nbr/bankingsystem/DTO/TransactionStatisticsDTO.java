@@ -0,0 +1,20 @@
+package com.nbr.bankingsystem.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Live totals of the banking system, as kept in memory by the statistics service, per currency.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionStatisticsDTO {
+
+    private LocalDateTime asOf;
+    private List<CurrencyStatisticsDTO> currencies;
+}
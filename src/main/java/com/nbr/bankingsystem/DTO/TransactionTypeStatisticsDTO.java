@@ -0,0 +1,22 @@
+package com.nbr.bankingsystem.DTO;
+
+import com.nbr.bankingsystem.enums.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * All-time totals and recent windows of one transaction type.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionTypeStatisticsDTO {
+
+    private TransactionType type;
+    private long count;
+    private double amount;
+    private List<WindowStatisticsDTO> windows;
+}
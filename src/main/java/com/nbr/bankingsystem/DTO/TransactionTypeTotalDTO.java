@@ -0,0 +1,21 @@
+package com.nbr.bankingsystem.DTO;
+
+import com.nbr.bankingsystem.enums.CurrencyCode;
+import com.nbr.bankingsystem.enums.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number and total amount of the transactions of one type in one currency.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionTypeTotalDTO {
+
+    private TransactionType type;
+    private CurrencyCode currency;
+    private Long count;
+    private Double amount;
+}
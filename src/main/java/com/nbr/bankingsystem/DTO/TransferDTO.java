@@ -18,6 +18,10 @@ public class TransferDTO {
     @NotNull(message = "Receiver customer ID is required")
     private Long receiverCustomerId;
 
+    /**
+     * Amount debited from the sender, in the sender's currency; the receiver is credited
+     * the converted amount when the accounts are held in different currencies.
+     */
     @NotNull(message = "Amount is required")
     @Min(value = 1, message = "Amount must be greater than zero")
     private Double amount;
@@ -0,0 +1,18 @@
+package com.nbr.bankingsystem.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number and amount of transactions in a time window, e.g. "previousMinute" or "last15Minutes".
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WindowStatisticsDTO {
+
+    private String window;
+    private long count;
+    private double amount;
+}
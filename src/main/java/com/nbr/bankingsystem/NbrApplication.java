@@ -4,11 +4,13 @@ import io.github.cdimascio.dotenv.Dotenv;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
 @SpringBootApplication
 @EnableJpaRepositories(basePackages = "com.nbr.bankingsystem.repositories")
 @EntityScan(basePackages = "com.nbr.bankingsystem.models")
+@ConfigurationPropertiesScan
 public class NbrApplication {
 
 	public static void main(String[] args) {
@@ -23,6 +25,9 @@ public class NbrApplication {
 		System.setProperty("MAIL_USERNAME", dotenv.get("MAIL_USERNAME"));
 		System.setProperty("MAIL_PASSWORD", dotenv.get("MAIL_PASSWORD"));
 
+		System.setProperty("JWT_SIGNING_KEYS", dotenv.get("JWT_SIGNING_KEYS", ""));
+		System.setProperty("JWT_ACTIVE_KEY_ID", dotenv.get("JWT_ACTIVE_KEY_ID", ""));
+
 		SpringApplication.run(NbrApplication.class, args);
 	}
 }
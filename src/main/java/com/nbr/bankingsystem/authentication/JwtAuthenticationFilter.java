@@ -1,11 +1,10 @@
 package com.nbr.bankingsystem.authentication;
 
-import com.nbr.bankingsystem.services.CustomUserDetailsService;
 import com.nbr.bankingsystem.utils.AuditLogger;
-import org.springframework.beans.factory.annotation.Autowired;
+import io.jsonwebtoken.Claims;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import jakarta.servlet.FilterChain;
@@ -15,20 +14,21 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * This is a filter class for JWT (JSON Web Token) authentication.
  * It extends OncePerRequestFilter to ensure a single execution per request dispatch.
  * It is annotated with @Component to indicate that it is an autodetectable bean.
  *
- * The class contains references to JwtTokenUtil and CustomUserDetailsService, which are injected via @Autowired.
+ * The class contains references to JwtTokenUtil and TokenRevocationIndex, which are injected via the constructor.
  *
  * The main method of this class is doFilterInternal, which:
  * - Extracts the JWT from the request header.
- * - Validates the JWT.
- * - If the JWT is valid, it gets the username and user ID from the JWT.
- * - Loads the user details from the CustomUserDetailsService.
- * - If the user details are not null, it authenticates the user and sets the authentication in the SecurityContext.
+ * - Parses and validates the JWT once.
+ * - Rejects refresh tokens, tokens whose id is in the revocation index and tokens of revoked users.
+ * - Builds the authentication from the username and role claims, without a database lookup,
+ *   and sets it in the SecurityContext.
  * - Logs the authentication or failure.
  * - Continues the filter chain.
  *
@@ -40,33 +40,36 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
 
     private final JwtTokenUtil jwtTokenUtil;
-    private final CustomUserDetailsService customUserDetailsService;
+    private final TokenRevocationIndex tokenRevocationIndex;
 
-    public JwtAuthenticationFilter(JwtTokenUtil jwtTokenUtil, CustomUserDetailsService customUserDetailsService) {
+    public JwtAuthenticationFilter(JwtTokenUtil jwtTokenUtil, TokenRevocationIndex tokenRevocationIndex) {
         this.jwtTokenUtil = jwtTokenUtil;
-        this.customUserDetailsService = customUserDetailsService;
+        this.tokenRevocationIndex = tokenRevocationIndex;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
         String jwt = getJwtFromRequest(request);
+        Claims claims = jwt != null ? jwtTokenUtil.parseClaims(jwt) : null;
 
-        if (jwt != null && jwtTokenUtil.validateToken(jwt)) {
-            String username = jwtTokenUtil.getUsernameFromToken(jwt);
-            Long userId = jwtTokenUtil.getIdFromToken(jwt);
-            UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
+        if (claims != null
+                && JwtTokenUtil.ACCESS_TOKEN.equals(claims.get(JwtTokenUtil.TOKEN_TYPE_CLAIM, String.class))
+                && !tokenRevocationIndex.isRevoked(claims.getId())
+                && !tokenRevocationIndex.isUserRevoked(claims.get(JwtTokenUtil.ID_CLAIM, Long.class), claims.getIssuedAt().getTime())) {
+            String username = claims.getSubject();
+            Long userId = claims.get(JwtTokenUtil.ID_CLAIM, Long.class);
+            List<SimpleGrantedAuthority> authorities =
+                    List.of(new SimpleGrantedAuthority("ROLE_" + claims.get(JwtTokenUtil.ROLE_CLAIM, String.class)));
 
-            if (userDetails != null) {
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                    username, null, authorities);
+            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-                AuditLogger.log("User Authenticated", "User: " + username + ", User ID: " + userId + ", Roles: " + userDetails.getAuthorities().toString());
-            }
-        } else {
-            AuditLogger.log("JWT Validation Failed", "JWT: " + jwt);
+            SecurityContextHolder.getContext().setAuthentication(authentication);
+            AuditLogger.log("User Authenticated", "User: " + username + ", User ID: " + userId + ", Roles: " + authorities);
+        } else if (jwt != null) {
+            AuditLogger.log("JWT Validation Failed", "Invalid, revoked or non-access token presented");
         }
         chain.doFilter(request, response);
     }
@@ -1,76 +1,163 @@
 package com.nbr.bankingsystem.authentication;
 
+import com.nbr.bankingsystem.config.security.JwtProperties;
 import com.nbr.bankingsystem.models.UserModel;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import com.nbr.bankingsystem.utils.AuditLogger;
 
+import javax.crypto.SecretKey;
 import java.security.Key;
+import java.util.Base64;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
 
 /**
  * This is a utility class for JWT (JSON Web Token) operations.
  * It is annotated with @Component to indicate that it is an autodetectable bean.
  *
- * The class contains a secret key for signing the JWTs, which is generated using the HS512 algorithm.
+ * Tokens are signed with the active key of a configurable keyset (app.jwt.signing-keys) and carry its id
+ * in the `kid` header, so every node sharing the keyset accepts them and keys can be rotated without
+ * logging everyone out. Without a configured keyset a random key is generated per process.
  *
  * The main methods of this class are:
- * - generateToken: Generates a JWT for a given user. The token contains the username and user ID as claims.
- *                  It is issued at the current time and expires after an hour.
- * - getUsernameFromToken: Extracts the username from a given JWT.
- * - getIdFromToken: Extracts the user ID from a given JWT.
+ * - generateToken: Generates a short-lived access token for a given user.
+ * - generateRefreshToken: Generates a long-lived refresh token, only accepted by /users/refresh.
+ * - parseClaims: Verifies a token once and returns all of its claims, or null if it is invalid.
+ * - getUsernameFromToken / getIdFromToken: Extract single claims from a given JWT.
  * - validateToken: Validates a given JWT by parsing it. If the parsing is successful, the token is valid.
  *                  If the parsing fails, an exception is caught and logged, and the method returns false.
+ *
+ * Every token gets a unique id (jti) so it can be revoked through the TokenRevocationIndex.
  */
 
 @Component
 public class JwtTokenUtil {
 
-    private final Key key = Keys.secretKeyFor(SignatureAlgorithm.HS512);
+    public static final String TOKEN_TYPE_CLAIM = "typ";
+    public static final String ACCESS_TOKEN = "access";
+    public static final String REFRESH_TOKEN = "refresh";
+    public static final String ID_CLAIM = "id";
+    public static final String ROLE_CLAIM = "role";
 
-    public String generateToken(UserDetails userDetails) {
-        int jwtExpirationInMs = 3600000;
+    private final Map<String, SecretKey> keys = new LinkedHashMap<>();
+    private final String activeKeyId;
+    private final long accessTokenTtlMillis;
+    private final long refreshTokenTtlMillis;
+    private final JwtParser parser;
 
-        return Jwts.builder()
-                .setSubject(userDetails.getUsername())
-                .claim("id", ((UserModel) userDetails).getId()) // Include user ID in the token
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(new Date().getTime() + jwtExpirationInMs))
-                .signWith(key)
-                .compact();
+    public JwtTokenUtil(JwtProperties properties) {
+        String signingKeys = properties.getSigningKeys();
+        if (signingKeys != null && !signingKeys.isBlank()) {
+            for (String entry : signingKeys.split(",")) {
+                String[] parts = entry.trim().split(":", 2);
+                if (parts.length != 2) {
+                    throw new IllegalStateException("app.jwt.signing-keys entries must be keyId:base64Secret");
+                }
+                keys.put(parts[0].trim(), Keys.hmacShaKeyFor(Base64.getDecoder().decode(parts[1].trim())));
+            }
+        }
+
+        if (keys.isEmpty()) {
+            AuditLogger.log("JWT_EPHEMERAL_KEY", "No app.jwt.signing-keys configured, tokens will not survive a restart");
+            keys.put("ephemeral", Keys.secretKeyFor(SignatureAlgorithm.HS512));
+        }
+
+        String configuredKeyId = properties.getActiveKeyId();
+        this.activeKeyId = configuredKeyId != null && !configuredKeyId.isBlank()
+                ? configuredKeyId
+                : keys.keySet().iterator().next();
+        if (!keys.containsKey(activeKeyId)) {
+            throw new IllegalStateException("app.jwt.active-key-id " + activeKeyId + " is not in app.jwt.signing-keys");
+        }
+
+        this.accessTokenTtlMillis = properties.getAccessTokenTtl().toMillis();
+        this.refreshTokenTtlMillis = properties.getRefreshTokenTtl().toMillis();
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        SecretKey key = keys.get(header.getKeyId());
+                        if (key == null) {
+                            throw new SignatureException("Unknown signing key: " + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
+                .build();
     }
 
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public String generateToken(UserDetails userDetails) {
+        UserModel user = (UserModel) userDetails;
+        return generateToken(UUID.randomUUID().toString(), user.getUsername(), user.getId(), user.getRole().name(),
+                ACCESS_TOKEN, accessTokenTtlMillis);
+    }
 
-        return claims.getSubject();
+    /**
+     * @param jti the token id, which the caller stores as the usable refresh token of the user
+     */
+    public String generateRefreshToken(UserDetails userDetails, String jti) {
+        UserModel user = (UserModel) userDetails;
+        return generateToken(jti, user.getUsername(), user.getId(), user.getRole().name(), REFRESH_TOKEN, refreshTokenTtlMillis);
     }
 
-    public Long getIdFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * @return the lifetime of refresh tokens, the longest-lived tokens issued
+     */
+    public long getRefreshTokenTtlMillis() {
+        return refreshTokenTtlMillis;
+    }
+
+    private String generateToken(String jti, String subject, Long id, String role, String type, long ttlMillis) {
+        long now = System.currentTimeMillis();
 
-        return claims.get("id", Long.class);
+        return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, activeKeyId)
+                .setId(jti)
+                .setSubject(subject)
+                .claim(ID_CLAIM, id) // Include user ID in the token
+                .claim(ROLE_CLAIM, role)
+                .claim(TOKEN_TYPE_CLAIM, type)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + ttlMillis))
+                .signWith(keys.get(activeKeyId))
+                .compact();
     }
 
-    public boolean validateToken(String authToken) {
+    /**
+     * Verifies the signature and expiry of a token.
+     *
+     * @param token the JWT
+     * @return the claims of the token, or null if it is invalid
+     */
+    public Claims parseClaims(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(authToken);
-            return true;
+            return parser.parseClaimsJws(token).getBody();
         } catch (Exception ex) {
             AuditLogger.log("JWT Validation Failed", ex.getMessage());
+            return null;
         }
-        return false;
+    }
+
+    public String getUsernameFromToken(String token) {
+        return parser.parseClaimsJws(token).getBody().getSubject();
+    }
+
+    public Long getIdFromToken(String token) {
+        return parser.parseClaimsJws(token).getBody().get(ID_CLAIM, Long.class);
+    }
+
+    public boolean validateToken(String authToken) {
+        return parseClaims(authToken) != null;
     }
 }
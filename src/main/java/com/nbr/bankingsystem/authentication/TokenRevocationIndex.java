@@ -0,0 +1,150 @@
+package com.nbr.bankingsystem.authentication;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory index of revoked token ids (jti), and of users whose tokens were all revoked at once.
+ *
+ * A lock-free bloom filter answers "definitely not revoked" for almost every token without touching
+ * the exact set; only bloom hits are confirmed against an expiring map of jti to expiry time.
+ * Entries are dropped once the token would have expired anyway, and the bloom filter is rebuilt
+ * from the remaining entries so it does not fill up over time.
+ *
+ * Revoking a user rejects every token issued to them up to that moment; there are few such users,
+ * so they are kept in a plain map.
+ */
+@Component
+public class TokenRevocationIndex {
+
+    private static final int BLOOM_BITS = 1 << 20;
+    private static final int BLOOM_HASHES = 4;
+
+    private final Map<String, Long> revokedUntil = new ConcurrentHashMap<>();
+    private final Map<Long, UserRevocation> revokedUsers = new ConcurrentHashMap<>();
+    private final AtomicReference<AtomicLongArray> bloom = new AtomicReference<>(new AtomicLongArray(BLOOM_BITS / 64));
+
+    /**
+     * Revokes a token until its expiry time.
+     *
+     * @param jti       the token id
+     * @param expiresAt the expiry of the token, in epoch milliseconds
+     */
+    public void revoke(String jti, long expiresAt) {
+        if (jti == null || expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+        revokedUntil.put(jti, expiresAt);
+        addToBloom(bloom.get(), jti);
+    }
+
+    /**
+     * Revokes every token issued to a user until now.
+     *
+     * @param userId    the user id
+     * @param expiresAt the latest expiry of those tokens, in epoch milliseconds
+     */
+    public void revokeUser(Long userId, long expiresAt) {
+        revokedUsers.put(userId, new UserRevocation(System.currentTimeMillis(), expiresAt));
+    }
+
+    /**
+     * Checks whether all tokens of a user issued at the given time have been revoked.
+     *
+     * @param userId   the user id
+     * @param issuedAt the issue time of the token, in epoch milliseconds
+     * @return true if the token was revoked with the user
+     */
+    public boolean isUserRevoked(Long userId, long issuedAt) {
+        UserRevocation revocation = userId != null ? revokedUsers.get(userId) : null;
+        return revocation != null && issuedAt <= revocation.revokedAt();
+    }
+
+    /**
+     * Checks whether a token id has been revoked.
+     *
+     * @param jti the token id
+     * @return true if the token was revoked
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null || !mightContain(bloom.get(), jti)) {
+            return false;
+        }
+        return revokedUntil.containsKey(jti);
+    }
+
+    /**
+     * Drops the entries of expired tokens and rebuilds the bloom filter without them.
+     */
+    @Scheduled(fixedDelayString = "${app.jwt.revocation-purge-interval:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revokedUsers.values().removeIf(revocation -> revocation.expiresAt() <= now);
+        if (!revokedUntil.values().removeIf(expiresAt -> expiresAt <= now)) {
+            return;
+        }
+
+        AtomicLongArray rebuilt = new AtomicLongArray(BLOOM_BITS / 64);
+        revokedUntil.keySet().forEach(jti -> addToBloom(rebuilt, jti));
+        bloom.set(rebuilt);
+        // revocations that raced with the rebuild may have set bits in the old filter only
+        revokedUntil.keySet().forEach(jti -> addToBloom(rebuilt, jti));
+    }
+
+    private record UserRevocation(long revokedAt, long expiresAt) {
+    }
+
+    private static void addToBloom(AtomicLongArray bits, String jti) {
+        long hash = hash(jti);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            int bit = (h1 + i * h2) & (BLOOM_BITS - 1);
+            int word = bit >>> 6;
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    private static boolean mightContain(AtomicLongArray bits, String jti) {
+        long hash = hash(jti);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            int bit = (h1 + i * h2) & (BLOOM_BITS - 1);
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 64-bit FNV-1a followed by a murmur3 finalizer, split into two 32-bit halves for double hashing.
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
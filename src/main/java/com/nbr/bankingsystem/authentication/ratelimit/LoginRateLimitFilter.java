@@ -0,0 +1,136 @@
+package com.nbr.bankingsystem.authentication.ratelimit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nbr.bankingsystem.config.security.RateLimitProperties;
+import com.nbr.bankingsystem.enums.ResponseType;
+import com.nbr.bankingsystem.responses.Response;
+import com.nbr.bankingsystem.utils.AuditLogger;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles the unauthenticated endpoints before any database or BCrypt work is done.
+ *
+ * Every request is first charged to the bucket of its client IP. For requests with a JSON body, the `email`
+ * field is also charged to a bucket keyed on the email and the client IP, which slows down password guessing
+ * from one address without locking the owner out elsewhere, and to a larger bucket of the email alone, which
+ * slows down guessing spread over many addresses.
+ * Throttled requests get a 429 with a Retry-After header.
+ *
+ * The client IP is the remote address, unless the request comes from a configured trusted proxy: the
+ * X-Forwarded-For header is then read from the right, skipping trusted proxies, because only the entries
+ * appended by those proxies can be relied on.
+ */
+@Component
+public class LoginRateLimitFilter extends OncePerRequestFilter {
+
+    private static final Set<String> LIMITED_PATHS = Set.of("/users/login", "/users/register", "/users/refresh", "/customers/register");
+    private static final int MAX_BODY_BYTES = 16 * 1024;
+
+    private final LoginRateLimiter loginRateLimiter;
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public LoginRateLimitFilter(LoginRateLimiter loginRateLimiter, RateLimitProperties properties, ObjectMapper objectMapper) {
+        this.loginRateLimiter = loginRateLimiter;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled()
+                || !"POST".equals(request.getMethod())
+                || !LIMITED_PATHS.contains(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String ip = clientIp(request);
+        long wait = loginRateLimiter.tryAcquireForIp(ip);
+        if (wait > 0) {
+            AuditLogger.log("RATE_LIMITED", "IP: " + ip + ", Path: " + request.getServletPath());
+            reject(response, wait);
+            return;
+        }
+
+        byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+        if (body.length > MAX_BODY_BYTES) {
+            response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+            return;
+        }
+
+        String email = emailOf(body);
+        if (email != null) {
+            wait = loginRateLimiter.tryAcquireForEmail(email, ip);
+            if (wait > 0) {
+                AuditLogger.log("RATE_LIMITED", "Email: " + email + ", Path: " + request.getServletPath());
+                reject(response, wait);
+                return;
+            }
+        }
+
+        chain.doFilter(new CachedBodyHttpServletRequest(request, body), response);
+    }
+
+    private String clientIp(HttpServletRequest request) {
+        Set<String> trustedProxies = properties.getTrustedProxies();
+        String ip = request.getRemoteAddr();
+        if (!trustedProxies.contains(ip)) {
+            return ip;
+        }
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if (forwardedFor == null) {
+            return ip;
+        }
+        int end = forwardedFor.length();
+        while (end > 0) {
+            int comma = forwardedFor.lastIndexOf(',', end - 1);
+            String hop = forwardedFor.substring(comma + 1, end).trim();
+            if (hop.isEmpty()) {
+                break;
+            }
+            ip = hop;
+            if (!trustedProxies.contains(hop)) {
+                break;
+            }
+            end = comma;
+        }
+        return ip;
+    }
+
+    private String emailOf(byte[] body) {
+        if (body.length == 0) {
+            return null;
+        }
+        try {
+            JsonNode email = objectMapper.readTree(body).get("email");
+            return email != null && email.isTextual() ? email.asText().trim().toLowerCase(Locale.ROOT) : null;
+        } catch (IOException e) {
+            // malformed bodies are rejected by the controller
+            return null;
+        }
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        response.setStatus(429);
+        response.setHeader("Retry-After", String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L))));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new Response()
+                .setResponseType(ResponseType.TOO_MANY_REQUESTS)
+                .setMessage("Too many requests, please try again later")
+                .setPayload(null));
+    }
+}
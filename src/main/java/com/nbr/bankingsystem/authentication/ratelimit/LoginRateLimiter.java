@@ -0,0 +1,82 @@
+package com.nbr.bankingsystem.authentication.ratelimit;
+
+import com.nbr.bankingsystem.config.security.RateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-IP, per-(email, IP) and per-email token buckets for the unauthenticated endpoints.
+ * Requests over the limit are counted in the `auth.rate_limited` meter, tagged by the limit that was hit.
+ */
+@Component
+public class LoginRateLimiter {
+
+    private final Limiter ipLimiter;
+    private final Limiter emailLimiter;
+    private final Limiter emailTotalLimiter;
+
+    public LoginRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.ipLimiter = new Limiter(properties.getIp(), properties.getMaxEntries(),
+                Counter.builder("auth.rate_limited").tag("limit", "ip").register(meterRegistry));
+        this.emailLimiter = new Limiter(properties.getEmail(), properties.getMaxEntries(),
+                Counter.builder("auth.rate_limited").tag("limit", "email").register(meterRegistry));
+        this.emailTotalLimiter = new Limiter(properties.getEmailTotal(), properties.getMaxEntries(),
+                Counter.builder("auth.rate_limited").tag("limit", "email_total").register(meterRegistry));
+    }
+
+    /**
+     * @return 0 if the request is allowed, otherwise the nanoseconds until the client may retry
+     */
+    public long tryAcquireForIp(String ip) {
+        return ipLimiter.tryAcquire(ip);
+    }
+
+    /**
+     * Charges the bucket of the email at this IP, then the bucket of the email across all IPs.
+     * Requests refused by the first are not charged to the second, so one address cannot drain it alone faster
+     * than its own limit allows.
+     *
+     * @return 0 if the request is allowed, otherwise the nanoseconds until the client may retry
+     */
+    public long tryAcquireForEmail(String email, String ip) {
+        long wait = emailLimiter.tryAcquire(email + ' ' + ip);
+        return wait > 0 ? wait : emailTotalLimiter.tryAcquire(email);
+    }
+
+    /**
+     * Drops the buckets of clients that have been quiet long enough to be back at full capacity.
+     */
+    @Scheduled(fixedDelayString = "${app.security.rate-limit.sweep-interval:60000}")
+    public void removeFullBuckets() {
+        long now = System.nanoTime();
+        ipLimiter.buckets.removeFull(now);
+        emailLimiter.buckets.removeFull(now);
+        emailTotalLimiter.buckets.removeFull(now);
+    }
+
+    private static final class Limiter {
+
+        private final StripedBucketMap buckets;
+        private final long emissionInterval;
+        private final long burstTolerance;
+        private final Counter rejected;
+
+        private Limiter(RateLimitProperties.Limit limit, int maxEntries, Counter rejected) {
+            this.buckets = new StripedBucketMap(maxEntries);
+            this.emissionInterval = limit.getPeriod().toNanos() / limit.getCapacity();
+            this.burstTolerance = emissionInterval * (limit.getCapacity() - 1);
+            this.rejected = rejected;
+        }
+
+        private long tryAcquire(String key) {
+            long now = System.nanoTime();
+            long wait = buckets.get(key, now).tryAcquire(now, emissionInterval, burstTolerance);
+            if (wait > 0) {
+                rejected.increment();
+            }
+            return wait;
+        }
+    }
+}
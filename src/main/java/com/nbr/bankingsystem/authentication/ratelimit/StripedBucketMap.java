@@ -0,0 +1,77 @@
+package com.nbr.bankingsystem.authentication.ratelimit;
+
+import com.nbr.bankingsystem.utils.TokenBucket;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded map of token buckets, split into stripes so that eviction only ever scans a small map.
+ *
+ * When a stripe grows past its share of the capacity, a few of its entries are sampled and the least
+ * recently used one is evicted (approximate LRU). Evicting a bucket at worst hands its key a fresh burst.
+ */
+final class StripedBucketMap {
+
+    private static final int STRIPES = 16;
+    private static final int EVICTION_SAMPLE = 8;
+
+    private final ConcurrentHashMap<String, TokenBucket>[] stripes;
+    private final int maxEntriesPerStripe;
+
+    @SuppressWarnings("unchecked")
+    StripedBucketMap(int maxEntries) {
+        this.stripes = new ConcurrentHashMap[STRIPES];
+        this.maxEntriesPerStripe = Math.max(1, maxEntries / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    TokenBucket get(String key, long now) {
+        ConcurrentHashMap<String, TokenBucket> stripe = stripeFor(key);
+        TokenBucket bucket = stripe.get(key);
+        if (bucket == null) {
+            bucket = stripe.computeIfAbsent(key, k -> new TokenBucket(now));
+            if (stripe.size() > maxEntriesPerStripe) {
+                evictOne(stripe, key);
+            }
+        }
+        return bucket;
+    }
+
+    /**
+     * Drops the buckets that have refilled completely.
+     *
+     * @return the number of remaining buckets
+     */
+    int removeFull(long now) {
+        int remaining = 0;
+        for (ConcurrentHashMap<String, TokenBucket> stripe : stripes) {
+            stripe.values().removeIf(bucket -> bucket.isFull(now));
+            remaining += stripe.size();
+        }
+        return remaining;
+    }
+
+    private void evictOne(ConcurrentHashMap<String, TokenBucket> stripe, String keep) {
+        Map.Entry<String, TokenBucket> oldest = null;
+        Iterator<Map.Entry<String, TokenBucket>> entries = stripe.entrySet().iterator();
+        for (int i = 0; i < EVICTION_SAMPLE && entries.hasNext(); i++) {
+            Map.Entry<String, TokenBucket> entry = entries.next();
+            if (!entry.getKey().equals(keep)
+                    && (oldest == null || entry.getValue().lastAccess() - oldest.getValue().lastAccess() < 0)) {
+                oldest = entry;
+            }
+        }
+        if (oldest != null) {
+            stripe.remove(oldest.getKey(), oldest.getValue());
+        }
+    }
+
+    private ConcurrentHashMap<String, TokenBucket> stripeFor(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+}
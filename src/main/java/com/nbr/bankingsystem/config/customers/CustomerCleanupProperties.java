@@ -0,0 +1,35 @@
+package com.nbr.bankingsystem.config.customers;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the background cleanup of deleted customers.
+ * Bound from the `app.customer-cleanup` prefix.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.customer-cleanup")
+public class CustomerCleanupProperties {
+
+    /**
+     * Delay between the end of a run and the start of the next one.
+     */
+    private Duration interval = Duration.ofMinutes(1);
+
+    /**
+     * Number of messages archived and deleted per transaction.
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Pause between two chunks, so the cleanup never competes with live traffic for locks.
+     */
+    private Duration pause = Duration.ofMillis(100);
+
+    /**
+     * Maximum number of chunks per run; the next run picks up where this one stopped.
+     */
+    private int maxChunksPerRun = 50;
+}
@@ -0,0 +1,83 @@
+package com.nbr.bankingsystem.config.datasource;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which users wrote recently, so their reads can be sent to the primary
+ * until the replicas have caught up with their own changes.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    private final Map<String, Long> lastWriteNanos = new ConcurrentHashMap<>();
+    private final long windowNanos;
+
+    public ReadYourWritesTracker(ReplicaProperties replicaProperties) {
+        this.windowNanos = replicaProperties.getReadYourWritesWindow().toNanos();
+    }
+
+    /**
+     * Records a write for the given users, and for the authenticated user who made it, once the
+     * current transaction commits. An admin editing a customer therefore also reads the change back
+     * from the primary. Outside of a transaction the write is recorded immediately.
+     *
+     * @param usernames the users (emails) whose data was changed
+     */
+    public void recordWriteAfterCommit(String... usernames) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String actingUser = authentication != null ? authentication.getName() : null;
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            recordWrite(actingUser, usernames);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recordWrite(actingUser, usernames);
+            }
+        });
+    }
+
+    /**
+     * Checks whether the given user wrote within the read-your-writes window.
+     *
+     * @param username the user (email)
+     * @return true if the user's reads must go to the primary
+     */
+    public boolean mustReadPrimary(String username) {
+        Long writtenAt = lastWriteNanos.get(username);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (System.nanoTime() - writtenAt < windowNanos) {
+            return true;
+        }
+        lastWriteNanos.remove(username, writtenAt);
+        return false;
+    }
+
+    private void recordWrite(String actingUser, String... usernames) {
+        long now = System.nanoTime();
+        if (actingUser != null) {
+            lastWriteNanos.put(actingUser, now);
+        }
+        for (String username : usernames) {
+            if (username != null) {
+                lastWriteNanos.put(username, now);
+            }
+        }
+        if (lastWriteNanos.size() > PRUNE_THRESHOLD) {
+            lastWriteNanos.values().removeIf(writtenAt -> now - writtenAt >= windowNanos);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.nbr.bankingsystem.config.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration of the read replicas used for read-only transactions.
+ * Bound from the `app.datasource.replica` prefix.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.datasource.replica")
+public class ReplicaProperties {
+
+    /**
+     * Whether read-only transactions are routed to the replicas.
+     */
+    private boolean enabled = false;
+
+    /**
+     * JDBC URLs of the replicas, used round-robin.
+     */
+    private List<String> urls = new ArrayList<>();
+
+    private String username;
+
+    private String password;
+
+    /**
+     * Maximum pool size of each replica pool.
+     */
+    private int maximumPoolSize = 10;
+
+    /**
+     * How long after one of their own writes a user keeps reading from the primary.
+     * Should be larger than the expected replication lag.
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+}
@@ -0,0 +1,50 @@
+package com.nbr.bankingsystem.config.events;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the change feed served under /reports/changes.
+ * Bound from the `app.change-feed` prefix. How far back the feed goes is set by `app.events.journal.retention`.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.change-feed")
+public class ChangeFeedProperties {
+
+    /**
+     * Most changes returned in one response or stream event.
+     */
+    private int maxBatchSize = 1000;
+
+    /**
+     * Longest a long-poll request waits for new changes; keep it below the async request timeout.
+     */
+    private Duration maxWait = Duration.ofSeconds(25);
+
+    /**
+     * Maximum number of open streams; further streams are refused.
+     */
+    private int maxStreams = 16;
+
+    /**
+     * After this long a stream is closed and the client reconnects with its Last-Event-ID.
+     */
+    private Duration streamTimeout = Duration.ofMinutes(30);
+
+    /**
+     * Idle streams get a comment line this often, so proxies do not close them.
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    /**
+     * Threads writing to the streams.
+     */
+    private int senderThreads = 2;
+
+    /**
+     * A write to a client that takes longer than this is given up on and its stream dropped.
+     */
+    private Duration writeTimeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,64 @@
+package com.nbr.bankingsystem.config.events;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the in-process domain event bus and its journal.
+ * Bound from the `app.events` prefix.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.events")
+public class EventBusProperties {
+
+    /**
+     * Slots of the ring buffer, rounded up to a power of two. Publishers wait when the slowest
+     * consumer is this many events behind.
+     */
+    private int ringSize = 65_536;
+
+    /**
+     * Most events handed to a consumer in one call.
+     */
+    private int maxBatchSize = 256;
+
+    /**
+     * Wait before delivering a failed batch to a durable consumer again; doubled after every failure.
+     */
+    private Duration retryBackoff = Duration.ofMillis(100);
+
+    private Duration maxRetryBackoff = Duration.ofSeconds(30);
+
+    private Journal journal = new Journal();
+
+    @Data
+    public static class Journal {
+
+        /**
+         * Whether events are appended to the journal, so durable consumers can catch up after a restart.
+         */
+        private boolean enabled = true;
+
+        private String directory = "data/events";
+
+        /**
+         * Size from which a new segment file is started.
+         */
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+        /**
+         * Whether every append is forced to disk. Without it the journal survives a crash of the
+         * process but not of the machine.
+         */
+        private boolean fsync = false;
+
+        /**
+         * How long segments are kept after every durable consumer has handled them, so the change feed
+         * can be read from that far back.
+         */
+        private Duration retention = Duration.ofDays(7);
+    }
+}
@@ -0,0 +1,51 @@
+package com.nbr.bankingsystem.config.fraud;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the fraud scoring.
+ * Bound from the `app.fraud` prefix.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.fraud")
+public class FraudProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Days of past transactions the customer profiles are learned from at startup.
+     */
+    private int warmupDays = 7;
+
+    /**
+     * Transactions a customer needs before amounts and receivers are judged against the profile.
+     */
+    private int minHistory = 5;
+
+    /**
+     * Standard deviations above the customer's usual (log) amount at which an amount is unusual.
+     */
+    private double amountZScore = 3.0;
+
+    private Duration burstWindow = Duration.ofMinutes(1);
+
+    /**
+     * Transactions within the burst window above which the activity counts as a burst.
+     */
+    private int burstCount = 5;
+
+    /**
+     * Score from which an alert is raised.
+     */
+    private double alertThreshold = 0.6;
+
+    /**
+     * Whether customers are frozen automatically when a transaction scores at least `freeze-threshold`.
+     */
+    private boolean freezeEnabled = false;
+
+    private double freezeThreshold = 0.9;
+}
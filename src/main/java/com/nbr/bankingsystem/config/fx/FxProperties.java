@@ -0,0 +1,23 @@
+package com.nbr.bankingsystem.config.fx;
+
+import com.nbr.bankingsystem.enums.CurrencyCode;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Configuration of the exchange rates.
+ * Bound from the `app.fx` prefix.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.fx")
+public class FxProperties {
+
+    /**
+     * RWF per unit of each foreign currency, written to the fx_rate table on startup for the
+     * currencies that have no row yet. Later changes go through the admin endpoint.
+     */
+    private Map<CurrencyCode, Double> initialRates = new EnumMap<>(CurrencyCode.class);
+}
@@ -0,0 +1,34 @@
+package com.nbr.bankingsystem.config.limits;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the per-customer account limits.
+ * Bound from the `app.limits` prefix. Amounts are in RWF; other currencies are converted at the current rate.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.limits")
+public class LimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Maximum amount a customer may withdraw over any 24 hours.
+     */
+    private double dailyWithdrawalLimit = 5_000_000;
+
+    /**
+     * Maximum amount a customer may transfer out over any 24 hours.
+     */
+    private double dailyTransferLimit = 10_000_000;
+
+    /**
+     * Maximum number of transfers a customer may make within the velocity window.
+     */
+    private int maxTransfersPerWindow = 10;
+
+    private Duration velocityWindow = Duration.ofMinutes(10);
+}
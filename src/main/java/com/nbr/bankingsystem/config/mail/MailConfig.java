@@ -1,10 +1,10 @@
 package com.nbr.bankingsystem.config.mail;
 
+import com.nbr.bankingsystem.notifications.mail.SmtpTransportPool;
 import io.github.cdimascio.dotenv.Dotenv;
-import lombok.Value;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
 
 import java.util.Properties;
@@ -13,7 +13,7 @@ import java.util.Properties;
 public class MailConfig {
 
     @Bean
-    public JavaMailSender getJavaMailSender() {
+    public JavaMailSenderImpl getJavaMailSender(MailTransportProperties mailTransportProperties) {
         Dotenv dotenv = Dotenv.load();
 
         JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
@@ -27,8 +27,17 @@ public class MailConfig {
         props.put("mail.transport.protocol", "smtp");
         props.put("mail.smtp.auth", "true");
         props.put("mail.smtp.starttls.enable", "true");
-        props.put("mail.debug", "true");
+        props.put("mail.debug", String.valueOf(mailTransportProperties.isDebug()));
 
         return mailSender;
     }
+
+    /**
+     * Keeps authenticated SMTP connections open across messages; closed with the context.
+     */
+    @Bean
+    public SmtpTransportPool smtpTransportPool(JavaMailSenderImpl mailSender, MailTransportProperties mailTransportProperties,
+                                               MeterRegistry meterRegistry) {
+        return new SmtpTransportPool(mailSender, mailTransportProperties, meterRegistry);
+    }
 }
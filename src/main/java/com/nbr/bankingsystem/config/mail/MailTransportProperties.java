@@ -0,0 +1,35 @@
+package com.nbr.bankingsystem.config.mail;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the SMTP transport pool.
+ * Bound from the `app.mail` prefix.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.mail")
+public class MailTransportProperties {
+
+    /**
+     * Logs the whole SMTP conversation, including credentials. Only for troubleshooting.
+     */
+    private boolean debug = false;
+
+    /**
+     * Maximum number of open SMTP connections.
+     */
+    private int maxConnections = 4;
+
+    /**
+     * Messages sent over one connection before it is replaced; many servers limit this.
+     */
+    private int maxMessagesPerConnection = 100;
+
+    /**
+     * Idle connections are closed after this time, before the server drops them.
+     */
+    private Duration idleTimeout = Duration.ofSeconds(30);
+}
@@ -0,0 +1,60 @@
+package com.nbr.bankingsystem.config.notifications;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nbr.bankingsystem.notifications.channel.ChannelType;
+import com.nbr.bankingsystem.notifications.channel.HttpSmsChannel;
+import com.nbr.bankingsystem.notifications.channel.LocalOutboxChannel;
+import com.nbr.bankingsystem.notifications.channel.NotificationChannel;
+import com.nbr.bankingsystem.notifications.channel.SmtpEmailChannel;
+import com.nbr.bankingsystem.notifications.channel.WebhookPushChannel;
+import com.nbr.bankingsystem.notifications.mail.SmtpTransportPool;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+/**
+ * Registers one NotificationChannel per channel type, chosen by `app.notifications.<channel>.provider`.
+ * Email defaults to SMTP; SMS and push default to the local stand-in, which needs no network.
+ */
+@Configuration
+public class NotificationChannelConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.notifications.email.provider", havingValue = "smtp", matchIfMissing = true)
+    public NotificationChannel smtpEmailChannel(SmtpTransportPool smtpTransportPool, JavaMailSenderImpl mailSender) {
+        return new SmtpEmailChannel(smtpTransportPool, mailSender.getUsername());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.notifications.email.provider", havingValue = "local")
+    public NotificationChannel localEmailChannel() {
+        return new LocalOutboxChannel(ChannelType.EMAIL);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.notifications.sms.provider", havingValue = "http")
+    public NotificationChannel httpSmsChannel(ObjectMapper objectMapper, NotificationProperties properties) {
+        NotificationProperties.Channel sms = properties.getSms();
+        return new HttpSmsChannel(objectMapper, sms.getUrl(), sms.getApiKey(), sms.getTimeout());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.notifications.sms.provider", havingValue = "local", matchIfMissing = true)
+    public NotificationChannel localSmsChannel() {
+        return new LocalOutboxChannel(ChannelType.SMS);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.notifications.push.provider", havingValue = "webhook")
+    public NotificationChannel webhookPushChannel(ObjectMapper objectMapper, NotificationProperties properties) {
+        NotificationProperties.Channel push = properties.getPush();
+        return new WebhookPushChannel(objectMapper, push.getUrl(), push.getApiKey(), push.getTimeout());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.notifications.push.provider", havingValue = "local", matchIfMissing = true)
+    public NotificationChannel localPushChannel() {
+        return new LocalOutboxChannel(ChannelType.PUSH);
+    }
+}
@@ -0,0 +1,122 @@
+package com.nbr.bankingsystem.config.notifications;
+
+import com.nbr.bankingsystem.notifications.DeliveryMode;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Configuration of customer notifications.
+ * Bound from the `app.notifications` prefix.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.notifications")
+public class NotificationProperties {
+
+    /**
+     * Language of the notification templates (en or fr).
+     */
+    private Locale locale = Locale.ENGLISH;
+
+    private Channel email = new Channel(true);
+
+    private Channel sms = new Channel(false);
+
+    private Channel push = new Channel(false);
+
+    private Digest digest = new Digest();
+
+    /**
+     * Delivery settings of one channel. Each channel has its own queue, workers, rate limit and circuit breaker.
+     */
+    @Data
+    @NoArgsConstructor
+    public static class Channel {
+
+        private boolean enabled;
+
+        /**
+         * Delivery mode of customers without a preference for this channel.
+         */
+        private DeliveryMode defaultMode = DeliveryMode.IMMEDIATE;
+
+        /**
+         * smtp (email), http (sms), webhook (push), or local for an in-memory stand-in.
+         * Set with @ConditionalOnProperty in NotificationChannelConfig, so the default lives there.
+         */
+        private String provider;
+
+        /**
+         * Endpoint of the SMS gateway or push webhook.
+         */
+        private String url;
+
+        private String apiKey;
+
+        private int workers = 2;
+
+        /**
+         * Notifications allowed to wait for a worker; beyond that they wait for a retry.
+         */
+        private int queueCapacity = 1000;
+
+        /**
+         * Maximum number of queued notifications a worker hands to the channel at once.
+         */
+        private int batchSize = 1;
+
+        private double ratePerSecond = 10;
+
+        private int burst = 20;
+
+        /**
+         * Consecutive failures after which the channel is paused for `open-duration`.
+         */
+        private int failureThreshold = 5;
+
+        private Duration openDuration = Duration.ofSeconds(30);
+
+        private Duration timeout = Duration.ofSeconds(10);
+
+        /**
+         * Retries of a notification that found the queue full or the circuit open, or whose send failed,
+         * before it is dropped. Notifications refused for a bad address are not retried.
+         */
+        private int retryAttempts = 5;
+
+        /**
+         * Delay before the first retry, doubled after every further attempt.
+         */
+        private Duration retryDelay = Duration.ofSeconds(30);
+
+        /**
+         * Notifications allowed to wait for a retry; beyond that they are dropped.
+         */
+        private int retryCapacity = 1000;
+
+        public Channel(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    /**
+     * Coalescing of notifications for customers who chose DIGEST delivery on a channel.
+     */
+    @Data
+    public static class Digest {
+
+        /**
+         * Time from the first notification of a digest until the digest is sent.
+         */
+        private Duration window = Duration.ofMinutes(15);
+
+        /**
+         * Maximum number of itemized lines in a digest; further notifications are only counted.
+         * The lines are also capped at PendingDigest.MAX_ITEMS_LENGTH characters in total, whatever this is set to.
+         */
+        private int maxItems = 20;
+    }
+}
@@ -0,0 +1,37 @@
+package com.nbr.bankingsystem.config.partitioning;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.YearMonth;
+
+/**
+ * Configuration of the monthly partitioning of the Banking and Message tables.
+ * Bound from the `app.partitioning` prefix.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.partitioning")
+public class PartitioningProperties {
+
+    /**
+     * Whether the application manages the partitions (MariaDB only).
+     */
+    private boolean enabled = false;
+
+    /**
+     * Number of monthly partitions kept ready ahead of the current month.
+     */
+    private int futureMonths = 3;
+
+    /**
+     * Number of months kept in the live tables; older partitions are moved to archive tables.
+     */
+    private int retentionMonths = 12;
+
+    /**
+     * Returns the oldest month still held by the live tables; earlier months are archived.
+     */
+    public YearMonth oldestLiveMonth(YearMonth currentMonth) {
+        return currentMonth.minusMonths(retentionMonths);
+    }
+}
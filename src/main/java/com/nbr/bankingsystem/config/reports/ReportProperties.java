@@ -0,0 +1,28 @@
+package com.nbr.bankingsystem.config.reports;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the summary reports.
+ * Bound from the `app.reports` prefix.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.reports")
+public class ReportProperties {
+
+    /**
+     * Number of days rebuilt concurrently when backfilling the daily summaries.
+     */
+    private int rebuildParallelism = 4;
+
+    /**
+     * Longest date range a single report or rebuild may cover, in days.
+     */
+    private int maxRangeDays = 366;
+
+    /**
+     * Maximum number of customers returned by a report grouped by customer.
+     */
+    private int maxCustomers = 500;
+}
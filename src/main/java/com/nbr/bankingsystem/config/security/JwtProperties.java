@@ -0,0 +1,32 @@
+package com.nbr.bankingsystem.config.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of JWT signing and token lifetimes.
+ * Bound from the `app.jwt` prefix.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.jwt")
+public class JwtProperties {
+
+    /**
+     * Comma-separated list of `keyId:base64Secret` HMAC keys (at least 256 bits each).
+     * All listed keys are accepted when validating, so a key can be rotated by adding the new
+     * key, making it active, and removing the old one once its tokens have expired.
+     * When empty, a random key is generated and tokens do not survive a restart.
+     */
+    private String signingKeys = "";
+
+    /**
+     * Id of the key used to sign new tokens; defaults to the first listed key.
+     */
+    private String activeKeyId;
+
+    private Duration accessTokenTtl = Duration.ofMinutes(15);
+
+    private Duration refreshTokenTtl = Duration.ofDays(14);
+}
@@ -0,0 +1,35 @@
+package com.nbr.bankingsystem.config.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of password hashing.
+ * Bound from the `app.security.password-hashing` prefix.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.security.password-hashing")
+public class PasswordHashingProperties {
+
+    /**
+     * BCrypt log rounds. Hashes created with a lower strength are upgraded on the next successful login.
+     */
+    private int strength = 10;
+
+    /**
+     * Number of hashing threads; 0 means one per available processor.
+     */
+    private int poolSize = 0;
+
+    /**
+     * Number of hashing jobs allowed to wait for a thread before new ones are rejected.
+     */
+    private int queueCapacity = 64;
+
+    /**
+     * Maximum time a registration waits for its password hash.
+     */
+    private Duration timeout = Duration.ofSeconds(5);
+}
@@ -0,0 +1,60 @@
+package com.nbr.bankingsystem.config.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Configuration of the rate limiting of the unauthenticated endpoints (login, registration, token refresh).
+ * Bound from the `app.security.rate-limit` prefix.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.security.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Requests allowed per client IP.
+     */
+    private Limit ip = new Limit(20, Duration.ofMinutes(1));
+
+    /**
+     * Requests allowed per email address in the request body, counted separately for each client IP.
+     */
+    private Limit email = new Limit(5, Duration.ofMinutes(1));
+
+    /**
+     * Requests allowed per email address in the request body, across all client IPs, so guessing spread over
+     * many addresses is slowed down too. Larger than `email`, so an attacker locks the owner out only briefly.
+     */
+    private Limit emailTotal = new Limit(30, Duration.ofMinutes(15));
+
+    /**
+     * Maximum number of tracked keys per limit; the least recently used ones are evicted beyond that.
+     */
+    private int maxEntries = 100_000;
+
+    /**
+     * Addresses of the reverse proxies whose X-Forwarded-For entries are trusted. When a request comes from
+     * one of them, the client IP is the rightmost X-Forwarded-For entry that is not itself a trusted proxy;
+     * entries further left are set by the client and ignored. Empty: the remote address is always used.
+     */
+    private Set<String> trustedProxies = new HashSet<>();
+
+    /**
+     * A token bucket of `capacity` requests, refilled completely over `period`.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        private int capacity;
+        private Duration period;
+    }
+}
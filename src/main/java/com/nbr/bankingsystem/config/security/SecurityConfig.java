@@ -1,5 +1,6 @@
 package com.nbr.bankingsystem.config.security;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
@@ -12,6 +13,7 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import com.nbr.bankingsystem.authentication.JwtAuthenticationFilter;
 import com.nbr.bankingsystem.authentication.JwtAuthenticationProvider;
+import com.nbr.bankingsystem.authentication.ratelimit.LoginRateLimitFilter;
 
 @Configuration
 @EnableWebSecurity
@@ -21,31 +23,38 @@ public class SecurityConfig {
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final JwtAuthenticationProvider jwtAuthenticationProvider;
     private final CustomAccessDeniedHandler customAccessDeniedHandler;
+    private final LoginRateLimitFilter loginRateLimitFilter;
 
     /**
-     * Constructor-based dependency injection for JwtAuthenticationFilter, JwtAuthenticationProvider, and CustomAccessDeniedHandler.
+     * Constructor-based dependency injection for JwtAuthenticationFilter, JwtAuthenticationProvider, CustomAccessDeniedHandler,
+     * and LoginRateLimitFilter.
      *
      * @param jwtAuthenticationFilter     the JWT authentication filter
      * @param jwtAuthenticationProvider   the JWT authentication provider
      * @param customAccessDeniedHandler   the custom access denied handler
+     * @param loginRateLimitFilter        the rate limiting filter of the unauthenticated endpoints
      */
     public SecurityConfig(@Lazy JwtAuthenticationFilter jwtAuthenticationFilter,
                           @Lazy JwtAuthenticationProvider jwtAuthenticationProvider,
-                          @Lazy CustomAccessDeniedHandler customAccessDeniedHandler) {
+                          @Lazy CustomAccessDeniedHandler customAccessDeniedHandler,
+                          @Lazy LoginRateLimitFilter loginRateLimitFilter) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
         this.jwtAuthenticationProvider = jwtAuthenticationProvider;
         this.customAccessDeniedHandler = customAccessDeniedHandler;
+        this.loginRateLimitFilter = loginRateLimitFilter;
     }
 
     /**
      * Bean for password encoding using BCryptPasswordEncoder.
      * BCryptPasswordEncoder is a password hashing function designed for secure password hashing.
+     * Its strength comes from `app.security.password-hashing.strength`.
      *
+     * @param passwordHashingProperties the password hashing configuration
      * @return a BCryptPasswordEncoder instance
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties passwordHashingProperties) {
+        return new BCryptPasswordEncoder(passwordHashingProperties.getStrength());
     }
 
     /**
@@ -60,8 +69,11 @@ public class SecurityConfig {
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 .authorizeHttpRequests((requests) -> requests
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll() // Change feed long-polls and streams, and balance streams, complete in an async dispatch; the original request was already authorized
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll() // Allow access to Swagger UI and API docs without authentication
-                        .requestMatchers("/users/register", "/users/login", "/customers/register").permitAll() // Allow access to user and customer registration and login without authentication
+                        .requestMatchers("/actuator/health").permitAll() // Allow load balancer health checks without authentication
+                        .requestMatchers("/actuator/**").hasRole("ADMIN") // Restrict metrics to users with the ADMIN role
+                        .requestMatchers("/users/register", "/users/login", "/users/refresh", "/customers/register").permitAll() // Allow access to user and customer registration, login and token refresh without authentication
                         .requestMatchers("/transactions/**", "/customers/**").authenticated() // Require authentication for transactions and customer endpoints
                         .requestMatchers("/admin/**", "/reports/**").hasRole("ADMIN") // Restrict access to admin and reports endpoints to users with the ADMIN role
                         .anyRequest().authenticated() // Require authentication for any other requests
@@ -70,6 +82,7 @@ public class SecurityConfig {
                 .exceptionHandling()
                 .accessDeniedHandler(customAccessDeniedHandler) // Use custom access denied handler
                 .and()
+                .addFilterBefore(loginRateLimitFilter, UsernamePasswordAuthenticationFilter.class) // Throttle login and registration before any other work
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class); // Add JWT authentication filter before the UsernamePasswordAuthenticationFilter
 
         return http.build();
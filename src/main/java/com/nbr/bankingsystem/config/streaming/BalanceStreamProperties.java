@@ -0,0 +1,53 @@
+package com.nbr.bankingsystem.config.streaming;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the live balance streams served under /banking/balance/stream.
+ * Bound from the `app.balance-stream` prefix.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.balance-stream")
+public class BalanceStreamProperties {
+
+    /**
+     * Maximum number of open streams over all customers; server.tomcat.max-connections must leave room for them.
+     */
+    private int maxStreams = 8000;
+
+    private int maxStreamsPerCustomer = 5;
+
+    /**
+     * After this long a stream is closed and the client reconnects, with a fresh access token if needed.
+     */
+    private Duration timeout = Duration.ofMinutes(15);
+
+    /**
+     * Idle streams get a comment line this often, so proxies and clients can tell the connection is alive.
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    /**
+     * Threads writing to the streams. Idle streams hold no thread.
+     */
+    private int senderThreads = 4;
+
+    /**
+     * A write to a client that takes longer than this is given up on and its stream dropped.
+     */
+    private Duration writeTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Writes that may hang on unresponsive clients at once, each with a spare sender thread, before they
+     * hold up the other streams.
+     */
+    private int maxStalledWrites = 64;
+
+    /**
+     * Updates that may wait for a slow client. Beyond that its updates are dropped and it is told to resync.
+     */
+    private int maxPendingUpdates = 32;
+}
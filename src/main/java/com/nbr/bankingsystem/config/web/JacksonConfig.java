@@ -0,0 +1,41 @@
+package com.nbr.bankingsystem.config.web;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.nbr.bankingsystem.DTO.CustomerResponseDTO;
+import com.nbr.bankingsystem.DTO.CustomerSummaryDTO;
+import com.nbr.bankingsystem.DTO.TransactionResponseDTO;
+import com.nbr.bankingsystem.responses.Response;
+import com.nbr.bankingsystem.responses.json.CustomerResponseSerializer;
+import com.nbr.bankingsystem.responses.json.CustomerSummarySerializer;
+import com.nbr.bankingsystem.responses.json.ResponseSerializer;
+import com.nbr.bankingsystem.responses.json.TransactionResponseSerializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Jackson modules picked up by Spring Boot's ObjectMapper.
+ *
+ * The Response envelope and the DTOs returned on the hot paths have hand-written serializers.
+ * Every other type keeps the bean serializer, with Blackbird replacing its reflective getter
+ * calls by generated lambdas.
+ */
+@Configuration
+public class JacksonConfig {
+
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    @Bean
+    public Module responseSerializersModule() {
+        SimpleModule module = new SimpleModule("ResponseSerializers");
+        module.addSerializer(Response.class, new ResponseSerializer());
+        module.addSerializer(TransactionResponseDTO.class, new TransactionResponseSerializer());
+        module.addSerializer(CustomerResponseDTO.class, new CustomerResponseSerializer());
+        module.addSerializer(CustomerSummaryDTO.class, new CustomerSummarySerializer());
+        return module;
+    }
+}
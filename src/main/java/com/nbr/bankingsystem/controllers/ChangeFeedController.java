@@ -0,0 +1,84 @@
+package com.nbr.bankingsystem.controllers;
+
+import com.nbr.bankingsystem.config.events.ChangeFeedProperties;
+import com.nbr.bankingsystem.enums.ResponseType;
+import com.nbr.bankingsystem.responses.Response;
+import com.nbr.bankingsystem.services.ChangeFeedService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The ChangeFeedController class serves the change feed of the ledger and the customers, so downstream
+ * systems can tail committed changes instead of scanning the tables.
+ * All /reports endpoints are restricted to users with the ADMIN role in SecurityConfig.
+ * Long-polls and streams are answered in an async dispatch, which SecurityConfig lets through because
+ * the original request has already been authorized; without that rule every long-poll ends in a 403.
+ */
+@RestController
+@RequestMapping("/reports/changes")
+@Tag(name = "Change feed", description = "Committed ledger and customer changes, in order")
+public class ChangeFeedController {
+
+    private final ChangeFeedService changeFeedService;
+    private final ChangeFeedProperties changeFeedProperties;
+
+    public ChangeFeedController(ChangeFeedService changeFeedService, ChangeFeedProperties changeFeedProperties) {
+        this.changeFeedService = changeFeedService;
+        this.changeFeedProperties = changeFeedProperties;
+    }
+
+    /**
+     * Endpoint to read the changes after an offset, optionally waiting for new ones (long-polling).
+     * @param after The last sequence already processed, 0 to start at the oldest retained change.
+     * @param limit The maximum number of changes to return.
+     * @param waitSeconds How long to wait when there are no changes yet, 0 to return immediately.
+     * @return A ResponseEntity containing the batch, whose nextOffset is the `after` of the next request.
+     */
+    @GetMapping
+    @Operation(summary = "Read or long-poll the changes after an offset")
+    public CompletableFuture<ResponseEntity<Response>> getChanges(@RequestParam(defaultValue = "0") long after,
+                                                                  @RequestParam(defaultValue = "500") int limit,
+                                                                  @RequestParam(defaultValue = "0") int waitSeconds) {
+        int maxBatchSize = changeFeedProperties.getMaxBatchSize();
+        long maxWaitSeconds = changeFeedProperties.getMaxWait().toSeconds();
+        if (after < 0 || limit < 1 || limit > maxBatchSize || waitSeconds < 0 || waitSeconds > maxWaitSeconds) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(new Response()
+                    .setResponseType(ResponseType.BAD_REQUEST)
+                    .setMessage("after must not be negative, limit must be between 1 and " + maxBatchSize
+                            + " and waitSeconds between 0 and " + maxWaitSeconds)));
+        }
+
+        return changeFeedService.poll(after, limit, Duration.ofSeconds(waitSeconds))
+                .thenApply(batch -> ResponseEntity.ok(new Response()
+                        .setResponseType(ResponseType.SUCCESS)
+                        .setPayload(batch)));
+    }
+
+    /**
+     * Endpoint to stream the changes as server-sent events. A reconnecting client resumes after its
+     * Last-Event-ID; a new client starts after `after`, or at the current head if it is not given.
+     * @param after The last sequence already processed.
+     * @param lastEventId Sent by EventSource clients when they reconnect.
+     * @return The event stream.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream the changes after an offset as server-sent events")
+    public SseEmitter streamChanges(@RequestParam(required = false) Long after,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        long offset = lastEventId != null ? lastEventId
+                : after != null ? after
+                : changeFeedService.headSequence();
+        return changeFeedService.stream(offset);
+    }
+}
@@ -1,21 +1,29 @@
 package com.nbr.bankingsystem.controllers;
 
 import com.nbr.bankingsystem.DTO.CustomerDTO;
+import com.nbr.bankingsystem.DTO.CustomerPageRequest;
 import com.nbr.bankingsystem.DTO.CustomerUpdateDTO;
-import com.nbr.bankingsystem.models.Customer;
+import com.nbr.bankingsystem.DTO.CustomerResponseDTO;
+import com.nbr.bankingsystem.DTO.NotificationPreferenceDTO;
 import com.nbr.bankingsystem.responses.Response;
 import com.nbr.bankingsystem.enums.ResponseType;
+import com.nbr.bankingsystem.services.CustomerSearchService;
 import com.nbr.bankingsystem.services.CustomerService;
-import com.nbr.bankingsystem.utils.ExceptionHandlerUtil;
+import com.nbr.bankingsystem.services.NotificationPreferenceService;
+import com.nbr.bankingsystem.utils.ETagUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
 
+import java.util.List;
 import java.util.Objects;
 
 @RestController
@@ -24,9 +32,14 @@ import java.util.Objects;
 public class CustomerController {
 
     private final CustomerService customerService;
+    private final NotificationPreferenceService notificationPreferenceService;
+    private final CustomerSearchService customerSearchService;
 
-    public CustomerController(CustomerService customerService) {
+    public CustomerController(CustomerService customerService, NotificationPreferenceService notificationPreferenceService,
+                              CustomerSearchService customerSearchService) {
         this.customerService = customerService;
+        this.notificationPreferenceService = notificationPreferenceService;
+        this.customerSearchService = customerSearchService;
     }
 
     @PostMapping("/register")
@@ -38,56 +51,83 @@ public class CustomerController {
                     .setMessage(Objects.requireNonNull(bindingResult.getFieldError()).getDefaultMessage()));
         }
 
-        try {
-            Customer customer = customerService.createCustomer(customerDTO);
-            return ResponseEntity.status(201)
-                    .body(new Response()
-                            .setResponseType(ResponseType.SUCCESS)
-                            .setPayload(customer));
-        } catch (Exception e) {
-            return ExceptionHandlerUtil.handleException(e);
-        }
+        CustomerResponseDTO customer = customerService.createCustomer(customerDTO);
+        return ResponseEntity.status(201)
+                .body(new Response()
+                        .setResponseType(ResponseType.SUCCESS)
+                        .setPayload(customer));
     }
 
     @GetMapping("/")
-    @Operation(summary = "Get all Customers")
-    public ResponseEntity<Response> getAllCustomers(Authentication authentication) {
-        try {
-            if (authentication.getAuthorities().stream().noneMatch(a -> a.getAuthority().equals("ROLE_ADMIN"))) {
-                return ResponseEntity.status(403).body(new Response()
-                        .setResponseType(ResponseType.FORBIDDEN)
-                        .setMessage("You have no permissions to access this endpoint."));
-            }
+    @Operation(summary = "List Customers a page at a time, with filters and keyset cursors")
+    public ResponseEntity<Response> getAllCustomers(@Valid @ModelAttribute CustomerPageRequest pageRequest, BindingResult bindingResult,
+                                                    Authentication authentication) {
+        if (bindingResult.hasErrors()) {
+            return ResponseEntity.badRequest().body(new Response()
+                    .setResponseType(ResponseType.BAD_REQUEST)
+                    .setMessage(Objects.requireNonNull(bindingResult.getFieldError()).getDefaultMessage()));
+        }
 
-            return ResponseEntity.status(200)
-                    .body(new Response()
-                            .setResponseType(ResponseType.SUCCESS)
-                            .setPayload(customerService.getAllCustomers()));
-        } catch (Exception e) {
-            return ExceptionHandlerUtil.handleException(e);
+        if (authentication.getAuthorities().stream().noneMatch(a -> a.getAuthority().equals("ROLE_ADMIN"))) {
+            return ResponseEntity.status(403).body(new Response()
+                    .setResponseType(ResponseType.FORBIDDEN)
+                    .setMessage("You have no permissions to access this endpoint."));
         }
+
+        return ResponseEntity.status(200)
+                .body(new Response()
+                        .setResponseType(ResponseType.SUCCESS)
+                        .setPayload(customerService.getAllCustomers(pageRequest)));
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Search Customers by name, email, mobile or account number")
+    public ResponseEntity<Response> searchCustomers(@RequestParam("q") String query,
+                                                    @RequestParam(defaultValue = "0") int page,
+                                                    @RequestParam(defaultValue = "20") int size,
+                                                    Authentication authentication) {
+        if (authentication.getAuthorities().stream()
+                .noneMatch(a -> a.getAuthority().equals("ROLE_ADMIN") || a.getAuthority().equals("ROLE_TELLER"))) {
+            return ResponseEntity.status(403).body(new Response()
+                    .setResponseType(ResponseType.FORBIDDEN)
+                    .setMessage("You have no permissions to access this endpoint."));
+        }
+        if (query.isBlank() || query.length() > 100 || page < 0 || size < 1 || size > 50) {
+            return ResponseEntity.badRequest().body(new Response()
+                    .setResponseType(ResponseType.BAD_REQUEST)
+                    .setMessage("Query must be 1 to 100 characters, page at least 0 and size between 1 and 50"));
+        }
+
+        return ResponseEntity.status(200)
+                .body(new Response()
+                        .setResponseType(ResponseType.SUCCESS)
+                        .setPayload(customerSearchService.search(query, page, size)));
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get a Customer by ID")
-    public ResponseEntity<Response> getCustomerById(@PathVariable Long id, Authentication authentication) {
-        try {
-            Long userId = customerService.findUserIdByEmail(authentication.getName());
-            if (authentication.getAuthorities().stream().noneMatch(a -> a.getAuthority().equals("ROLE_ADMIN"))) {
-                if (!customerService.isCustomerAssociatedWithUser(id, userId)) {
-                    return ResponseEntity.status(403).body(new Response()
-                            .setResponseType(ResponseType.FORBIDDEN)
-                            .setMessage("You have no permissions to access this endpoint."));
-                }
+    @Operation(summary = "Get a Customer by ID; answers 304 when If-None-Match carries the current ETag")
+    public ResponseEntity<Response> getCustomerById(@PathVariable Long id, Authentication authentication, WebRequest webRequest) {
+        Long userId = customerService.findUserIdByEmail(authentication.getName());
+        if (authentication.getAuthorities().stream().noneMatch(a -> a.getAuthority().equals("ROLE_ADMIN"))) {
+            if (!customerService.isCustomerAssociatedWithUser(id, userId)) {
+                return ResponseEntity.status(403).body(new Response()
+                        .setResponseType(ResponseType.FORBIDDEN)
+                        .setMessage("You have no permissions to access this endpoint."));
             }
+        }
 
-            return ResponseEntity.status(200)
-                    .body(new Response()
-                            .setResponseType(ResponseType.SUCCESS)
-                            .setPayload(customerService.getCustomerById(id)));
-        } catch (Exception e) {
-            return ExceptionHandlerUtil.handleException(e);
+        String eTag = ETagUtil.customer(id, customerService.getCustomerVersion(id));
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(CacheControl.noCache().cachePrivate()).build();
         }
+
+        CustomerResponseDTO customer = customerService.getCustomerById(id);
+        return ResponseEntity.status(200)
+                .eTag(ETagUtil.customer(id, customer.getLastUpdateTime()))
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(new Response()
+                        .setResponseType(ResponseType.SUCCESS)
+                        .setPayload(customer));
     }
 
     @PutMapping("/{id}")
@@ -99,40 +139,80 @@ public class CustomerController {
                     .setMessage(Objects.requireNonNull(bindingResult.getFieldError()).getDefaultMessage()));
         }
 
-        try {
-            Long userId = customerService.findUserIdByEmail(authentication.getName());
+        Long userId = customerService.findUserIdByEmail(authentication.getName());
+        if (!customerService.isCustomerAssociatedWithUser(id, userId)) {
+            return ResponseEntity.status(403).body(new Response()
+                    .setResponseType(ResponseType.FORBIDDEN)
+                    .setMessage("You have no permissions to access this endpoint."));
+        }
+
+        return ResponseEntity.status(200)
+                .body(new Response()
+                        .setResponseType(ResponseType.SUCCESS)
+                        .setPayload(customerService.updateCustomer(id, customerDetails)));
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Delete a Customer by ID")
+    public ResponseEntity<Response> deleteCustomer(@PathVariable Long id, Authentication authentication) {
+        Long userId = customerService.findUserIdByEmail(authentication.getName());
+        if (authentication.getAuthorities().stream().noneMatch(a -> a.getAuthority().equals("ROLE_ADMIN"))) {
             if (!customerService.isCustomerAssociatedWithUser(id, userId)) {
                 return ResponseEntity.status(403).body(new Response()
                         .setResponseType(ResponseType.FORBIDDEN)
                         .setMessage("You have no permissions to access this endpoint."));
             }
-
-            return ResponseEntity.status(200)
-                    .body(new Response()
-                            .setResponseType(ResponseType.SUCCESS)
-                            .setPayload(customerService.updateCustomer(id, customerDetails)));
-        } catch (Exception e) {
-            return ExceptionHandlerUtil.handleException(e);
         }
+
+        customerService.deleteCustomer(id);
+        return ResponseEntity.noContent().build();
     }
 
-    @DeleteMapping("/{id}")
-    @Operation(summary = "Delete a Customer by ID")
-    public ResponseEntity<Response> deleteCustomer(@PathVariable Long id, Authentication authentication) {
-        try {
-            Long userId = customerService.findUserIdByEmail(authentication.getName());
-            if (authentication.getAuthorities().stream().noneMatch(a -> a.getAuthority().equals("ROLE_ADMIN"))) {
-                if (!customerService.isCustomerAssociatedWithUser(id, userId)) {
-                    return ResponseEntity.status(403).body(new Response()
-                            .setResponseType(ResponseType.FORBIDDEN)
-                            .setMessage("You have no permissions to access this endpoint."));
-                }
+    @GetMapping("/{id}/notification-preferences")
+    @Operation(summary = "Get the notification preferences of a Customer")
+    public ResponseEntity<Response> getNotificationPreferences(@PathVariable Long id, Authentication authentication) {
+        Long userId = customerService.findUserIdByEmail(authentication.getName());
+        if (authentication.getAuthorities().stream().noneMatch(a -> a.getAuthority().equals("ROLE_ADMIN"))) {
+            if (!customerService.isCustomerAssociatedWithUser(id, userId)) {
+                return ResponseEntity.status(403).body(new Response()
+                        .setResponseType(ResponseType.FORBIDDEN)
+                        .setMessage("You have no permissions to access this endpoint."));
             }
+        }
 
-            customerService.deleteCustomer(id);
-            return ResponseEntity.noContent().build();
-        } catch (Exception e) {
-            return ExceptionHandlerUtil.handleException(e);
+        return ResponseEntity.status(200)
+                .body(new Response()
+                        .setResponseType(ResponseType.SUCCESS)
+                        .setPayload(notificationPreferenceService.getPreferences(id)));
+    }
+
+    @PutMapping("/{id}/notification-preferences")
+    @Operation(summary = "Choose per channel whether a Customer gets immediate notifications, digests or none")
+    public ResponseEntity<Response> updateNotificationPreferences(@PathVariable Long id, @Valid @RequestBody List<NotificationPreferenceDTO> preferences,
+                                                                  BindingResult bindingResult, Authentication authentication) {
+        if (bindingResult.hasErrors()) {
+            return ResponseEntity.badRequest().body(new Response()
+                    .setResponseType(ResponseType.BAD_REQUEST)
+                    .setMessage(Objects.requireNonNull(bindingResult.getFieldError()).getDefaultMessage()));
+        }
+        if (preferences.stream().anyMatch(p -> p.getChannel() == null || p.getMode() == null)) {
+            return ResponseEntity.badRequest().body(new Response()
+                    .setResponseType(ResponseType.BAD_REQUEST)
+                    .setMessage("Channel and delivery mode are required"));
+        }
+
+        Long userId = customerService.findUserIdByEmail(authentication.getName());
+        if (authentication.getAuthorities().stream().noneMatch(a -> a.getAuthority().equals("ROLE_ADMIN"))) {
+            if (!customerService.isCustomerAssociatedWithUser(id, userId)) {
+                return ResponseEntity.status(403).body(new Response()
+                        .setResponseType(ResponseType.FORBIDDEN)
+                        .setMessage("You have no permissions to access this endpoint."));
+            }
         }
+
+        return ResponseEntity.status(200)
+                .body(new Response()
+                        .setResponseType(ResponseType.SUCCESS)
+                        .setPayload(notificationPreferenceService.updatePreferences(id, preferences)));
     }
 }
@@ -0,0 +1,70 @@
+package com.nbr.bankingsystem.controllers;
+
+import com.nbr.bankingsystem.enums.ResponseType;
+import com.nbr.bankingsystem.responses.Response;
+import com.nbr.bankingsystem.services.FraudService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * The FraudController class lets admins review fraud alerts and freeze or unfreeze accounts.
+ * All /admin endpoints are restricted to users with the ADMIN role in SecurityConfig.
+ */
+@RestController
+@RequestMapping("/admin/fraud")
+@Tag(name = "Fraud", description = "Fraud alerts and frozen accounts")
+public class FraudController {
+
+    private final FraudService fraudService;
+
+    public FraudController(FraudService fraudService) {
+        this.fraudService = fraudService;
+    }
+
+    /**
+     * Endpoint to list the most recent fraud alerts.
+     * @param customerId Only the alerts of this customer, if given.
+     * @param limit The number of alerts to return, between 1 and 200.
+     * @return A ResponseEntity containing the response to the request.
+     */
+    @GetMapping("/alerts")
+    @Operation(summary = "List the most recent fraud alerts")
+    public ResponseEntity<Response> getAlerts(@RequestParam(required = false) Long customerId,
+                                              @RequestParam(defaultValue = "50") int limit) {
+        if (limit < 1 || limit > 200) {
+            return ResponseEntity.badRequest().body(new Response()
+                    .setResponseType(ResponseType.BAD_REQUEST)
+                    .setMessage("limit must be between 1 and 200"));
+        }
+
+        return ResponseEntity.ok(new Response()
+                .setResponseType(ResponseType.SUCCESS)
+                .setPayload(fraudService.getAlerts(customerId, limit)));
+    }
+
+    @PutMapping("/frozen-customers/{customerId}")
+    @Operation(summary = "Freeze a customer's account")
+    public ResponseEntity<Response> freeze(@PathVariable Long customerId) {
+        fraudService.setFrozen(customerId, true);
+        return ResponseEntity.ok(new Response()
+                .setResponseType(ResponseType.SUCCESS)
+                .setMessage("Account frozen successfully"));
+    }
+
+    @DeleteMapping("/frozen-customers/{customerId}")
+    @Operation(summary = "Unfreeze a customer's account")
+    public ResponseEntity<Response> unfreeze(@PathVariable Long customerId) {
+        fraudService.setFrozen(customerId, false);
+        return ResponseEntity.ok(new Response()
+                .setResponseType(ResponseType.SUCCESS)
+                .setMessage("Account unfrozen successfully"));
+    }
+}
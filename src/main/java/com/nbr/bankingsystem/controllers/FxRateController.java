@@ -0,0 +1,67 @@
+package com.nbr.bankingsystem.controllers;
+
+import com.nbr.bankingsystem.DTO.FxRateUpdateDTO;
+import com.nbr.bankingsystem.enums.ResponseType;
+import com.nbr.bankingsystem.responses.Response;
+import com.nbr.bankingsystem.services.FxRateService;
+import com.nbr.bankingsystem.utils.EnumConverter;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Objects;
+
+/**
+ * The FxRateController class exposes the exchange rates applied to cross-currency transfers.
+ * Any authenticated user can read them; only admins can change them.
+ */
+@RestController
+@RequestMapping("/fx-rates")
+@Tag(name = "Exchange Rates", description = "Exchange rates between account currencies")
+public class FxRateController {
+
+    private final FxRateService fxRateService;
+
+    public FxRateController(FxRateService fxRateService) {
+        this.fxRateService = fxRateService;
+    }
+
+    @GetMapping("/")
+    @Operation(summary = "Get the exchange rates between every pair of currencies")
+    public ResponseEntity<Response> getRates() {
+        return ResponseEntity.ok(new Response()
+                .setResponseType(ResponseType.SUCCESS)
+                .setPayload(fxRateService.getRates()));
+    }
+
+    @PutMapping("/{currency}")
+    @Operation(summary = "Set the RWF rate of a foreign currency")
+    public ResponseEntity<Response> updateRate(@PathVariable String currency, @Valid @RequestBody FxRateUpdateDTO rateDTO,
+                                               BindingResult bindingResult, Authentication authentication) {
+        if (bindingResult.hasErrors()) {
+            return ResponseEntity.badRequest().body(new Response()
+                    .setResponseType(ResponseType.BAD_REQUEST)
+                    .setMessage(Objects.requireNonNull(bindingResult.getFieldError()).getDefaultMessage()));
+        }
+
+        if (authentication.getAuthorities().stream().noneMatch(a -> a.getAuthority().equals("ROLE_ADMIN"))) {
+            return ResponseEntity.status(403).body(new Response()
+                    .setResponseType(ResponseType.FORBIDDEN)
+                    .setMessage("You have no permissions to access this endpoint."));
+        }
+
+        return ResponseEntity.ok(new Response()
+                .setResponseType(ResponseType.SUCCESS)
+                .setMessage("Exchange rate updated successfully")
+                .setPayload(fxRateService.updateRate(EnumConverter.toCurrencyCode(currency), rateDTO.getRwfPerUnit())));
+    }
+}
@@ -0,0 +1,124 @@
+package com.nbr.bankingsystem.controllers;
+
+import com.nbr.bankingsystem.config.reports.ReportProperties;
+import com.nbr.bankingsystem.enums.ResponseType;
+import com.nbr.bankingsystem.enums.CurrencyCode;
+import com.nbr.bankingsystem.enums.SummaryGrouping;
+import com.nbr.bankingsystem.responses.Response;
+import com.nbr.bankingsystem.services.ReportService;
+import com.nbr.bankingsystem.services.StatisticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * The ReportController class serves the operational reports.
+ * All /reports endpoints are restricted to users with the ADMIN role in SecurityConfig.
+ */
+@RestController
+@RequestMapping("/reports")
+@Tag(name = "Reports", description = "Operational statistics and reports of the banking system")
+public class ReportController {
+
+    private final StatisticsService statisticsService;
+    private final ReportService reportService;
+    private final ReportProperties reportProperties;
+
+    /**
+     * Constructor for the ReportController class.
+     * @param statisticsService The service keeping the live statistics.
+     * @param reportService The service answering summary reports from the daily rollup.
+     * @param reportProperties The limits of the summary reports.
+     */
+    public ReportController(StatisticsService statisticsService, ReportService reportService, ReportProperties reportProperties) {
+        this.statisticsService = statisticsService;
+        this.reportService = reportService;
+        this.reportProperties = reportProperties;
+    }
+
+    /**
+     * Endpoint to get live totals, per-minute transaction windows and the top accounts by volume.
+     * @param top The number of top accounts to return, between 1 and 100.
+     * @return A ResponseEntity containing the response to the request.
+     */
+    @GetMapping("/statistics")
+    @Operation(summary = "Get live balance and transaction statistics")
+    public ResponseEntity<Response> getStatistics(@RequestParam(defaultValue = "10") int top) {
+        if (top < 1 || top > 100) {
+            return ResponseEntity.badRequest().body(new Response()
+                    .setResponseType(ResponseType.BAD_REQUEST)
+                    .setMessage("top must be between 1 and 100"));
+        }
+
+        return ResponseEntity.status(200)
+                .body(new Response()
+                        .setResponseType(ResponseType.SUCCESS)
+                        .setPayload(statisticsService.getStatistics(top)));
+    }
+
+    /**
+     * Endpoint to aggregate the transactions of a date range by day, by transaction type or by customer.
+     * @param from The first day, inclusive.
+     * @param to The last day, inclusive.
+     * @param groupBy The dimension to group by.
+     * @param customerId Optionally restricts DAY and TYPE reports to one customer.
+     * @param currency Optionally restricts the report to one currency; CUSTOMER reports rank RWF volumes by default.
+     * @return A ResponseEntity containing the response to the request.
+     */
+    @GetMapping("/summaries")
+    @Operation(summary = "Get transaction volumes of a date range from the daily summaries")
+    public ResponseEntity<Response> getSummaries(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                 @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                 @RequestParam(defaultValue = "DAY") SummaryGrouping groupBy,
+                                                 @RequestParam(required = false) Long customerId,
+                                                 @RequestParam(required = false) CurrencyCode currency) {
+        ResponseEntity<Response> invalidRange = validateRange(from, to);
+        if (invalidRange != null) {
+            return invalidRange;
+        }
+
+        return ResponseEntity.status(200)
+                .body(new Response()
+                        .setResponseType(ResponseType.SUCCESS)
+                        .setPayload(reportService.getSummaries(from, to, groupBy, customerId, currency)));
+    }
+
+    /**
+     * Endpoint to recompute the daily summaries of a date range from the transactions, e.g. to backfill history.
+     * @param from The first day, inclusive.
+     * @param to The last day, inclusive.
+     * @return A ResponseEntity containing the response to the request.
+     */
+    @PostMapping("/summaries/rebuild")
+    @Operation(summary = "Rebuild the daily summaries of a date range from the transactions")
+    public ResponseEntity<Response> rebuildSummaries(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                     @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        ResponseEntity<Response> invalidRange = validateRange(from, to);
+        if (invalidRange != null) {
+            return invalidRange;
+        }
+
+        return ResponseEntity.status(200)
+                .body(new Response()
+                        .setResponseType(ResponseType.SUCCESS)
+                        .setPayload(reportService.rebuildSummaries(from, to)));
+    }
+
+    private ResponseEntity<Response> validateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to) || ChronoUnit.DAYS.between(from, to) >= reportProperties.getMaxRangeDays()) {
+            return ResponseEntity.badRequest().body(new Response()
+                    .setResponseType(ResponseType.BAD_REQUEST)
+                    .setMessage("from must not be after to, and the range must not exceed " + reportProperties.getMaxRangeDays() + " days"));
+        }
+        return null;
+    }
+}
@@ -2,13 +2,14 @@ package com.nbr.bankingsystem.controllers;
 
 import com.nbr.bankingsystem.DTO.AuthenticationRequest;
 import com.nbr.bankingsystem.DTO.AuthenticationResponse;
+import com.nbr.bankingsystem.DTO.RefreshTokenRequest;
 import com.nbr.bankingsystem.enums.Role;
+import com.nbr.bankingsystem.exceptions.PasswordHashingBusyException;
 import com.nbr.bankingsystem.models.UserModel;
 import com.nbr.bankingsystem.responses.Response;
 import com.nbr.bankingsystem.responses.ValidationErrorResponse;
 import com.nbr.bankingsystem.services.UserService;
 import com.nbr.bankingsystem.services.AuthenticationService;
-import com.nbr.bankingsystem.utils.ExceptionHandlerUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
@@ -22,6 +23,8 @@ import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 @RestController
@@ -60,28 +63,54 @@ public class UserController {
             return ResponseEntity.badRequest().body(errorResponse);
         }
 
-        try {
-            UserModel user = userService.registerUser(authenticationRequest, role);
-            return ResponseEntity.ok(
-                    new Response("User registered successfully",user)
-            );
-        } catch (Exception e) {
-            return ExceptionHandlerUtil.handleException(e);
-        }
+        UserModel user = userService.registerUser(authenticationRequest, role);
+        return ResponseEntity.ok(
+                new Response("User registered successfully",user)
+        );
     }
 
     @PostMapping("/login")
     @Operation(summary = "Authenticate a User")
-    public ResponseEntity<AuthenticationResponse> login(@Valid @RequestBody AuthenticationRequest request, BindingResult bindingResult) {
+    public CompletableFuture<ResponseEntity<AuthenticationResponse>> login(@Valid @RequestBody AuthenticationRequest request, BindingResult bindingResult) {
         if (bindingResult.hasErrors()) {
-            return ResponseEntity.badRequest().body(new AuthenticationResponse(Objects.requireNonNull(bindingResult.getFieldError()).getDefaultMessage()));
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(new AuthenticationResponse(Objects.requireNonNull(bindingResult.getFieldError()).getDefaultMessage())));
         }
 
         try {
-            AuthenticationResponse response = authenticationService.authenticate(request);
-            return ResponseEntity.ok(response);
+            // the request thread is released while the password is verified on the hashing pool
+            return authenticationService.authenticate(request)
+                    .thenApply(ResponseEntity::ok)
+                    .exceptionally(this::loginFailure);
         } catch (Exception e) {
-            return ResponseEntity.status(401).body(new AuthenticationResponse(e.getMessage()));
+            return CompletableFuture.completedFuture(loginFailure(e));
+        }
+    }
+
+    @PostMapping("/refresh")
+    @Operation(summary = "Exchange a refresh token for new tokens")
+    public ResponseEntity<AuthenticationResponse> refresh(@Valid @RequestBody RefreshTokenRequest request, BindingResult bindingResult) {
+        if (bindingResult.hasErrors()) {
+            return ResponseEntity.badRequest().body(new AuthenticationResponse(Objects.requireNonNull(bindingResult.getFieldError()).getDefaultMessage()));
+        }
+
+        // a bad token is an AuthenticationFailedException (401); any other failure is a 500, so clients do not log out
+        return ResponseEntity.ok(authenticationService.refresh(request.getRefreshToken()));
+    }
+
+    @PostMapping("/logout")
+    @Operation(summary = "Revoke the current access token and, if given, the refresh token")
+    public ResponseEntity<Response> logout(@RequestHeader(value = "Authorization", required = false) String authorization,
+                                           @RequestBody(required = false) RefreshTokenRequest request) {
+        String accessToken = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+        authenticationService.logout(accessToken, request != null ? request.getRefreshToken() : null);
+        return ResponseEntity.ok(new Response("Logged out successfully", null));
+    }
+
+    private ResponseEntity<AuthenticationResponse> loginFailure(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof PasswordHashingBusyException) {
+            return ResponseEntity.status(503).header("Retry-After", "1").body(new AuthenticationResponse(cause.getMessage()));
         }
+        return ResponseEntity.status(401).body(new AuthenticationResponse(cause.getMessage()));
     }
 }
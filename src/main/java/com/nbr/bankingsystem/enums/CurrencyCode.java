@@ -0,0 +1,37 @@
+package com.nbr.bankingsystem.enums;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Currencies an account can be held in, with the number of decimals amounts are rounded to.
+ */
+public enum CurrencyCode {
+    RWF(0),
+    USD(2),
+    EUR(2);
+
+    private final int fractionDigits;
+
+    CurrencyCode(int fractionDigits) {
+        this.fractionDigits = fractionDigits;
+    }
+
+    public int getFractionDigits() {
+        return fractionDigits;
+    }
+
+    /**
+     * Rounds an amount to the smallest unit of this currency, half to even.
+     */
+    public double round(double amount) {
+        return BigDecimal.valueOf(amount).setScale(fractionDigits, RoundingMode.HALF_EVEN).doubleValue();
+    }
+
+    /**
+     * @return whether the amount has no more decimals than this currency's smallest unit allows
+     */
+    public boolean isWholeUnits(double amount) {
+        return BigDecimal.valueOf(amount).stripTrailingZeros().scale() <= fractionDigits;
+    }
+}
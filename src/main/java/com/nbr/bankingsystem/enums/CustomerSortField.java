@@ -0,0 +1,49 @@
+package com.nbr.bankingsystem.enums;
+
+import com.nbr.bankingsystem.DTO.CustomerSummaryDTO;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * Columns the customer listing can be sorted by.
+ * Every sort is made unique by the customer id, which is what makes keyset cursors stable.
+ */
+public enum CustomerSortField {
+    ID("id", CustomerSummaryDTO::getId, Long::valueOf),
+    LAST_NAME("lastName", CustomerSummaryDTO::getLastName, value -> value),
+    BALANCE("balance", CustomerSummaryDTO::getBalance, Double::valueOf),
+    REGISTRATION_DATE("registrationDateTime", CustomerSummaryDTO::getRegistrationDateTime, LocalDateTime::parse);
+
+    private final String attribute;
+    private final Function<CustomerSummaryDTO, Comparable<?>> extractor;
+    private final Function<String, Comparable<?>> parser;
+
+    CustomerSortField(String attribute, Function<CustomerSummaryDTO, Comparable<?>> extractor,
+                      Function<String, Comparable<?>> parser) {
+        this.attribute = attribute;
+        this.extractor = extractor;
+        this.parser = parser;
+    }
+
+    /**
+     * @return the entity attribute sorted on
+     */
+    public String getAttribute() {
+        return attribute;
+    }
+
+    /**
+     * @return the sort value of a listed customer, as written into a cursor
+     */
+    public Comparable<?> valueOf(CustomerSummaryDTO customer) {
+        return extractor.apply(customer);
+    }
+
+    /**
+     * @return the sort value read back from a cursor
+     */
+    public Comparable<?> parse(String value) {
+        return parser.apply(value);
+    }
+}
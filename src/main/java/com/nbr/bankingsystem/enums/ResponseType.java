@@ -7,6 +7,11 @@ public enum ResponseType {
     INTERNAL_SERVER_ERROR,
     DUPLICATE_EMAIL,
     INSUFFICIENT_BALANCE,
+    LIMIT_EXCEEDED,
+    ACCOUNT_FROZEN,
+    OFFSET_EXPIRED,
     INVALID_TRANSACTION_TYPE,
-    UNAUTHORIZED, FORBIDDEN
+    UNAUTHORIZED, FORBIDDEN,
+    SERVICE_UNAVAILABLE,
+    TOO_MANY_REQUESTS
 }
@@ -0,0 +1,10 @@
+package com.nbr.bankingsystem.enums;
+
+/**
+ * Dimension a summary report is grouped by.
+ */
+public enum SummaryGrouping {
+    DAY,
+    TYPE,
+    CUSTOMER
+}
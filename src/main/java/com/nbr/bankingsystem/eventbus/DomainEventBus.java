@@ -0,0 +1,423 @@
+package com.nbr.bankingsystem.eventbus;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nbr.bankingsystem.config.events.EventBusProperties;
+import com.nbr.bankingsystem.events.DomainEvent;
+import com.nbr.bankingsystem.utils.AuditLogger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * In-process bus for DomainEvents, published once the transaction that produced them has committed.
+ *
+ * A published event is appended to the EventJournal and written to a ring buffer. Every DomainEventConsumer
+ * bean reads the ring on its own thread and takes everything published since its previous batch (up to
+ * `app.events.max-batch-size`), so consumers batch by themselves under load and never block each other.
+ * Publishers only wait when the slowest consumer is a whole ring behind.
+ *
+ * Durable consumers first replay the journal from their stored offset, so they also get the events published
+ * before a restart or crash; they may see an event twice after a crash. Other consumers start at the live head.
+ * When a durable consumer fails on a batch its offset stays put and it reads from the journal instead of the
+ * ring, retrying with a growing backoff, until it has caught up with the head again. Publishers never wait
+ * for a consumer in that state. A failed batch of any other consumer is logged and skipped.
+ *
+ * Readers that are not consumers, like the change feed, can read any retained range with read(): recent
+ * events come straight from the ring, older ones from the journal.
+ */
+@Component
+public class DomainEventBus {
+
+    private static final long IDLE_PARK_NANOS = 100_000_000;
+    private static final long FULL_PARK_NANOS = 50_000;
+
+    private final SequencedEvent[] ring;
+    private final int mask;
+    private final int maxBatchSize;
+    private final long retryBackoffNanos;
+    private final long maxRetryBackoffNanos;
+    private final Duration journalRetention;
+    private final EventJournal journal;
+    private final ObjectProvider<DomainEventConsumer> consumers;
+    private final MeterRegistry meterRegistry;
+    private final Counter publishedEvents;
+    private final Object publishLock = new Object();
+
+    /**
+     * Sequence of the first event published by this process; earlier ones are only in the journal.
+     */
+    private final long firstSequence;
+    private volatile long publishedSequence;
+    private volatile List<Worker> workers = List.of();
+    private volatile boolean started;
+    private volatile boolean running = true;
+
+    public DomainEventBus(EventBusProperties properties, ObjectMapper objectMapper,
+                          ObjectProvider<DomainEventConsumer> consumers, MeterRegistry meterRegistry) throws IOException {
+        int size = 1 << (32 - Integer.numberOfLeadingZeros(Math.max(2, properties.getRingSize()) - 1));
+        this.ring = new SequencedEvent[size];
+        this.mask = size - 1;
+        this.maxBatchSize = properties.getMaxBatchSize();
+        this.retryBackoffNanos = properties.getRetryBackoff().toNanos();
+        this.maxRetryBackoffNanos = properties.getMaxRetryBackoff().toNanos();
+        this.consumers = consumers;
+        this.meterRegistry = meterRegistry;
+
+        EventBusProperties.Journal journalProperties = properties.getJournal();
+        this.journalRetention = journalProperties.getRetention();
+        this.journal = journalProperties.isEnabled()
+                ? new EventJournal(Path.of(journalProperties.getDirectory()), objectMapper,
+                        journalProperties.getSegmentSize().toBytes(), journalProperties.isFsync())
+                : null;
+        this.firstSequence = (journal != null ? journal.lastSequence() : 0) + 1;
+        this.publishedSequence = firstSequence - 1;
+
+        this.publishedEvents = Counter.builder("events.published").register(meterRegistry);
+    }
+
+    /**
+     * Publishes the event once the current transaction has committed, or immediately outside a transaction.
+     * Nothing is published for a transaction that rolls back.
+     */
+    public void publishAfterCommit(DomainEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(event);
+                }
+            });
+        } else {
+            publish(event);
+        }
+    }
+
+    public void publish(DomainEvent event) {
+        synchronized (publishLock) {
+            long sequence = journal != null ? journal.append(event) : publishedSequence + 1;
+            // the slot is free once every consumer has read the event a whole ring earlier
+            while (sequence - ring.length > gatingSequence() && running) {
+                LockSupport.parkNanos(FULL_PARK_NANOS);
+            }
+            ring[(int) (sequence & mask)] = new SequencedEvent(sequence, event);
+            publishedSequence = sequence;
+        }
+        for (Worker worker : workers) {
+            if (worker.sleeping) {
+                LockSupport.unpark(worker.thread);
+            }
+        }
+        publishedEvents.increment();
+    }
+
+    /**
+     * @return the sequence of the last published event, 0 before the first one
+     */
+    public long headSequence() {
+        return publishedSequence;
+    }
+
+    /**
+     * @return the oldest sequence that can still be read; older events have been overwritten or cleaned up
+     */
+    public long firstAvailableSequence() {
+        if (journal != null) {
+            return journal.firstSequence();
+        }
+        return Math.max(firstSequence, publishedSequence - ring.length + 1);
+    }
+
+    /**
+     * Reads published events after the given sequence, oldest first.
+     *
+     * @param after the last sequence the reader already has
+     * @param limit the maximum number of events
+     * @return the events, empty when nothing newer is available
+     */
+    public List<SequencedEvent> read(long after, int limit) throws IOException {
+        long end = Math.min(publishedSequence, after + limit);
+        List<SequencedEvent> events = new ArrayList<>((int) Math.max(0, end - after));
+        for (long sequence = after + 1; sequence <= end; sequence++) {
+            // a slot holding another sequence has been overwritten since
+            SequencedEvent entry = ring[(int) (sequence & mask)];
+            if (entry == null || entry.sequence() != sequence) {
+                if (events.isEmpty() && journal != null) {
+                    journal.read(after, end, limit, (journaled, event) -> events.add(new SequencedEvent(journaled, event)));
+                }
+                break;
+            }
+            events.add(entry);
+        }
+        return events;
+    }
+
+    /**
+     * Starts one thread per consumer. Events published before are kept in the ring and delivered first.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        List<Worker> created = consumers.orderedStream().map(Worker::new).toList();
+        workers = created;
+        started = true;
+        created.forEach(worker -> worker.thread.start());
+        AuditLogger.log("EVENT_BUS_STARTED", "Started {} consumers at sequence {}", created.size(), firstSequence);
+    }
+
+    /**
+     * Lets the consumers handle what has been published, then closes the journal.
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        workers.forEach(worker -> LockSupport.unpark(worker.thread));
+        for (Worker worker : workers) {
+            try {
+                worker.thread.join(5_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                AuditLogger.log("EVENT_JOURNAL_CLOSE_FAILED", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Deletes the journal segments that every durable consumer has handled and that are older than
+     * the retention, which is how far back readers of the change feed can go.
+     */
+    @Scheduled(fixedDelayString = "${app.events.journal.cleanup-interval:600000}")
+    public void cleanUpJournal() {
+        if (journal == null || !started) {
+            return;
+        }
+        long handledThrough = publishedSequence;
+        for (Worker worker : workers) {
+            if (worker.consumer.durable()) {
+                handledThrough = Math.min(handledThrough, worker.storedOffset);
+            }
+        }
+        int deleted;
+        synchronized (publishLock) {
+            deleted = journal.deleteSegmentsBefore(handledThrough, Instant.now().minus(journalRetention));
+        }
+        if (deleted > 0) {
+            AuditLogger.log("EVENT_JOURNAL_CLEANED", "Deleted {} journal segments up to sequence {}", deleted, handledThrough);
+        }
+    }
+
+    private long gatingSequence() {
+        if (!started) {
+            return firstSequence - 1;
+        }
+        long slowest = publishedSequence;
+        for (Worker worker : workers) {
+            slowest = Math.min(slowest, worker.consumed);
+        }
+        return slowest;
+    }
+
+    private final class Worker implements Runnable {
+
+        private final DomainEventConsumer consumer;
+        private final Thread thread;
+        private final boolean durable;
+        private final List<DomainEvent> batch = new ArrayList<>(maxBatchSize);
+
+        /**
+         * Last sequence read from the ring. While catching up from the journal it follows the head,
+         * so publishers do not wait for this consumer.
+         */
+        private volatile long consumed = firstSequence - 1;
+
+        /**
+         * Last sequence stored as the offset of a durable consumer, including replayed events.
+         */
+        private volatile long storedOffset;
+
+        /**
+         * Set while the thread is parked for lack of events, so publishers know to wake it up.
+         */
+        private volatile boolean sleeping;
+
+        /**
+         * Whether a durable consumer reads from the journal rather than the ring: on startup, and after a failure.
+         */
+        private boolean catchingUp;
+        private long backoffNanos = retryBackoffNanos;
+
+        private Worker(DomainEventConsumer consumer) {
+            this.consumer = consumer;
+            this.durable = consumer.durable() && journal != null;
+            this.thread = new CustomizableThreadFactory("events-" + consumer.name() + "-").newThread(this);
+            Gauge.builder("events.consumer.lag", this, worker -> publishedSequence - worker.storedOrConsumed())
+                    .tag("consumer", consumer.name())
+                    .register(meterRegistry);
+        }
+
+        @Override
+        public void run() {
+            try {
+                consumer.onStart();
+            } catch (RuntimeException e) {
+                AuditLogger.log("EVENT_CONSUMER_START_FAILED", "Consumer {} - {}", consumer.name(), e.getMessage());
+            }
+            if (durable) {
+                startCatchingUp();
+            }
+
+            while (true) {
+                if (catchingUp) {
+                    if (!running) {
+                        // the offset is stored, the rest is replayed on the next start
+                        return;
+                    }
+                    catchUp();
+                    continue;
+                }
+                long available = publishedSequence;
+                if (available == consumed) {
+                    if (!running) {
+                        return;
+                    }
+                    awaitEvents();
+                    continue;
+                }
+                long end = Math.min(available, consumed + maxBatchSize);
+                for (long sequence = consumed + 1; sequence <= end; sequence++) {
+                    batch.add(ring[(int) (sequence & mask)].event());
+                }
+                if (!deliver(end)) {
+                    catchingUp = true;
+                    backOff();
+                }
+                consumed = end;
+            }
+        }
+
+        /**
+         * Parks until a publisher wakes the thread up. The timeout only guards against a missed wake-up.
+         */
+        private void awaitEvents() {
+            sleeping = true;
+            if (publishedSequence == consumed && running) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+            sleeping = false;
+        }
+
+        /**
+         * Starts a durable consumer after its stored offset. A consumer without an offset starts with the
+         * events of this process.
+         */
+        private void startCatchingUp() {
+            try {
+                OptionalLong offset = journal.readOffset(consumer.name());
+                storedOffset = offset.orElse(firstSequence - 1);
+            } catch (IOException e) {
+                AuditLogger.log("EVENT_REPLAY_FAILED", "Consumer {} - {}", consumer.name(), e.getMessage());
+                storedOffset = firstSequence - 1;
+            }
+            if (storedOffset < firstSequence - 1) {
+                AuditLogger.log("EVENT_REPLAY", "Replaying events from {} to consumer {}", storedOffset + 1, consumer.name());
+            }
+            catchingUp = true;
+        }
+
+        /**
+         * Delivers the next batch after the stored offset from the journal, and switches back to the ring
+         * once nothing is left, under the publish lock so no event slips in between.
+         */
+        private void catchUp() {
+            long after = storedOffset;
+            long head = publishedSequence;
+            consumed = head;
+            if (after < head) {
+                long[] last = {after};
+                try {
+                    journal.read(after, head, maxBatchSize, (sequence, event) -> {
+                        batch.add(event);
+                        last[0] = sequence;
+                    });
+                } catch (IOException e) {
+                    AuditLogger.log("EVENT_REPLAY_FAILED", "Consumer {} - {}", consumer.name(), e.getMessage());
+                    batch.clear();
+                    backOff();
+                    return;
+                }
+                // a short read has passed every record up to the head, including unreadable ones
+                long through = batch.size() < maxBatchSize ? head : last[0];
+                if (!deliver(through)) {
+                    backOff();
+                    return;
+                }
+                backoffNanos = retryBackoffNanos;
+                return;
+            }
+            synchronized (publishLock) {
+                if (storedOffset == publishedSequence) {
+                    consumed = storedOffset;
+                    catchingUp = false;
+                }
+            }
+        }
+
+        private void backOff() {
+            if (running) {
+                LockSupport.parkNanos(backoffNanos);
+            }
+            backoffNanos = Math.min(backoffNanos * 2, maxRetryBackoffNanos);
+        }
+
+        /**
+         * Hands the batch to the consumer and stores the offset of a durable consumer.
+         *
+         * @return false if a durable consumer failed; its offset is left where it was
+         */
+        private boolean deliver(long throughSequence) {
+            if (!batch.isEmpty()) {
+                try {
+                    consumer.handle(batch);
+                } catch (RuntimeException e) {
+                    AuditLogger.log("EVENT_CONSUMER_FAILED", "Consumer {} failed on events {} to {} - {}",
+                            consumer.name(), (durable ? storedOffset : consumed) + 1, throughSequence, e.getMessage());
+                    batch.clear();
+                    return !durable;
+                }
+                batch.clear();
+            }
+            if (durable) {
+                journal.writeOffset(consumer.name(), throughSequence);
+                storedOffset = throughSequence;
+            }
+            return true;
+        }
+
+        private long storedOrConsumed() {
+            return durable ? storedOffset : consumed;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.nbr.bankingsystem.eventbus;
+
+import com.nbr.bankingsystem.events.DomainEvent;
+
+import java.util.List;
+
+/**
+ * A consumer of the DomainEventBus. Every consumer bean gets its own thread and its own position
+ * in the ring, so a slow consumer never delays the others (until it is a whole ring behind).
+ */
+public interface DomainEventConsumer {
+
+    /**
+     * Unique name of the consumer, used for its thread, metrics and journal offset.
+     */
+    String name();
+
+    /**
+     * Whether the consumer must see every event, including those published before a restart or crash.
+     * Durable consumers replay the journal from their last offset on startup; the others start at the
+     * live head, which suits consumers that rebuild their state from the database anyway.
+     */
+    default boolean durable() {
+        return false;
+    }
+
+    /**
+     * Called once on the consumer thread before the first batch, e.g. to warm up state.
+     */
+    default void onStart() {
+    }
+
+    /**
+     * Handles a batch of events in publication order. The list is reused once the call returns.
+     * A durable consumer should throw when it could not handle an event for a reason that may go away,
+     * like a database outage: the batch is then delivered again, with a backoff, until it succeeds, so
+     * events before the failing one may be seen twice. For other consumers an exception is logged and the
+     * whole batch counts as consumed.
+     */
+    void handle(List<DomainEvent> events);
+}
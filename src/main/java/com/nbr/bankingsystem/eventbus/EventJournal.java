@@ -0,0 +1,350 @@
+package com.nbr.bankingsystem.eventbus;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nbr.bankingsystem.events.DomainEvent;
+import com.nbr.bankingsystem.utils.AuditLogger;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Append-only journal of published domain events, so durable consumers can catch up after a restart.
+ *
+ * Events are stored as records of [int length][long sequence][JSON] in segment files named after their
+ * first sequence number; a new segment is started once the current one reaches the configured size.
+ * A record torn by a crash is cut off when the journal is opened. The offset of each durable consumer
+ * (the last sequence it handled) is kept in its own small file next to the segments.
+ * A sparse index of record positions lets reads from the middle of a segment skip the records before.
+ *
+ * Not thread-safe for writing: the bus appends and deletes segments under its publish lock.
+ */
+public final class EventJournal implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "events-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String OFFSET_SUFFIX = ".offset";
+    private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES;
+    private static final int MAX_RECORD_BYTES = 16 << 20;
+    private static final int INDEX_INTERVAL = 1024;
+
+    private final Path directory;
+    private final Path offsetDirectory;
+    private final ObjectMapper objectMapper;
+    private final long segmentBytes;
+    private final boolean fsync;
+    private final ConcurrentSkipListMap<Long, RecordPosition> sparseIndex = new ConcurrentSkipListMap<>();
+
+    private FileChannel segment;
+    private Path segmentPath;
+    private long segmentSize;
+    private long lastSequence;
+    private volatile long firstSequence = 1;
+
+    /**
+     * Opens the journal in the given directory, creating it if needed, and continues after its last valid record.
+     */
+    public EventJournal(Path directory, ObjectMapper objectMapper, long segmentBytes, boolean fsync) throws IOException {
+        this.directory = directory;
+        this.offsetDirectory = directory.resolve("offsets");
+        this.objectMapper = objectMapper;
+        this.segmentBytes = segmentBytes;
+        this.fsync = fsync;
+        Files.createDirectories(offsetDirectory);
+
+        List<Segment> segments = segments();
+        if (!segments.isEmpty()) {
+            Segment last = segments.get(segments.size() - 1);
+            long[] lastRead = {last.firstSequence() - 1};
+            firstSequence = segments.get(0).firstSequence();
+            long validEnd = forEachRecord(last.path(), 0, (sequence, json) -> {
+                lastRead[0] = sequence;
+                return true;
+            });
+            segmentPath = last.path();
+            segment = FileChannel.open(segmentPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            if (segment.size() > validEnd) {
+                AuditLogger.log("EVENT_JOURNAL_TRUNCATED", "Cut off {} bytes of a torn record in {}",
+                        segment.size() - validEnd, last.path());
+                segment.truncate(validEnd);
+            }
+            segment.position(validEnd);
+            segmentSize = validEnd;
+            lastSequence = lastRead[0];
+        }
+    }
+
+    /**
+     * @return the sequence of the last appended event, 0 for an empty journal
+     */
+    public long lastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * @return the sequence of the oldest event still in the journal
+     */
+    public long firstSequence() {
+        return firstSequence;
+    }
+
+    /**
+     * Appends an event under the next sequence number. A failed write is logged and the sequence is
+     * still used, so the event reaches live consumers but cannot be replayed.
+     *
+     * @return the sequence of the event
+     */
+    public long append(DomainEvent event) {
+        long sequence = lastSequence + 1;
+        long start = segmentSize;
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(event);
+            if (segment == null || segmentSize >= segmentBytes) {
+                roll(sequence);
+                start = 0;
+            }
+            ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + json.length);
+            record.putInt(json.length).putLong(sequence).put(json).flip();
+            while (record.hasRemaining()) {
+                segment.write(record);
+            }
+            if (fsync) {
+                segment.force(false);
+            }
+            segmentSize = start + HEADER_BYTES + json.length;
+            if (sequence % INDEX_INTERVAL == 0) {
+                sparseIndex.put(sequence, new RecordPosition(segmentPath, start));
+            }
+        } catch (IOException e) {
+            AuditLogger.log("EVENT_JOURNAL_WRITE_FAILED", "Event {} was not journaled - {}", sequence, e.getMessage());
+            rewind(start);
+        }
+        lastSequence = sequence;
+        return sequence;
+    }
+
+    /**
+     * Reads the events after `after` up to and including `upTo`, in order. Records that can no longer
+     * be read as an event are logged and skipped.
+     */
+    public void replay(long after, long upTo, EventSink sink) throws IOException {
+        read(after, upTo, Integer.MAX_VALUE, sink);
+    }
+
+    /**
+     * Reads at most `limit` events after `after` up to and including `upTo`, in order.
+     * Safe to call while events are appended, as long as `upTo` has already been appended.
+     */
+    public void read(long after, long upTo, int limit, EventSink sink) throws IOException {
+        List<Segment> segments = segments();
+        int[] remaining = {limit};
+        for (int i = 0; i < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            if (i + 1 < segments.size() && segments.get(i + 1).firstSequence() <= after + 1) {
+                continue;
+            }
+            if (segment.firstSequence() > upTo) {
+                return;
+            }
+
+            long start = 0;
+            Map.Entry<Long, RecordPosition> indexed = sparseIndex.floorEntry(after + 1);
+            if (indexed != null && indexed.getKey() >= segment.firstSequence() && indexed.getValue().segment().equals(segment.path())) {
+                start = indexed.getValue().position();
+            }
+            boolean[] reachedEnd = {false};
+            forEachRecord(segment.path(), start, (sequence, json) -> {
+                if (sequence > upTo || remaining[0] == 0) {
+                    reachedEnd[0] = true;
+                    return false;
+                }
+                if (sequence > after) {
+                    DomainEvent event = decode(sequence, json);
+                    if (event != null) {
+                        sink.accept(sequence, event);
+                        remaining[0]--;
+                    }
+                }
+                return true;
+            });
+            if (reachedEnd[0]) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Deletes the oldest segments whose events all have a sequence of at most `sequence` and that were
+     * last written before `modifiedBefore`. The current segment is never deleted.
+     *
+     * @return the number of deleted segments
+     */
+    public int deleteSegmentsBefore(long sequence, Instant modifiedBefore) {
+        int deleted = 0;
+        try {
+            List<Segment> segments = segments();
+            for (int i = 0; i + 1 < segments.size() && segments.get(i + 1).firstSequence() <= sequence + 1; i++) {
+                if (!Files.getLastModifiedTime(segments.get(i).path()).toInstant().isBefore(modifiedBefore)) {
+                    break;
+                }
+                long next = segments.get(i + 1).firstSequence();
+                firstSequence = next;
+                sparseIndex.headMap(next).clear();
+                Files.deleteIfExists(segments.get(i).path());
+                deleted++;
+            }
+        } catch (IOException e) {
+            AuditLogger.log("EVENT_JOURNAL_CLEANUP_FAILED", e.getMessage());
+        }
+        return deleted;
+    }
+
+    /**
+     * @return the last sequence the consumer handled, or empty if it never stored an offset
+     */
+    public OptionalLong readOffset(String consumer) throws IOException {
+        Path path = offsetDirectory.resolve(consumer + OFFSET_SUFFIX);
+        if (!Files.exists(path)) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(Long.parseLong(Files.readString(path).trim()));
+    }
+
+    /**
+     * Stores the offset of a consumer; the file is replaced atomically so a crash leaves either offset.
+     */
+    public void writeOffset(String consumer, long sequence) {
+        Path path = offsetDirectory.resolve(consumer + OFFSET_SUFFIX);
+        Path temporary = offsetDirectory.resolve(consumer + OFFSET_SUFFIX + ".tmp");
+        try {
+            Files.writeString(temporary, Long.toString(sequence));
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            AuditLogger.log("EVENT_OFFSET_WRITE_FAILED", "Consumer {} - {}", consumer, e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (segment != null) {
+            segment.close();
+        }
+    }
+
+    private void roll(long sequence) throws IOException {
+        if (segment != null) {
+            segment.close();
+        }
+        segmentPath = directory.resolve(SEGMENT_PREFIX + String.format("%020d", sequence) + SEGMENT_SUFFIX);
+        segment = FileChannel.open(segmentPath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segmentSize = 0;
+    }
+
+    /**
+     * Drops a partially written record so the next append starts on a record boundary.
+     */
+    private void rewind(long position) {
+        if (segment == null || !segment.isOpen()) {
+            return;
+        }
+        try {
+            segment.truncate(position);
+            segment.position(position);
+            segmentSize = position;
+        } catch (IOException e) {
+            AuditLogger.log("EVENT_JOURNAL_WRITE_FAILED", "Could not rewind the journal - {}", e.getMessage());
+        }
+    }
+
+    private DomainEvent decode(long sequence, byte[] json) {
+        try {
+            return objectMapper.readValue(json, DomainEvent.class);
+        } catch (IOException e) {
+            AuditLogger.log("EVENT_JOURNAL_READ_FAILED", "Skipped event {} - {}", sequence, e.getMessage());
+            return null;
+        }
+    }
+
+    private List<Segment> segments() throws IOException {
+        List<Segment> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(path -> {
+                String name = path.getFileName().toString();
+                if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    segments.add(new Segment(path, Long.parseLong(
+                            name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()))));
+                }
+            });
+        }
+        segments.sort(Comparator.comparingLong(Segment::firstSequence));
+        return segments;
+    }
+
+    /**
+     * Visits the complete records of a segment from the given record position until the visitor returns false,
+     * adding every INDEX_INTERVAL-th record to the sparse index on the way.
+     *
+     * @return the position after the last complete record
+     */
+    private long forEachRecord(Path path, long start, RecordVisitor visitor) throws IOException {
+        long position = start;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            in.skipNBytes(start);
+            while (true) {
+                byte[] json;
+                long sequence;
+                try {
+                    int length = in.readInt();
+                    sequence = in.readLong();
+                    if (length < 0 || length > MAX_RECORD_BYTES) {
+                        return position;
+                    }
+                    json = new byte[length];
+                    in.readFully(json);
+                } catch (EOFException e) {
+                    return position;
+                }
+                if (sequence % INDEX_INTERVAL == 0) {
+                    sparseIndex.putIfAbsent(sequence, new RecordPosition(path, position));
+                }
+                position += HEADER_BYTES + json.length;
+                if (!visitor.visit(sequence, json)) {
+                    return position;
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    public interface EventSink {
+        void accept(long sequence, DomainEvent event);
+    }
+
+    @FunctionalInterface
+    private interface RecordVisitor {
+        boolean visit(long sequence, byte[] json);
+    }
+
+    private record Segment(Path path, long firstSequence) {
+    }
+
+    private record RecordPosition(Path segment, long position) {
+    }
+}
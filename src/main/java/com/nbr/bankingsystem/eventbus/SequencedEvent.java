@@ -0,0 +1,10 @@
+package com.nbr.bankingsystem.eventbus;
+
+import com.nbr.bankingsystem.events.DomainEvent;
+
+/**
+ * A published event with its position on the bus. Sequences start at 1, increase by one per event
+ * and continue across restarts as long as the journal is kept.
+ */
+public record SequencedEvent(long sequence, DomainEvent event) {
+}
@@ -0,0 +1,34 @@
+package com.nbr.bankingsystem.events;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.nbr.bankingsystem.models.Customer;
+import com.nbr.bankingsystem.notifications.NotificationRecipient;
+
+/**
+ * The customer side of a transaction event, as it was when the transaction committed.
+ *
+ * The names, email and mobile are only kept in memory: they are never written to the journal or the
+ * change feed, so an event replayed from the journal has them as null.
+ *
+ * @param balance the balance right after the transaction (null in events journaled before it was added)
+ */
+public record AccountHolder(Long customerId, String account, @JsonIgnore String firstName, @JsonIgnore String lastName,
+                            @JsonIgnore String email, @JsonIgnore String mobile, Double balance) {
+
+    public static AccountHolder of(Customer customer) {
+        return new AccountHolder(customer.getId(), customer.getAccount(), customer.getFirstName(),
+                customer.getLastName(), customer.getEmail(), customer.getMobile(), customer.getBalance());
+    }
+
+    /**
+     * @return whether the personal data is there, i.e. the event was not replayed from the journal
+     */
+    @JsonIgnore
+    public boolean hasContactDetails() {
+        return email != null;
+    }
+
+    public NotificationRecipient recipient() {
+        return new NotificationRecipient(customerId, email, mobile);
+    }
+}
@@ -0,0 +1,7 @@
+package com.nbr.bankingsystem.events;
+
+/**
+ * A customer has been deleted.
+ */
+public record CustomerDeleted(Long customerId) implements DomainEvent {
+}
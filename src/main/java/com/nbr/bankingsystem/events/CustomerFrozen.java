@@ -0,0 +1,9 @@
+package com.nbr.bankingsystem.events;
+
+/**
+ * A customer has been frozen or unfrozen, by an administrator or by fraud detection.
+ *
+ * @param frozen whether the customer is frozen after the change
+ */
+public record CustomerFrozen(Long customerId, boolean frozen) implements DomainEvent {
+}
@@ -0,0 +1,13 @@
+package com.nbr.bankingsystem.events;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.nbr.bankingsystem.DTO.CustomerResponseDTO;
+
+/**
+ * A new customer has been committed.
+ *
+ * @param customer the new customer; the personal data is left out of the journal and the change feed
+ */
+public record CustomerRegistered(@JsonIgnoreProperties({"firstName", "lastName", "email", "mobile", "dob"})
+                                 CustomerResponseDTO customer) implements DomainEvent {
+}
@@ -0,0 +1,14 @@
+package com.nbr.bankingsystem.events;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.nbr.bankingsystem.DTO.CustomerResponseDTO;
+
+/**
+ * The details of a customer have changed.
+ *
+ * @param customer the customer as it is after the change; the personal data is left out of the journal
+ *                 and the change feed
+ */
+public record CustomerUpdated(@JsonIgnoreProperties({"firstName", "lastName", "email", "mobile", "dob"})
+                              CustomerResponseDTO customer) implements DomainEvent {
+}
@@ -0,0 +1,27 @@
+package com.nbr.bankingsystem.events;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+/**
+ * A change that has been committed, published on the DomainEventBus after the transaction that made it.
+ *
+ * Events carry everything their consumers need, so consumers never have to read the change back
+ * from the database. They are written to the event journal as JSON, with their type in the `type` property.
+ * Personal data (names, email, mobile, date of birth) is left out of the JSON, so it is neither kept in the
+ * journal nor served by the change feed; a durable consumer that needs it for a replayed event reads the
+ * customer instead.
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+@JsonSubTypes({
+        @JsonSubTypes.Type(value = TransactionCreated.class, name = "TransactionCreated"),
+        @JsonSubTypes.Type(value = TransferCompleted.class, name = "TransferCompleted"),
+        @JsonSubTypes.Type(value = CustomerRegistered.class, name = "CustomerRegistered"),
+        @JsonSubTypes.Type(value = CustomerUpdated.class, name = "CustomerUpdated"),
+        @JsonSubTypes.Type(value = CustomerFrozen.class, name = "CustomerFrozen"),
+        @JsonSubTypes.Type(value = CustomerDeleted.class, name = "CustomerDeleted")
+})
+public sealed interface DomainEvent
+        permits TransactionCreated, TransferCompleted, CustomerRegistered, CustomerUpdated, CustomerFrozen,
+        CustomerDeleted {
+}
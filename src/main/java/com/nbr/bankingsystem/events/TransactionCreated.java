@@ -0,0 +1,20 @@
+package com.nbr.bankingsystem.events;
+
+import com.nbr.bankingsystem.enums.CurrencyCode;
+import com.nbr.bankingsystem.enums.TransactionType;
+
+import java.time.LocalDateTime;
+
+/**
+ * A saving or withdrawal has been committed.
+ *
+ * @param transactionId   the id of the Banking row
+ * @param holder          the customer that made the transaction
+ * @param type            SAVING or WITHDRAW
+ * @param amount          the amount, in the currency of the account
+ * @param currency        the currency of the account
+ * @param bankingDateTime when the transaction was made
+ */
+public record TransactionCreated(Long transactionId, AccountHolder holder, TransactionType type, double amount,
+                                 CurrencyCode currency, LocalDateTime bankingDateTime) implements DomainEvent {
+}
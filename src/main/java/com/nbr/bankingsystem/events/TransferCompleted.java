@@ -0,0 +1,23 @@
+package com.nbr.bankingsystem.events;
+
+import com.nbr.bankingsystem.enums.CurrencyCode;
+
+import java.time.LocalDateTime;
+
+/**
+ * A transfer between two customers has been committed.
+ *
+ * @param transactionId    the id of the Banking row
+ * @param sender           the customer the amount was taken from
+ * @param receiver         the customer that was credited
+ * @param amount           the amount debited, in the sender's currency
+ * @param currency         the sender's currency
+ * @param fxRate           the rate the amount was converted with, 1.0 within one currency
+ * @param creditedAmount   the amount credited, in the receiver's currency
+ * @param creditedCurrency the receiver's currency
+ * @param bankingDateTime  when the transfer was made
+ */
+public record TransferCompleted(Long transactionId, AccountHolder sender, AccountHolder receiver, double amount,
+                                CurrencyCode currency, double fxRate, double creditedAmount,
+                                CurrencyCode creditedCurrency, LocalDateTime bankingDateTime) implements DomainEvent {
+}
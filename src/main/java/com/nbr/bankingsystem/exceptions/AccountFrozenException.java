@@ -0,0 +1,17 @@
+package com.nbr.bankingsystem.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when money is withdrawn or transferred from a frozen account.
+ */
+@ResponseStatus(HttpStatus.FORBIDDEN) // 403 Forbidden
+public class AccountFrozenException extends BusinessException {
+
+    public static final AccountFrozenException FROZEN = new AccountFrozenException("The account is frozen, please contact the bank");
+
+    public AccountFrozenException(String message) {
+        super(message);
+    }
+}
@@ -1,54 +0,0 @@
-package com.nbr.bankingsystem.exceptions;
-
-
-
-import com.nbr.bankingsystem.DTO.ErrorResponse;
-import com.nbr.bankingsystem.enums.ResponseType;
-import org.hibernate.exception.ConstraintViolationException;
-import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.http.ResponseEntity;
-import org.springframework.validation.FieldError;
-import org.springframework.web.bind.MethodArgumentNotValidException;
-import org.springframework.web.bind.annotation.ControllerAdvice;
-import org.springframework.web.bind.annotation.ExceptionHandler;
-
-import javax.naming.AuthenticationException;
-import java.nio.file.AccessDeniedException;
-import java.util.Objects;
-
-@ControllerAdvice
-public class AppFailureException {
-
-    @ExceptionHandler(RuntimeException.class)
-    public ResponseEntity<ErrorResponse> handleAnyError(RuntimeException exception) {
-        return ResponseEntity.badRequest().body(new ErrorResponse(exception.getMessage(), exception.getMessage()));
-    }
-
-    @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<ErrorResponse> handleValidations(MethodArgumentNotValidException exception) {
-        FieldError error = Objects.requireNonNull(exception.getFieldError());
-        String message = error.getField() + ": " + error.getDefaultMessage();
-        return ResponseEntity.badRequest().body(new ErrorResponse(message, error));
-    }
-
-
-    @ExceptionHandler(ConstraintViolationException.class)
-    public ResponseEntity<ErrorResponse> handleSqlExceptions(ConstraintViolationException exception) {
-        return ResponseEntity.badRequest().body(new ErrorResponse(exception.getMessage() + " - " + exception.getSQL() + " - " + exception.getSQLState(), exception.getSQLException()));
-    }
-
-    @ExceptionHandler(DataIntegrityViolationException.class)
-    public ResponseEntity<ErrorResponse> handleDataIntegrityViolation(DataIntegrityViolationException exception) {
-        return ResponseEntity.badRequest().body(new ErrorResponse("Data integrity violation", exception));
-    }
-
-    @ExceptionHandler(AuthenticationException.class)
-    public ResponseEntity<ErrorResponse> handleAuthenticationException(AuthenticationException exception) {
-        return ResponseEntity.status(ResponseType.UNAUTHORIZED.ordinal()).body(new ErrorResponse("Authentication failed", exception));
-    }
-
-    @ExceptionHandler(AccessDeniedException.class)
-    public ResponseEntity<ErrorResponse> handleAccessDeniedException(AccessDeniedException exception) {
-        return ResponseEntity.status(ResponseType.FORBIDDEN.ordinal()).body(new ErrorResponse("You have no permissions to access this endpoint.", exception));
-    }
-}
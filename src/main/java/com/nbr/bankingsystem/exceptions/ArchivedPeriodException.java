@@ -0,0 +1,14 @@
+package com.nbr.bankingsystem.exceptions;
+
+/**
+ * Exception thrown when an operation targets a period whose rows were moved to the archive tables.
+ */
+public class ArchivedPeriodException extends BusinessException {
+    /**
+     * Constructs a new ArchivedPeriodException with the specified detail message.
+     * @param message the detail message
+     */
+    public ArchivedPeriodException(String message) {
+        super(message);
+    }
+}
@@ -1,6 +1,6 @@
 package com.nbr.bankingsystem.exceptions;
 
-public class AuthenticationFailedException extends RuntimeException {
+public class AuthenticationFailedException extends BusinessException {
     public AuthenticationFailedException(String message) {
         super(message);
     }
@@ -0,0 +1,20 @@
+package com.nbr.bankingsystem.exceptions;
+
+/**
+ * Base class of expected business rejections (not found, insufficient balance, invalid input...).
+ *
+ * These are outcomes, not bugs: they are thrown on hot paths, e.g. by a client retrying withdrawals
+ * from an empty account, and only ever turned into an HTTP response. They therefore skip stack trace
+ * capture and suppression, which makes them cheap enough to throw and, for constant messages, safe
+ * to preallocate and share.
+ */
+public abstract class BusinessException extends RuntimeException {
+
+    protected BusinessException(String message) {
+        super(message, null, false, false);
+    }
+
+    protected BusinessException(String message, Throwable cause) {
+        super(message, cause, false, false);
+    }
+}
@@ -0,0 +1,15 @@
+package com.nbr.bankingsystem.exceptions;
+
+/**
+ * Exception thrown when the change feed is read from an offset that is no longer retained.
+ * The reader has to take a new snapshot and continue from the oldest available sequence.
+ */
+public class ChangeOffsetExpiredException extends BusinessException {
+    /**
+     * Constructs a new ChangeOffsetExpiredException with the specified detail message.
+     * @param message the detail message
+     */
+    public ChangeOffsetExpiredException(String message) {
+        super(message);
+    }
+}
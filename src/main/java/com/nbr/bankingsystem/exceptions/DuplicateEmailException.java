@@ -4,7 +4,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 @ResponseStatus(HttpStatus.CONFLICT) // 409 Conflict
-public class DuplicateEmailException extends RuntimeException {
+public class DuplicateEmailException extends BusinessException {
     public DuplicateEmailException(String message) {
         super(message);
     }
@@ -4,7 +4,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 @ResponseStatus(HttpStatus.BAD_REQUEST)
-public class DuplicateMobileNumberException extends RuntimeException {
+public class DuplicateMobileNumberException extends BusinessException {
     public DuplicateMobileNumberException(String message) {
         super(message);
     }
@@ -0,0 +1,14 @@
+package com.nbr.bankingsystem.exceptions;
+
+/**
+ * Exception thrown when no exchange rate is loaded for a pair of currencies.
+ */
+public class FxRateUnavailableException extends BusinessException {
+    /**
+     * Constructs a new FxRateUnavailableException with the specified detail message.
+     * @param message the detail message
+     */
+    public FxRateUnavailableException(String message) {
+        super(message);
+    }
+}
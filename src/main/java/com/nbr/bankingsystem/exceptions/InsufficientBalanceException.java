@@ -4,7 +4,11 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 @ResponseStatus(HttpStatus.BAD_REQUEST) // 400 Bad Request
-public class InsufficientBalanceException extends RuntimeException {
+public class InsufficientBalanceException extends BusinessException {
+
+    public static final InsufficientBalanceException FOR_WITHDRAWAL = new InsufficientBalanceException("Insufficient balance for withdrawal");
+    public static final InsufficientBalanceException FOR_TRANSFER = new InsufficientBalanceException("Insufficient balance for transfer");
+
     public InsufficientBalanceException(String message) {
         super(message);
     }
@@ -0,0 +1,23 @@
+package com.nbr.bankingsystem.exceptions;
+
+/**
+ * Exception thrown when a pagination cursor cannot be decoded or does not match the requested sort.
+ */
+public class InvalidCursorException extends BusinessException {
+    /**
+     * Constructs a new InvalidCursorException with the specified detail message.
+     * @param message the detail message
+     */
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new InvalidCursorException with the specified detail message and cause.
+     * @param message the detail message
+     * @param cause the cause of the exception
+     */
+    public InvalidCursorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
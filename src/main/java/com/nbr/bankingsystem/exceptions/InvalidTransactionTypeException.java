@@ -1,11 +1,22 @@
 package com.nbr.bankingsystem.exceptions;
 
+import com.nbr.bankingsystem.enums.CurrencyCode;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 @ResponseStatus(HttpStatus.BAD_REQUEST) // 400 Bad Request
-public class InvalidTransactionTypeException extends RuntimeException {
+public class InvalidTransactionTypeException extends BusinessException {
+
+    public static final InvalidTransactionTypeException NON_POSITIVE_AMOUNT = new InvalidTransactionTypeException("Transaction amount must be greater than zero");
+    public static final InvalidTransactionTypeException NON_POSITIVE_TRANSFER = new InvalidTransactionTypeException("Transfer amount must be greater than zero");
+    public static final InvalidTransactionTypeException SAME_ACCOUNT_TRANSFER = new InvalidTransactionTypeException("Cannot transfer money to the same account");
+
     public InvalidTransactionTypeException(String message) {
         super(message);
     }
+
+    public static InvalidTransactionTypeException tooManyDecimals(CurrencyCode currency) {
+        return new InvalidTransactionTypeException("Amounts in " + currency + " can have at most "
+                + currency.getFractionDigits() + " decimal places");
+    }
 }
@@ -0,0 +1,19 @@
+package com.nbr.bankingsystem.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a withdrawal or transfer would break one of the customer's account limits.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST) // 400 Bad Request
+public class LimitExceededException extends BusinessException {
+
+    public static final LimitExceededException DAILY_WITHDRAWAL = new LimitExceededException("Daily withdrawal limit exceeded");
+    public static final LimitExceededException DAILY_TRANSFER = new LimitExceededException("Daily transfer limit exceeded");
+    public static final LimitExceededException TRANSFER_VELOCITY = new LimitExceededException("Too many transfers in a short time, please try again later");
+
+    public LimitExceededException(String message) {
+        super(message);
+    }
+}
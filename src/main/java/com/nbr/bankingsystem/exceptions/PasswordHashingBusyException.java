@@ -0,0 +1,11 @@
+package com.nbr.bankingsystem.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE) // 503 Service Unavailable
+public class PasswordHashingBusyException extends BusinessException {
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
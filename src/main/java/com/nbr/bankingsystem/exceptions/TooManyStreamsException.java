@@ -0,0 +1,14 @@
+package com.nbr.bankingsystem.exceptions;
+
+/**
+ * Exception thrown when a streaming endpoint already has its maximum number of open streams.
+ */
+public class TooManyStreamsException extends BusinessException {
+    /**
+     * Constructs a new TooManyStreamsException with the specified detail message.
+     * @param message the detail message
+     */
+    public TooManyStreamsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.nbr.bankingsystem.exceptions;
+
+/**
+ * Exception thrown when a request names a currency the bank does not hold accounts in.
+ */
+public class UnsupportedCurrencyException extends BusinessException {
+    /**
+     * Constructs a new UnsupportedCurrencyException with the specified detail message.
+     * @param message the detail message
+     */
+    public UnsupportedCurrencyException(String message) {
+        super(message);
+    }
+}
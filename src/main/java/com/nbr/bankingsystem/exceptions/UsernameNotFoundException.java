@@ -4,7 +4,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
 @ResponseStatus(HttpStatus.NOT_FOUND) // 404 Not Found
-public class UsernameNotFoundException extends RuntimeException {
+public class UsernameNotFoundException extends BusinessException {
     public UsernameNotFoundException(String message) {
         super(message);
     }
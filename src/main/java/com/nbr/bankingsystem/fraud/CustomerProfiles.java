@@ -0,0 +1,175 @@
+package com.nbr.bankingsystem.fraud;
+
+/**
+ * Compact behavioural profiles of customers, stored column-wise in primitive arrays.
+ *
+ * Customer ids are the keys of an open-addressing hash table (linear probing, 0 marks a free slot),
+ * and every profile field is an array indexed by the same slot, so a profile costs about 80 bytes
+ * and no objects: millions of customers fit in a few hundred megabytes without GC pressure.
+ * Each profile holds:
+ * - the running count, mean and sum of squared deviations (Welford) of the log of its amounts,
+ * - the start and count of its current burst window,
+ * - a 256-bit bloom filter of the counterparties it has sent money to.
+ *
+ * Not thread-safe: only the fraud consumer thread of the DomainEventBus reads and writes the profiles.
+ */
+public final class CustomerProfiles {
+
+    private static final int BLOOM_WORDS = 4;
+    private static final int BLOOM_BITS = BLOOM_WORDS * 64;
+    private static final int BLOOM_HASHES = 3;
+
+    private long[] keys;
+    private int[] counts;
+    private double[] means;
+    private double[] m2s;
+    private long[] burstStarts;
+    private int[] burstCounts;
+    private long[] blooms;
+    private int mask;
+    private int size;
+
+    public CustomerProfiles(int initialCapacity) {
+        allocate(Integer.highestOneBit(Math.max(16, initialCapacity - 1)) << 1);
+    }
+
+    /**
+     * Returns the slot of a customer's profile, creating an empty profile if needed.
+     * Slots stay valid until the next profile is created.
+     */
+    public int slotOf(long customerId) {
+        int slot = find(keys, mask, customerId);
+        if (keys[slot] == customerId) {
+            return slot;
+        }
+        if ((size + 1) * 2 > keys.length) {
+            resize();
+            slot = find(keys, mask, customerId);
+        }
+        keys[slot] = customerId;
+        size++;
+        return slot;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int count(int slot) {
+        return counts[slot];
+    }
+
+    public double mean(int slot) {
+        return means[slot];
+    }
+
+    /**
+     * Sample variance of the recorded values, 0 below two values.
+     */
+    public double variance(int slot) {
+        return counts[slot] < 2 ? 0 : m2s[slot] / (counts[slot] - 1);
+    }
+
+    /**
+     * Adds a value to the running mean and variance (Welford's algorithm).
+     */
+    public void addValue(int slot, double value) {
+        int count = ++counts[slot];
+        double delta = value - means[slot];
+        means[slot] += delta / count;
+        m2s[slot] += delta * (value - means[slot]);
+    }
+
+    /**
+     * Counts an event in the burst window starting at the first event after the previous window ended.
+     *
+     * @return the number of events in the current window, including this one
+     */
+    public int addToBurst(int slot, long at, long windowMillis) {
+        if (at - burstStarts[slot] >= windowMillis) {
+            burstStarts[slot] = at;
+            burstCounts[slot] = 0;
+        }
+        return ++burstCounts[slot];
+    }
+
+    public boolean mightKnowCounterparty(int slot, long counterpartyId) {
+        long hash = mix(counterpartyId);
+        int base = slot * BLOOM_WORDS;
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            int bit = (int) ((hash >>> (i * 16)) & (BLOOM_BITS - 1));
+            if ((blooms[base + (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void addCounterparty(int slot, long counterpartyId) {
+        long hash = mix(counterpartyId);
+        int base = slot * BLOOM_WORDS;
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            int bit = (int) ((hash >>> (i * 16)) & (BLOOM_BITS - 1));
+            blooms[base + (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        counts = new int[capacity];
+        means = new double[capacity];
+        m2s = new double[capacity];
+        burstStarts = new long[capacity];
+        burstCounts = new int[capacity];
+        blooms = new long[capacity * BLOOM_WORDS];
+        mask = capacity - 1;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        int[] oldCounts = counts;
+        double[] oldMeans = means;
+        double[] oldM2s = m2s;
+        long[] oldBurstStarts = burstStarts;
+        int[] oldBurstCounts = burstCounts;
+        long[] oldBlooms = blooms;
+
+        allocate(oldKeys.length * 2);
+        for (int old = 0; old < oldKeys.length; old++) {
+            if (oldKeys[old] == 0) {
+                continue;
+            }
+            int slot = find(keys, mask, oldKeys[old]);
+            keys[slot] = oldKeys[old];
+            counts[slot] = oldCounts[old];
+            means[slot] = oldMeans[old];
+            m2s[slot] = oldM2s[old];
+            burstStarts[slot] = oldBurstStarts[old];
+            burstCounts[slot] = oldBurstCounts[old];
+            System.arraycopy(oldBlooms, old * BLOOM_WORDS, blooms, slot * BLOOM_WORDS, BLOOM_WORDS);
+        }
+    }
+
+    /**
+     * @return the slot holding the key, or the free slot where it would be inserted
+     */
+    private static int find(long[] keys, int mask, long key) {
+        int slot = (int) mix(key) & mask;
+        while (keys[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * murmur3 64-bit finalizer.
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,10 @@
+package com.nbr.bankingsystem.fraud;
+
+/**
+ * Outcome of scoring one transaction.
+ *
+ * @param score   between 0 (nothing unusual) and 1
+ * @param reasons the rules that contributed, comma-separated
+ */
+public record FraudScore(double score, String reasons) {
+}
@@ -0,0 +1,89 @@
+package com.nbr.bankingsystem.fraud;
+
+import com.nbr.bankingsystem.config.fraud.FraudProperties;
+import com.nbr.bankingsystem.enums.TransactionType;
+
+import java.util.StringJoiner;
+
+/**
+ * Scores transactions against the customer's profile, then adds them to it.
+ *
+ * Three rules contribute to the score:
+ * - unusual amount: the log of the amount is more than `amount-z-score` standard deviations above
+ *   the customer's mean, once the customer has `min-history` transactions;
+ * - new receiver: a transfer to a customer the sender has not sent money to before;
+ * - burst: more than `burst-count` transactions within the burst window.
+ *
+ * Amounts are compared on a log scale, since amounts spread over orders of magnitude.
+ * Not thread-safe: used by the fraud consumer thread of the DomainEventBus only.
+ */
+public class FraudScorer {
+
+    private static final double UNUSUAL_AMOUNT_WEIGHT = 0.5;
+    private static final double NEW_RECEIVER_WEIGHT = 0.3;
+    private static final double BURST_WEIGHT = 0.4;
+    private static final double MIN_DEVIATION = 0.25;
+
+    private final CustomerProfiles profiles;
+    private final FraudProperties properties;
+    private final long burstWindowMillis;
+
+    public FraudScorer(CustomerProfiles profiles, FraudProperties properties) {
+        this.profiles = profiles;
+        this.properties = properties;
+        this.burstWindowMillis = properties.getBurstWindow().toMillis();
+    }
+
+    /**
+     * Scores a transaction and learns from it.
+     *
+     * @param amountRwf  the amount converted to RWF
+     * @param receiverId the receiver of a transfer, null otherwise
+     * @param at         when the transaction was made, in epoch milliseconds
+     */
+    public FraudScore score(long customerId, TransactionType type, double amountRwf, Long receiverId, long at) {
+        int slot = profiles.slotOf(customerId);
+        double value = Math.log1p(amountRwf);
+        boolean established = profiles.count(slot) >= properties.getMinHistory();
+
+        double score = 0;
+        StringJoiner reasons = new StringJoiner(",");
+        if (established) {
+            double deviation = Math.max(Math.sqrt(profiles.variance(slot)), MIN_DEVIATION);
+            if ((value - profiles.mean(slot)) / deviation > properties.getAmountZScore()) {
+                score += UNUSUAL_AMOUNT_WEIGHT;
+                reasons.add("UNUSUAL_AMOUNT");
+            }
+        }
+        if (established && type == TransactionType.TRANSFER && receiverId != null
+                && !profiles.mightKnowCounterparty(slot, receiverId)) {
+            score += NEW_RECEIVER_WEIGHT;
+            reasons.add("NEW_RECEIVER");
+        }
+        if (profiles.addToBurst(slot, at, burstWindowMillis) > properties.getBurstCount()) {
+            score += BURST_WEIGHT;
+            reasons.add("BURST");
+        }
+
+        learn(slot, value, receiverId);
+        return new FraudScore(Math.min(1.0, score), reasons.toString());
+    }
+
+    /**
+     * Adds a past transaction to the profile without scoring it.
+     */
+    public void learn(long customerId, double amountRwf, Long receiverId) {
+        learn(profiles.slotOf(customerId), Math.log1p(amountRwf), receiverId);
+    }
+
+    public int profileCount() {
+        return profiles.size();
+    }
+
+    private void learn(int slot, double value, Long receiverId) {
+        profiles.addValue(slot, value);
+        if (receiverId != null) {
+            profiles.addCounterparty(slot, receiverId);
+        }
+    }
+}
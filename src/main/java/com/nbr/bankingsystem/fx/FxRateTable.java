@@ -0,0 +1,63 @@
+package com.nbr.bankingsystem.fx;
+
+import com.nbr.bankingsystem.enums.CurrencyCode;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Immutable table of the exchange rates between every pair of currencies.
+ *
+ * All cross rates are computed once from the RWF rates when the table is built, so looking up a
+ * rate during a transfer is a read of a final array by enum ordinals: no locks, maps or division.
+ * A new table is built and swapped in whenever the rates change.
+ */
+public final class FxRateTable {
+
+    private static final CurrencyCode[] CURRENCIES = CurrencyCode.values();
+
+    private final double[][] rates;
+    private final LocalDateTime loadedAt;
+
+    private FxRateTable(double[][] rates, LocalDateTime loadedAt) {
+        this.rates = rates;
+        this.loadedAt = loadedAt;
+    }
+
+    /**
+     * Builds the table from the RWF rate of each currency.
+     * Pairs involving a currency without a rate are left unavailable.
+     *
+     * @param rwfPerUnit RWF per unit of each currency; RWF itself is always 1
+     */
+    public static FxRateTable of(Map<CurrencyCode, Double> rwfPerUnit) {
+        double[] toRwf = new double[CURRENCIES.length];
+        for (CurrencyCode currency : CURRENCIES) {
+            Double rate = currency == CurrencyCode.RWF ? Double.valueOf(1.0) : rwfPerUnit.get(currency);
+            toRwf[currency.ordinal()] = rate != null && rate > 0 ? rate : Double.NaN;
+        }
+
+        double[][] rates = new double[CURRENCIES.length][CURRENCIES.length];
+        for (int from = 0; from < CURRENCIES.length; from++) {
+            for (int to = 0; to < CURRENCIES.length; to++) {
+                rates[from][to] = from == to ? 1.0 : toRwf[from] / toRwf[to];
+            }
+        }
+        return new FxRateTable(rates, LocalDateTime.now());
+    }
+
+    /**
+     * @return units of `to` per unit of `from`, or NaN if either currency has no rate
+     */
+    public double rate(CurrencyCode from, CurrencyCode to) {
+        return rates[from.ordinal()][to.ordinal()];
+    }
+
+    public boolean hasRate(CurrencyCode from, CurrencyCode to) {
+        return !Double.isNaN(rate(from, to));
+    }
+
+    public LocalDateTime getLoadedAt() {
+        return loadedAt;
+    }
+}
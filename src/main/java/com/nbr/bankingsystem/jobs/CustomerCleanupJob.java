@@ -0,0 +1,139 @@
+package com.nbr.bankingsystem.jobs;
+
+import com.nbr.bankingsystem.config.customers.CustomerCleanupProperties;
+import com.nbr.bankingsystem.repositories.CustomerCleanupRepository;
+import com.nbr.bankingsystem.repositories.PartitionAdminRepository;
+import com.nbr.bankingsystem.utils.AuditLogger;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Background job cleaning up customers deleted through deleteCustomer.
+ *
+ * For each tombstone it:
+ * - anonymizes the customer,
+ * - moves their messages into message_archive, one chunk per transaction with a pause in between,
+ * - replaces their names in the monthly archive tables of the message table (message_archive_yyyyMM,
+ *   see PartitionMaintenanceJob) the same way,
+ * - marks the customer as purged once no message with their names is left in any of these tables.
+ *
+ * Transactions are kept. The event journal needs no cleanup: personal data is never written to it.
+ *
+ * Runs are scheduled on a thread of their own rather than on the shared scheduler, as the pauses between
+ * chunks would hold up every other scheduled job. A run stops after app.customer-cleanup.max-chunks-per-run
+ * chunks; the next run carries on where it stopped.
+ */
+@Component
+public class CustomerCleanupJob {
+
+    private static final String MESSAGE_TABLE = "message";
+
+    private final CustomerCleanupRepository customerCleanupRepository;
+    private final PartitionAdminRepository partitionAdminRepository;
+    private final CustomerCleanupProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final ScheduledExecutorService runner;
+
+    /**
+     * Chunks left in the current run; runs never overlap, as they are scheduled with a fixed delay.
+     */
+    private int chunksLeft;
+
+    public CustomerCleanupJob(CustomerCleanupRepository customerCleanupRepository, PartitionAdminRepository partitionAdminRepository,
+                              CustomerCleanupProperties properties, TransactionTemplate transactionTemplate) {
+        this.customerCleanupRepository = customerCleanupRepository;
+        this.partitionAdminRepository = partitionAdminRepository;
+        this.properties = properties;
+        this.transactionTemplate = transactionTemplate;
+        this.runner = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("customer-cleanup-"));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        try {
+            customerCleanupRepository.createMessageArchiveTable();
+        } catch (DataAccessException e) {
+            AuditLogger.log("CUSTOMER_CLEANUP_FAILED", "Could not create message_archive - " + e.getMessage());
+        }
+        long interval = properties.getInterval().toMillis();
+        runner.scheduleWithFixedDelay(this::cleanUpDeletedCustomers, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+    }
+
+    public void cleanUpDeletedCustomers() {
+        chunksLeft = properties.getMaxChunksPerRun();
+        try {
+            List<Long> customerIds = customerCleanupRepository.findCustomersPendingCleanup(chunksLeft);
+            for (Long customerId : customerIds) {
+                transactionTemplate.executeWithoutResult(status -> customerCleanupRepository.anonymizeCustomer(customerId));
+                chunksLeft--;
+
+                if (!inChunks(() -> customerCleanupRepository.archiveMessages(customerId, properties.getChunkSize()),
+                        "Archived {} messages of deleted customer {}", customerId)) {
+                    return;
+                }
+                for (String archiveTable : partitionAdminRepository.findArchiveTables(MESSAGE_TABLE)) {
+                    if (!inChunks(() -> customerCleanupRepository.anonymizeArchivedMessages(archiveTable, customerId, properties.getChunkSize()),
+                            "Anonymized {} messages of deleted customer {} in " + archiveTable, customerId)) {
+                        return;
+                    }
+                }
+
+                transactionTemplate.executeWithoutResult(status -> customerCleanupRepository.markPurged(customerId));
+                AuditLogger.log("CUSTOMER_CLEANUP", "Purged deleted customer {}", customerId);
+            }
+        } catch (RuntimeException e) {
+            // an exception escaping the run would cancel the schedule
+            AuditLogger.log("CUSTOMER_CLEANUP_FAILED", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Runs a chunk per transaction, pausing before each, until one finds nothing left to do.
+     *
+     * @param auditMessage logged with the number of rows handled and the customer id, if there were any
+     * @return false if the run ran out of chunks first
+     */
+    private boolean inChunks(Supplier<Integer> chunk, String auditMessage, Long customerId) throws InterruptedException {
+        int handled = 0;
+        boolean done = false;
+        while (chunksLeft > 0) {
+            pause();
+            Integer rows = transactionTemplate.execute(status -> chunk.get());
+            chunksLeft--;
+            if (rows == null || rows == 0) {
+                done = true;
+                break;
+            }
+            handled += rows;
+        }
+        if (handled > 0) {
+            AuditLogger.log("CUSTOMER_CLEANUP", auditMessage, handled, customerId);
+        }
+        return done;
+    }
+
+    private void pause() throws InterruptedException {
+        long millis = properties.getPause().toMillis();
+        if (millis > 0) {
+            Thread.sleep(millis);
+        }
+    }
+}
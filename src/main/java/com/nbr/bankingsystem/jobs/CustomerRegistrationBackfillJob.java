@@ -0,0 +1,29 @@
+package com.nbr.bankingsystem.jobs;
+
+import com.nbr.bankingsystem.repositories.CustomerRepository;
+import com.nbr.bankingsystem.utils.AuditLogger;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills in the registration time of customers created before the column existed.
+ * Runs once on startup and is a no-op once every customer has one.
+ */
+@Component
+public class CustomerRegistrationBackfillJob {
+
+    private final CustomerRepository customerRepository;
+
+    public CustomerRegistrationBackfillJob(CustomerRepository customerRepository) {
+        this.customerRepository = customerRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int updated = customerRepository.backfillRegistrationDateTime();
+        if (updated > 0) {
+            AuditLogger.log("CUSTOMER_REGISTRATION_BACKFILL", "Set the registration time of " + updated + " customers");
+        }
+    }
+}
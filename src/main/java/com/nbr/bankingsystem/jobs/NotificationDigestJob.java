@@ -0,0 +1,29 @@
+package com.nbr.bankingsystem.jobs;
+
+import com.nbr.bankingsystem.services.MessagingService;
+import com.nbr.bankingsystem.utils.AuditLogger;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Background job sending notification digests once their window has elapsed.
+ * Open digests are stored in the pending_digest table, so they are picked up again after a restart.
+ */
+@Component
+public class NotificationDigestJob {
+
+    private final MessagingService messagingService;
+
+    public NotificationDigestJob(MessagingService messagingService) {
+        this.messagingService = messagingService;
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.digest.flush-interval:30000}")
+    public void flushDueDigests() {
+        try {
+            messagingService.flushDigests();
+        } catch (RuntimeException e) {
+            AuditLogger.log("SEND_DIGEST_FAILED", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.nbr.bankingsystem.jobs;
+
+import com.nbr.bankingsystem.config.partitioning.PartitioningProperties;
+import com.nbr.bankingsystem.repositories.PartitionAdminRepository;
+import com.nbr.bankingsystem.utils.AuditLogger;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Background job managing the monthly partitions of the Banking and Message tables.
+ *
+ * On startup and then daily it:
+ * - converts the tables to monthly range partitions if they are not partitioned yet,
+ * - keeps partitions ready for the next months,
+ * - moves partitions older than the retention period into compressed archive tables.
+ *
+ * Tables are only partitioned once db/migrations/001-partitioning-keys.sql has dropped their foreign keys
+ * and added the partition column to their primary key: rebuilding the keys of a large table is a migration
+ * for a maintenance window, not something a scheduled job should start on its own.
+ *
+ * Only active when `app.partitioning.enabled=true`.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.partitioning", name = "enabled", havingValue = "true")
+public class PartitionMaintenanceJob {
+
+    private static final Map<String, String> PARTITIONED_TABLES = Map.of(
+            "banking", "banking_date_time",
+            "message", "message_date_time");
+
+    private final PartitionAdminRepository partitionAdminRepository;
+    private final PartitioningProperties partitioningProperties;
+
+    public PartitionMaintenanceJob(PartitionAdminRepository partitionAdminRepository, PartitioningProperties partitioningProperties) {
+        this.partitionAdminRepository = partitionAdminRepository;
+        this.partitioningProperties = partitioningProperties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintainPartitions();
+    }
+
+    @Scheduled(cron = "${app.partitioning.maintenance-cron:0 30 2 * * *}")
+    public void maintainPartitions() {
+        YearMonth currentMonth = YearMonth.now();
+        PARTITIONED_TABLES.forEach((table, column) -> {
+            try {
+                ensurePartitioned(table, column, currentMonth);
+                createFuturePartitions(table, currentMonth);
+                archiveClosedPartitions(table, currentMonth);
+            } catch (DataAccessException | IllegalStateException e) {
+                AuditLogger.log("PARTITION_MAINTENANCE_FAILED", "Table: " + table + " - " + e.getMessage());
+            }
+        });
+    }
+
+    private void ensurePartitioned(String table, String column, YearMonth currentMonth) {
+        if (!partitionAdminRepository.findPartitionNames(table).isEmpty()) {
+            return;
+        }
+        if (!partitionAdminRepository.isReadyForPartitioning(table, column)) {
+            throw new IllegalStateException("Table " + table + " still has foreign keys or a primary key without " + column
+                    + ", apply db/migrations/001-partitioning-keys.sql first");
+        }
+
+        YearMonth first = partitionAdminRepository.findOldestMonth(table, column).orElse(currentMonth);
+        YearMonth last = currentMonth.plusMonths(partitioningProperties.getFutureMonths());
+        List<YearMonth> months = new ArrayList<>();
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+
+        partitionAdminRepository.partitionByMonth(table, column, months);
+        AuditLogger.log("PARTITION_TABLE", "Partitioned table " + table + " into " + months.size() + " monthly partitions");
+    }
+
+    /**
+     * Splits new months off the catch-all partition, starting right after the newest month partition:
+     * ranges must keep increasing, and after a long downtime the months in between get their own
+     * partitions instead of being left in the catch-all one.
+     */
+    private void createFuturePartitions(String table, YearMonth currentMonth) {
+        YearMonth newest = null;
+        for (String partition : partitionAdminRepository.findPartitionNames(table)) {
+            Optional<YearMonth> month = PartitionAdminRepository.monthOf(partition);
+            if (month.isPresent() && (newest == null || month.get().isAfter(newest))) {
+                newest = month.get();
+            }
+        }
+
+        YearMonth last = currentMonth.plusMonths(partitioningProperties.getFutureMonths());
+        for (YearMonth month = newest == null ? currentMonth : newest.plusMonths(1); !month.isAfter(last); month = month.plusMonths(1)) {
+            partitionAdminRepository.addMonthPartition(table, month);
+            AuditLogger.log("PARTITION_CREATE", "Created partition " + PartitionAdminRepository.partitionName(month) + " on table " + table);
+        }
+    }
+
+    private void archiveClosedPartitions(String table, YearMonth currentMonth) {
+        YearMonth oldestLiveMonth = partitioningProperties.oldestLiveMonth(currentMonth);
+        for (String partition : partitionAdminRepository.findPartitionNames(table)) {
+            Optional<YearMonth> month = PartitionAdminRepository.monthOf(partition);
+            if (month.isPresent() && month.get().isBefore(oldestLiveMonth)) {
+                String archiveTable = partitionAdminRepository.archiveMonthPartition(table, month.get());
+                AuditLogger.log("PARTITION_ARCHIVE", "Archived partition " + partition + " of table " + table + " into " + archiveTable);
+            }
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.nbr.bankingsystem.limits;
+
+import com.nbr.bankingsystem.config.limits.LimitProperties;
+import com.nbr.bankingsystem.exceptions.LimitExceededException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory sliding windows of each customer's withdrawals and transfers, used to enforce the
+ * daily limits and the transfer velocity rule without summing the Banking table.
+ *
+ * A check and the recording of its amount happen atomically under one of a fixed set of stripe
+ * locks chosen by customer id, so concurrent requests of one customer cannot both slip under a
+ * limit, while different customers rarely share a lock. Recorded amounts are reservations: they
+ * count as soon as the check passes and are released if the surrounding transaction rolls back.
+ *
+ * The windows live in this JVM only: with several application instances, each would let a customer
+ * reach the limits on its own. Limits are therefore only enforced correctly by a single instance.
+ */
+@Component
+public class AccountLimits {
+
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+    private static final int STRIPES = 64;
+
+    /**
+     * Windows of one customer; guarded by the customer's stripe lock.
+     */
+    private static final class CustomerWindows {
+        private final SlidingWindow withdrawals = new SlidingWindow(DAY_MILLIS);
+        private final SlidingWindow transfers = new SlidingWindow(DAY_MILLIS);
+        private final SlidingWindow transferVelocity;
+
+        private CustomerWindows(long velocityMillis) {
+            this.transferVelocity = new SlidingWindow(velocityMillis);
+        }
+
+        private boolean isEmpty(long now) {
+            return withdrawals.isEmpty(now) && transfers.isEmpty(now) && transferVelocity.isEmpty(now);
+        }
+    }
+
+    /**
+     * Amounts recorded by one successful check, released together.
+     */
+    public final class Reservation {
+        private final long customerId;
+        private final SlidingWindow[] windows;
+        private final SlidingWindow.Entry[] entries;
+
+        private Reservation(long customerId, SlidingWindow[] windows, SlidingWindow.Entry[] entries) {
+            this.customerId = customerId;
+            this.windows = windows;
+            this.entries = entries;
+        }
+
+        public void release() {
+            synchronized (stripe(customerId)) {
+                for (int i = 0; i < windows.length; i++) {
+                    windows[i].cancel(entries[i]);
+                }
+            }
+        }
+    }
+
+    private final Object[] stripes = new Object[STRIPES];
+    private final Map<Long, CustomerWindows> customers = new ConcurrentHashMap<>();
+    private final LimitProperties properties;
+    private final long velocityMillis;
+
+    public AccountLimits(LimitProperties properties) {
+        this.properties = properties;
+        this.velocityMillis = properties.getVelocityWindow().toMillis();
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+    }
+
+    /**
+     * Checks a withdrawal against the daily withdrawal limit and reserves its amount.
+     *
+     * @param amountRwf the amount in RWF
+     * @throws LimitExceededException if the withdrawal would exceed the limit
+     */
+    public Reservation reserveWithdrawal(long customerId, double amountRwf, long now) {
+        long cents = toCents(amountRwf);
+        long limit = toCents(properties.getDailyWithdrawalLimit());
+        synchronized (stripe(customerId)) {
+            CustomerWindows windows = windowsOf(customerId);
+            if (windows.withdrawals.cents(now) + cents > limit) {
+                throw LimitExceededException.DAILY_WITHDRAWAL;
+            }
+            return new Reservation(customerId,
+                    new SlidingWindow[]{windows.withdrawals},
+                    new SlidingWindow.Entry[]{windows.withdrawals.add(now, cents)});
+        }
+    }
+
+    /**
+     * Checks a transfer against the transfer velocity rule and the daily transfer limit, and reserves it.
+     *
+     * @param amountRwf the amount in RWF
+     * @throws LimitExceededException if the transfer would break either rule
+     */
+    public Reservation reserveTransfer(long customerId, double amountRwf, long now) {
+        long cents = toCents(amountRwf);
+        long limit = toCents(properties.getDailyTransferLimit());
+        synchronized (stripe(customerId)) {
+            CustomerWindows windows = windowsOf(customerId);
+            if (windows.transferVelocity.count(now) >= properties.getMaxTransfersPerWindow()) {
+                throw LimitExceededException.TRANSFER_VELOCITY;
+            }
+            if (windows.transfers.cents(now) + cents > limit) {
+                throw LimitExceededException.DAILY_TRANSFER;
+            }
+            return new Reservation(customerId,
+                    new SlidingWindow[]{windows.transfers, windows.transferVelocity},
+                    new SlidingWindow.Entry[]{windows.transfers.add(now, cents), windows.transferVelocity.add(now, cents)});
+        }
+    }
+
+    /**
+     * Records a past withdrawal without checking it, e.g. when rebuilding from the database.
+     */
+    public void recordWithdrawal(long customerId, double amountRwf, long at) {
+        synchronized (stripe(customerId)) {
+            windowsOf(customerId).withdrawals.add(at, toCents(amountRwf));
+        }
+    }
+
+    /**
+     * Records a past transfer without checking it, e.g. when rebuilding from the database.
+     */
+    public void recordTransfer(long customerId, double amountRwf, long at) {
+        long cents = toCents(amountRwf);
+        synchronized (stripe(customerId)) {
+            CustomerWindows windows = windowsOf(customerId);
+            windows.transfers.add(at, cents);
+            windows.transferVelocity.add(at, cents);
+        }
+    }
+
+    /**
+     * Drops the windows of customers without any activity left in them.
+     */
+    @Scheduled(fixedDelayString = "${app.limits.purge-interval:600000}")
+    public void purgeIdle() {
+        long now = System.currentTimeMillis();
+        for (Long customerId : customers.keySet()) {
+            synchronized (stripe(customerId)) {
+                CustomerWindows windows = customers.get(customerId);
+                if (windows != null && windows.isEmpty(now)) {
+                    customers.remove(customerId);
+                }
+            }
+        }
+    }
+
+    private CustomerWindows windowsOf(long customerId) {
+        return customers.computeIfAbsent(customerId, id -> new CustomerWindows(velocityMillis));
+    }
+
+    private Object stripe(long customerId) {
+        return stripes[(int) (Long.hashCode(customerId) & (STRIPES - 1))];
+    }
+
+    private static long toCents(double amount) {
+        return Math.round(amount * 100);
+    }
+}
@@ -0,0 +1,86 @@
+package com.nbr.bankingsystem.limits;
+
+import java.util.ArrayDeque;
+
+/**
+ * Running count and sum of the amounts recorded within the last `lengthMillis`.
+ *
+ * Entries are kept in arrival order and dropped from the head once they fall out of the window,
+ * so reading the totals costs O(1) amortized. Not thread-safe: AccountLimits guards every window
+ * with the lock of its account's stripe.
+ */
+final class SlidingWindow {
+
+    /**
+     * One recorded amount; cancelled entries stay in the queue with nothing left to subtract.
+     */
+    static final class Entry {
+        private final long at;
+        private long cents;
+        private int count;
+
+        private Entry(long at, long cents) {
+            this.at = at;
+            this.cents = cents;
+            this.count = 1;
+        }
+    }
+
+    private final long lengthMillis;
+    private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+    private long cents;
+    private int count;
+
+    SlidingWindow(long lengthMillis) {
+        this.lengthMillis = lengthMillis;
+    }
+
+    long cents(long now) {
+        evict(now);
+        return cents;
+    }
+
+    int count(long now) {
+        evict(now);
+        return count;
+    }
+
+    boolean isEmpty(long now) {
+        evict(now);
+        return entries.isEmpty();
+    }
+
+    /**
+     * Records an amount. Entries are expected in time order; an older entry recorded behind a newer
+     * one is only dropped with it, which can only over-count.
+     */
+    Entry add(long at, long amountCents) {
+        Entry entry = new Entry(at, amountCents);
+        entries.addLast(entry);
+        cents += amountCents;
+        count++;
+        return entry;
+    }
+
+    /**
+     * Takes back an entry that is still in the window; no-op once it has been dropped.
+     */
+    void cancel(Entry entry) {
+        cents -= entry.cents;
+        count -= entry.count;
+        entry.cents = 0;
+        entry.count = 0;
+    }
+
+    private void evict(long now) {
+        long cutoff = now - lengthMillis;
+        Entry head;
+        while ((head = entries.peekFirst()) != null && head.at <= cutoff) {
+            entries.pollFirst();
+            cents -= head.cents;
+            count -= head.count;
+            head.cents = 0;
+            head.count = 0;
+        }
+    }
+}
@@ -1,13 +1,18 @@
 package com.nbr.bankingsystem.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import com.nbr.bankingsystem.enums.CurrencyCode;
 import com.nbr.bankingsystem.enums.TransactionType;
+import com.nbr.bankingsystem.validation.EntityInvariants;
+import org.hibernate.annotations.ColumnDefault;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.groups.Default;
 import java.time.LocalDateTime;
 
 /**
@@ -17,25 +22,53 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@Table(indexes = {
+        @Index(name = "idx_banking_customer_date", columnList = "customer_id, bankingDateTime"),
+        @Index(name = "idx_banking_date", columnList = "bankingDateTime")
+})
 public class Banking {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
-    @JoinColumn(name = "customer_id")
+    @ManyToOne(fetch = FetchType.LAZY)
+    // no FK constraint: partitioned tables cannot carry foreign keys
+    @JoinColumn(name = "customer_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    @JsonIgnore
     private Customer customer;
 
     @NotNull(message = "Account number cannot be null")
     private String account;
 
-    @NotNull(message = "Amount cannot be null")
-    @Min(value = 0, message = "Amount must be positive")
+    @NotNull(message = "Amount cannot be null", groups = {Default.class, EntityInvariants.class})
+    @Min(value = 0, message = "Amount must be positive", groups = {Default.class, EntityInvariants.class})
     private Double amount;
 
+    /**
+     * Currency of the amount, the currency of the account at the time of the transaction.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(length = 3, nullable = false)
+    @ColumnDefault("'RWF'")
+    private CurrencyCode currency = CurrencyCode.RWF;
+
+    /**
+     * Rate applied to credit the receiver of a transfer, in receiver currency per unit of `currency`;
+     * 1 when no conversion took place.
+     */
+    @Column(nullable = false)
+    @ColumnDefault("1")
+    private Double fxRate = 1.0;
+
+    /**
+     * Customer credited by a transfer, null for other transactions.
+     * A plain column, without FK constraint for the same reason as customer_id.
+     */
+    private Long receiverId;
+
     @Enumerated(EnumType.STRING)
-    @NotNull(message = "Transaction type cannot be null")
+    @NotNull(message = "Transaction type cannot be null", groups = {Default.class, EntityInvariants.class})
     private TransactionType type;
 
     @Column(nullable = false, updatable = false)
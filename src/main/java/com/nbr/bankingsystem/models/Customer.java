@@ -1,9 +1,16 @@
 package com.nbr.bankingsystem.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.nbr.bankingsystem.enums.CurrencyCode;
+import com.nbr.bankingsystem.validation.EntityInvariants;
 import jakarta.validation.constraints.*;
+import jakarta.validation.groups.Default;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.SQLRestriction;
 
 import jakarta.persistence.*;
 
@@ -12,14 +19,23 @@ import java.util.Date;
 
 /**
  * Entity representing a customer in the banking system.
+ * Deleted customers stay in the table as tombstones, hidden from every query, until the
+ * CustomerCleanupJob has anonymized them and purged their messages; their transactions are kept.
  */
 @Entity
+@DynamicUpdate
+@SQLRestriction("deleted = false")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(uniqueConstraints = {
         @UniqueConstraint(columnNames = "email"),
         @UniqueConstraint(columnNames = "mobile")
+}, indexes = {
+        @Index(name = "idx_customer_registration", columnList = "registrationDateTime, id"),
+        @Index(name = "idx_customer_balance", columnList = "balance, id"),
+        @Index(name = "idx_customer_last_name", columnList = "lastName, id"),
+        @Index(name = "idx_customer_cleanup", columnList = "deleted, purgedAt")
 })
 public class Customer {
 
@@ -39,8 +55,8 @@ public class Customer {
     @Email(message = "Email should be valid")
     private String email;
 
-    @NotNull(message = "Balance cannot be null")
-    @Min(value = 0, message = "Balance must be positive")
+    @NotNull(message = "Balance cannot be null", groups = {Default.class, EntityInvariants.class})
+    @Min(value = 0, message = "Balance must be positive", groups = {Default.class, EntityInvariants.class})
     private Double balance;
 
     @NotBlank(message = "Mobile number is required")
@@ -50,16 +66,73 @@ public class Customer {
     @NotBlank(message = "Account number is required")
     private String account;
 
+    @Enumerated(EnumType.STRING)
+    @Column(length = 3, nullable = false)
+    @ColumnDefault("'RWF'")
+    private CurrencyCode currency = CurrencyCode.RWF;
+
+    /**
+     * Frozen customers can still receive money but cannot withdraw or transfer it.
+     */
+    @Column(nullable = false)
+    @ColumnDefault("false")
+    private boolean frozen;
+
+    /**
+     * Tombstone flag set by deleteCustomer; the row is only anonymized later, in the background.
+     */
+    @Column(nullable = false)
+    @ColumnDefault("false")
+    @JsonIgnore
+    private boolean deleted;
+
+    @JsonIgnore
+    private LocalDateTime deletedAt;
+
+    /**
+     * Set once a deleted customer has been anonymized and their messages archived.
+     */
+    @JsonIgnore
+    private LocalDateTime purgedAt;
+
     @NotNull(message = "Date of birth is required")
     @Past(message = "Date of birth must be in the past")
     private Date dob;
 
     private LocalDateTime lastUpdateTime;
 
-    @OneToOne
+    @Column(updatable = false)
+    private LocalDateTime registrationDateTime;
+
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
+    @JsonIgnore
     private UserModel userModel;
 
+    /**
+     * Email given to a deleted customer and their login, so the original can be registered again.
+     */
+    public static String deletedEmail(Long id) {
+        return "deleted-" + id + "@deleted.invalid";
+    }
+
+    /**
+     * Mobile given to a deleted customer, so the original can be registered again.
+     */
+    public static String deletedMobile(Long id) {
+        return "deleted-" + id;
+    }
+
+    /**
+     * Set the registration time to current date-time before the entity is first saved.
+     */
+    @PrePersist
+    protected void onCreate() {
+        if (registrationDateTime == null) {
+            registrationDateTime = LocalDateTime.now();
+        }
+    }
+
     /**
      * Set the last update time to current date-time before updating the entity.
      */
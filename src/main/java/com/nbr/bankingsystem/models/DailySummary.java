@@ -0,0 +1,51 @@
+package com.nbr.bankingsystem.models;
+
+import com.nbr.bankingsystem.enums.CurrencyCode;
+import com.nbr.bankingsystem.enums.TransactionType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.LocalDate;
+
+/**
+ * Rollup of the transactions of one customer, of one type and currency, on one day.
+ * Maintained in the same transaction as every Banking insert, so date-range reports sum
+ * these rows instead of scanning the Banking table. Amounts are never added across currencies;
+ * db/migrations/003-daily-summary-currency.sql adds the currency to the unique key of existing tables.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_daily_summary", columnNames = {"summary_date", "customer_id", "type", "currency"}),
+        indexes = @Index(name = "idx_daily_summary_date_type", columnList = "summary_date, type"))
+public class DailySummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "summary_date", nullable = false)
+    private LocalDate summaryDate;
+
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private TransactionType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 3, nullable = false)
+    @ColumnDefault("'RWF'")
+    private CurrencyCode currency;
+
+    @Column(nullable = false)
+    private long transactionCount;
+
+    @Column(nullable = false)
+    private double totalAmount;
+}
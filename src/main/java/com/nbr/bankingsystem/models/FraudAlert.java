@@ -0,0 +1,52 @@
+package com.nbr.bankingsystem.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing a transaction flagged by the fraud scoring.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(indexes = @Index(name = "idx_fraud_alert_customer", columnList = "customer_id"))
+public class FraudAlert {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+
+    @Column(nullable = false)
+    private Long transactionId;
+
+    @Column(nullable = false)
+    private Double score;
+
+    /**
+     * The rules that contributed to the score, comma-separated.
+     */
+    @Column(nullable = false, length = 128)
+    private String reasons;
+
+    /**
+     * Whether the customer was frozen because of this alert.
+     */
+    @Column(nullable = false)
+    private boolean customerFrozen;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
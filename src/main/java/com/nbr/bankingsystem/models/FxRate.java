@@ -0,0 +1,37 @@
+package com.nbr.bankingsystem.models;
+
+import com.nbr.bankingsystem.enums.CurrencyCode;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Exchange rate of a currency, expressed in RWF per unit of that currency.
+ * Cross rates between two foreign currencies are derived from these when the rates are loaded.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "fx_rate")
+public class FxRate {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 3)
+    private CurrencyCode currency;
+
+    @Column(nullable = false)
+    private Double rwfPerUnit;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
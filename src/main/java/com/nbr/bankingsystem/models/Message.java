@@ -1,33 +1,50 @@
 package com.nbr.bankingsystem.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.nbr.bankingsystem.notifications.template.TemplateId;
+import com.nbr.bankingsystem.notifications.template.TemplateParametersConverter;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
 import jakarta.persistence.*;
-import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import java.time.LocalDateTime;
 
 /**
  * Entity representing a message sent to a customer.
+ * Only the template and its parameters are stored; the text is rendered again when needed.
+ * Databases from before templates must apply db/migrations/002-message-text-nullable.sql.
  */
 @Entity
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@Table(indexes = @Index(name = "idx_message_customer_date", columnList = "customer_id, messageDateTime"))
 public class Message {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
-    @JoinColumn(name = "customer_id")
+    @ManyToOne(fetch = FetchType.LAZY)
+    // no FK constraint: partitioned tables cannot carry foreign keys
+    @JoinColumn(name = "customer_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
+    @JsonIgnore
     private Customer customer;
 
-    @NotBlank(message = "Message content is required")
-    private String message;
+    @NotNull(message = "Message template is required")
+    @Enumerated(EnumType.STRING)
+    @Column(length = 32)
+    private TemplateId templateId;
+
+    @Column(length = 8)
+    private String locale;
+
+    @Convert(converter = TemplateParametersConverter.class)
+    // digests carry their itemized list here
+    @Column(length = 2048)
+    private String[] parameters;
 
     @NotNull(message = "Message date-time is required")
     private LocalDateTime messageDateTime;
@@ -0,0 +1,39 @@
+package com.nbr.bankingsystem.models;
+
+import com.nbr.bankingsystem.notifications.DeliveryMode;
+import com.nbr.bankingsystem.notifications.channel.ChannelType;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity representing how a customer wants to be notified on one channel.
+ * Channels without a preference use the default delivery mode.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"customer_id", "channel"}))
+public class NotificationPreference {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull(message = "Customer is required")
+    @Column(name = "customer_id")
+    private Long customerId;
+
+    @NotNull(message = "Channel is required")
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private ChannelType channel;
+
+    @NotNull(message = "Delivery mode is required")
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private DeliveryMode mode;
+}
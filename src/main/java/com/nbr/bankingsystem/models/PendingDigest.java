@@ -0,0 +1,58 @@
+package com.nbr.bankingsystem.models;
+
+import com.nbr.bankingsystem.notifications.template.TemplateId;
+import com.nbr.bankingsystem.notifications.template.TemplateParametersConverter;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * The notifications of one customer waiting for their digest, kept in a single row that every further
+ * notification updates in place, so a busy account adds no Message row until the digest is sent.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(indexes = @Index(name = "idx_pending_digest_opened", columnList = "openedAt"))
+public class PendingDigest {
+
+    /**
+     * Bound of {@link #items}, leaving room in Message.parameters (2048) for the names and count of the DIGEST template.
+     */
+    public static final int MAX_ITEMS_LENGTH = 1500;
+
+    /**
+     * One row per customer; a plain column, without FK constraint, like the other customer references.
+     */
+    @Id
+    @Column(name = "customer_id")
+    private Long customerId;
+
+    @Column(nullable = false)
+    private LocalDateTime openedAt;
+
+    @Column(nullable = false)
+    private int itemCount;
+
+    /**
+     * Template and parameters of the first notification, sent on their own when no other one follows.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(length = 32, nullable = false)
+    private TemplateId firstTemplateId;
+
+    @Convert(converter = TemplateParametersConverter.class)
+    @Column(length = 512, nullable = false)
+    private String[] firstParameters;
+
+    /**
+     * The rendered digest lines, one per notification up to the configured maximum number and
+     * {@link #MAX_ITEMS_LENGTH}, separated by newlines.
+     */
+    @Column(length = MAX_ITEMS_LENGTH, nullable = false)
+    private String items;
+}
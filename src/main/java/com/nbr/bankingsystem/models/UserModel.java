@@ -43,6 +43,14 @@ public class UserModel implements UserDetails {
     @JsonIgnore
     private Customer customer;
 
+    /**
+     * Token id (jti) of the only refresh token of the user that can still be used; null after logout or
+     * when login is disabled. Kept in the database so rotation and logout hold on every node and across restarts.
+     */
+    @Column(length = 36)
+    @JsonIgnore
+    private String refreshTokenId;
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.name()));
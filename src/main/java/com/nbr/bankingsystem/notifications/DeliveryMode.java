@@ -0,0 +1,13 @@
+package com.nbr.bankingsystem.notifications;
+
+/**
+ * How a customer receives notifications on one channel.
+ */
+public enum DeliveryMode {
+    /** No notifications on this channel. */
+    OFF,
+    /** One notification per event. */
+    IMMEDIATE,
+    /** Notifications within the digest window are merged into one itemized message. */
+    DIGEST
+}
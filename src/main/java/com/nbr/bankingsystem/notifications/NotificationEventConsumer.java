@@ -0,0 +1,115 @@
+package com.nbr.bankingsystem.notifications;
+
+import com.nbr.bankingsystem.DTO.CustomerResponseDTO;
+import com.nbr.bankingsystem.eventbus.DomainEventConsumer;
+import com.nbr.bankingsystem.events.AccountHolder;
+import com.nbr.bankingsystem.events.CustomerRegistered;
+import com.nbr.bankingsystem.events.DomainEvent;
+import com.nbr.bankingsystem.events.TransactionCreated;
+import com.nbr.bankingsystem.events.TransferCompleted;
+import com.nbr.bankingsystem.notifications.template.NotificationParameters;
+import com.nbr.bankingsystem.notifications.template.TemplateId;
+import com.nbr.bankingsystem.repositories.CustomerRepository;
+import com.nbr.bankingsystem.services.MessagingService;
+import com.nbr.bankingsystem.utils.AuditLogger;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Notifies customers of committed domain events.
+ *
+ * Durable, so notifications of events published just before a crash are still sent after the restart
+ * (possibly twice). Each notification is recorded in its own transaction. When the database cannot be
+ * reached the failure is rethrown, so the bus delivers the batch again once it is back; any other failure
+ * would repeat on every retry, so that notification is logged and skipped.
+ *
+ * Events replayed from the journal carry no personal data, so their addresses and names are read from
+ * the customer; a customer deleted in the meantime is no longer notified.
+ */
+@Component
+public class NotificationEventConsumer implements DomainEventConsumer {
+
+    private final MessagingService messagingService;
+    private final CustomerRepository customerRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public NotificationEventConsumer(MessagingService messagingService, CustomerRepository customerRepository,
+                                     TransactionTemplate transactionTemplate) {
+        this.messagingService = messagingService;
+        this.customerRepository = customerRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public String name() {
+        return "notifications";
+    }
+
+    @Override
+    public boolean durable() {
+        return true;
+    }
+
+    @Override
+    public void handle(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> notify(event));
+            } catch (TransientDataAccessException | RecoverableDataAccessException | DataAccessResourceFailureException
+                     | CannotCreateTransactionException e) {
+                AuditLogger.log("SEND_NOTIFICATION_RETRY", "{} - {}", event.getClass().getSimpleName(), e.getMessage());
+                throw e;
+            } catch (RuntimeException e) {
+                AuditLogger.log("SEND_NOTIFICATION_FAILED", "{} - {}", event.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
+    private void notify(DomainEvent event) {
+        if (event instanceof TransactionCreated created) {
+            withContactDetails(created.holder()).ifPresent(holder -> messagingService.sendNotification(holder.recipient(),
+                    TemplateId.forTransaction(created.type()), holder.firstName(), holder.lastName(),
+                    NotificationParameters.amount(created.amount()), holder.account(),
+                    NotificationParameters.dateTime(created.bankingDateTime()), created.currency().name()));
+        } else if (event instanceof TransferCompleted transfer) {
+            String dateTime = NotificationParameters.dateTime(transfer.bankingDateTime());
+            withContactDetails(transfer.sender()).ifPresent(sender -> messagingService.sendNotification(sender.recipient(),
+                    TemplateId.TRANSFER_SENT, sender.firstName(), sender.lastName(),
+                    NotificationParameters.amount(transfer.amount()), transfer.receiver().account(), dateTime,
+                    transfer.currency().name()));
+            withContactDetails(transfer.receiver()).ifPresent(receiver -> messagingService.sendNotification(receiver.recipient(),
+                    TemplateId.TRANSFER_RECEIVED, receiver.firstName(), receiver.lastName(),
+                    NotificationParameters.amount(transfer.creditedAmount()), transfer.sender().account(), dateTime,
+                    transfer.creditedCurrency().name()));
+        } else if (event instanceof CustomerRegistered registered) {
+            withContactDetails(registered.customer()).ifPresent(customer -> messagingService.sendNotification(
+                    new NotificationRecipient(customer.getId(), customer.getEmail(), customer.getMobile()),
+                    TemplateId.ACCOUNT_CREATED, customer.getFirstName(), customer.getLastName(), customer.getAccount()));
+        }
+    }
+
+    /**
+     * @return the holder with their personal data, read from the customer for an event replayed from the journal;
+     * empty if the customer has been deleted since
+     */
+    private Optional<AccountHolder> withContactDetails(AccountHolder holder) {
+        if (holder.hasContactDetails()) {
+            return Optional.of(holder);
+        }
+        return customerRepository.findById(holder.customerId()).map(AccountHolder::of);
+    }
+
+    private Optional<CustomerResponseDTO> withContactDetails(CustomerResponseDTO customer) {
+        if (customer.getEmail() != null) {
+            return Optional.of(customer);
+        }
+        return customerRepository.findCustomerById(customer.getId());
+    }
+}
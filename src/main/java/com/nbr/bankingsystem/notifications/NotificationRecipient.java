@@ -0,0 +1,13 @@
+package com.nbr.bankingsystem.notifications;
+
+import com.nbr.bankingsystem.models.Customer;
+
+/**
+ * The addresses a notification can be delivered to.
+ */
+public record NotificationRecipient(Long customerId, String email, String mobile) {
+
+    public static NotificationRecipient of(Customer customer) {
+        return new NotificationRecipient(customer.getId(), customer.getEmail(), customer.getMobile());
+    }
+}
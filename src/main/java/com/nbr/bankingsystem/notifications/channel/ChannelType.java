@@ -0,0 +1,10 @@
+package com.nbr.bankingsystem.notifications.channel;
+
+/**
+ * The channels a notification can be delivered through.
+ */
+public enum ChannelType {
+    EMAIL,
+    SMS,
+    PUSH
+}
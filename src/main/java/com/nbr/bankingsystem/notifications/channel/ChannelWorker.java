@@ -0,0 +1,237 @@
+package com.nbr.bankingsystem.notifications.channel;
+
+import com.nbr.bankingsystem.config.notifications.NotificationProperties;
+import com.nbr.bankingsystem.utils.AuditLogger;
+import com.nbr.bankingsystem.utils.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Delivers the notifications of one channel from its own bounded queue on its own worker threads,
+ * paced by a token bucket and guarded by a circuit breaker.
+ *
+ * Each worker takes whatever has queued up, up to `batch-size` notifications, and hands it to the channel
+ * in one call, so channels that can reuse a connection (SMTP) send the whole batch over it.
+ *
+ * A notification that finds the queue full or the circuit open, or whose send fails, is retried with
+ * exponential backoff up to `retry-attempts` times and only then dropped. Retries are kept in memory,
+ * so the ones still waiting when the application stops are lost.
+ */
+final class ChannelWorker {
+
+    private static final long POLL_TIMEOUT_MILLIS = 200;
+    private static final long DRAIN_TIMEOUT_MILLIS = 10_000;
+
+    private final NotificationChannel channel;
+    private final BlockingQueue<OutboundNotification> queue;
+    private final List<Thread> threads = new ArrayList<>();
+    private final int batchSize;
+    private final TokenBucket rateLimit;
+    private final long emissionInterval;
+    private final long burstTolerance;
+    private final CircuitBreaker circuitBreaker;
+    private final DelayQueue<Attempt> retries = new DelayQueue<>();
+    private final int retryAttempts;
+    private final long retryDelay;
+    private final int retryCapacity;
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter retried;
+    private final Counter rejected;
+    private volatile boolean running = true;
+
+    ChannelWorker(NotificationChannel channel, NotificationProperties.Channel properties, MeterRegistry meterRegistry) {
+        String name = channel.type().name().toLowerCase();
+
+        this.channel = channel;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.batchSize = Math.max(1, properties.getBatchSize());
+        this.emissionInterval = (long) (TimeUnit.SECONDS.toNanos(1) / properties.getRatePerSecond());
+        this.burstTolerance = emissionInterval * (properties.getBurst() - 1);
+        this.rateLimit = new TokenBucket(System.nanoTime());
+        this.circuitBreaker = new CircuitBreaker(properties.getFailureThreshold(), properties.getOpenDuration().toNanos());
+        this.retryAttempts = properties.getRetryAttempts();
+        this.retryDelay = properties.getRetryDelay().toNanos();
+        this.retryCapacity = properties.getRetryCapacity();
+
+        this.sent = Counter.builder("notifications.sent").tag("channel", name).register(meterRegistry);
+        this.failed = Counter.builder("notifications.failed").tag("channel", name).register(meterRegistry);
+        this.retried = Counter.builder("notifications.retried").tag("channel", name).register(meterRegistry);
+        this.rejected = Counter.builder("notifications.rejected").tag("channel", name).register(meterRegistry);
+        Gauge.builder("notifications.queued", queue, BlockingQueue::size).tag("channel", name).register(meterRegistry);
+        Gauge.builder("notifications.awaiting.retry", retries, DelayQueue::size).tag("channel", name).register(meterRegistry);
+
+        ThreadFactory threadFactory = new CustomizableThreadFactory("notify-" + name + "-");
+        for (int i = 0; i < properties.getWorkers(); i++) {
+            Thread thread = threadFactory.newThread(this::run);
+            threads.add(thread);
+            thread.start();
+        }
+    }
+
+    NotificationChannel channel() {
+        return channel;
+    }
+
+    /**
+     * Queues a notification without blocking. If the queue is full or the circuit is open it waits for a retry.
+     */
+    void submit(OutboundNotification notification) {
+        if (circuitBreaker.isCoolingDown(System.nanoTime())) {
+            retry(new Attempt(notification, 0, 0), "circuit open");
+        } else if (!queue.offer(notification)) {
+            retry(new Attempt(notification, 0, 0), "queue full");
+        }
+    }
+
+    /**
+     * Stops the workers once the notifications already queued have been delivered, waiting for them a bounded time.
+     * The workers are not interrupted, since an interrupted worker would fail every send of the drain.
+     * Notifications still waiting for a retry are dropped.
+     */
+    void shutdown() {
+        running = false;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DRAIN_TIMEOUT_MILLIS);
+        for (Thread thread : threads) {
+            try {
+                thread.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        Attempt pending;
+        while ((pending = retries.peek()) != null && retries.remove(pending)) {
+            reject(pending.notification(), "shutdown before retry");
+        }
+    }
+
+    private void run() {
+        List<Attempt> batch = new ArrayList<>(batchSize);
+        while (true) {
+            // retries that are due go first, they have waited longest
+            retries.drainTo(batch, batchSize);
+            if (batch.isEmpty()) {
+                OutboundNotification first;
+                try {
+                    // timed, so a worker notices due retries and the shutdown once the queue is empty
+                    first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (first == null) {
+                    if (!running) {
+                        return;
+                    }
+                    continue;
+                }
+                batch.add(new Attempt(first, 0, 0));
+            }
+            try {
+                OutboundNotification next;
+                while (batch.size() < batchSize && (next = queue.poll()) != null) {
+                    batch.add(new Attempt(next, 0, 0));
+                }
+                deliver(batch);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void deliver(List<Attempt> attempts) {
+        if (!circuitBreaker.allowRequest(System.nanoTime())) {
+            attempts.forEach(attempt -> retry(attempt, "circuit open"));
+            return;
+        }
+
+        List<OutboundNotification> batch = new ArrayList<>(attempts.size());
+        for (Attempt attempt : attempts) {
+            batch.add(attempt.notification());
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            long wait;
+            while ((wait = rateLimit.tryAcquire(System.nanoTime(), emissionInterval, burstTolerance)) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+
+        try {
+            int delivered = channel.sendBatch(batch);
+            circuitBreaker.recordSuccess();
+            sent.increment(delivered);
+            failed.increment(batch.size() - delivered);
+        } catch (PartialDeliveryException e) {
+            // what the server already accepted counts as sent
+            circuitBreaker.recordFailure(System.nanoTime());
+            sent.increment(e.getDelivered());
+            failed.increment(batch.size() - e.getDelivered());
+            AuditLogger.log("NOTIFICATION_FAILED", "Channel: " + channel.type() + ", Notifications: " + batch.size()
+                    + ", delivered: " + e.getDelivered() + ", refused: " + (e.getAttempted() - e.getDelivered())
+                    + ", retried: " + (batch.size() - e.getAttempted()) + " - " + e.getMessage());
+            // the ones refused individually had a bad address; only the unsent remainder is retried
+            attempts.subList(e.getAttempted(), attempts.size()).forEach(attempt -> retry(attempt, "send failed"));
+        } catch (Exception e) {
+            circuitBreaker.recordFailure(System.nanoTime());
+            failed.increment(batch.size());
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            AuditLogger.log("NOTIFICATION_FAILED", "Channel: " + channel.type() + ", Notifications: " + batch.size() + " - " + e.getMessage());
+            attempts.forEach(attempt -> retry(attempt, "send failed"));
+        }
+    }
+
+    /**
+     * Schedules the next attempt of a notification, or drops it once its retries are used up
+     * or too many notifications are already waiting.
+     */
+    private void retry(Attempt attempt, String reason) {
+        int number = attempt.number() + 1;
+        if (number > retryAttempts) {
+            reject(attempt.notification(), reason + ", retries exhausted");
+        } else if (!running) {
+            reject(attempt.notification(), reason + ", shutting down");
+        } else if (retries.size() >= retryCapacity) {
+            reject(attempt.notification(), reason + ", retry queue full");
+        } else {
+            long delay = retryDelay << Math.min(number - 1, 16);
+            retries.put(new Attempt(attempt.notification(), number, System.nanoTime() + delay));
+            retried.increment();
+        }
+    }
+
+    private void reject(OutboundNotification notification, String reason) {
+        rejected.increment();
+        AuditLogger.log("NOTIFICATION_DROPPED", "Channel: " + channel.type() + ", Customer ID: " + notification.customerId() + " - " + reason);
+    }
+
+    /**
+     * A notification with the number of retries it has had and, while it waits for the next, when that is due.
+     */
+    private record Attempt(OutboundNotification notification, int number, long dueAt) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAt - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(dueAt, ((Attempt) other).dueAt);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.nbr.bankingsystem.notifications.channel;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Consecutive-failure circuit breaker.
+ *
+ * After `failureThreshold` failures in a row the circuit opens and calls are refused for `openDuration`.
+ * Then a single probe call is let through: its success closes the circuit, its failure opens it again.
+ */
+final class CircuitBreaker {
+
+    private static final long CLOSED = Long.MIN_VALUE;
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong openedAt = new AtomicLong(CLOSED);
+    private final AtomicBoolean probeInFlight = new AtomicBoolean();
+
+    CircuitBreaker(int failureThreshold, long openNanos) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openNanos;
+    }
+
+    boolean allowRequest(long now) {
+        long opened = openedAt.get();
+        if (opened == CLOSED) {
+            return true;
+        }
+        if (now - opened < openNanos) {
+            return false;
+        }
+        return probeInFlight.compareAndSet(false, true);
+    }
+
+    void recordSuccess() {
+        consecutiveFailures.set(0);
+        openedAt.set(CLOSED);
+        probeInFlight.set(false);
+    }
+
+    void recordFailure(long now) {
+        if (openedAt.get() != CLOSED) {
+            // the half-open probe failed
+            openedAt.set(now);
+            probeInFlight.set(false);
+        } else if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            openedAt.set(now);
+        }
+    }
+
+    /**
+     * @return true while the circuit is open and not yet ready for a probe
+     */
+    boolean isCoolingDown(long now) {
+        long opened = openedAt.get();
+        return opened != CLOSED && now - opened < openNanos;
+    }
+}
@@ -0,0 +1,64 @@
+package com.nbr.bankingsystem.notifications.channel;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nbr.bankingsystem.notifications.NotificationRecipient;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Delivers notifications as SMS through an HTTP gateway, which receives `{"to": "+2507...", "text": "..."}`.
+ * Local mobile numbers (07XXXXXXXX) are sent in international format.
+ */
+public class HttpSmsChannel implements NotificationChannel {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final URI gatewayUri;
+    private final String apiKey;
+    private final Duration timeout;
+
+    public HttpSmsChannel(ObjectMapper objectMapper, String gatewayUrl, String apiKey, Duration timeout) {
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+        this.objectMapper = objectMapper;
+        this.gatewayUri = URI.create(gatewayUrl);
+        this.apiKey = apiKey;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public ChannelType type() {
+        return ChannelType.SMS;
+    }
+
+    @Override
+    public String addressOf(NotificationRecipient recipient) {
+        String mobile = recipient.mobile();
+        if (mobile == null || mobile.isBlank()) {
+            return null;
+        }
+        return mobile.startsWith("0") ? "+250" + mobile.substring(1) : mobile;
+    }
+
+    @Override
+    public void send(OutboundNotification notification) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(gatewayUri)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(
+                        Map.of("to", notification.address(), "text", notification.body()))));
+        if (apiKey != null && !apiKey.isBlank()) {
+            request.header("Authorization", "Bearer " + apiKey);
+        }
+
+        HttpResponse<Void> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() >= 300) {
+            throw new IOException("SMS gateway responded with status " + response.statusCode());
+        }
+    }
+}
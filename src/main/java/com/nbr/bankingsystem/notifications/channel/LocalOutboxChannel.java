@@ -0,0 +1,59 @@
+package com.nbr.bankingsystem.notifications.channel;
+
+import com.nbr.bankingsystem.notifications.NotificationRecipient;
+import com.nbr.bankingsystem.utils.AuditLogger;
+
+import java.util.ArrayList;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Local stand-in for a channel: notifications are logged and kept in a small in-memory outbox
+ * instead of leaving the machine. Used for development and tests.
+ */
+public class LocalOutboxChannel implements NotificationChannel {
+
+    private static final int OUTBOX_SIZE = 100;
+
+    private final ChannelType type;
+    private final Deque<OutboundNotification> outbox = new ArrayDeque<>();
+
+    public LocalOutboxChannel(ChannelType type) {
+        this.type = type;
+    }
+
+    @Override
+    public ChannelType type() {
+        return type;
+    }
+
+    @Override
+    public String addressOf(NotificationRecipient recipient) {
+        return switch (type) {
+            case EMAIL -> recipient.email();
+            case SMS -> recipient.mobile();
+            case PUSH -> recipient.customerId() != null ? recipient.customerId().toString() : null;
+        };
+    }
+
+    @Override
+    public void send(OutboundNotification notification) {
+        synchronized (outbox) {
+            if (outbox.size() == OUTBOX_SIZE) {
+                outbox.removeFirst();
+            }
+            outbox.addLast(notification);
+        }
+        AuditLogger.log("LOCAL_" + type + "_NOTIFICATION", "To: " + notification.address() + ", Subject: " + notification.subject());
+    }
+
+    /**
+     * @return the most recent notifications, oldest first
+     */
+    public List<OutboundNotification> recent() {
+        synchronized (outbox) {
+            return new ArrayList<>(outbox);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.nbr.bankingsystem.notifications.channel;
+
+import com.nbr.bankingsystem.notifications.NotificationRecipient;
+
+import java.util.List;
+
+/**
+ * A delivery channel for notifications.
+ *
+ * Implementations are registered as beans in NotificationChannelConfig, at most one per ChannelType,
+ * and are called from the worker threads of their channel only, so a blocking send never
+ * delays the other channels.
+ */
+public interface NotificationChannel {
+
+    ChannelType type();
+
+    /**
+     * @return the address of the recipient on this channel, or null if the recipient cannot be reached on it
+     */
+    String addressOf(NotificationRecipient recipient);
+
+    /**
+     * Delivers a notification.
+     *
+     * @throws Exception if the delivery failed; failures are counted by the circuit breaker of the channel
+     */
+    void send(OutboundNotification notification) throws Exception;
+
+    /**
+     * Delivers a batch of notifications. Channels that can reuse a connection across messages override this.
+     *
+     * @return the number of notifications delivered; the others were refused individually, e.g. for a bad address
+     * @throws PartialDeliveryException if the channel failed partway through, telling how far the batch got
+     * @throws Exception if the channel itself failed before sending anything; counted once by the circuit breaker
+     */
+    default int sendBatch(List<OutboundNotification> notifications) throws Exception {
+        for (int i = 0; i < notifications.size(); i++) {
+            try {
+                send(notifications.get(i));
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                if (i == 0) {
+                    throw e;
+                }
+                throw new PartialDeliveryException(i, i, e);
+            }
+        }
+        return notifications.size();
+    }
+}
@@ -0,0 +1,67 @@
+package com.nbr.bankingsystem.notifications.channel;
+
+import com.nbr.bankingsystem.config.notifications.NotificationProperties;
+import com.nbr.bankingsystem.notifications.NotificationRecipient;
+import com.nbr.bankingsystem.notifications.template.RenderedNotification;
+import com.nbr.bankingsystem.utils.AuditLogger;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Fans notifications out to the enabled channels. Each channel delivers on its own workers,
+ * so a slow or failing provider only backs up its own queue.
+ */
+@Component
+public class NotificationDispatcher {
+
+    private final Map<ChannelType, ChannelWorker> workers = new EnumMap<>(ChannelType.class);
+
+    public NotificationDispatcher(List<NotificationChannel> channels, NotificationProperties properties, MeterRegistry meterRegistry) {
+        for (NotificationChannel channel : channels) {
+            NotificationProperties.Channel channelProperties = switch (channel.type()) {
+                case EMAIL -> properties.getEmail();
+                case SMS -> properties.getSms();
+                case PUSH -> properties.getPush();
+            };
+            if (channelProperties.isEnabled()) {
+                workers.put(channel.type(), new ChannelWorker(channel, channelProperties, meterRegistry));
+                AuditLogger.log("NOTIFICATION_CHANNEL_ENABLED", channel.type() + " via " + channel.getClass().getSimpleName());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.values().forEach(ChannelWorker::shutdown);
+    }
+
+    /**
+     * @return the channels notifications can currently be sent through
+     */
+    public Set<ChannelType> enabledChannels() {
+        return workers.keySet();
+    }
+
+    /**
+     * Queues a notification on each of the given channels the recipient has an address on.
+     * Never blocks; delivery failures are logged and counted per channel.
+     */
+    public void dispatch(NotificationRecipient recipient, RenderedNotification notification, Set<ChannelType> channels) {
+        for (ChannelType type : channels) {
+            ChannelWorker worker = workers.get(type);
+            if (worker == null) {
+                continue;
+            }
+            String address = worker.channel().addressOf(recipient);
+            if (address != null) {
+                worker.submit(new OutboundNotification(recipient.customerId(), address, notification.subject(), notification.body()));
+            }
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.nbr.bankingsystem.notifications.channel;
+
+/**
+ * A rendered notification addressed to one recipient on one channel.
+ */
+public record OutboundNotification(Long customerId, String address, String subject, String body) {
+}
@@ -0,0 +1,25 @@
+package com.nbr.bankingsystem.notifications.channel;
+
+/**
+ * A channel failed partway through a batch. The notifications before `attempted` were handled (`delivered`
+ * of them delivered, the others refused individually); the notifications from `attempted` on were not sent.
+ */
+public class PartialDeliveryException extends Exception {
+
+    private final int attempted;
+    private final int delivered;
+
+    public PartialDeliveryException(int attempted, int delivered, Exception cause) {
+        super(cause.getMessage(), cause);
+        this.attempted = attempted;
+        this.delivered = delivered;
+    }
+
+    public int getAttempted() {
+        return attempted;
+    }
+
+    public int getDelivered() {
+        return delivered;
+    }
+}
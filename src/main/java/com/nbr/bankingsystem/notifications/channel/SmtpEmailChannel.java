@@ -0,0 +1,73 @@
+package com.nbr.bankingsystem.notifications.channel;
+
+import com.nbr.bankingsystem.notifications.NotificationRecipient;
+import com.nbr.bankingsystem.notifications.mail.PartialSendException;
+import com.nbr.bankingsystem.notifications.mail.SmtpTransportPool;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.AddressException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Delivers notifications by email through the configured SMTP server, sending each batch over one pooled connection.
+ */
+public class SmtpEmailChannel implements NotificationChannel {
+
+    private final SmtpTransportPool transportPool;
+    private final String from;
+
+    public SmtpEmailChannel(SmtpTransportPool transportPool, String from) {
+        this.transportPool = transportPool;
+        this.from = from;
+    }
+
+    @Override
+    public ChannelType type() {
+        return ChannelType.EMAIL;
+    }
+
+    @Override
+    public String addressOf(NotificationRecipient recipient) {
+        return recipient.email();
+    }
+
+    @Override
+    public void send(OutboundNotification notification) throws MessagingException, InterruptedException, PartialDeliveryException {
+        sendBatch(List.of(notification));
+    }
+
+    @Override
+    public int sendBatch(List<OutboundNotification> notifications)
+            throws MessagingException, InterruptedException, PartialDeliveryException {
+        List<MimeMessage> messages = new ArrayList<>(notifications.size());
+        // index of the notification of each message, since bad addresses are left out
+        int[] notificationIndex = new int[notifications.size()];
+        for (int i = 0; i < notifications.size(); i++) {
+            OutboundNotification notification = notifications.get(i);
+            MimeMessage message = transportPool.createMessage();
+            if (from != null && !from.isBlank()) {
+                message.setFrom(new InternetAddress(from));
+            }
+            try {
+                message.setRecipient(Message.RecipientType.TO, new InternetAddress(notification.address(), true));
+            } catch (AddressException e) {
+                // counted as undelivered, the rest of the batch still goes out
+                continue;
+            }
+            message.setSubject(notification.subject(), StandardCharsets.UTF_8.name());
+            message.setText(notification.body(), StandardCharsets.UTF_8.name());
+            notificationIndex[messages.size()] = i;
+            messages.add(message);
+        }
+        try {
+            return transportPool.sendAll(messages);
+        } catch (PartialSendException e) {
+            throw new PartialDeliveryException(notificationIndex[e.getAttempted()], e.getAccepted(), e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.nbr.bankingsystem.notifications.channel;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nbr.bankingsystem.notifications.NotificationRecipient;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Delivers notifications as push messages by posting them to a webhook, which fans them out to the devices
+ * of the customer: `{"customerId": 1, "title": "...", "body": "..."}`.
+ */
+public class WebhookPushChannel implements NotificationChannel {
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final URI webhookUri;
+    private final String apiKey;
+    private final Duration timeout;
+
+    public WebhookPushChannel(ObjectMapper objectMapper, String webhookUrl, String apiKey, Duration timeout) {
+        this.httpClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+        this.objectMapper = objectMapper;
+        this.webhookUri = URI.create(webhookUrl);
+        this.apiKey = apiKey;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public ChannelType type() {
+        return ChannelType.PUSH;
+    }
+
+    @Override
+    public String addressOf(NotificationRecipient recipient) {
+        return recipient.customerId() != null ? recipient.customerId().toString() : null;
+    }
+
+    @Override
+    public void send(OutboundNotification notification) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(webhookUri)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(Map.of(
+                        "customerId", notification.customerId(),
+                        "title", notification.subject(),
+                        "body", notification.body()))));
+        if (apiKey != null && !apiKey.isBlank()) {
+            request.header("Authorization", "Bearer " + apiKey);
+        }
+
+        HttpResponse<Void> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() >= 300) {
+            throw new IOException("Push webhook responded with status " + response.statusCode());
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.nbr.bankingsystem.notifications.mail;
+
+import jakarta.mail.MessagingException;
+
+/**
+ * The connection failed partway through a batch. The messages before `attempted` were handed to the server
+ * (`accepted` of them were accepted, the others refused for their recipients); the rest were not sent.
+ */
+public class PartialSendException extends MessagingException {
+
+    private final int attempted;
+    private final int accepted;
+
+    public PartialSendException(int attempted, int accepted, MessagingException cause) {
+        super(cause.getMessage(), cause);
+        this.attempted = attempted;
+        this.accepted = accepted;
+    }
+
+    public int getAttempted() {
+        return attempted;
+    }
+
+    public int getAccepted() {
+        return accepted;
+    }
+}
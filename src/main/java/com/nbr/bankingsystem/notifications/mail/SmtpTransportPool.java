@@ -0,0 +1,179 @@
+package com.nbr.bankingsystem.notifications.mail;
+
+import com.nbr.bankingsystem.config.mail.MailTransportProperties;
+import com.nbr.bankingsystem.utils.AuditLogger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.List;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool of connected and authenticated SMTP transports.
+ *
+ * Opening a connection costs a TCP handshake, STARTTLS and AUTH; a pooled transport skips all of them and
+ * sends a whole batch of messages in one session. Connections are replaced after `max-messages-per-connection`
+ * messages, closed when idle for `idle-timeout`, and dropped after any connection-level error.
+ *
+ * Metrics: `mail.smtp.connections` (tagged opened/reused) and the `mail.smtp.send` timer per message.
+ */
+public class SmtpTransportPool implements AutoCloseable {
+
+    private final JavaMailSenderImpl mailSender;
+    private final Session session;
+    private final String protocol;
+    private final int maxMessagesPerConnection;
+    private final long idleTimeoutMillis;
+    private final Semaphore permits;
+    // most recently used first, so surplus connections age out at the tail
+    private final LinkedBlockingDeque<PooledTransport> idle = new LinkedBlockingDeque<>();
+    private final Counter opened;
+    private final Counter reused;
+    private final Timer sendTimer;
+
+    public SmtpTransportPool(JavaMailSenderImpl mailSender, MailTransportProperties properties, MeterRegistry meterRegistry) {
+        this.mailSender = mailSender;
+        this.session = mailSender.getSession();
+        // resolved like JavaMailSenderImpl does: MailConfig only sets the mail.transport.protocol property
+        this.protocol = mailSender.getProtocol() != null ? mailSender.getProtocol()
+                : session.getProperty("mail.transport.protocol") != null ? session.getProperty("mail.transport.protocol")
+                : JavaMailSenderImpl.DEFAULT_PROTOCOL;
+        this.maxMessagesPerConnection = properties.getMaxMessagesPerConnection();
+        this.idleTimeoutMillis = properties.getIdleTimeout().toMillis();
+        this.permits = new Semaphore(properties.getMaxConnections());
+        this.opened = Counter.builder("mail.smtp.connections").tag("result", "opened").register(meterRegistry);
+        this.reused = Counter.builder("mail.smtp.connections").tag("result", "reused").register(meterRegistry);
+        this.sendTimer = Timer.builder("mail.smtp.send").register(meterRegistry);
+    }
+
+    public MimeMessage createMessage() {
+        return new MimeMessage(session);
+    }
+
+    /**
+     * Sends messages over one pooled connection.
+     *
+     * @return the number of messages accepted by the server; messages refused for their recipients are skipped
+     * @throws PartialSendException if the connection failed partway through, with the messages sent so far
+     * @throws MessagingException if no connection could be opened
+     */
+    public int sendAll(List<MimeMessage> messages) throws MessagingException, InterruptedException {
+        PooledTransport pooled = borrow();
+        boolean healthy = false;
+        int accepted = 0;
+        try {
+            for (int i = 0; i < messages.size(); i++) {
+                MimeMessage message = messages.get(i);
+                long start = System.nanoTime();
+                try {
+                    message.saveChanges();
+                    pooled.transport.sendMessage(message, message.getAllRecipients());
+                    accepted++;
+                } catch (SendFailedException e) {
+                    // also thrown when the server hangs up instead of answering; only a refusal keeps the connection
+                    if (!pooled.transport.isConnected()) {
+                        throw new PartialSendException(i, accepted, e);
+                    }
+                    // refused recipients do not affect the connection
+                    AuditLogger.log("SEND_EMAIL_REFUSED", e.getMessage());
+                } catch (MessagingException e) {
+                    throw new PartialSendException(i, accepted, e);
+                } finally {
+                    sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    pooled.messagesSent++;
+                }
+            }
+            healthy = true;
+            return accepted;
+        } finally {
+            release(pooled, healthy);
+        }
+    }
+
+    /**
+     * Closes connections that have been idle longer than the idle timeout.
+     */
+    @Scheduled(fixedDelayString = "${app.mail.idle-check-interval:10000}")
+    public void closeIdleConnections() {
+        long now = System.currentTimeMillis();
+        PooledTransport oldest;
+        while ((oldest = idle.peekLast()) != null && now - oldest.lastUsed >= idleTimeoutMillis) {
+            if (idle.removeLastOccurrence(oldest)) {
+                oldest.close();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            pooled.close();
+        }
+    }
+
+    private PooledTransport borrow() throws MessagingException, InterruptedException {
+        permits.acquire();
+        try {
+            long now = System.currentTimeMillis();
+            PooledTransport pooled;
+            while ((pooled = idle.pollFirst()) != null) {
+                if (now - pooled.lastUsed < idleTimeoutMillis && pooled.transport.isConnected()) {
+                    reused.increment();
+                    return pooled;
+                }
+                pooled.close();
+            }
+
+            Transport transport = session.getTransport(protocol);
+            transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+            opened.increment();
+            return new PooledTransport(transport);
+        } catch (MessagingException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void release(PooledTransport pooled, boolean healthy) {
+        try {
+            if (healthy && pooled.messagesSent < maxMessagesPerConnection) {
+                pooled.lastUsed = System.currentTimeMillis();
+                idle.offerFirst(pooled);
+            } else {
+                pooled.close();
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static final class PooledTransport {
+
+        private final Transport transport;
+        private int messagesSent;
+        private volatile long lastUsed = System.currentTimeMillis();
+
+        private PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+
+        private void close() {
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                // the connection is discarded either way
+            }
+        }
+    }
+}
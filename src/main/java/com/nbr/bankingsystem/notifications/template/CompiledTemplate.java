@@ -0,0 +1,62 @@
+package com.nbr.bankingsystem.notifications.template;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A template split once into literal segments and parameter slots, so rendering is a plain sequence
+ * of appends: literals[0], parameter[slots[0]], literals[1], ..., literals[n].
+ */
+final class CompiledTemplate {
+
+    private final String[] literals;
+    private final int[] slots;
+    private final int estimatedLength;
+
+    private CompiledTemplate(String[] literals, int[] slots) {
+        this.literals = literals;
+        this.slots = slots;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.estimatedLength = length + 16 * slots.length;
+    }
+
+    /**
+     * Compiles a template text with `{name}` placeholders.
+     *
+     * @throws IllegalStateException if the text refers to a parameter the template does not have
+     */
+    static CompiledTemplate compile(String text, List<String> parameterNames, String source) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+
+        int start = 0;
+        int open;
+        while ((open = text.indexOf('{', start)) >= 0) {
+            int close = text.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalStateException("Unclosed placeholder in " + source);
+            }
+            int slot = parameterNames.indexOf(text.substring(open + 1, close));
+            if (slot < 0) {
+                throw new IllegalStateException("Unknown placeholder " + text.substring(open, close + 1) + " in " + source);
+            }
+            literals.add(text.substring(start, open));
+            slots.add(slot);
+            start = close + 1;
+        }
+        literals.add(text.substring(start));
+
+        return new CompiledTemplate(literals.toArray(new String[0]), slots.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    void renderTo(StringBuilder target, String[] parameters) {
+        target.ensureCapacity(target.length() + estimatedLength);
+        for (int i = 0; i < slots.length; i++) {
+            target.append(literals[i]).append(parameters[slots[i]]);
+        }
+        target.append(literals[slots.length]);
+    }
+}
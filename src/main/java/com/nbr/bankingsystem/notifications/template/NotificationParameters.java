@@ -0,0 +1,28 @@
+package com.nbr.bankingsystem.notifications.template;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Formatting of template parameters, without going through String.format.
+ */
+public final class NotificationParameters {
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private NotificationParameters() {
+    }
+
+    /**
+     * @return the amount with two decimals, e.g. 1500.00
+     */
+    public static String amount(double amount) {
+        return BigDecimal.valueOf(amount).setScale(2, RoundingMode.HALF_UP).toPlainString();
+    }
+
+    public static String dateTime(LocalDateTime dateTime) {
+        return DATE_TIME_FORMATTER.format(dateTime);
+    }
+}
@@ -0,0 +1,140 @@
+package com.nbr.bankingsystem.notifications.template;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Renders notification templates and their digest lines.
+ *
+ * All templates of all supported locales are compiled once at startup, and rendering appends their
+ * segments into a per-thread buffer that is reused across calls.
+ * Locales without a translation of a template fall back to English.
+ */
+@Component
+public class NotificationTemplateEngine {
+
+    public static final Locale DEFAULT_LOCALE = Locale.ENGLISH;
+    private static final Locale[] SUPPORTED_LOCALES = {Locale.ENGLISH, Locale.FRENCH};
+    private static final int MAX_RETAINED_BUFFER = 8 * 1024;
+
+    private static final int SUBJECT = 0;
+    private static final int BODY = 1;
+    private static final int LINE = 2;
+    private static final String[] PART_NAMES = {"subject", "body", "digest line"};
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(512));
+
+    private final Map<String, EnumMap<TemplateId, CompiledTemplate[]>> templatesByLanguage = new HashMap<>();
+
+    public NotificationTemplateEngine() {
+        this("notifications/templates");
+    }
+
+    /**
+     * @param basePath the classpath location of the templates, completed by `_<language>.properties`
+     * @throws IllegalStateException if a template is missing in English or refers to an unknown parameter
+     */
+    public NotificationTemplateEngine(String basePath) {
+        for (Locale locale : SUPPORTED_LOCALES) {
+            templatesByLanguage.put(locale.getLanguage(), compile(basePath, locale));
+        }
+    }
+
+    /**
+     * Renders a template.
+     *
+     * @param templateId the template
+     * @param locale     the locale of the recipient
+     * @param parameters the parameters, in the order of {@link TemplateId#getParameterNames()}
+     * @return the rendered subject and body
+     */
+    public RenderedNotification render(TemplateId templateId, Locale locale, String... parameters) {
+        return new RenderedNotification(
+                renderPart(templateId, locale, SUBJECT, parameters),
+                renderPart(templateId, locale, BODY, parameters));
+    }
+
+    /**
+     * Renders the one-line digest entry of a digestible template.
+     *
+     * @param templateId the template
+     * @param locale     the locale of the recipient
+     * @param parameters the parameters, in the order of {@link TemplateId#getParameterNames()}
+     * @return the line
+     */
+    public String renderLine(TemplateId templateId, Locale locale, String... parameters) {
+        return renderPart(templateId, locale, LINE, parameters);
+    }
+
+    private String renderPart(TemplateId templateId, Locale locale, int part, String[] parameters) {
+        if (parameters.length != templateId.getParameterNames().size()) {
+            throw new IllegalArgumentException("Template " + templateId + " expects parameters " + templateId.getParameterNames());
+        }
+
+        CompiledTemplate[] template = templatesFor(locale).get(templateId);
+        if (template == null || template[part] == null) {
+            template = templatesFor(DEFAULT_LOCALE).get(templateId);
+        }
+        if (template == null || template[part] == null) {
+            throw new IllegalArgumentException("Template " + templateId + " has no " + PART_NAMES[part]);
+        }
+
+        StringBuilder buffer = BUFFER.get();
+        try {
+            buffer.setLength(0);
+            template[part].renderTo(buffer, parameters);
+            return buffer.toString();
+        } finally {
+            if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+                BUFFER.remove();
+            }
+        }
+    }
+
+    private EnumMap<TemplateId, CompiledTemplate[]> templatesFor(Locale locale) {
+        EnumMap<TemplateId, CompiledTemplate[]> templates = locale != null ? templatesByLanguage.get(locale.getLanguage()) : null;
+        return templates != null ? templates : templatesByLanguage.get(DEFAULT_LOCALE.getLanguage());
+    }
+
+    private static EnumMap<TemplateId, CompiledTemplate[]> compile(String basePath, Locale locale) {
+        String path = basePath + "_" + locale.getLanguage() + ".properties";
+        Properties properties = new Properties();
+        try (Reader reader = new InputStreamReader(new ClassPathResource(path).getInputStream(), StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not load notification templates " + path, e);
+        }
+
+        EnumMap<TemplateId, CompiledTemplate[]> templates = new EnumMap<>(TemplateId.class);
+        for (TemplateId templateId : TemplateId.values()) {
+            String subject = properties.getProperty(templateId.getKey() + ".subject");
+            String body = properties.getProperty(templateId.getKey() + ".body");
+            if (subject == null || body == null) {
+                if (locale.equals(DEFAULT_LOCALE)) {
+                    throw new IllegalStateException("Missing template " + templateId.getKey() + " in " + path);
+                }
+                continue;
+            }
+            String line = properties.getProperty(templateId.getKey() + ".line");
+            if (line == null && templateId.isDigestible() && locale.equals(DEFAULT_LOCALE)) {
+                throw new IllegalStateException("Missing digest line " + templateId.getKey() + " in " + path);
+            }
+            templates.put(templateId, new CompiledTemplate[]{
+                    CompiledTemplate.compile(subject, templateId.getParameterNames(), path + " " + templateId.getKey() + ".subject"),
+                    CompiledTemplate.compile(body, templateId.getParameterNames(), path + " " + templateId.getKey() + ".body"),
+                    line != null ? CompiledTemplate.compile(line, templateId.getParameterNames(), path + " " + templateId.getKey() + ".line") : null
+            });
+        }
+        return templates;
+    }
+}
@@ -0,0 +1,7 @@
+package com.nbr.bankingsystem.notifications.template;
+
+/**
+ * The subject and body of a rendered notification.
+ */
+public record RenderedNotification(String subject, String body) {
+}
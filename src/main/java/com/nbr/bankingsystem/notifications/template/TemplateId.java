@@ -0,0 +1,71 @@
+package com.nbr.bankingsystem.notifications.template;
+
+import com.nbr.bankingsystem.enums.TransactionType;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Notification templates, each with the ordered names of its parameters.
+ * The texts live in `notifications/templates_<locale>.properties` under `<key>.subject` and `<key>.body`,
+ * where `{name}` is replaced by the parameter of that name. Digestible templates also have a `<key>.line`,
+ * used for their entry in a digest. All templates start with firstName and lastName.
+ * New parameters are only ever appended, so the stored parameters of older messages keep their positions.
+ */
+public enum TemplateId {
+    ACCOUNT_CREATED("account-created", false, "firstName", "lastName", "account"),
+    SAVING("saving", true, "firstName", "lastName", "amount", "account", "dateTime", "currency"),
+    WITHDRAW("withdraw", true, "firstName", "lastName", "amount", "account", "dateTime", "currency"),
+    TRANSFER_SENT("transfer-sent", true, "firstName", "lastName", "amount", "account", "dateTime", "currency"),
+    TRANSFER_RECEIVED("transfer-received", true, "firstName", "lastName", "amount", "account", "dateTime", "currency"),
+    DIGEST("digest", false, "firstName", "lastName", "count", "items");
+
+    private final String key;
+    private final boolean digestible;
+    private final List<String> parameterNames;
+
+    TemplateId(String key, boolean digestible, String... parameterNames) {
+        this.key = key;
+        this.digestible = digestible;
+        this.parameterNames = List.of(parameterNames);
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * @return true if notifications of this template may be merged into a digest
+     */
+    public boolean isDigestible() {
+        return digestible;
+    }
+
+    public List<String> getParameterNames() {
+        return parameterNames;
+    }
+
+    /**
+     * Pads the stored parameters of a message recorded before the last parameters were appended to
+     * this template with empty values, so it can still be rendered.
+     */
+    public String[] completeParameters(String[] parameters) {
+        if (parameters.length >= parameterNames.size()) {
+            return parameters;
+        }
+        String[] completed = Arrays.copyOf(parameters, parameterNames.size());
+        Arrays.fill(completed, parameters.length, completed.length, "");
+        return completed;
+    }
+
+    /**
+     * @return the template notifying the customer of a saving or withdrawal
+     */
+    public static TemplateId forTransaction(TransactionType type) {
+        return switch (type) {
+            case SAVING -> SAVING;
+            case WITHDRAW -> WITHDRAW;
+            case TRANSFER -> TRANSFER_SENT;
+        };
+    }
+}
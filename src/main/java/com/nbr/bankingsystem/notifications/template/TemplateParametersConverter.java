@@ -0,0 +1,24 @@
+package com.nbr.bankingsystem.notifications.template;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores template parameters in a single column, separated by the ASCII unit separator,
+ * which cannot appear in names, account numbers, amounts or dates.
+ */
+@Converter
+public class TemplateParametersConverter implements AttributeConverter<String[], String> {
+
+    private static final char SEPARATOR = '\u001F';
+
+    @Override
+    public String convertToDatabaseColumn(String[] parameters) {
+        return parameters == null ? null : String.join(String.valueOf(SEPARATOR), parameters);
+    }
+
+    @Override
+    public String[] convertToEntityAttribute(String column) {
+        return column == null ? null : column.split(String.valueOf(SEPARATOR), -1);
+    }
+}
@@ -1,12 +1,96 @@
 package com.nbr.bankingsystem.repositories;
 
+import com.nbr.bankingsystem.DTO.AccountVolumeDTO;
+import com.nbr.bankingsystem.DTO.TransactionResponseDTO;
+import com.nbr.bankingsystem.DTO.TransactionTypeTotalDTO;
+import com.nbr.bankingsystem.enums.CurrencyCode;
 import com.nbr.bankingsystem.models.Banking;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
 /**
  * Repository interface for Banking entity.
  */
 @Repository
 public interface BankingRepository extends JpaRepository<Banking, Long> {
+
+    /**
+     * Lists all transactions as read models in a single query, without loading the customers.
+     */
+    @Query("select new com.nbr.bankingsystem.DTO.TransactionResponseDTO(b.id, b.customer.id, b.account, b.amount, b.currency, b.fxRate, b.type, b.receiverId, b.bankingDateTime) " +
+            "from Banking b order by b.id")
+    List<TransactionResponseDTO> findAllTransactions();
+
+    /**
+     * Finds a single transaction as a read model.
+     */
+    @Query("select new com.nbr.bankingsystem.DTO.TransactionResponseDTO(b.id, b.customer.id, b.account, b.amount, b.currency, b.fxRate, b.type, b.receiverId, b.bankingDateTime) " +
+            "from Banking b where b.id = :id")
+    Optional<TransactionResponseDTO> findTransactionById(@Param("id") Long id);
+
+    /**
+     * Lists the transactions of a date range [from, to).
+     * The range on bankingDateTime lets the database prune the monthly partitions.
+     */
+    @Query("select new com.nbr.bankingsystem.DTO.TransactionResponseDTO(b.id, b.customer.id, b.account, b.amount, b.currency, b.fxRate, b.type, b.receiverId, b.bankingDateTime) " +
+            "from Banking b where b.bankingDateTime >= :from and b.bankingDateTime < :to order by b.bankingDateTime")
+    List<TransactionResponseDTO> findTransactionsBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Streams the transactions made since a point in time, oldest first, for loads too large to hold as a list.
+     * Must be consumed inside a transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.nbr.bankingsystem.DTO.TransactionResponseDTO(b.id, b.customer.id, b.account, b.amount, b.currency, b.fxRate, b.type, b.receiverId, b.bankingDateTime) " +
+            "from Banking b where b.bankingDateTime >= :from order by b.bankingDateTime")
+    Stream<TransactionResponseDTO> streamTransactionsSince(@Param("from") LocalDateTime from);
+
+    /**
+     * Lists the transactions of one customer in a date range [from, to).
+     */
+    @Query("select new com.nbr.bankingsystem.DTO.TransactionResponseDTO(b.id, b.customer.id, b.account, b.amount, b.currency, b.fxRate, b.type, b.receiverId, b.bankingDateTime) " +
+            "from Banking b where b.customer.id = :customerId and b.bankingDateTime >= :from and b.bankingDateTime < :to " +
+            "order by b.bankingDateTime")
+    List<TransactionResponseDTO> findCustomerTransactionsBetween(@Param("customerId") Long customerId,
+                                                                 @Param("from") LocalDateTime from,
+                                                                 @Param("to") LocalDateTime to);
+
+    /**
+     * Finds the email of the customer owning a transaction.
+     */
+    @Query("select c.email from Banking b join b.customer c where b.id = :id")
+    Optional<String> findOwnerEmailById(@Param("id") Long id);
+
+    /**
+     * Reads the highest transaction id, or 0 when there are no transactions.
+     */
+    @Query("select coalesce(max(b.id), 0) from Banking b")
+    long findMaxId();
+
+    /**
+     * Counts and sums the transactions up to the given id per type and currency.
+     */
+    @Query("select new com.nbr.bankingsystem.DTO.TransactionTypeTotalDTO(b.type, b.currency, count(b), coalesce(sum(b.amount), 0.0)) " +
+            "from Banking b where b.id <= :maxId group by b.type, b.currency")
+    List<TransactionTypeTotalDTO> summarizeByType(@Param("maxId") long maxId);
+
+    /**
+     * Lists the accounts of one currency with the highest transaction volume, up to the given transaction id.
+     */
+    @Query("select new com.nbr.bankingsystem.DTO.AccountVolumeDTO(b.account, sum(b.amount)) " +
+            "from Banking b where b.id <= :maxId and b.currency = :currency group by b.account order by sum(b.amount) desc")
+    List<AccountVolumeDTO> findTopAccountVolumes(@Param("maxId") long maxId, @Param("currency") CurrencyCode currency,
+                                                 Pageable pageable);
 }
@@ -0,0 +1,130 @@
+package com.nbr.bankingsystem.repositories;
+
+import com.nbr.bankingsystem.notifications.template.TemplateParametersConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repository cleaning up deleted customers with plain SQL.
+ * Deleted customers are hidden from every JPA query, so their tombstones can only be reached from here.
+ */
+@Repository
+public class CustomerCleanupRepository {
+
+    private static final String DELETED_FIRST_NAME = "Deleted";
+    private static final String DELETED_LAST_NAME = "Customer";
+    private static final TemplateParametersConverter PARAMETERS_CONVERTER = new TemplateParametersConverter();
+    private static final String ANONYMIZED_PREFIX =
+            PARAMETERS_CONVERTER.convertToDatabaseColumn(new String[]{DELETED_FIRST_NAME, DELETED_LAST_NAME});
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CustomerCleanupRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Creates the table receiving the messages of deleted customers, if it does not exist yet.
+     */
+    public void createMessageArchiveTable() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS message_archive (" +
+                "id BIGINT NOT NULL PRIMARY KEY, " +
+                "customer_id BIGINT, " +
+                "template_id VARCHAR(32), " +
+                "locale VARCHAR(8), " +
+                "parameters VARCHAR(2048), " +
+                "message_date_time DATETIME(6), " +
+                "archived_at DATETIME(6) NOT NULL, " +
+                "INDEX idx_message_archive_customer (customer_id)" +
+                ") ROW_FORMAT=COMPRESSED");
+    }
+
+    /**
+     * Lists deleted customers that have not been cleaned up yet, oldest deletion first.
+     */
+    public List<Long> findCustomersPendingCleanup(int limit) {
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM customer WHERE deleted = true AND purged_at IS NULL ORDER BY deleted_at, id LIMIT ?",
+                Long.class, limit);
+    }
+
+    /**
+     * Replaces the personal data of a deleted customer. The account number is kept so the ledger still reads;
+     * email, mobile and login were already released and disabled by deleteCustomer.
+     */
+    public void anonymizeCustomer(Long customerId) {
+        jdbcTemplate.update("UPDATE customer SET first_name = 'Deleted', last_name = 'Customer', " +
+                "dob = '1900-01-01', last_update_time = NOW(6) WHERE id = ? AND deleted = true", customerId);
+    }
+
+    /**
+     * Moves the oldest messages of a customer into message_archive, at most limit of them.
+     * Every template starts with the first and last name (see TemplateId), so those two parameters
+     * are replaced on the way; the rest of the parameters hold no personal data.
+     *
+     * @return the number of messages moved; 0 once the customer has none left
+     */
+    public int archiveMessages(Long customerId, int limit) {
+        List<Map<String, Object>> messages = jdbcTemplate.queryForList(
+                "SELECT id, template_id, locale, parameters, message_date_time FROM message " +
+                        "WHERE customer_id = ? ORDER BY id LIMIT ?", customerId, limit);
+        if (messages.isEmpty()) {
+            return 0;
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO message_archive " +
+                        "(id, customer_id, template_id, locale, parameters, message_date_time, archived_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, NOW(6))",
+                messages.stream().map(message -> new Object[]{message.get("id"), customerId, message.get("template_id"),
+                        message.get("locale"), anonymizedParameters((String) message.get("parameters")),
+                        message.get("message_date_time")}).toList());
+        // the date lets MariaDB prune the partitions of the message table
+        jdbcTemplate.batchUpdate("DELETE FROM message WHERE id = ? AND message_date_time = ?",
+                messages.stream().map(message -> new Object[]{message.get("id"), message.get("message_date_time")}).toList());
+        return messages.size();
+    }
+
+    /**
+     * Replaces the names in the messages of a customer kept in one of the monthly archive tables of the
+     * message table (see PartitionAdminRepository.archiveMonthPartition), at most limit of them.
+     *
+     * @return the number of messages updated; 0 once none is left with the names
+     */
+    public int anonymizeArchivedMessages(String archiveTable, Long customerId, int limit) {
+        List<Map<String, Object>> messages = jdbcTemplate.queryForList(
+                "SELECT id, parameters, message_date_time FROM " + archiveTable + " " +
+                        "WHERE customer_id = ? AND parameters IS NOT NULL AND parameters NOT LIKE ? LIMIT ?",
+                customerId, ANONYMIZED_PREFIX + "%", limit);
+
+        jdbcTemplate.batchUpdate("UPDATE " + archiveTable + " SET parameters = ? WHERE id = ? AND message_date_time = ?",
+                messages.stream().map(message -> new Object[]{anonymizedParameters((String) message.get("parameters")),
+                        message.get("id"), message.get("message_date_time")}).toList());
+        return messages.size();
+    }
+
+    /**
+     * Replaces the first and last name of stored template parameters, in Java so no database function
+     * has to agree with us on where a multibyte name ends.
+     */
+    private static String anonymizedParameters(String column) {
+        if (column == null) {
+            return null;
+        }
+        String[] parameters = PARAMETERS_CONVERTER.convertToEntityAttribute(column);
+        String[] anonymized = Arrays.copyOf(parameters, Math.max(2, parameters.length));
+        anonymized[0] = DELETED_FIRST_NAME;
+        anonymized[1] = DELETED_LAST_NAME;
+        return PARAMETERS_CONVERTER.convertToDatabaseColumn(anonymized);
+    }
+
+    /**
+     * Records that a deleted customer has been fully cleaned up.
+     */
+    public void markPurged(Long customerId) {
+        jdbcTemplate.update("UPDATE customer SET purged_at = NOW(6) WHERE id = ?", customerId);
+    }
+}
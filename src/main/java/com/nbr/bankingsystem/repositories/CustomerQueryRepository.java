@@ -0,0 +1,29 @@
+package com.nbr.bankingsystem.repositories;
+
+import com.nbr.bankingsystem.DTO.CustomerPageRequest;
+import com.nbr.bankingsystem.DTO.CustomerSummaryDTO;
+
+import java.util.List;
+
+/**
+ * Custom fragment of the CustomerRepository for dynamic, keyset-paginated listings.
+ */
+public interface CustomerQueryRepository {
+
+    /**
+     * Position of the last row of the previous page: its sort value and id.
+     */
+    record Keyset(Comparable<?> value, Long id) {
+    }
+
+    /**
+     * Lists customers matching the filters of the request, ordered by its sort column and then id,
+     * starting right after the given keyset. No offset is used, so every page costs the same.
+     *
+     * @param request the filters and sort
+     * @param after   the keyset of the last row already returned, or null for the first page
+     * @param limit   the maximum number of rows
+     * @return the matching customers
+     */
+    List<CustomerSummaryDTO> findCustomerPage(CustomerPageRequest request, Keyset after, int limit);
+}
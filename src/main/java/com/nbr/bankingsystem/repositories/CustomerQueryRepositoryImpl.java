@@ -0,0 +1,84 @@
+package com.nbr.bankingsystem.repositories;
+
+import com.nbr.bankingsystem.DTO.CustomerPageRequest;
+import com.nbr.bankingsystem.DTO.CustomerSummaryDTO;
+import com.nbr.bankingsystem.enums.CustomerSortField;
+import com.nbr.bankingsystem.models.Customer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Criteria implementation of the CustomerQueryRepository fragment.
+ * The filters and the keyset condition only compare indexed columns, so the database can seek
+ * straight to the first row of a page.
+ */
+public class CustomerQueryRepositoryImpl implements CustomerQueryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<CustomerSummaryDTO> findCustomerPage(CustomerPageRequest request, Keyset after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CustomerSummaryDTO> query = cb.createQuery(CustomerSummaryDTO.class);
+        Root<Customer> customer = query.from(Customer.class);
+
+        query.select(cb.construct(CustomerSummaryDTO.class,
+                customer.get("id"), customer.get("firstName"), customer.get("lastName"), customer.get("email"),
+                customer.get("account"), customer.get("balance"), customer.get("currency"), customer.get("registrationDateTime")));
+
+        List<Predicate> predicates = new ArrayList<>();
+        Path<LocalDateTime> registered = customer.get("registrationDateTime");
+        if (request.getRegisteredFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(registered, request.getRegisteredFrom().atStartOfDay()));
+        }
+        if (request.getRegisteredTo() != null) {
+            predicates.add(cb.lessThan(registered, request.getRegisteredTo().plusDays(1).atStartOfDay()));
+        }
+        Path<Double> balance = customer.get("balance");
+        if (request.getMinBalance() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(balance, request.getMinBalance()));
+        }
+        if (request.getMaxBalance() != null) {
+            predicates.add(cb.lessThanOrEqualTo(balance, request.getMaxBalance()));
+        }
+
+        CustomerSortField sort = request.getSort();
+        boolean ascending = request.getDirection() == Sort.Direction.ASC;
+        Path<Long> id = customer.get("id");
+        Path<Comparable<Object>> sortColumn = customer.get(sort.getAttribute());
+
+        if (after != null) {
+            Predicate idBeyond = ascending ? cb.greaterThan(id, after.id()) : cb.lessThan(id, after.id());
+            if (sort == CustomerSortField.ID) {
+                predicates.add(idBeyond);
+            } else {
+                Comparable<Object> value = (Comparable<Object>) after.value();
+                Predicate valueBeyond = ascending ? cb.greaterThan(sortColumn, value) : cb.lessThan(sortColumn, value);
+                predicates.add(cb.or(valueBeyond, cb.and(cb.equal(sortColumn, value), idBeyond)));
+            }
+        }
+
+        query.where(predicates.toArray(new Predicate[0]));
+        if (sort == CustomerSortField.ID) {
+            query.orderBy(ascending ? cb.asc(id) : cb.desc(id));
+        } else {
+            query.orderBy(ascending ? cb.asc(sortColumn) : cb.desc(sortColumn), ascending ? cb.asc(id) : cb.desc(id));
+        }
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
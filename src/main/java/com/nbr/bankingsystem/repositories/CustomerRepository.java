@@ -1,16 +1,89 @@
 package com.nbr.bankingsystem.repositories;
 
+import com.nbr.bankingsystem.DTO.CurrencyTotalDTO;
+import com.nbr.bankingsystem.DTO.CustomerResponseDTO;
 import com.nbr.bankingsystem.models.Customer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 /**
  * Repository interface for Customer entity.
  */
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer, Long> {
+public interface CustomerRepository extends JpaRepository<Customer, Long>, CustomerQueryRepository {
     Optional<Customer> findByEmail(String email);
     Optional<Customer> findByMobile(String mobile);
-}
\ No newline at end of file
+
+    /**
+     * Lists all customers as read models, selecting only the returned columns.
+     */
+    @Query("select new com.nbr.bankingsystem.DTO.CustomerResponseDTO(c.id, c.firstName, c.lastName, c.email, c.mobile, " +
+            "c.account, c.balance, c.currency, c.dob, c.lastUpdateTime) from Customer c order by c.id")
+    List<CustomerResponseDTO> findAllCustomers();
+
+    /**
+     * Finds a single customer as a read model.
+     */
+    @Query("select new com.nbr.bankingsystem.DTO.CustomerResponseDTO(c.id, c.firstName, c.lastName, c.email, c.mobile, " +
+            "c.account, c.balance, c.currency, c.dob, c.lastUpdateTime) from Customer c where c.id = :id")
+    Optional<CustomerResponseDTO> findCustomerById(@Param("id") Long id);
+
+    /**
+     * Reads only the id of the customer with the given email.
+     */
+    @Query("select c.id from Customer c where c.email = :email")
+    Optional<Long> findIdByEmail(@Param("email") String email);
+
+    /**
+     * Reads only the balance column of a customer.
+     */
+    @Query("select c.balance from Customer c where c.id = :id")
+    Optional<Double> findBalanceById(@Param("id") Long id);
+
+    /**
+     * Reads only the version (last update time) of a customer, for conditional GETs.
+     */
+    @Query("select c.lastUpdateTime from Customer c where c.id = :id")
+    Optional<LocalDateTime> findLastUpdateTimeById(@Param("id") Long id);
+
+    /**
+     * Reads only the user id linked to a customer.
+     */
+    @Query("select c.userModel.id from Customer c where c.id = :id")
+    Optional<Long> findUserIdById(@Param("id") Long id);
+
+    /**
+     * Freezes or unfreezes a customer. Only the frozen flag and lastUpdateTime are written, so a
+     * concurrent update of the customer's other fields neither loses nor overwrites the change:
+     * Customer has no @Version, and this statement does not check one.
+     */
+    @Modifying
+    @Transactional
+    @Query("update Customer c set c.frozen = :frozen, c.lastUpdateTime = local datetime where c.id = :id")
+    int updateFrozen(@Param("id") Long id, @Param("frozen") boolean frozen);
+
+    /**
+     * Sums the balances of all customers per currency.
+     */
+    @Query("select new com.nbr.bankingsystem.DTO.CurrencyTotalDTO(c.currency, coalesce(sum(c.balance), 0.0)) " +
+            "from Customer c group by c.currency")
+    List<CurrencyTotalDTO> sumBalancesByCurrency();
+
+    /**
+     * Gives customers created before registrationDateTime existed a registration time,
+     * taken from their last update, so they sort and filter like everyone else.
+     */
+    @Modifying
+    @Transactional
+    @Query("update Customer c set c.registrationDateTime = coalesce(c.lastUpdateTime, local datetime) " +
+            "where c.registrationDateTime is null")
+    int backfillRegistrationDateTime();
+}
@@ -0,0 +1,84 @@
+package com.nbr.bankingsystem.repositories;
+
+import com.nbr.bankingsystem.DTO.SummaryRowDTO;
+import com.nbr.bankingsystem.enums.CurrencyCode;
+import com.nbr.bankingsystem.models.DailySummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for the DailySummary rollup.
+ */
+@Repository
+public interface DailySummaryRepository extends JpaRepository<DailySummary, Long> {
+
+    /**
+     * Adds one transaction to its rollup row, creating the row on the first transaction of the day.
+     * A single upsert, so concurrent transactions of the same customer only contend on the row lock.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO daily_summary (summary_date, customer_id, type, currency, transaction_count, total_amount) " +
+            "VALUES (:date, :customerId, :type, :currency, 1, :amount) " +
+            "ON DUPLICATE KEY UPDATE transaction_count = transaction_count + 1, total_amount = total_amount + VALUES(total_amount)",
+            nativeQuery = true)
+    void addTransaction(@Param("date") LocalDate date, @Param("customerId") Long customerId,
+                        @Param("type") String type, @Param("currency") String currency, @Param("amount") double amount);
+
+    /**
+     * Sums the rollup per day and currency, optionally for a single customer or currency.
+     */
+    @Query("select new com.nbr.bankingsystem.DTO.SummaryRowDTO(s.summaryDate, s.currency, sum(s.transactionCount), sum(s.totalAmount)) " +
+            "from DailySummary s where s.summaryDate between :from and :to " +
+            "and (:customerId is null or s.customerId = :customerId) " +
+            "and (:currency is null or s.currency = :currency) " +
+            "group by s.summaryDate, s.currency order by s.summaryDate, s.currency")
+    List<SummaryRowDTO> sumByDay(@Param("from") LocalDate from, @Param("to") LocalDate to, @Param("customerId") Long customerId,
+                                 @Param("currency") CurrencyCode currency);
+
+    /**
+     * Sums the rollup per transaction type and currency, optionally for a single customer or currency.
+     */
+    @Query("select new com.nbr.bankingsystem.DTO.SummaryRowDTO(s.type, s.currency, sum(s.transactionCount), sum(s.totalAmount)) " +
+            "from DailySummary s where s.summaryDate between :from and :to " +
+            "and (:customerId is null or s.customerId = :customerId) " +
+            "and (:currency is null or s.currency = :currency) " +
+            "group by s.type, s.currency order by s.type, s.currency")
+    List<SummaryRowDTO> sumByType(@Param("from") LocalDate from, @Param("to") LocalDate to, @Param("customerId") Long customerId,
+                                  @Param("currency") CurrencyCode currency);
+
+    /**
+     * Sums the rollup per customer in one currency, highest volume first.
+     * Volumes are only ranked within a currency, never against amounts of another one.
+     */
+    @Query("select new com.nbr.bankingsystem.DTO.SummaryRowDTO(s.customerId, s.currency, sum(s.transactionCount), sum(s.totalAmount)) " +
+            "from DailySummary s where s.summaryDate between :from and :to and s.currency = :currency " +
+            "group by s.customerId, s.currency order by sum(s.totalAmount) desc")
+    List<SummaryRowDTO> sumByCustomer(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                      @Param("currency") CurrencyCode currency, Pageable pageable);
+
+    /**
+     * Removes the rollup rows of a day before it is rebuilt.
+     */
+    @Modifying
+    @Query("delete from DailySummary s where s.summaryDate = :date")
+    int deleteByDate(@Param("date") LocalDate date);
+
+    /**
+     * Recomputes the rollup rows of the transactions in [from, to) from the Banking table.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO daily_summary (summary_date, customer_id, type, currency, transaction_count, total_amount) " +
+            "SELECT DATE(banking_date_time), customer_id, type, currency, COUNT(*), SUM(amount) FROM banking " +
+            "WHERE banking_date_time >= :from AND banking_date_time < :to " +
+            "GROUP BY DATE(banking_date_time), customer_id, type, currency",
+            nativeQuery = true)
+    int insertFromBanking(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
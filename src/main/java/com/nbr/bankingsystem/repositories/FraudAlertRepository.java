@@ -0,0 +1,16 @@
+package com.nbr.bankingsystem.repositories;
+
+import com.nbr.bankingsystem.models.FraudAlert;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface FraudAlertRepository extends JpaRepository<FraudAlert, Long> {
+
+    List<FraudAlert> findAllByOrderByIdDesc(Pageable pageable);
+
+    List<FraudAlert> findByCustomerIdOrderByIdDesc(Long customerId, Pageable pageable);
+}
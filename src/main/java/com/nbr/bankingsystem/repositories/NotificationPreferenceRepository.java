@@ -0,0 +1,23 @@
+package com.nbr.bankingsystem.repositories;
+
+import com.nbr.bankingsystem.models.NotificationPreference;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for NotificationPreference entity.
+ */
+@Repository
+public interface NotificationPreferenceRepository extends JpaRepository<NotificationPreference, Long> {
+
+    List<NotificationPreference> findByCustomerId(Long customerId);
+
+    @Modifying
+    @Query("delete from NotificationPreference p where p.customerId = :customerId")
+    int deleteByCustomerId(@Param("customerId") Long customerId);
+}
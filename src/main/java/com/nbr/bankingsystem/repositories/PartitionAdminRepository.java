@@ -0,0 +1,173 @@
+package com.nbr.bankingsystem.repositories;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Repository issuing the MariaDB DDL that manages monthly range partitions.
+ * Table and column names always come from code, never from user input.
+ */
+@Repository
+public class PartitionAdminRepository {
+
+    public static final String MAX_PARTITION = "pmax";
+
+    private static final String ARCHIVE_INFIX = "_archive_";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("uuuuMM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PartitionAdminRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Lists the partitions of a table in range order; empty if the table is not partitioned.
+     */
+    public List<String> findPartitionNames(String table) {
+        return jdbcTemplate.queryForList(
+                "SELECT PARTITION_NAME FROM information_schema.PARTITIONS " +
+                        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL " +
+                        "ORDER BY PARTITION_ORDINAL_POSITION",
+                String.class, table);
+    }
+
+    /**
+     * Finds the month of the oldest row of a table.
+     */
+    public Optional<YearMonth> findOldestMonth(String table, String column) {
+        LocalDateTime oldest = jdbcTemplate.queryForObject(
+                "SELECT MIN(" + column + ") FROM " + table, LocalDateTime.class);
+        return Optional.ofNullable(oldest).map(YearMonth::from);
+    }
+
+    /**
+     * Checks that a table has no foreign keys and that its primary key includes the partition column,
+     * as MariaDB requires for partitioned tables. Both are set up by db/migrations/001-partitioning-keys.sql.
+     */
+    public boolean isReadyForPartitioning(String table, String column) {
+        Integer foreignKeys = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.REFERENTIAL_CONSTRAINTS " +
+                        "WHERE CONSTRAINT_SCHEMA = DATABASE() AND (TABLE_NAME = ? OR REFERENCED_TABLE_NAME = ?)",
+                Integer.class, table, table);
+        Integer keyColumns = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.KEY_COLUMN_USAGE " +
+                        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND CONSTRAINT_NAME = 'PRIMARY' AND COLUMN_NAME = ?",
+                Integer.class, table, column);
+        return foreignKeys != null && foreignKeys == 0 && keyColumns != null && keyColumns > 0;
+    }
+
+    /**
+     * Converts a table to monthly range partitions on the given column.
+     * The table must be ready for it, see isReadyForPartitioning.
+     */
+    public void partitionByMonth(String table, String column, List<YearMonth> months) {
+        String partitions = months.stream()
+                .map(this::partitionDefinition)
+                .collect(Collectors.joining(", "));
+        jdbcTemplate.execute("ALTER TABLE " + table + " PARTITION BY RANGE COLUMNS(" + column + ") (" +
+                partitions + ", PARTITION " + MAX_PARTITION + " VALUES LESS THAN (MAXVALUE))");
+    }
+
+    /**
+     * Splits the catch-all partition to add a partition for the given month.
+     */
+    public void addMonthPartition(String table, YearMonth month) {
+        jdbcTemplate.execute("ALTER TABLE " + table + " REORGANIZE PARTITION " + MAX_PARTITION + " INTO (" +
+                partitionDefinition(month) + ", PARTITION " + MAX_PARTITION + " VALUES LESS THAN (MAXVALUE))");
+    }
+
+    /**
+     * Moves a month partition out of the live table into its own compressed archive table.
+     * The exchange only swaps metadata, so the live table is never locked for a row copy.
+     *
+     * DDL is not transactional, so every step checks whether it has already been done: an archiving
+     * interrupted at any point is completed by the next call, and the rows are never exchanged back.
+     *
+     * @return the name of the archive table
+     * @throws IllegalStateException if both the partition and the archive table hold rows
+     */
+    public String archiveMonthPartition(String table, YearMonth month) {
+        String partition = partitionName(month);
+        String archiveTable = archiveTableName(table, month);
+
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + archiveTable + " LIKE " + table);
+        if (!findPartitionNames(archiveTable).isEmpty()) {
+            jdbcTemplate.execute("ALTER TABLE " + archiveTable + " REMOVE PARTITIONING");
+        }
+
+        boolean partitionHasRows = hasRows(table + " PARTITION (" + partition + ")");
+        if (partitionHasRows && hasRows(archiveTable)) {
+            throw new IllegalStateException("Both partition " + partition + " of " + table + " and " + archiveTable + " hold rows");
+        }
+        if (partitionHasRows) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " EXCHANGE PARTITION " + partition + " WITH TABLE " + archiveTable);
+        }
+
+        // compressed before the partition is dropped, as the dropped partition no longer triggers a new attempt
+        String rowFormat = jdbcTemplate.queryForObject(
+                "SELECT ROW_FORMAT FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ?",
+                String.class, archiveTable);
+        if (!"Compressed".equalsIgnoreCase(rowFormat)) {
+            jdbcTemplate.execute("ALTER TABLE " + archiveTable + " ROW_FORMAT=COMPRESSED");
+        }
+
+        jdbcTemplate.execute("ALTER TABLE " + table + " DROP PARTITION " + partition);
+        return archiveTable;
+    }
+
+    /**
+     * Lists the archive tables created by archiveMonthPartition for a table, oldest month first.
+     * Read from the JDBC metadata, which reports the tables of the current database on any driver.
+     */
+    public List<String> findArchiveTables(String table) {
+        Pattern archiveTable = Pattern.compile(Pattern.quote(table + ARCHIVE_INFIX) + "\\d{6}", Pattern.CASE_INSENSITIVE);
+        List<String> tables = jdbcTemplate.execute((ConnectionCallback<List<String>>) connection -> {
+            List<String> names = new ArrayList<>();
+            try (ResultSet resultSet = connection.getMetaData().getTables(connection.getCatalog(), null, null, new String[]{"TABLE"})) {
+                while (resultSet.next()) {
+                    names.add(resultSet.getString("TABLE_NAME"));
+                }
+            }
+            return names;
+        });
+        return tables == null ? List.of() : tables.stream()
+                .filter(name -> archiveTable.matcher(name).matches())
+                .sorted(String.CASE_INSENSITIVE_ORDER)
+                .toList();
+    }
+
+    public static String archiveTableName(String table, YearMonth month) {
+        return table + ARCHIVE_INFIX + month.format(PARTITION_SUFFIX);
+    }
+
+    public static String partitionName(YearMonth month) {
+        return "p" + month.format(PARTITION_SUFFIX);
+    }
+
+    public static Optional<YearMonth> monthOf(String partitionName) {
+        if (partitionName.length() != 7 || partitionName.charAt(0) != 'p') {
+            return Optional.empty();
+        }
+        return Optional.of(YearMonth.parse(partitionName.substring(1), PARTITION_SUFFIX));
+    }
+
+    private boolean hasRows(String from) {
+        return !jdbcTemplate.queryForList("SELECT 1 FROM " + from + " LIMIT 1", Integer.class).isEmpty();
+    }
+
+    private String partitionDefinition(YearMonth month) {
+        return "PARTITION " + partitionName(month) + " VALUES LESS THAN ('" + month.plusMonths(1).atDay(1) + " 00:00:00')";
+    }
+}
@@ -0,0 +1,52 @@
+package com.nbr.bankingsystem.repositories;
+
+import com.nbr.bankingsystem.models.PendingDigest;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for the PendingDigest rows.
+ */
+@Repository
+public interface PendingDigestRepository extends JpaRepository<PendingDigest, Long> {
+
+    /**
+     * Adds one notification to the pending digest of a customer, opening it with this notification as the first one.
+     * A single upsert; lines beyond maxItems, or that would take the items beyond maxLength characters, are only
+     * counted. The items assignment comes first because it reads the item count from before the update.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO pending_digest (customer_id, opened_at, item_count, first_template_id, first_parameters, items) " +
+            "VALUES (:customerId, :now, 1, :templateId, :parameters, :line) " +
+            "ON DUPLICATE KEY UPDATE " +
+            "items = CASE WHEN item_count < :maxItems AND CHAR_LENGTH(items) + 1 + CHAR_LENGTH(VALUES(items)) <= :maxLength " +
+            "THEN CONCAT(items, '\n', VALUES(items)) ELSE items END, " +
+            "item_count = item_count + 1",
+            nativeQuery = true)
+    void addItem(@Param("customerId") Long customerId, @Param("now") LocalDateTime now, @Param("templateId") String templateId,
+                 @Param("parameters") String parameters, @Param("line") String line, @Param("maxItems") int maxItems,
+                 @Param("maxLength") int maxLength);
+
+    /**
+     * Lists the customers whose pending digest was opened before the given time, oldest first.
+     */
+    @Query("select p.customerId from PendingDigest p where p.openedAt <= :openedBefore order by p.openedAt")
+    List<Long> findCustomersWithDigestDue(@Param("openedBefore") LocalDateTime openedBefore, Pageable pageable);
+
+    /**
+     * Locks the pending digest of a customer, so only one node sends it and new notifications wait for the next one.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from PendingDigest p where p.customerId = :customerId")
+    Optional<PendingDigest> lockByCustomerId(@Param("customerId") Long customerId);
+}
@@ -1,13 +1,60 @@
 package com.nbr.bankingsystem.repositories;
 
 import com.nbr.bankingsystem.models.UserModel;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<UserModel, Long> {
+
+    /**
+     * The inverse one-to-one to Customer cannot be loaded lazily, so it is joined here
+     * instead of being fetched with a second select.
+     */
+    @EntityGraph(attributePaths = "customer")
     Optional<UserModel> findByEmail(String email);
+
     boolean existsByEmail(String email);
+
+    /**
+     * Replaces the password hash of a user, e.g. after a rehash with a higher strength, unless it changed
+     * since it was read: a concurrent password change or disabled login wins.
+     *
+     * @return 1 if the hash was replaced, 0 if it had changed in the meantime
+     */
+    @Modifying
+    @Transactional
+    @Query("update UserModel u set u.password = :password where u.id = :id and u.password = :oldPassword")
+    int updatePassword(@Param("id") Long id, @Param("oldPassword") String oldPassword, @Param("password") String password);
+
+    /**
+     * Makes a new refresh token the only usable one of a user at login, unless the password hash the login
+     * was checked against has changed since, e.g. because the login was disabled in the meantime.
+     *
+     * @return 1 if the token was stored, 0 if the password had changed
+     */
+    @Modifying
+    @Transactional
+    @Query("update UserModel u set u.refreshTokenId = :refreshTokenId where u.id = :id and u.password = :password")
+    int updateRefreshTokenId(@Param("id") Long id, @Param("password") String password,
+                             @Param("refreshTokenId") String refreshTokenId);
+
+    /**
+     * Replaces the usable refresh token of a user, unless it is no longer the given one: of two concurrent
+     * uses of the same refresh token, only one succeeds. A null new id only logs the token out.
+     *
+     * @return 1 if the token was replaced, 0 if it had already been used, rotated or logged out
+     */
+    @Modifying
+    @Transactional
+    @Query("update UserModel u set u.refreshTokenId = :newRefreshTokenId where u.id = :id and u.refreshTokenId = :refreshTokenId")
+    int replaceRefreshTokenId(@Param("id") Long id, @Param("refreshTokenId") String refreshTokenId,
+                              @Param("newRefreshTokenId") String newRefreshTokenId);
 }
@@ -0,0 +1,47 @@
+package com.nbr.bankingsystem.responses.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.nbr.bankingsystem.DTO.CustomerResponseDTO;
+
+import java.io.IOException;
+
+/**
+ * Writes a CustomerResponseDTO with pre-encoded field names.
+ * Dates go through the configured date serializers, so their format follows spring.jackson.* settings.
+ */
+public class CustomerResponseSerializer extends StdSerializer<CustomerResponseDTO> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString FIRST_NAME = new SerializedString("firstName");
+    private static final SerializedString LAST_NAME = new SerializedString("lastName");
+    private static final SerializedString EMAIL = new SerializedString("email");
+    private static final SerializedString MOBILE = new SerializedString("mobile");
+    private static final SerializedString ACCOUNT = new SerializedString("account");
+    private static final SerializedString BALANCE = new SerializedString("balance");
+    private static final SerializedString CURRENCY = new SerializedString("currency");
+    private static final SerializedString DOB = new SerializedString("dob");
+    private static final SerializedString LAST_UPDATE_TIME = new SerializedString("lastUpdateTime");
+
+    public CustomerResponseSerializer() {
+        super(CustomerResponseDTO.class);
+    }
+
+    @Override
+    public void serialize(CustomerResponseDTO customer, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(customer);
+        JsonWriters.writeNumber(gen, ID, customer.getId());
+        JsonWriters.writeString(gen, FIRST_NAME, customer.getFirstName());
+        JsonWriters.writeString(gen, LAST_NAME, customer.getLastName());
+        JsonWriters.writeString(gen, EMAIL, customer.getEmail());
+        JsonWriters.writeString(gen, MOBILE, customer.getMobile());
+        JsonWriters.writeString(gen, ACCOUNT, customer.getAccount());
+        JsonWriters.writeNumber(gen, BALANCE, customer.getBalance());
+        JsonWriters.writeEnum(gen, CURRENCY, customer.getCurrency());
+        JsonWriters.writeValue(gen, provider, DOB, customer.getDob());
+        JsonWriters.writeDateTime(gen, provider, LAST_UPDATE_TIME, customer.getLastUpdateTime());
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,42 @@
+package com.nbr.bankingsystem.responses.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.nbr.bankingsystem.DTO.CustomerSummaryDTO;
+
+import java.io.IOException;
+
+/**
+ * Writes a CustomerSummaryDTO, the row type of the customer listing pages, with pre-encoded field names.
+ */
+public class CustomerSummarySerializer extends StdSerializer<CustomerSummaryDTO> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString FIRST_NAME = new SerializedString("firstName");
+    private static final SerializedString LAST_NAME = new SerializedString("lastName");
+    private static final SerializedString EMAIL = new SerializedString("email");
+    private static final SerializedString ACCOUNT = new SerializedString("account");
+    private static final SerializedString BALANCE = new SerializedString("balance");
+    private static final SerializedString CURRENCY = new SerializedString("currency");
+    private static final SerializedString REGISTRATION_DATE_TIME = new SerializedString("registrationDateTime");
+
+    public CustomerSummarySerializer() {
+        super(CustomerSummaryDTO.class);
+    }
+
+    @Override
+    public void serialize(CustomerSummaryDTO customer, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(customer);
+        JsonWriters.writeNumber(gen, ID, customer.getId());
+        JsonWriters.writeString(gen, FIRST_NAME, customer.getFirstName());
+        JsonWriters.writeString(gen, LAST_NAME, customer.getLastName());
+        JsonWriters.writeString(gen, EMAIL, customer.getEmail());
+        JsonWriters.writeString(gen, ACCOUNT, customer.getAccount());
+        JsonWriters.writeNumber(gen, BALANCE, customer.getBalance());
+        JsonWriters.writeEnum(gen, CURRENCY, customer.getCurrency());
+        JsonWriters.writeDateTime(gen, provider, REGISTRATION_DATE_TIME, customer.getRegistrationDateTime());
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,103 @@
+package com.nbr.bankingsystem.responses.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Null-safe field writers shared by the hand-written serializers.
+ * Null values are written as JSON null, like the default bean serializer does.
+ */
+final class JsonWriters {
+
+    private JsonWriters() {
+    }
+
+    static void writeString(JsonGenerator gen, SerializableString name, String value) throws IOException {
+        gen.writeFieldName(name);
+        gen.writeString(value);
+    }
+
+    static void writeNumber(JsonGenerator gen, SerializableString name, Long value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    static void writeNumber(JsonGenerator gen, SerializableString name, Double value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    static void writeEnum(JsonGenerator gen, SerializableString name, Enum<?> value) throws IOException {
+        gen.writeFieldName(name);
+        gen.writeString(value == null ? null : value.name());
+    }
+
+    /**
+     * Writes a date-time as the ISO-8601 string JavaTimeModule writes, e.g. 2026-03-02T09:30:00 or
+     * 2026-03-02T09:30:00.125, without going through a DateTimeFormatter, which costs more than the
+     * rest of a transaction together. Timestamps and years beyond four digits are left to Jackson.
+     */
+    static void writeDateTime(JsonGenerator gen, SerializerProvider provider, SerializableString name, LocalDateTime value) throws IOException {
+        if (value == null || value.getYear() < 0 || value.getYear() > 9999
+                || provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            writeValue(gen, provider, name, value);
+            return;
+        }
+
+        char[] text = new char[29];
+        writeDigits(text, 0, value.getYear(), 4);
+        text[4] = '-';
+        writeDigits(text, 5, value.getMonthValue(), 2);
+        text[7] = '-';
+        writeDigits(text, 8, value.getDayOfMonth(), 2);
+        text[10] = 'T';
+        writeDigits(text, 11, value.getHour(), 2);
+        text[13] = ':';
+        writeDigits(text, 14, value.getMinute(), 2);
+        text[16] = ':';
+        writeDigits(text, 17, value.getSecond(), 2);
+        int length = 19;
+
+        int nano = value.getNano();
+        if (nano != 0) {
+            text[19] = '.';
+            writeDigits(text, 20, nano, 9);
+            // like DateTimeFormatter, without trailing zeros
+            length = 29;
+            while (text[length - 1] == '0') {
+                length--;
+            }
+        }
+
+        gen.writeFieldName(name);
+        gen.writeString(text, 0, length);
+    }
+
+    private static void writeDigits(char[] text, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            text[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    /**
+     * Writes a value through the serializer Jackson has configured for its type, e.g. dates.
+     */
+    static void writeValue(JsonGenerator gen, SerializerProvider provider, SerializableString name, Object value) throws IOException {
+        gen.writeFieldName(name);
+        provider.defaultSerializeValue(value, gen);
+    }
+}
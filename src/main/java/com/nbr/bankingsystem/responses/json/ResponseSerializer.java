@@ -0,0 +1,50 @@
+package com.nbr.bankingsystem.responses.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.nbr.bankingsystem.responses.Response;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes the Response envelope field by field with pre-encoded field names, instead of
+ * introspecting its getters on every call. The payload is handed to the serializer Jackson
+ * has cached for its runtime type. The output is the same as the default bean serializer's.
+ */
+public class ResponseSerializer extends StdSerializer<Response> {
+
+    private static final SerializedString RESPONSE_TYPE = new SerializedString("responseType");
+    private static final SerializedString MESSAGE = new SerializedString("message");
+    private static final SerializedString PAYLOAD = new SerializedString("payload");
+    private static final SerializedString ERRORS = new SerializedString("errors");
+
+    public ResponseSerializer() {
+        super(Response.class);
+    }
+
+    @Override
+    public void serialize(Response response, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(response);
+
+        JsonWriters.writeEnum(gen, RESPONSE_TYPE, response.getResponseType());
+        JsonWriters.writeString(gen, MESSAGE, response.getMessage());
+        JsonWriters.writeValue(gen, provider, PAYLOAD, response.getPayload());
+
+        gen.writeFieldName(ERRORS);
+        List<String> errors = response.getErrors();
+        if (errors == null) {
+            gen.writeNull();
+        } else {
+            gen.writeStartArray(errors, errors.size());
+            for (String error : errors) {
+                gen.writeString(error);
+            }
+            gen.writeEndArray();
+        }
+
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,45 @@
+package com.nbr.bankingsystem.responses.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.nbr.bankingsystem.DTO.TransactionResponseDTO;
+
+import java.io.IOException;
+
+/**
+ * Writes a TransactionResponseDTO with pre-encoded field names; used for every transaction
+ * returned by the API, including the transaction history pages.
+ */
+public class TransactionResponseSerializer extends StdSerializer<TransactionResponseDTO> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString CUSTOMER_ID = new SerializedString("customerId");
+    private static final SerializedString ACCOUNT = new SerializedString("account");
+    private static final SerializedString AMOUNT = new SerializedString("amount");
+    private static final SerializedString CURRENCY = new SerializedString("currency");
+    private static final SerializedString FX_RATE = new SerializedString("fxRate");
+    private static final SerializedString TYPE = new SerializedString("type");
+    private static final SerializedString RECEIVER_ID = new SerializedString("receiverId");
+    private static final SerializedString BANKING_DATE_TIME = new SerializedString("bankingDateTime");
+
+    public TransactionResponseSerializer() {
+        super(TransactionResponseDTO.class);
+    }
+
+    @Override
+    public void serialize(TransactionResponseDTO transaction, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(transaction);
+        JsonWriters.writeNumber(gen, ID, transaction.getId());
+        JsonWriters.writeNumber(gen, CUSTOMER_ID, transaction.getCustomerId());
+        JsonWriters.writeString(gen, ACCOUNT, transaction.getAccount());
+        JsonWriters.writeNumber(gen, AMOUNT, transaction.getAmount());
+        JsonWriters.writeEnum(gen, CURRENCY, transaction.getCurrency());
+        JsonWriters.writeNumber(gen, FX_RATE, transaction.getFxRate());
+        JsonWriters.writeEnum(gen, TYPE, transaction.getType());
+        JsonWriters.writeNumber(gen, RECEIVER_ID, transaction.getReceiverId());
+        JsonWriters.writeDateTime(gen, provider, BANKING_DATE_TIME, transaction.getBankingDateTime());
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,346 @@
+package com.nbr.bankingsystem.search;
+
+import com.nbr.bankingsystem.DTO.CustomerResponseDTO;
+import com.nbr.bankingsystem.DTO.CustomerSearchHitDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory search index over customer names, emails, mobile numbers and account numbers.
+ *
+ * Two structures are kept side by side:
+ * - an inverted index from character trigrams to customer ids, used for queries of three or more
+ *   characters; a customer matches when enough of the query's trigrams hit it, so typos and
+ *   partial values still find it,
+ * - a sorted map of whole terms (first name, last name, email, mobile, account...) used for
+ *   one and two character queries, which are answered with a prefix range scan.
+ *
+ * Matches are ranked by trigram similarity plus a bonus for exact and prefix matches, and only the
+ * best `limit` are kept in a bounded heap. Writes are serialized; reads run lock-free against the
+ * concurrent maps and may briefly see a customer half re-indexed during an update.
+ */
+@Component
+public class CustomerSearchIndex {
+
+    /**
+     * Minimum share of the query's trigrams a customer must contain to be a match.
+     */
+    private static final double MIN_SIMILARITY = 0.3;
+
+    /**
+     * Upper bound on the customers scored for a single query, so very common trigrams
+     * (e.g. "com" in emails) cannot turn a search into a scan of the whole index.
+     * Five times the deepest page the search API serves.
+     */
+    private static final int MAX_CANDIDATES = 1_000;
+
+    private final Map<Long, IndexedCustomer> customers = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> trigramPostings = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, Set<Long>> termPostings = new ConcurrentSkipListMap<>();
+
+    /**
+     * Adds a customer to the index, or re-indexes it if it is already present.
+     */
+    public synchronized void put(CustomerResponseDTO customer) {
+        IndexedCustomer indexed = IndexedCustomer.of(customer);
+        IndexedCustomer previous = customers.put(indexed.id, indexed);
+        if (previous != null) {
+            if (previous.hasSameTerms(indexed)) {
+                return;
+            }
+            unindex(previous);
+        }
+        indexed.terms.forEach(term -> add(termPostings, term, indexed.id));
+        for (long trigram : indexed.trigrams) {
+            add(trigramPostings, trigram, indexed.id);
+        }
+    }
+
+    /**
+     * Removes a customer from the index.
+     */
+    public synchronized void remove(Long customerId) {
+        IndexedCustomer previous = customers.remove(customerId);
+        if (previous != null) {
+            unindex(previous);
+        }
+    }
+
+    public int size() {
+        return customers.size();
+    }
+
+    /**
+     * Finds the best matching customers.
+     *
+     * @param query free text: part of a name, email, mobile or account number
+     * @param limit the maximum number of results
+     * @return up to `limit` matches, best first
+     */
+    public List<CustomerSearchHitDTO> search(String query, int limit) {
+        String normalized = normalizeQuery(query);
+        if (normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Map<Long, Double> similarities = normalized.length() < 3
+                ? prefixCandidates(normalized)
+                : trigramCandidates(normalized);
+
+        Comparator<CustomerSearchHitDTO> worstFirst = Comparator.comparingDouble(CustomerSearchHitDTO::getScore)
+                .thenComparing(CustomerSearchHitDTO::getId, Comparator.reverseOrder());
+        PriorityQueue<CustomerSearchHitDTO> best = new PriorityQueue<>(limit + 1, worstFirst);
+        similarities.forEach((id, similarity) -> {
+            IndexedCustomer customer = customers.get(id);
+            if (customer == null) {
+                return;
+            }
+            double score = similarity + customer.bonus(normalized);
+            CustomerSearchHitDTO worst = best.size() < limit ? null : best.peek();
+            if (worst != null && (score < worst.getScore() || score == worst.getScore() && id > worst.getId())) {
+                return;
+            }
+            best.add(customer.toHit(score));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        });
+
+        List<CustomerSearchHitDTO> hits = new ArrayList<>(best);
+        hits.sort(worstFirst.reversed());
+        return hits;
+    }
+
+    private Map<Long, Double> prefixCandidates(String prefix) {
+        Map<Long, Double> candidates = new HashMap<>();
+        NavigableMap<String, Set<Long>> range = termPostings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        for (Set<Long> ids : range.values()) {
+            for (Long id : ids) {
+                candidates.put(id, 1.0);
+                if (candidates.size() >= MAX_CANDIDATES) {
+                    return candidates;
+                }
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Counts the query trigrams hitting each customer, rarest trigram first.
+     *
+     * A customer missing from the `trigrams - required + 1` rarest posting lists cannot reach `required`
+     * hits, so only those lists admit new candidates, and only until the candidate cap is reached. Past
+     * that point a posting list only counts the hits of known candidates, probing it for each of them
+     * when it is the longer side, so common trigrams like "com" are rarely scanned in full.
+     */
+    private Map<Long, Double> trigramCandidates(String query) {
+        long[] trigrams = trigramsOf(List.of(query));
+        // sizes are read once: the posting sets change under concurrent writes, and the sort needs stable keys
+        List<Posting> postings = new ArrayList<>(trigrams.length);
+        for (long trigram : trigrams) {
+            Set<Long> ids = trigramPostings.getOrDefault(trigram, Set.of());
+            postings.add(new Posting(ids, ids.size()));
+        }
+        postings.sort(Comparator.comparingInt(Posting::size));
+
+        int required = Math.max(1, (int) Math.ceil(trigrams.length * MIN_SIMILARITY));
+        int admitting = trigrams.length - required + 1;
+        // per candidate: the number of hits and the index of the last posting list that counted one
+        Map<Long, int[]> hits = new HashMap<>();
+        for (int list = 0; list < postings.size(); list++) {
+            Posting posting = postings.get(list);
+            if (list >= admitting || hits.size() >= MAX_CANDIDATES || !admit(posting.ids(), hits, list)) {
+                countKnown(posting, hits, list);
+            }
+        }
+
+        Map<Long, Double> candidates = new HashMap<>();
+        hits.forEach((id, count) -> {
+            if (count[0] >= required) {
+                candidates.put(id, (double) count[0] / trigrams.length);
+            }
+        });
+        return candidates;
+    }
+
+    /**
+     * Counts a posting list, adding its customers as candidates.
+     *
+     * @return false if the candidate cap was reached before the end of the list
+     */
+    private static boolean admit(Set<Long> ids, Map<Long, int[]> hits, int list) {
+        for (Long id : ids) {
+            int[] count = hits.get(id);
+            if (count == null) {
+                if (hits.size() >= MAX_CANDIDATES) {
+                    return false;
+                }
+                hits.put(id, new int[]{1, list});
+            } else if (count[1] != list) {
+                count[0]++;
+                count[1] = list;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Counts a posting list for the known candidates only.
+     */
+    private static void countKnown(Posting posting, Map<Long, int[]> hits, int list) {
+        if (hits.size() < posting.size()) {
+            hits.forEach((id, count) -> {
+                if (count[1] != list && posting.ids().contains(id)) {
+                    count[0]++;
+                    count[1] = list;
+                }
+            });
+        } else {
+            for (Long id : posting.ids()) {
+                int[] count = hits.get(id);
+                if (count != null && count[1] != list) {
+                    count[0]++;
+                    count[1] = list;
+                }
+            }
+        }
+    }
+
+    private void unindex(IndexedCustomer customer) {
+        customer.terms.forEach(term -> removeFrom(termPostings, term, customer.id));
+        for (long trigram : customer.trigrams) {
+            removeFrom(trigramPostings, trigram, customer.id);
+        }
+    }
+
+    private static <K> void add(Map<K, Set<Long>> postings, K key, Long id) {
+        postings.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(id);
+    }
+
+    private static <K> void removeFrom(Map<K, Set<Long>> postings, K key, Long id) {
+        postings.computeIfPresent(key, (k, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    /**
+     * Lower-cases the query; a query made only of digits, spaces and dashes (a mobile or
+     * account number typed in groups) is reduced to its digits.
+     */
+    static String normalizeQuery(String query) {
+        if (query == null) {
+            return "";
+        }
+        String normalized = normalize(query);
+        String digits = normalized.replaceAll("[\\s-]", "");
+        return !digits.isEmpty() && digits.chars().allMatch(Character::isDigit) ? digits : normalized;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Packs each distinct trigram of the given terms into a long, 16 bits per character.
+     */
+    private static long[] trigramsOf(List<String> terms) {
+        Set<Long> trigrams = new LinkedHashSet<>();
+        for (String term : terms) {
+            for (int i = 0; i + 3 <= term.length(); i++) {
+                trigrams.add(((long) term.charAt(i) << 32) | ((long) term.charAt(i + 1) << 16) | term.charAt(i + 2));
+            }
+        }
+        return trigrams.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private record Posting(Set<Long> ids, int size) {
+    }
+
+    /**
+     * The indexed form of a customer: its displayed columns plus the normalized terms and trigrams
+     * it was posted under, so it can be removed again without recomputing them.
+     */
+    private static final class IndexedCustomer {
+
+        private final Long id;
+        private final String firstName;
+        private final String lastName;
+        private final String email;
+        private final String mobile;
+        private final String account;
+        private final List<String> terms;
+        private final long[] trigrams;
+
+        private IndexedCustomer(CustomerResponseDTO customer) {
+            this.id = customer.getId();
+            this.firstName = customer.getFirstName();
+            this.lastName = customer.getLastName();
+            this.email = customer.getEmail();
+            this.mobile = customer.getMobile();
+            this.account = customer.getAccount();
+
+            String normalizedEmail = normalize(email);
+            int at = normalizedEmail.indexOf('@');
+            Set<String> distinctTerms = new LinkedHashSet<>();
+            distinctTerms.add(normalize(firstName));
+            distinctTerms.add(normalize(lastName));
+            distinctTerms.add(normalize(firstName + " " + lastName));
+            distinctTerms.add(normalizedEmail);
+            if (at > 0) {
+                distinctTerms.add(normalizedEmail.substring(0, at));
+            }
+            distinctTerms.add(normalize(mobile));
+            distinctTerms.add(normalize(account));
+            distinctTerms.remove("");
+            this.terms = List.copyOf(distinctTerms);
+            this.trigrams = trigramsOf(terms);
+        }
+
+        static IndexedCustomer of(CustomerResponseDTO customer) {
+            return new IndexedCustomer(customer);
+        }
+
+        boolean hasSameTerms(IndexedCustomer other) {
+            return Objects.equals(firstName, other.firstName)
+                    && Objects.equals(lastName, other.lastName)
+                    && Objects.equals(email, other.email)
+                    && Objects.equals(mobile, other.mobile)
+                    && Objects.equals(account, other.account);
+        }
+
+        /**
+         * Ranks exact matches above prefix matches above matches somewhere inside a term.
+         */
+        double bonus(String query) {
+            double bonus = 0;
+            for (String term : terms) {
+                if (term.equals(query)) {
+                    return 2;
+                } else if (term.startsWith(query)) {
+                    bonus = 1;
+                } else if (bonus == 0 && term.contains(query)) {
+                    bonus = 0.5;
+                }
+            }
+            return bonus;
+        }
+
+        CustomerSearchHitDTO toHit(double score) {
+            return new CustomerSearchHitDTO(id, firstName, lastName, email, mobile, account, score);
+        }
+    }
+}
@@ -1,11 +1,51 @@
 package com.nbr.bankingsystem.services;
 
 import com.nbr.bankingsystem.DTO.AuthenticationRequest;
-import com.nbr.bankingsystem.DTO.AuthenticationResponse;;
+import com.nbr.bankingsystem.DTO.AuthenticationResponse;
+import com.nbr.bankingsystem.models.UserModel;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+
 @Service
 public interface AuthenticationService {
 
-    public AuthenticationResponse authenticate(AuthenticationRequest request) ;
+    /**
+     * Authenticates a user. The password check runs on the password hashing pool,
+     * so the request thread is released while BCrypt runs.
+     *
+     * @param request the login credentials
+     * @return a future of the issued token, failed with AuthenticationFailedException on bad credentials
+     *         or PasswordHashingBusyException when the hashing pool is saturated
+     */
+    public CompletableFuture<AuthenticationResponse> authenticate(AuthenticationRequest request) ;
+
+    /**
+     * Exchanges a refresh token for a new access and refresh token. The presented refresh token
+     * is replaced in the database by the new one, so each one can only be used once, on any node. The user is loaded again, so deleted and frozen
+     * customers cannot refresh and the new tokens carry the current role.
+     *
+     * @param refreshToken the refresh token
+     * @return the new tokens
+     * @throws com.nbr.bankingsystem.exceptions.AuthenticationFailedException if the token is invalid, expired or revoked,
+     *         or the account no longer exists, is deleted or is frozen
+     */
+    public AuthenticationResponse refresh(String refreshToken);
+
+    /**
+     * Revokes the given tokens until they expire. Invalid tokens are ignored.
+     * The refresh token is revoked in the database; the access token in the in-memory index of this node,
+     * so access tokens stay checkable without a database read.
+     *
+     * @param accessToken  the access token of the session, may be null
+     * @param refreshToken the refresh token of the session, may be null
+     */
+    public void logout(String accessToken, String refreshToken);
+
+    /**
+     * Disables the login of a user and revokes every token issued to them so far.
+     *
+     * @param user the user, managed by the current transaction
+     */
+    public void disableLogin(UserModel user);
 }
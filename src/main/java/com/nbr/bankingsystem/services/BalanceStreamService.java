@@ -0,0 +1,22 @@
+package com.nbr.bankingsystem.services;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Interface for the live balance streams: customers get their balance and new transactions pushed
+ * as server-sent events as soon as they commit, instead of polling the balance.
+ *
+ * Streams are fed by the in-process DomainEventBus, so they only see the transactions committed by the
+ * application instance holding the stream. This is complete with a single instance only; behind a load
+ * balancer, a stream would miss the transactions handled by the other instances until it reconnects and
+ * receives the current balance again.
+ */
+public interface BalanceStreamService {
+
+    /**
+     * Opens a stream for a customer. Its first `balance` event is the current balance.
+     *
+     * @throws com.nbr.bankingsystem.exceptions.TooManyStreamsException if the global or per-customer maximum is reached
+     */
+    SseEmitter subscribe(Long customerId);
+}
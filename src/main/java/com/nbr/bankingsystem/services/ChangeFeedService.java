@@ -0,0 +1,55 @@
+package com.nbr.bankingsystem.services;
+
+import com.nbr.bankingsystem.DTO.ChangeBatchDTO;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Interface for the change feed: every committed ledger and customer change, in commit order, under a
+ * sequence number that only increases. Readers keep the last sequence they processed and resume after it.
+ * The feed is read from the event bus and its journal, never from the tables.
+ *
+ * The bus, its journal and therefore the sequence numbers belong to one application instance: the feed is
+ * only complete and ordered when a single instance serves writes. Behind a load balancer, each instance
+ * has its own feed and offsets of one are meaningless on another.
+ *
+ * Only changes published as DomainEvents appear in the feed. Changes written directly by SQL are not:
+ * freezing and unfreezing (manual or by the fraud scorer), the anonymization of deleted customers (whose
+ * deletion itself is in the feed), the archiving of old partitions (which moves rows without changing
+ * them) and FX rate updates. Readers that need those must read them from the tables.
+ */
+public interface ChangeFeedService {
+
+    /**
+     * @return the sequence of the newest change, 0 if there has been none
+     */
+    long headSequence();
+
+    /**
+     * Reads the changes after an offset without waiting.
+     *
+     * @param after the last sequence the reader has processed, 0 to start at the oldest retained change
+     * @param limit the maximum number of changes
+     * @throws com.nbr.bankingsystem.exceptions.ChangeOffsetExpiredException if the offset is no longer retained
+     */
+    ChangeBatchDTO read(long after, int limit);
+
+    /**
+     * Long-polls the changes after an offset: completes as soon as there is at least one,
+     * or with an empty batch once `wait` has passed.
+     *
+     * @throws com.nbr.bankingsystem.exceptions.ChangeOffsetExpiredException if the offset is no longer retained
+     */
+    CompletableFuture<ChangeBatchDTO> poll(long after, int limit, Duration wait);
+
+    /**
+     * Streams the changes after an offset as server-sent events, one `changes` event per batch with
+     * the sequence of its last change as event id.
+     *
+     * @throws com.nbr.bankingsystem.exceptions.ChangeOffsetExpiredException if the offset is no longer retained
+     * @throws com.nbr.bankingsystem.exceptions.TooManyStreamsException if the maximum number of streams is open
+     */
+    SseEmitter stream(long after);
+}
@@ -0,0 +1,26 @@
+package com.nbr.bankingsystem.services;
+
+import com.nbr.bankingsystem.DTO.CustomerSearchPageDTO;
+
+/**
+ * Interface for customer search operations.
+ * Searches run against an in-memory index instead of the customer table.
+ */
+public interface CustomerSearchService {
+
+    /**
+     * Searches customers by part of a name, email, mobile or account number, tolerating typos.
+     *
+     * @param query the search text
+     * @param page  the zero-based page number
+     * @param size  the page size
+     * @return the requested page of matches, best first
+     */
+    CustomerSearchPageDTO search(String query, int page, int size);
+
+    /**
+     * Rebuilds the search index from the customer table. Only safe before the index consumes events,
+     * which is when the event bus calls it.
+     */
+    void rebuildIndex();
+}
@@ -1,10 +1,12 @@
 package com.nbr.bankingsystem.services;
 
 import com.nbr.bankingsystem.DTO.CustomerDTO;
+import com.nbr.bankingsystem.DTO.CustomerPageDTO;
+import com.nbr.bankingsystem.DTO.CustomerPageRequest;
+import com.nbr.bankingsystem.DTO.CustomerResponseDTO;
 import com.nbr.bankingsystem.DTO.CustomerUpdateDTO;
-import com.nbr.bankingsystem.models.Customer;
 
-import java.util.List;
+import java.time.LocalDateTime;
 
 /**
  * Interface for customer service operations.
@@ -18,7 +20,7 @@ public interface CustomerService {
      * @param customerDTO the data transfer object containing customer details
      * @return the created customer
      */
-    Customer createCustomer(CustomerDTO customerDTO);
+    CustomerResponseDTO createCustomer(CustomerDTO customerDTO);
 
     /**
      * Updates an existing customer by ID.
@@ -27,7 +29,7 @@ public interface CustomerService {
      * @param customerUpdateDTO the data transfer object containing updated customer details
      * @return the updated customer
      */
-    Customer updateCustomer(Long id, CustomerUpdateDTO customerUpdateDTO);
+    CustomerResponseDTO updateCustomer(Long id, CustomerUpdateDTO customerUpdateDTO);
 
     /**
      * Retrieves a customer by ID.
@@ -35,21 +37,42 @@ public interface CustomerService {
      * @param id the ID of the customer to retrieve
      * @return the customer with the given ID
      */
-    Customer getCustomerById(Long id);
+    CustomerResponseDTO getCustomerById(Long id);
+
+    /**
+     * Reads only the version of a customer, so unchanged customers can be answered with 304
+     * without loading them.
+     *
+     * @param id the ID of the customer
+     * @return the last update time of the customer
+     */
+    LocalDateTime getCustomerVersion(Long id);
+
+    /**
+     * Finds the ID of the customer with the given email.
+     *
+     * @param email the email of the customer
+     * @return the ID of the customer
+     */
+    Long findCustomerIdByEmail(String email);
 
     /**
      * Deletes a customer by ID.
+     * The customer is marked as deleted and disappears from every query at once, and their email and
+     * mobile can be registered again; their remaining personal data and messages are cleaned up in the
+     * background, while their transactions are kept.
      *
      * @param id the ID of the customer to delete
      */
     void deleteCustomer(Long id);
 
     /**
-     * Retrieves all customers.
+     * Retrieves one page of customers, filtered and sorted, using keyset pagination.
      *
-     * @return a list of all customers
+     * @param pageRequest the filters, sort, page size and cursor
+     * @return the page of customers and the cursor of the next page
      */
-    List<Customer> getAllCustomers();
+    CustomerPageDTO getAllCustomers(CustomerPageRequest pageRequest);
 
     /**
      * Checks if the specified user is associated with the specified customer.
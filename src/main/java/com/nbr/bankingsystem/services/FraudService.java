@@ -0,0 +1,26 @@
+package com.nbr.bankingsystem.services;
+
+import com.nbr.bankingsystem.DTO.FraudAlertDTO;
+
+import java.util.List;
+
+/**
+ * Interface for the fraud alerts raised by the fraud scoring and the frozen accounts.
+ */
+public interface FraudService {
+
+    /**
+     * Lists the most recent alerts, newest first.
+     *
+     * @param customerId only the alerts of this customer, or null for all customers
+     * @param limit the maximum number of alerts to return
+     */
+    List<FraudAlertDTO> getAlerts(Long customerId, int limit);
+
+    /**
+     * Freezes or unfreezes a customer's account.
+     *
+     * @throws com.nbr.bankingsystem.exceptions.ResourceNotFoundException if the customer does not exist
+     */
+    void setFrozen(Long customerId, boolean frozen);
+}
@@ -0,0 +1,40 @@
+package com.nbr.bankingsystem.services;
+
+import com.nbr.bankingsystem.DTO.FxRateDTO;
+import com.nbr.bankingsystem.enums.CurrencyCode;
+
+import java.util.List;
+
+/**
+ * Interface for exchange rates between account currencies.
+ */
+public interface FxRateService {
+
+    /**
+     * Returns the rate applied when converting between two currencies.
+     *
+     * @param from the currency converted from
+     * @param to the currency converted to
+     * @return units of `to` per unit of `from`; 1 when both are the same
+     * @throws com.nbr.bankingsystem.exceptions.FxRateUnavailableException if no rate is loaded for the pair
+     */
+    double getRate(CurrencyCode from, CurrencyCode to);
+
+    /**
+     * Returns the rates between every pair of currencies that have one.
+     */
+    List<FxRateDTO> getRates();
+
+    /**
+     * Stores the RWF rate of a currency and swaps in a table built with it.
+     *
+     * @param currency a foreign currency
+     * @param rwfPerUnit RWF per unit of the currency
+     */
+    List<FxRateDTO> updateRate(CurrencyCode currency, double rwfPerUnit);
+
+    /**
+     * Reloads the rates from the database.
+     */
+    void reload();
+}
@@ -0,0 +1,36 @@
+package com.nbr.bankingsystem.services;
+
+import com.nbr.bankingsystem.enums.CurrencyCode;
+
+/**
+ * Interface for the per-customer withdrawal and transfer limits.
+ */
+public interface LimitService {
+
+    /**
+     * Checks a withdrawal against the customer's limits and reserves its amount.
+     * The reservation is released if the current transaction rolls back.
+     *
+     * @param customerId the customer withdrawing
+     * @param amount the amount, in the account currency
+     * @param currency the account currency
+     * @throws com.nbr.bankingsystem.exceptions.LimitExceededException if a limit would be exceeded
+     */
+    void reserveWithdrawal(Long customerId, double amount, CurrencyCode currency);
+
+    /**
+     * Checks a transfer against the customer's limits and reserves its amount.
+     * The reservation is released if the current transaction rolls back.
+     *
+     * @param customerId the sender
+     * @param amount the amount, in the sender's currency
+     * @param currency the sender's currency
+     * @throws com.nbr.bankingsystem.exceptions.LimitExceededException if a limit would be exceeded
+     */
+    void reserveTransfer(Long customerId, double amount, CurrencyCode currency);
+
+    /**
+     * Loads the withdrawals and transfers of the last 24 hours from the database.
+     */
+    void rebuild();
+}
@@ -1,5 +1,27 @@
 package com.nbr.bankingsystem.services;
 
+import com.nbr.bankingsystem.notifications.NotificationRecipient;
+import com.nbr.bankingsystem.notifications.template.TemplateId;
+
 public interface MessagingService {
-    void sendTransactionMessage(String email, String message, Long customerId);
+
+    /**
+     * Renders a notification template, records it in the Message table and, once the current transaction
+     * has committed, queues it on every enabled channel (email, SMS, push). Delivery is asynchronous.
+     * Channels on which the customer chose DIGEST delivery get the notification later, merged into a digest;
+     * until then it waits in the customer's PendingDigest row and is not recorded as a Message of its own.
+     *
+     * @param recipient  the customer to notify
+     * @param templateId the template
+     * @param parameters the template parameters, in the order of {@link TemplateId#getParameterNames()}
+     */
+    void sendNotification(NotificationRecipient recipient, TemplateId templateId, String... parameters);
+
+    /**
+     * Sends the digests whose window has elapsed, each as one message with an itemized list.
+     * Each digest is taken under a row lock, so several nodes can flush at the same time.
+     *
+     * @return the number of digests sent
+     */
+    int flushDigests();
 }
@@ -0,0 +1,47 @@
+package com.nbr.bankingsystem.services;
+
+import com.nbr.bankingsystem.DTO.NotificationPreferenceDTO;
+import com.nbr.bankingsystem.notifications.DeliveryMode;
+import com.nbr.bankingsystem.notifications.channel.ChannelType;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interface for the notification preferences of customers.
+ */
+public interface NotificationPreferenceService {
+
+    /**
+     * Retrieves the delivery mode of every channel for a customer, including the defaults.
+     *
+     * @param customerId the ID of the customer
+     * @return one preference per channel
+     */
+    List<NotificationPreferenceDTO> getPreferences(Long customerId);
+
+    /**
+     * Sets the delivery mode of the given channels; the other channels are left unchanged.
+     *
+     * @param customerId  the ID of the customer
+     * @param preferences the new preferences
+     * @return one preference per channel
+     */
+    List<NotificationPreferenceDTO> updatePreferences(Long customerId, List<NotificationPreferenceDTO> preferences);
+
+    /**
+     * Resolves the delivery mode of every channel for a customer. Served from a short-lived cache,
+     * since it is consulted for every notification.
+     *
+     * @param customerId the ID of the customer
+     * @return the delivery mode per channel
+     */
+    Map<ChannelType, DeliveryMode> getDeliveryModes(Long customerId);
+
+    /**
+     * Deletes the preferences of a customer.
+     *
+     * @param customerId the ID of the customer
+     */
+    void deletePreferences(Long customerId);
+}
@@ -0,0 +1,44 @@
+package com.nbr.bankingsystem.services;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Interface for password hashing operations.
+ * Hashing runs on a dedicated bounded pool, never on request threads and never inside a database transaction.
+ */
+public interface PasswordHashingService {
+
+    /**
+     * Hashes a password, waiting for the result.
+     *
+     * @param rawPassword the password to hash
+     * @return the encoded password
+     * @throws com.nbr.bankingsystem.exceptions.PasswordHashingBusyException if the hashing pool is saturated
+     */
+    String encode(CharSequence rawPassword);
+
+    /**
+     * Hashes a password asynchronously.
+     *
+     * @param rawPassword the password to hash
+     * @return a future of the encoded password, failed with PasswordHashingBusyException if the pool is saturated
+     */
+    CompletableFuture<String> encodeAsync(CharSequence rawPassword);
+
+    /**
+     * Verifies a password against its hash asynchronously.
+     *
+     * @param rawPassword     the password to check
+     * @param encodedPassword the stored hash
+     * @return a future of the verification result, failed with PasswordHashingBusyException if the pool is saturated
+     */
+    CompletableFuture<Boolean> matchesAsync(CharSequence rawPassword, String encodedPassword);
+
+    /**
+     * Checks whether a hash was created with a lower strength than the configured one.
+     *
+     * @param encodedPassword the stored hash
+     * @return true if the password should be rehashed
+     */
+    boolean needsRehash(String encodedPassword);
+}
@@ -0,0 +1,39 @@
+package com.nbr.bankingsystem.services;
+
+import com.nbr.bankingsystem.DTO.SummaryRebuildDTO;
+import com.nbr.bankingsystem.DTO.SummaryRowDTO;
+import com.nbr.bankingsystem.enums.CurrencyCode;
+import com.nbr.bankingsystem.enums.SummaryGrouping;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Interface for the summary reports built on the DailySummary rollup.
+ */
+public interface ReportService {
+
+    /**
+     * Aggregates the transactions of a date range.
+     *
+     * @param from       the first day, inclusive
+     * @param to         the last day, inclusive
+     * @param grouping   the dimension to group by
+     * @param customerId restricts DAY and TYPE reports to one customer; ignored when null
+     * @param currency   restricts the report to one currency; CUSTOMER reports rank RWF volumes when null
+     * @return one row per group and currency
+     */
+    List<SummaryRowDTO> getSummaries(LocalDate from, LocalDate to, SummaryGrouping grouping, Long customerId,
+                                     CurrencyCode currency);
+
+    /**
+     * Recomputes the daily summaries of a date range from the Banking table, one day per chunk,
+     * several days in parallel.
+     *
+     * @param from the first day, inclusive
+     * @param to   the last day, inclusive
+     * @return the number of days and rollup rows rebuilt
+     * @throws com.nbr.bankingsystem.exceptions.ArchivedPeriodException if the range starts in an archived month
+     */
+    SummaryRebuildDTO rebuildSummaries(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,22 @@
+package com.nbr.bankingsystem.services;
+
+import com.nbr.bankingsystem.DTO.TransactionStatisticsDTO;
+
+/**
+ * Interface for live statistics over balances and transaction volumes.
+ */
+public interface StatisticsService {
+
+    /**
+     * Returns the current totals, recent windows and top accounts.
+     *
+     * @param top the number of top accounts by volume to return
+     * @return the statistics snapshot
+     */
+    TransactionStatisticsDTO getStatistics(int top);
+
+    /**
+     * Loads the aggregates of the transactions already in the database.
+     */
+    void rebuild();
+}
@@ -3,44 +3,168 @@ package com.nbr.bankingsystem.services.impl;
 import com.nbr.bankingsystem.DTO.AuthenticationRequest;
 import com.nbr.bankingsystem.DTO.AuthenticationResponse;
 import com.nbr.bankingsystem.authentication.JwtTokenUtil;
+import com.nbr.bankingsystem.authentication.TokenRevocationIndex;
+import com.nbr.bankingsystem.enums.Role;
 import com.nbr.bankingsystem.exceptions.AuthenticationFailedException;
+import com.nbr.bankingsystem.models.Customer;
 import com.nbr.bankingsystem.models.UserModel;
 import com.nbr.bankingsystem.repositories.UserRepository;
 import com.nbr.bankingsystem.services.AuthenticationService;
+import com.nbr.bankingsystem.services.PasswordHashingService;
 import com.nbr.bankingsystem.utils.AuditLogger;
+import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.stereotype.Service;
 
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
 @Service
 public class AuthenticationServiceImpl implements AuthenticationService {
 
+    private static final String DISABLED_PASSWORD = "!";
+
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtTokenUtil jwtTokenUtil;
+    private final TokenRevocationIndex tokenRevocationIndex;
+    private final Executor completionExecutor;
 
+    /**
+     * @param completionExecutor runs what follows a password check, so database writes and token signing
+     *                           never hold a thread of the CPU-sized hashing pool
+     */
     @Autowired
-    public AuthenticationServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtTokenUtil jwtTokenUtil) {
+    public AuthenticationServiceImpl(UserRepository userRepository, PasswordHashingService passwordHashingService, JwtTokenUtil jwtTokenUtil, TokenRevocationIndex tokenRevocationIndex,
+                                     @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor completionExecutor) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
         this.jwtTokenUtil = jwtTokenUtil;
+        this.tokenRevocationIndex = tokenRevocationIndex;
+        this.completionExecutor = completionExecutor;
     }
 
     @Override
-    public AuthenticationResponse authenticate(AuthenticationRequest request) {
+    public CompletableFuture<AuthenticationResponse> authenticate(AuthenticationRequest request) {
         UserModel user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> {
-                    AuditLogger.log("AUTHENTICATION_FAILED", "Invalid email or password for email: " + request.getEmail());
+                    AuditLogger.log("AUTHENTICATION_FAILED", "Invalid email or password for email: {}", request.getEmail());
                     return new AuthenticationFailedException("Invalid email or password.");
                 });
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-            AuditLogger.log("AUTHENTICATION_FAILED", "Invalid email or password for email: " + request.getEmail());
-            throw new AuthenticationFailedException("Invalid email or password.");
+        return passwordHashingService.matchesAsync(request.getPassword(), user.getPassword())
+                .thenApplyAsync(matches -> {
+                    if (!matches) {
+                        AuditLogger.log("AUTHENTICATION_FAILED", "Invalid email or password for email: {}", request.getEmail());
+                        throw new AuthenticationFailedException("Invalid email or password.");
+                    }
+
+                    String refreshTokenId = UUID.randomUUID().toString();
+                    if (userRepository.updateRefreshTokenId(user.getId(), user.getPassword(), refreshTokenId) == 0) {
+                        AuditLogger.log("AUTHENTICATION_FAILED", "Password changed during login for email: {}", request.getEmail());
+                        throw new AuthenticationFailedException("Invalid email or password.");
+                    }
+                    if (passwordHashingService.needsRehash(user.getPassword())) {
+                        rehashPassword(user, request.getPassword());
+                    }
+
+                    String token = jwtTokenUtil.generateToken(user);
+                    String refreshToken = jwtTokenUtil.generateRefreshToken(user, refreshTokenId);
+                    AuditLogger.log("AUTHENTICATION_SUCCESS", "Token generated successfully for user: {}", request.getEmail());
+                    return new AuthenticationResponse(token, refreshToken);
+                }, completionExecutor);
+    }
+
+    @Override
+    public AuthenticationResponse refresh(String refreshToken) {
+        Claims claims = jwtTokenUtil.parseClaims(refreshToken);
+        if (claims == null
+                || !JwtTokenUtil.REFRESH_TOKEN.equals(claims.get(JwtTokenUtil.TOKEN_TYPE_CLAIM, String.class))
+                || tokenRevocationIndex.isRevoked(claims.getId())
+                || tokenRevocationIndex.isUserRevoked(claims.get(JwtTokenUtil.ID_CLAIM, Long.class), claims.getIssuedAt().getTime())) {
+            AuditLogger.log("TOKEN_REFRESH_FAILED", "Invalid, expired or revoked refresh token");
+            throw new AuthenticationFailedException("Invalid or expired refresh token.");
+        }
+
+        // the account may have been deleted, frozen or given another role since the token was issued
+        UserModel user = userRepository.findByEmail(claims.getSubject())
+                .filter(found -> found.getId().equals(claims.get(JwtTokenUtil.ID_CLAIM, Long.class)))
+                .orElseThrow(() -> {
+                    AuditLogger.log("TOKEN_REFRESH_FAILED", "User no longer exists: {}", claims.getSubject());
+                    return new AuthenticationFailedException("Invalid or expired refresh token.");
+                });
+        if (!canRefresh(user)) {
+            AuditLogger.log("TOKEN_REFRESH_FAILED", "Account of user {} is deleted or frozen", claims.getSubject());
+            throw new AuthenticationFailedException("Invalid or expired refresh token.");
+        }
+
+        // rotate: the presented refresh token cannot be used again, on any node, even after a restart
+        String refreshTokenId = UUID.randomUUID().toString();
+        if (!claims.getId().equals(user.getRefreshTokenId())
+                || userRepository.replaceRefreshTokenId(user.getId(), claims.getId(), refreshTokenId) == 0) {
+            AuditLogger.log("TOKEN_REFRESH_FAILED", "Refresh token of user {} was already used or logged out", claims.getSubject());
+            throw new AuthenticationFailedException("Invalid or expired refresh token.");
         }
 
-        String token = jwtTokenUtil.generateToken(user);
-        AuditLogger.log("AUTHENTICATION_SUCCESS", "Token generated successfully for user: " + request.getEmail());
-        return new AuthenticationResponse(token);
+        AuditLogger.log("TOKEN_REFRESHED", "Tokens refreshed for user: {}", claims.getSubject());
+        return new AuthenticationResponse(jwtTokenUtil.generateToken(user), jwtTokenUtil.generateRefreshToken(user, refreshTokenId));
+    }
+
+    /**
+     * Customers may only refresh while their customer record exists and is not frozen.
+     * Deleted customers are filtered out of the join, so their user has no customer any more.
+     */
+    private boolean canRefresh(UserModel user) {
+        if (user.getRole() != Role.CUSTOMER) {
+            return true;
+        }
+        Customer customer = user.getCustomer();
+        return customer != null && !customer.isDeleted() && !customer.isFrozen();
+    }
+
+    @Override
+    public void logout(String accessToken, String refreshToken) {
+        for (String token : new String[]{accessToken, refreshToken}) {
+            Claims claims = token != null ? jwtTokenUtil.parseClaims(token) : null;
+            if (claims != null) {
+                tokenRevocationIndex.revoke(claims.getId(), claims.getExpiration().getTime());
+                if (JwtTokenUtil.REFRESH_TOKEN.equals(claims.get(JwtTokenUtil.TOKEN_TYPE_CLAIM, String.class))) {
+                    userRepository.replaceRefreshTokenId(claims.get(JwtTokenUtil.ID_CLAIM, Long.class), claims.getId(), null);
+                }
+                AuditLogger.log("TOKEN_REVOKED", "Revoked {} token of user: {}", claims.get(JwtTokenUtil.TOKEN_TYPE_CLAIM, String.class), claims.getSubject());
+            }
+        }
+    }
+
+    @Override
+    public void disableLogin(UserModel user) {
+        // not a BCrypt hash, so no password ever matches it
+        user.setPassword(DISABLED_PASSWORD);
+        user.setRefreshTokenId(null);
+        tokenRevocationIndex.revokeUser(user.getId(), System.currentTimeMillis() + jwtTokenUtil.getRefreshTokenTtlMillis());
+        AuditLogger.log("LOGIN_DISABLED", "Disabled login and revoked tokens of user ID: {}", user.getId());
+    }
+
+    /**
+     * Upgrades a hash created with a lower strength, now that the plain password is known.
+     * Runs in the background; a failure only means the upgrade is retried on the next login.
+     */
+    private void rehashPassword(UserModel user, String rawPassword) {
+        String oldHash = user.getPassword();
+        passwordHashingService.encodeAsync(rawPassword)
+                .thenAcceptAsync(hash -> {
+                    if (userRepository.updatePassword(user.getId(), oldHash, hash) == 1) {
+                        AuditLogger.log("PASSWORD_REHASHED", "Upgraded password hash for user ID: {}", user.getId());
+                    } else {
+                        AuditLogger.log("PASSWORD_REHASH_SKIPPED", "Password of user ID: {} changed during the rehash", user.getId());
+                    }
+                }, completionExecutor)
+                .exceptionally(e -> {
+                    AuditLogger.log("PASSWORD_REHASH_FAILED", "Could not upgrade password hash for user ID: {} - {}", user.getId(), e.getMessage());
+                    return null;
+                });
     }
 }
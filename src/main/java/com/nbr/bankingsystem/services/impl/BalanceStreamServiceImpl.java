@@ -0,0 +1,272 @@
+package com.nbr.bankingsystem.services.impl;
+
+import com.nbr.bankingsystem.DTO.BalanceUpdateDTO;
+import com.nbr.bankingsystem.DTO.CustomerResponseDTO;
+import com.nbr.bankingsystem.config.streaming.BalanceStreamProperties;
+import com.nbr.bankingsystem.eventbus.DomainEventConsumer;
+import com.nbr.bankingsystem.events.CustomerDeleted;
+import com.nbr.bankingsystem.events.DomainEvent;
+import com.nbr.bankingsystem.events.TransactionCreated;
+import com.nbr.bankingsystem.events.TransferCompleted;
+import com.nbr.bankingsystem.exceptions.ResourceNotFoundException;
+import com.nbr.bankingsystem.exceptions.TooManyStreamsException;
+import com.nbr.bankingsystem.repositories.CustomerRepository;
+import com.nbr.bankingsystem.services.BalanceStreamService;
+import com.nbr.bankingsystem.streaming.SseSenderPool;
+import com.nbr.bankingsystem.utils.AuditLogger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes committed transactions and the resulting balances to the customers' open balance streams.
+ *
+ * Open streams are async requests, so an idle stream holds no thread, only its entry in the registry of
+ * streams by customer. Updates for a customer without an open stream are skipped with a single map lookup.
+ * Each stream has a small queue of pending updates, written out by a few sender threads; a stream is on
+ * at most one sender at a time. When a slow client lets its queue fill up, the pending updates are replaced
+ * by a single `resync` event telling it to fetch the balance again, so memory per stream stays bounded.
+ * A client that stops reading altogether has its stream dropped once a write to it exceeds
+ * app.balance-stream.write-timeout, without holding up the other streams meanwhile; see SseSenderPool.
+ * The streams of a deleted customer are completed by their sender too, so the bus never waits for a hanging write.
+ * Both the registry and the events are local to this instance; see BalanceStreamService.
+ */
+@Service
+public class BalanceStreamServiceImpl implements BalanceStreamService, DomainEventConsumer {
+
+    private static final String BALANCE_EVENT = "balance";
+
+    private final CustomerRepository customerRepository;
+    private final BalanceStreamProperties properties;
+    private final ConcurrentHashMap<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger streamCount = new AtomicInteger();
+    private final SseSenderPool senders;
+    private final ScheduledExecutorService heartbeats;
+    private final Counter resyncs;
+
+    public BalanceStreamServiceImpl(CustomerRepository customerRepository, BalanceStreamProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.customerRepository = customerRepository;
+        this.properties = properties;
+        this.senders = new SseSenderPool("balance-stream", properties.getSenderThreads(), properties.getWriteTimeout(),
+                properties.getMaxStalledWrites(), meterRegistry);
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("balance-stream-heartbeat-"));
+        this.heartbeats.scheduleWithFixedDelay(this::sendHeartbeats, 1, 1, TimeUnit.SECONDS);
+
+        this.resyncs = Counter.builder("balance.stream.resyncs").register(meterRegistry);
+        Gauge.builder("balance.streams", streamCount, AtomicInteger::get).register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        senders.shutdown();
+        subscribers.values().forEach(streams -> streams.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    @Override
+    public String name() {
+        return "balance-stream";
+    }
+
+    @Override
+    public SseEmitter subscribe(Long customerId) {
+        if (streamCount.incrementAndGet() > properties.getMaxStreams()) {
+            streamCount.decrementAndGet();
+            AuditLogger.log("SUBSCRIBE_BALANCE_REJECTED", "{} balance streams are already open", properties.getMaxStreams());
+            throw new TooManyStreamsException("Too many open balance streams, please try again later");
+        }
+
+        Subscriber subscriber = new Subscriber(customerId, new SseEmitter(properties.getTimeout().toMillis()));
+        boolean[] added = {false};
+        subscribers.compute(customerId, (id, streams) -> {
+            Set<Subscriber> current = streams != null ? streams : ConcurrentHashMap.newKeySet();
+            if (current.size() < properties.getMaxStreamsPerCustomer()) {
+                added[0] = current.add(subscriber);
+            }
+            return current.isEmpty() ? null : current;
+        });
+        if (!added[0]) {
+            streamCount.decrementAndGet();
+            AuditLogger.log("SUBSCRIBE_BALANCE_REJECTED", "Customer ID: {} already has {} balance streams", customerId,
+                    properties.getMaxStreamsPerCustomer());
+            throw new TooManyStreamsException("Too many open balance streams for this customer");
+        }
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onError(e -> remove(subscriber));
+
+        // registered before the balance is read, so an update committing in between is not missed
+        CustomerResponseDTO customer = customerRepository.findCustomerById(customerId)
+                .orElseThrow(() -> {
+                    remove(subscriber);
+                    AuditLogger.log("SUBSCRIBE_BALANCE_FAILED", "Customer not found with ID: {}", customerId);
+                    return new ResourceNotFoundException("Customer not found with ID: " + customerId);
+                });
+        enqueue(subscriber, SseEmitter.event().name(BALANCE_EVENT)
+                .data(BalanceUpdateDTO.initial(customer.getBalance(), customer.getCurrency())));
+        AuditLogger.log("SUBSCRIBE_BALANCE", "Opened a balance stream for customer ID: {}", customerId);
+        return subscriber.emitter;
+    }
+
+    @Override
+    public void handle(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            if (event instanceof TransactionCreated created) {
+                publish(created.holder().customerId(), new BalanceUpdateDTO(created.transactionId(), created.type().name(),
+                        created.amount(), created.holder().balance(), created.currency(), null, created.bankingDateTime()));
+            } else if (event instanceof CustomerDeleted deleted) {
+                close(deleted.customerId());
+            } else if (event instanceof TransferCompleted transfer) {
+                publish(transfer.sender().customerId(), new BalanceUpdateDTO(transfer.transactionId(), "TRANSFER_SENT",
+                        transfer.amount(), transfer.sender().balance(), transfer.currency(), transfer.receiver().account(),
+                        transfer.bankingDateTime()));
+                publish(transfer.receiver().customerId(), new BalanceUpdateDTO(transfer.transactionId(), "TRANSFER_RECEIVED",
+                        transfer.creditedAmount(), transfer.receiver().balance(), transfer.creditedCurrency(),
+                        transfer.sender().account(), transfer.bankingDateTime()));
+            }
+        }
+    }
+
+    /**
+     * Ends the open streams of a customer, e.g. once they have been deleted.
+     */
+    private void close(Long customerId) {
+        Set<Subscriber> streams = subscribers.get(customerId);
+        if (streams != null) {
+            for (Subscriber subscriber : streams) {
+                synchronized (subscriber) {
+                    subscriber.closing = true;
+                }
+                schedule(subscriber);
+            }
+        }
+    }
+
+    private void publish(Long customerId, BalanceUpdateDTO update) {
+        Set<Subscriber> streams = subscribers.get(customerId);
+        if (streams == null) {
+            return;
+        }
+        for (Subscriber subscriber : streams) {
+            enqueue(subscriber, SseEmitter.event().id(String.valueOf(update.getTransactionId())).name(BALANCE_EVENT).data(update));
+        }
+    }
+
+    private void enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        synchronized (subscriber) {
+            if (subscriber.closing) {
+                return;
+            }
+            if (subscriber.pending.size() >= properties.getMaxPendingUpdates()) {
+                subscriber.pending.clear();
+                subscriber.pending.add(SseEmitter.event().name("resync").data("Updates were dropped, fetch the balance again"));
+                resyncs.increment();
+            } else {
+                subscriber.pending.add(event);
+            }
+        }
+        schedule(subscriber);
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    /**
+     * Writes the pending updates of one stream, then completes it if it is being closed.
+     * Runs on a sender thread, never twice at once for the same stream.
+     */
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            SseEmitter.SseEventBuilder next;
+            boolean closing;
+            synchronized (subscriber) {
+                next = subscriber.pending.poll();
+                closing = subscriber.closing;
+                if (next == null) {
+                    subscriber.scheduled.set(false);
+                }
+            }
+            if (next == null) {
+                if (closing) {
+                    subscriber.emitter.complete();
+                }
+                return;
+            }
+            if (!senders.send(subscriber.emitter, next, () -> remove(subscriber))) {
+                // the client is gone, or stopped reading
+                remove(subscriber);
+                synchronized (subscriber) {
+                    subscriber.pending.clear();
+                    subscriber.scheduled.set(false);
+                }
+                return;
+            }
+            subscriber.lastSent = System.nanoTime();
+        }
+    }
+
+    private void sendHeartbeats() {
+        long now = System.nanoTime();
+        long interval = properties.getHeartbeatInterval().toNanos();
+        try {
+            for (Set<Subscriber> streams : subscribers.values()) {
+                for (Subscriber subscriber : streams) {
+                    if (now - subscriber.lastSent >= interval && !subscriber.scheduled.get()) {
+                        subscriber.lastSent = now;
+                        enqueue(subscriber, SseEmitter.event().comment("heartbeat"));
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            AuditLogger.log("BALANCE_HEARTBEAT_FAILED", e.getMessage());
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.removed.compareAndSet(false, true)) {
+            return;
+        }
+        subscribers.computeIfPresent(subscriber.customerId, (id, streams) -> {
+            streams.remove(subscriber);
+            return streams.isEmpty() ? null : streams;
+        });
+        streamCount.decrementAndGet();
+    }
+
+    private static final class Subscriber {
+
+        private final Long customerId;
+        private final SseEmitter emitter;
+        private final ArrayDeque<SseEmitter.SseEventBuilder> pending = new ArrayDeque<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+        private volatile long lastSent = System.nanoTime();
+
+        /**
+         * Set once the stream is to be completed after its pending updates; guarded by the subscriber.
+         */
+        private boolean closing;
+
+        private Subscriber(Long customerId, SseEmitter emitter) {
+            this.customerId = customerId;
+            this.emitter = emitter;
+        }
+    }
+}
@@ -1,185 +1,304 @@
-package com.nbr.bankingsystem.services.impl;
-
-import com.nbr.bankingsystem.DTO.BankingDTO;
-import com.nbr.bankingsystem.DTO.TransferDTO;
-import com.nbr.bankingsystem.enums.TransactionType;
-import com.nbr.bankingsystem.exceptions.InsufficientBalanceException;
-import com.nbr.bankingsystem.exceptions.InvalidTransactionTypeException;
-import com.nbr.bankingsystem.exceptions.ResourceNotFoundException;
-import com.nbr.bankingsystem.models.Banking;
-import com.nbr.bankingsystem.models.Customer;
-import com.nbr.bankingsystem.repositories.BankingRepository;
-import com.nbr.bankingsystem.repositories.CustomerRepository;
-import com.nbr.bankingsystem.repositories.UserRepository;
-import com.nbr.bankingsystem.services.BankingService;
-import com.nbr.bankingsystem.services.MessagingService;
-import com.nbr.bankingsystem.utils.AuditLogger;
-import com.nbr.bankingsystem.utils.EnumConverter;
-import org.springframework.security.core.Authentication;
-import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-
-import java.time.LocalDateTime;
-import java.util.List;
-
-@Service
-public class BankingServiceImpl implements BankingService {
-
-    private final BankingRepository bankingRepository;
-    private final CustomerRepository customerRepository;
-    private final MessagingService messagingService;
-    private final UserRepository userRepository;
-
-    public BankingServiceImpl(BankingRepository bankingRepository, CustomerRepository customerRepository,
-                              MessagingService messagingService, UserRepository userRepository) {
-        this.bankingRepository = bankingRepository;
-        this.customerRepository = customerRepository;
-        this.messagingService = messagingService;
-        this.userRepository = userRepository;
-    }
-
-    @Override
-    @Transactional
-    public Banking createTransaction(String customerEmail, BankingDTO bankingDTO) {
-        if (bankingDTO.getAmount() <= 0) {
-            AuditLogger.log("CREATE_TRANSACTION_FAILED", "Transaction amount must be greater than zero for customer email: " + customerEmail);
-            throw new InvalidTransactionTypeException("Transaction amount must be greater than zero");
-        }
-
-        Customer customer = customerRepository.findByEmail(customerEmail)
-                .orElseThrow(() -> {
-                    AuditLogger.log("CREATE_TRANSACTION_FAILED", "Customer not found with email: " + customerEmail);
-                    return new ResourceNotFoundException("Customer not found with email: " + customerEmail);
-                });
-
-        Banking banking = new Banking();
-        banking.setCustomer(customer);
-        banking.setAccount(customer.getAccount());
-        banking.setAmount(bankingDTO.getAmount());
-        banking.setType(EnumConverter.toTransactionType(bankingDTO.getType()));
-        banking.setBankingDateTime(LocalDateTime.now());
-
-        if (banking.getType() == TransactionType.SAVING) {
-            customer.setBalance(customer.getBalance() + banking.getAmount());
-        } else if (banking.getType() == TransactionType.WITHDRAW) {
-            if (customer.getBalance() < banking.getAmount()) {
-                AuditLogger.log("CREATE_TRANSACTION_FAILED", "Insufficient balance for withdrawal for customer email: " + customerEmail);
-                throw new InsufficientBalanceException("Insufficient balance for withdrawal");
-            }
-            customer.setBalance(customer.getBalance() - banking.getAmount());
-        } else {
-            AuditLogger.log("CREATE_TRANSACTION_FAILED", "Invalid transaction type: " + bankingDTO.getType() + " for customer email: " + customerEmail);
-            throw new InvalidTransactionTypeException("Invalid transaction type: " + bankingDTO.getType());
-        }
-
-        customerRepository.save(customer);
-        Banking savedBanking = bankingRepository.save(banking);
-
-        String message = String.format("Dear %s %s, your %s of %.2f on your account %s has been completed at %s successfully.",
-                customer.getFirstName(), customer.getLastName(), banking.getType().toString().toLowerCase(),
-                banking.getAmount(), banking.getAccount(), banking.getBankingDateTime().toString());
-
-        // Send transaction message to customer
-        messagingService.sendTransactionMessage(customer.getEmail(), message, customer.getId());
-
-        AuditLogger.log("CREATE_TRANSACTION", "Created transaction with ID: " + savedBanking.getId() + " for customer email: " + customerEmail);
-        return savedBanking;
-    }
-
-    @Override
-    public List<Banking> getAllTransactions() {
-        List<Banking> transactions = bankingRepository.findAll();
-        AuditLogger.log("GET_ALL_TRANSACTIONS", "Fetched all transactions");
-        return transactions;
-    }
-
-    @Override
-    public Banking getTransactionById(Long id) {
-        Banking transaction = bankingRepository.findById(id)
-                .orElseThrow(() -> {
-                    AuditLogger.log("GET_TRANSACTION_FAILED", "Transaction not found with id " + id);
-                    return new ResourceNotFoundException("Transaction not found with id " + id);
-                });
-        AuditLogger.log("GET_TRANSACTION", "Fetched transaction with ID: " + transaction.getId());
-        return transaction;
-    }
-
-    @Override
-    @Transactional
-    public Banking transfer(String senderEmail, TransferDTO transferDTO) {
-        if (transferDTO.getAmount() <= 0) {
-            AuditLogger.log("TRANSFER_FAILED", "Transfer amount must be greater than zero for sender email: " + senderEmail);
-            throw new InvalidTransactionTypeException("Transfer amount must be greater than zero");
-        }
-
-        Customer sender = customerRepository.findByEmail(senderEmail)
-                .orElseThrow(() -> {
-                    AuditLogger.log("TRANSFER_FAILED", "Customer not found with email: " + senderEmail);
-                    return new ResourceNotFoundException("Customer not found with email: " + senderEmail);
-                });
-        Customer receiver = customerRepository.findById(transferDTO.getReceiverCustomerId())
-                .orElseThrow(() -> {
-                    AuditLogger.log("TRANSFER_FAILED", "Receiver not found with ID: " + transferDTO.getReceiverCustomerId());
-                    return new ResourceNotFoundException("Receiver not found with ID: " + transferDTO.getReceiverCustomerId());
-                });
-
-        if (sender.getId().equals(receiver.getId())) {
-            AuditLogger.log("TRANSFER_FAILED", "Cannot transfer money to the same account for sender email: " + senderEmail);
-            throw new InvalidTransactionTypeException("Cannot transfer money to the same account");
-        }
-
-        if (sender.getBalance() < transferDTO.getAmount()) {
-            AuditLogger.log("TRANSFER_FAILED", "Insufficient balance for transfer for sender email: " + senderEmail);
-            throw new InsufficientBalanceException("Insufficient balance for transfer");
-        }
-
-        sender.setBalance(sender.getBalance() - transferDTO.getAmount());
-        receiver.setBalance(receiver.getBalance() + transferDTO.getAmount());
-
-        customerRepository.save(sender);
-        customerRepository.save(receiver);
-
-        Banking transfer = new Banking();
-        transfer.setCustomer(sender);
-        transfer.setAccount(sender.getAccount());
-        transfer.setAmount(transferDTO.getAmount());
-        transfer.setType(TransactionType.TRANSFER);
-        transfer.setBankingDateTime(LocalDateTime.now());
-
-        Banking savedTransfer = bankingRepository.save(transfer);
-
-        String senderMessage = String.format("Dear %s %s, your transfer of %.2f to account %s has been completed at %s successfully.",
-                sender.getFirstName(), sender.getLastName(), transfer.getAmount(),
-                receiver.getAccount(), transfer.getBankingDateTime().toString());
-        messagingService.sendTransactionMessage(sender.getEmail(), senderMessage, sender.getId());
-
-        String receiverMessage = String.format("Dear %s %s, you have received a transfer of %.2f from account %s at %s.",
-                receiver.getFirstName(), receiver.getLastName(), transfer.getAmount(),
-                sender.getAccount(), transfer.getBankingDateTime().toString());
-        messagingService.sendTransactionMessage(receiver.getEmail(), receiverMessage, receiver.getId());
-
-        AuditLogger.log("TRANSFER", "Transfer transaction created with ID: " + savedTransfer.getId() + " from sender email: " + senderEmail + " to receiver ID: " + transferDTO.getReceiverCustomerId());
-        return savedTransfer;
-    }
-
-    @Override
-    public boolean isTransactionOwner(Authentication authentication, Long transactionId) {
-        Banking transaction = getTransactionById(transactionId);
-        String customerEmail = transaction.getCustomer().getEmail();
-        boolean isOwner = authentication.getName().equals(customerEmail);
-        AuditLogger.log("CHECK_TRANSACTION_OWNER", "Transaction ownership check for transaction ID: " + transactionId + " by user: " + authentication.getName() + " - Result: " + isOwner);
-        return isOwner;
-    }
-
-    @Override
-    public double getBalance(Long customerId) {
-        Customer customer = customerRepository.findById(customerId)
-                .orElseThrow(() -> {
-                    AuditLogger.log("GET_BALANCE_FAILED", "Customer not found with ID: " + customerId);
-                    return new ResourceNotFoundException("Customer not found with ID: " + customerId);
-                });
-        double balance = customer.getBalance();
-        AuditLogger.log("GET_BALANCE", "Fetched balance for customer ID: " + customerId + " - Balance: " + balance);
-        return balance;
-    }
-}
+package com.nbr.bankingsystem.services.impl;
+
+import com.nbr.bankingsystem.DTO.BankingDTO;
+import com.nbr.bankingsystem.DTO.TransactionResponseDTO;
+import com.nbr.bankingsystem.DTO.TransferDTO;
+import com.nbr.bankingsystem.config.datasource.ReadYourWritesTracker;
+import com.nbr.bankingsystem.config.partitioning.PartitioningProperties;
+import com.nbr.bankingsystem.enums.TransactionType;
+import com.nbr.bankingsystem.eventbus.DomainEventBus;
+import com.nbr.bankingsystem.events.AccountHolder;
+import com.nbr.bankingsystem.events.TransactionCreated;
+import com.nbr.bankingsystem.events.TransferCompleted;
+import com.nbr.bankingsystem.exceptions.AccountFrozenException;
+import com.nbr.bankingsystem.exceptions.ArchivedPeriodException;
+import com.nbr.bankingsystem.exceptions.InsufficientBalanceException;
+import com.nbr.bankingsystem.exceptions.InvalidTransactionTypeException;
+import com.nbr.bankingsystem.exceptions.ResourceNotFoundException;
+import com.nbr.bankingsystem.models.Banking;
+import com.nbr.bankingsystem.models.Customer;
+import com.nbr.bankingsystem.repositories.BankingRepository;
+import com.nbr.bankingsystem.repositories.CustomerRepository;
+import com.nbr.bankingsystem.repositories.DailySummaryRepository;
+import com.nbr.bankingsystem.repositories.UserRepository;
+import com.nbr.bankingsystem.services.BankingService;
+import com.nbr.bankingsystem.services.FxRateService;
+import com.nbr.bankingsystem.services.LimitService;
+import com.nbr.bankingsystem.utils.AuditLogger;
+import com.nbr.bankingsystem.utils.EnumConverter;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+@Service
+public class BankingServiceImpl implements BankingService {
+
+    private final BankingRepository bankingRepository;
+    private final CustomerRepository customerRepository;
+    private final UserRepository userRepository;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final DomainEventBus eventBus;
+    private final DailySummaryRepository dailySummaryRepository;
+    private final FxRateService fxRateService;
+    private final LimitService limitService;
+    private final PartitioningProperties partitioningProperties;
+
+    public BankingServiceImpl(BankingRepository bankingRepository, CustomerRepository customerRepository,
+                              UserRepository userRepository, ReadYourWritesTracker readYourWritesTracker,
+                              DomainEventBus eventBus,
+                              DailySummaryRepository dailySummaryRepository, FxRateService fxRateService,
+                              LimitService limitService, PartitioningProperties partitioningProperties) {
+        this.bankingRepository = bankingRepository;
+        this.customerRepository = customerRepository;
+        this.userRepository = userRepository;
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.eventBus = eventBus;
+        this.dailySummaryRepository = dailySummaryRepository;
+        this.fxRateService = fxRateService;
+        this.limitService = limitService;
+        this.partitioningProperties = partitioningProperties;
+    }
+
+    @Override
+    @Transactional
+    public TransactionResponseDTO createTransaction(String customerEmail, BankingDTO bankingDTO) {
+        if (bankingDTO.getAmount() <= 0) {
+            AuditLogger.log("CREATE_TRANSACTION_FAILED", "Transaction amount must be greater than zero for customer email: {}", customerEmail);
+            throw InvalidTransactionTypeException.NON_POSITIVE_AMOUNT;
+        }
+
+        Customer customer = customerRepository.findByEmail(customerEmail)
+                .orElseThrow(() -> {
+                    AuditLogger.log("CREATE_TRANSACTION_FAILED", "Customer not found with email: {}", customerEmail);
+                    return new ResourceNotFoundException("Customer not found with email: " + customerEmail);
+                });
+
+        if (!customer.getCurrency().isWholeUnits(bankingDTO.getAmount())) {
+            AuditLogger.log("CREATE_TRANSACTION_FAILED", "Amount {} has too many decimals for {} for customer email: {}", bankingDTO.getAmount(), customer.getCurrency(), customerEmail);
+            throw InvalidTransactionTypeException.tooManyDecimals(customer.getCurrency());
+        }
+
+        Banking banking = new Banking();
+        banking.setCustomer(customer);
+        banking.setAccount(customer.getAccount());
+        banking.setAmount(bankingDTO.getAmount());
+        banking.setCurrency(customer.getCurrency());
+        banking.setType(EnumConverter.toTransactionType(bankingDTO.getType()));
+        banking.setBankingDateTime(LocalDateTime.now());
+
+        if (banking.getType() == TransactionType.SAVING) {
+            customer.setBalance(customer.getBalance() + banking.getAmount());
+        } else if (banking.getType() == TransactionType.WITHDRAW) {
+            if (customer.isFrozen()) {
+                AuditLogger.log("CREATE_TRANSACTION_FAILED", "Withdrawal from frozen account for customer email: {}", customerEmail);
+                throw AccountFrozenException.FROZEN;
+            }
+            if (customer.getBalance() < banking.getAmount()) {
+                AuditLogger.log("CREATE_TRANSACTION_FAILED", "Insufficient balance for withdrawal for customer email: {}", customerEmail);
+                throw InsufficientBalanceException.FOR_WITHDRAWAL;
+            }
+            limitService.reserveWithdrawal(customer.getId(), banking.getAmount(), customer.getCurrency());
+            customer.setBalance(customer.getBalance() - banking.getAmount());
+        } else {
+            AuditLogger.log("CREATE_TRANSACTION_FAILED", "Invalid transaction type: {} for customer email: {}", bankingDTO.getType(), customerEmail);
+            throw new InvalidTransactionTypeException("Invalid transaction type: " + bankingDTO.getType());
+        }
+
+        customerRepository.save(customer);
+        Banking savedBanking = bankingRepository.save(banking);
+        addToDailySummary(savedBanking);
+        readYourWritesTracker.recordWriteAfterCommit(customerEmail);
+        // the customer is notified by the notifications consumer once this has committed
+        eventBus.publishAfterCommit(new TransactionCreated(savedBanking.getId(), AccountHolder.of(customer),
+                savedBanking.getType(), savedBanking.getAmount(), savedBanking.getCurrency(), savedBanking.getBankingDateTime()));
+
+        AuditLogger.log("CREATE_TRANSACTION", "Created transaction with ID: {} for customer email: {}", savedBanking.getId(), customerEmail);
+        return TransactionResponseDTO.fromEntity(savedBanking);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TransactionResponseDTO> getAllTransactions() {
+        List<TransactionResponseDTO> transactions = bankingRepository.findAllTransactions();
+        AuditLogger.log("GET_ALL_TRANSACTIONS", "Fetched all transactions");
+        return transactions;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TransactionResponseDTO> getTransactionsBetween(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = from != null ? from : oldestLiveDateTime();
+        ensureNotArchived(start);
+        List<TransactionResponseDTO> transactions = bankingRepository.findTransactionsBetween(start, to);
+        AuditLogger.log("GET_TRANSACTIONS_BETWEEN", "Fetched {} transactions between {} and {}", transactions.size(), from, to);
+        return transactions;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<TransactionResponseDTO> getCustomerTransactions(String customerEmail, LocalDateTime from, LocalDateTime to) {
+        ensureNotArchived(from);
+        Long customerId = customerRepository.findIdByEmail(customerEmail)
+                .orElseThrow(() -> {
+                    AuditLogger.log("GET_CUSTOMER_TRANSACTIONS_FAILED", "Customer not found with email: {}", customerEmail);
+                    return new ResourceNotFoundException("Customer not found with email: " + customerEmail);
+                });
+        List<TransactionResponseDTO> transactions = bankingRepository.findCustomerTransactionsBetween(customerId, from, to);
+        AuditLogger.log("GET_CUSTOMER_TRANSACTIONS", "Fetched {} transactions for customer email: {}", transactions.size(), customerEmail);
+        return transactions;
+    }
+
+    /**
+     * Once partitioning is enabled, months before the retention period only exist in the archive tables,
+     * which the ledger queries do not read: a range starting there is refused rather than answered with
+     * a silently incomplete list.
+     */
+    private void ensureNotArchived(LocalDateTime from) {
+        LocalDateTime oldestLive = oldestLiveDateTime();
+        if (from.isBefore(oldestLive)) {
+            AuditLogger.log("GET_TRANSACTIONS_FAILED", "Range starting {} reaches into archived months", from);
+            throw new ArchivedPeriodException("Transactions before " + oldestLive.toLocalDate() + " are archived");
+        }
+    }
+
+    private LocalDateTime oldestLiveDateTime() {
+        return partitioningProperties.isEnabled()
+                ? partitioningProperties.oldestLiveMonth(YearMonth.now()).atDay(1).atStartOfDay()
+                : LocalDate.EPOCH.atStartOfDay();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TransactionResponseDTO getTransactionById(Long id) {
+        TransactionResponseDTO transaction = bankingRepository.findTransactionById(id)
+                .orElseThrow(() -> {
+                    AuditLogger.log("GET_TRANSACTION_FAILED", "Transaction not found with id {}", id);
+                    return new ResourceNotFoundException("Transaction not found with id " + id);
+                });
+        AuditLogger.log("GET_TRANSACTION", "Fetched transaction with ID: {}", transaction.getId());
+        return transaction;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void ensureTransactionExists(Long id) {
+        if (!bankingRepository.existsById(id)) {
+            AuditLogger.log("GET_TRANSACTION_FAILED", "Transaction not found with id {}", id);
+            throw new ResourceNotFoundException("Transaction not found with id " + id);
+        }
+    }
+
+    @Override
+    @Transactional
+    public TransactionResponseDTO transfer(String senderEmail, TransferDTO transferDTO) {
+        if (transferDTO.getAmount() <= 0) {
+            AuditLogger.log("TRANSFER_FAILED", "Transfer amount must be greater than zero for sender email: {}", senderEmail);
+            throw InvalidTransactionTypeException.NON_POSITIVE_TRANSFER;
+        }
+
+        Customer sender = customerRepository.findByEmail(senderEmail)
+                .orElseThrow(() -> {
+                    AuditLogger.log("TRANSFER_FAILED", "Customer not found with email: {}", senderEmail);
+                    return new ResourceNotFoundException("Customer not found with email: " + senderEmail);
+                });
+        Customer receiver = customerRepository.findById(transferDTO.getReceiverCustomerId())
+                .orElseThrow(() -> {
+                    AuditLogger.log("TRANSFER_FAILED", "Receiver not found with ID: {}", transferDTO.getReceiverCustomerId());
+                    return new ResourceNotFoundException("Receiver not found with ID: " + transferDTO.getReceiverCustomerId());
+                });
+
+        if (sender.getId().equals(receiver.getId())) {
+            AuditLogger.log("TRANSFER_FAILED", "Cannot transfer money to the same account for sender email: {}", senderEmail);
+            throw InvalidTransactionTypeException.SAME_ACCOUNT_TRANSFER;
+        }
+
+        if (!sender.getCurrency().isWholeUnits(transferDTO.getAmount())) {
+            AuditLogger.log("TRANSFER_FAILED", "Amount {} has too many decimals for {} for sender email: {}", transferDTO.getAmount(), sender.getCurrency(), senderEmail);
+            throw InvalidTransactionTypeException.tooManyDecimals(sender.getCurrency());
+        }
+
+        if (sender.isFrozen()) {
+            AuditLogger.log("TRANSFER_FAILED", "Transfer from frozen account for sender email: {}", senderEmail);
+            throw AccountFrozenException.FROZEN;
+        }
+
+        if (sender.getBalance() < transferDTO.getAmount()) {
+            AuditLogger.log("TRANSFER_FAILED", "Insufficient balance for transfer for sender email: {}", senderEmail);
+            throw InsufficientBalanceException.FOR_TRANSFER;
+        }
+        limitService.reserveTransfer(sender.getId(), transferDTO.getAmount(), sender.getCurrency());
+
+        // the rate comes from the in-memory FX table; same-currency transfers are credited as-is
+        double fxRate = 1.0;
+        double creditedAmount = transferDTO.getAmount();
+        if (sender.getCurrency() != receiver.getCurrency()) {
+            fxRate = fxRateService.getRate(sender.getCurrency(), receiver.getCurrency());
+            creditedAmount = receiver.getCurrency().round(transferDTO.getAmount() * fxRate);
+        }
+
+        sender.setBalance(sender.getBalance() - transferDTO.getAmount());
+        receiver.setBalance(receiver.getBalance() + creditedAmount);
+
+        customerRepository.save(sender);
+        customerRepository.save(receiver);
+
+        Banking transfer = new Banking();
+        transfer.setCustomer(sender);
+        transfer.setAccount(sender.getAccount());
+        transfer.setAmount(transferDTO.getAmount());
+        transfer.setCurrency(sender.getCurrency());
+        transfer.setFxRate(fxRate);
+        transfer.setType(TransactionType.TRANSFER);
+        transfer.setReceiverId(receiver.getId());
+        transfer.setBankingDateTime(LocalDateTime.now());
+
+        Banking savedTransfer = bankingRepository.save(transfer);
+        addToDailySummary(savedTransfer);
+        readYourWritesTracker.recordWriteAfterCommit(sender.getEmail(), receiver.getEmail());
+        eventBus.publishAfterCommit(new TransferCompleted(savedTransfer.getId(), AccountHolder.of(sender),
+                AccountHolder.of(receiver), savedTransfer.getAmount(), sender.getCurrency(), fxRate, creditedAmount,
+                receiver.getCurrency(), savedTransfer.getBankingDateTime()));
+
+        AuditLogger.log("TRANSFER", "Transfer transaction created with ID: {} from sender email: {} to receiver ID: {}", savedTransfer.getId(), senderEmail, transferDTO.getReceiverCustomerId());
+        return TransactionResponseDTO.fromEntity(savedTransfer);
+    }
+
+    /**
+     * Adds the transaction to its DailySummary row in the same transaction, so the rollup
+     * commits or rolls back together with the Banking row.
+     */
+    private void addToDailySummary(Banking banking) {
+        dailySummaryRepository.addTransaction(banking.getBankingDateTime().toLocalDate(), banking.getCustomer().getId(),
+                banking.getType().name(), banking.getCurrency().name(), banking.getAmount());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public boolean isTransactionOwner(Authentication authentication, Long transactionId) {
+        String customerEmail = bankingRepository.findOwnerEmailById(transactionId)
+                .orElseThrow(() -> {
+                    AuditLogger.log("GET_TRANSACTION_FAILED", "Transaction not found with id {}", transactionId);
+                    return new ResourceNotFoundException("Transaction not found with id " + transactionId);
+                });
+        boolean isOwner = authentication.getName().equals(customerEmail);
+        AuditLogger.log("CHECK_TRANSACTION_OWNER", "Transaction ownership check for transaction ID: {} by user: {} - Result: {}", transactionId, authentication.getName(), isOwner);
+        return isOwner;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public double getBalance(Long customerId) {
+        double balance = customerRepository.findBalanceById(customerId)
+                .orElseThrow(() -> {
+                    AuditLogger.log("GET_BALANCE_FAILED", "Customer not found with ID: {}", customerId);
+                    return new ResourceNotFoundException("Customer not found with ID: " + customerId);
+                });
+        AuditLogger.log("GET_BALANCE", "Fetched balance for customer ID: {} - Balance: {}", customerId, balance);
+        return balance;
+    }
+}
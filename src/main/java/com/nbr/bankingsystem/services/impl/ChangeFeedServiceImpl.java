@@ -0,0 +1,321 @@
+package com.nbr.bankingsystem.services.impl;
+
+import com.nbr.bankingsystem.DTO.ChangeBatchDTO;
+import com.nbr.bankingsystem.DTO.ChangeDTO;
+import com.nbr.bankingsystem.config.events.ChangeFeedProperties;
+import com.nbr.bankingsystem.eventbus.DomainEventBus;
+import com.nbr.bankingsystem.eventbus.DomainEventConsumer;
+import com.nbr.bankingsystem.eventbus.SequencedEvent;
+import com.nbr.bankingsystem.events.DomainEvent;
+import com.nbr.bankingsystem.exceptions.ChangeOffsetExpiredException;
+import com.nbr.bankingsystem.exceptions.TooManyStreamsException;
+import com.nbr.bankingsystem.services.ChangeFeedService;
+import com.nbr.bankingsystem.streaming.SseSenderPool;
+import com.nbr.bankingsystem.utils.AuditLogger;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Serves the change feed from the DomainEventBus: recent changes come from its ring, older ones from its journal.
+ *
+ * As a bus consumer it only gets woken up, so a slow reader never holds up the bus. Waiting long-polls are
+ * completed on one change-feed thread, which also times each of them out at its own deadline; it never
+ * writes to a connection itself. Open streams are written by a few sender threads, one stream at a time on
+ * each; a stream whose client stops reading is dropped after app.change-feed.write-timeout without holding
+ * up the others (see SseSenderPool). Each stream and waiter keeps its own offset.
+ * A once-a-second tick has heartbeats sent to idle streams.
+ * Like the bus it reads from, the feed is local to this instance; see ChangeFeedService.
+ */
+@Service
+public class ChangeFeedServiceImpl implements ChangeFeedService, DomainEventConsumer {
+
+    private final DomainEventBus eventBus;
+    private final ChangeFeedProperties properties;
+    private final ScheduledExecutorService dispatcher;
+    private final SseSenderPool senders;
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean dispatchPending = new AtomicBoolean();
+
+    public ChangeFeedServiceImpl(DomainEventBus eventBus, ChangeFeedProperties properties, MeterRegistry meterRegistry) {
+        this.eventBus = eventBus;
+        this.properties = properties;
+        this.dispatcher = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("change-feed-"));
+        this.dispatcher.scheduleWithFixedDelay(this::tick, 1, 1, TimeUnit.SECONDS);
+        this.senders = new SseSenderPool("change-feed-stream", properties.getSenderThreads(), properties.getWriteTimeout(),
+                properties.getMaxStreams(), meterRegistry);
+        Gauge.builder("changefeed.streams", subscribers, List::size).register(meterRegistry);
+        Gauge.builder("changefeed.waiting", waiters, Queue::size).register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        senders.shutdown();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    @Override
+    public String name() {
+        return "change-feed";
+    }
+
+    @Override
+    public void handle(List<DomainEvent> events) {
+        scheduleDispatch();
+    }
+
+    @Override
+    public long headSequence() {
+        return eventBus.headSequence();
+    }
+
+    @Override
+    public ChangeBatchDTO read(long after, int limit) {
+        after = fromOldestIfZero(after);
+        long head = checkOffset(after);
+        List<SequencedEvent> events = readEvents(after, limit);
+        AuditLogger.log("GET_CHANGES", "Read {} changes after sequence {}", events.size(), after);
+        return toBatch(after, events, head);
+    }
+
+    @Override
+    public CompletableFuture<ChangeBatchDTO> poll(long after, int limit, Duration wait) {
+        after = fromOldestIfZero(after);
+        ChangeBatchDTO batch = read(after, limit);
+        if (!batch.getChanges().isEmpty() || wait.isZero()) {
+            return CompletableFuture.completedFuture(batch);
+        }
+        Waiter waiter = new Waiter(after, limit, new CompletableFuture<>());
+        waiters.add(waiter);
+        dispatcher.schedule(() -> expire(waiter), wait.toNanos(), TimeUnit.NANOSECONDS);
+        // covers a change published between the read and the registration
+        scheduleDispatch();
+        return waiter.future;
+    }
+
+    @Override
+    public SseEmitter stream(long after) {
+        after = fromOldestIfZero(after);
+        checkOffset(after);
+        if (subscribers.size() >= properties.getMaxStreams()) {
+            AuditLogger.log("STREAM_CHANGES_REJECTED", "{} change streams are already open", subscribers.size());
+            throw new TooManyStreamsException("Too many open change streams, please try again later");
+        }
+
+        SseEmitter emitter = new SseEmitter(properties.getStreamTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter, after);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        schedule(subscriber);
+        AuditLogger.log("STREAM_CHANGES", "Opened a change stream after sequence {}", after);
+        return emitter;
+    }
+
+    /**
+     * Offset 0 means "from the oldest retained change", which once the journal has been trimmed is
+     * the offset just before the first available sequence.
+     */
+    private long fromOldestIfZero(long after) {
+        return after == 0 ? Math.max(0, eventBus.firstAvailableSequence() - 1) : after;
+    }
+
+    /**
+     * @return the current head sequence
+     */
+    private long checkOffset(long after) {
+        long head = eventBus.headSequence();
+        long first = eventBus.firstAvailableSequence();
+        if (after > head || after + 1 < first) {
+            AuditLogger.log("GET_CHANGES_FAILED", "Offset {} is outside the retained sequences {} to {}", after, first, head);
+            throw new ChangeOffsetExpiredException("Offset " + after + " is no longer available, the feed continues from sequence "
+                    + first + " up to " + head);
+        }
+        return head;
+    }
+
+    private List<SequencedEvent> readEvents(long after, int limit) {
+        try {
+            return eventBus.read(after, limit);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static ChangeBatchDTO toBatch(long after, List<SequencedEvent> events, long head) {
+        long next = events.isEmpty() ? after : events.get(events.size() - 1).sequence();
+        return new ChangeBatchDTO(events.stream().map(ChangeDTO::fromEvent).toList(), next, Math.max(head, next));
+    }
+
+    private void scheduleDispatch() {
+        if (dispatchPending.compareAndSet(false, true)) {
+            dispatcher.execute(this::dispatch);
+        }
+    }
+
+    /**
+     * Completes the long-polls that have something new and has new changes pushed to the streams.
+     * Runs on the change-feed thread only.
+     */
+    private void dispatch() {
+        dispatchPending.set(false);
+        long head = eventBus.headSequence();
+        for (Waiter waiter : waiters) {
+            if (head > waiter.after && waiters.remove(waiter)) {
+                complete(waiter, head);
+            }
+        }
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.cursor < head) {
+                schedule(subscriber);
+            }
+        }
+    }
+
+    private void tick() {
+        try {
+            long now = System.nanoTime();
+            long heartbeat = properties.getHeartbeatInterval().toNanos();
+            for (Subscriber subscriber : subscribers) {
+                if (now - subscriber.lastSent >= heartbeat) {
+                    subscriber.heartbeatDue = true;
+                    schedule(subscriber);
+                }
+            }
+            dispatch();
+        } catch (RuntimeException e) {
+            AuditLogger.log("CHANGE_FEED_TICK_FAILED", e.getMessage());
+        }
+    }
+
+    /**
+     * Answers a long-poll that has waited for as long as it asked, with whatever has been published since.
+     */
+    private void expire(Waiter waiter) {
+        if (waiters.remove(waiter)) {
+            complete(waiter, eventBus.headSequence());
+        }
+    }
+
+    private void complete(Waiter waiter, long head) {
+        try {
+            waiter.future.complete(toBatch(waiter.after, readEvents(waiter.after, waiter.limit), head));
+        } catch (RuntimeException e) {
+            waiter.future.completeExceptionally(e);
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    /**
+     * Pushes the new changes to one stream, then a heartbeat if it is still due.
+     * Runs on a sender thread, never twice at once for the same stream.
+     */
+    private void drain(Subscriber subscriber) {
+        long head;
+        do {
+            head = eventBus.headSequence();
+            if (!push(subscriber, head)) {
+                return;
+            }
+            if (subscriber.heartbeatDue) {
+                subscriber.heartbeatDue = false;
+                if (System.nanoTime() - subscriber.lastSent >= properties.getHeartbeatInterval().toNanos()
+                        && !send(subscriber, SseEmitter.event().comment("heartbeat"))) {
+                    return;
+                }
+            }
+            subscriber.scheduled.set(false);
+            // covers a change published while this stream was written, which did not schedule it again
+        } while (eventBus.headSequence() > head && subscriber.scheduled.compareAndSet(false, true));
+    }
+
+    /**
+     * @return false if the stream has ended
+     */
+    private boolean push(Subscriber subscriber, long head) {
+        while (subscriber.cursor < head) {
+            List<SequencedEvent> events;
+            try {
+                events = readEvents(subscriber.cursor, properties.getMaxBatchSize());
+            } catch (RuntimeException e) {
+                AuditLogger.log("STREAM_CHANGES_FAILED", e.getMessage());
+                subscribers.remove(subscriber);
+                subscriber.emitter.completeWithError(e);
+                return false;
+            }
+            if (events.isEmpty()) {
+                if (subscriber.cursor + 1 < eventBus.firstAvailableSequence()) {
+                    String expired = "Offset " + subscriber.cursor + " is no longer available";
+                    if (send(subscriber, SseEmitter.event().name("expired").data(expired))) {
+                        subscribers.remove(subscriber);
+                        subscriber.emitter.complete();
+                    }
+                    return false;
+                }
+                return true;
+            }
+            long last = events.get(events.size() - 1).sequence();
+            if (!send(subscriber, SseEmitter.event().id(Long.toString(last)).name("changes")
+                    .data(toBatch(subscriber.cursor, events, head)))) {
+                return false;
+            }
+            subscriber.cursor = last;
+        }
+        return true;
+    }
+
+    /**
+     * @return false if the client is gone or stopped reading, in which case the stream has been dropped
+     */
+    private boolean send(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (senders.send(subscriber.emitter, event, () -> subscribers.remove(subscriber))) {
+            subscriber.lastSent = System.nanoTime();
+            return true;
+        }
+        subscribers.remove(subscriber);
+        return false;
+    }
+
+    private record Waiter(long after, int limit, CompletableFuture<ChangeBatchDTO> future) {
+    }
+
+    /**
+     * An open stream. Written by one sender thread at a time, which the scheduled flag hands over.
+     */
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile long cursor;
+        private volatile long lastSent = System.nanoTime();
+        private volatile boolean heartbeatDue;
+
+        private Subscriber(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.nbr.bankingsystem.services.impl;
+
+import com.nbr.bankingsystem.DTO.CustomerResponseDTO;
+import com.nbr.bankingsystem.DTO.CustomerSearchHitDTO;
+import com.nbr.bankingsystem.DTO.CustomerSearchPageDTO;
+import com.nbr.bankingsystem.eventbus.DomainEventConsumer;
+import com.nbr.bankingsystem.events.CustomerDeleted;
+import com.nbr.bankingsystem.events.CustomerRegistered;
+import com.nbr.bankingsystem.events.CustomerUpdated;
+import com.nbr.bankingsystem.events.DomainEvent;
+import com.nbr.bankingsystem.repositories.CustomerRepository;
+import com.nbr.bankingsystem.search.CustomerSearchIndex;
+import com.nbr.bankingsystem.services.CustomerSearchService;
+import com.nbr.bankingsystem.utils.AuditLogger;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Serves customer searches from the CustomerSearchIndex.
+ *
+ * The index is loaded once at startup and then kept up to date from the customer events of the
+ * DomainEventBus, which are only published after the change has committed. The load runs on this
+ * consumer's thread before its first batch, so changes committed meanwhile are applied after it, in order,
+ * and a customer deleted during the load does not come back.
+ */
+@Service
+public class CustomerSearchServiceImpl implements CustomerSearchService, DomainEventConsumer {
+
+    /**
+     * Only the best matches are ranked; deeper pages than this are empty.
+     */
+    static final int MAX_RESULTS = 200;
+
+    private final CustomerSearchIndex customerSearchIndex;
+    private final CustomerRepository customerRepository;
+
+    public CustomerSearchServiceImpl(CustomerSearchIndex customerSearchIndex, CustomerRepository customerRepository) {
+        this.customerSearchIndex = customerSearchIndex;
+        this.customerRepository = customerRepository;
+    }
+
+    @Override
+    public CustomerSearchPageDTO search(String query, int page, int size) {
+        int limit = (int) Math.min(MAX_RESULTS, (long) (page + 1) * size);
+        List<CustomerSearchHitDTO> ranked = customerSearchIndex.search(query, limit);
+
+        int from = Math.min(ranked.size(), page * size);
+        List<CustomerSearchHitDTO> results = ranked.subList(from, Math.min(ranked.size(), from + size));
+        AuditLogger.log("SEARCH_CUSTOMERS", "Searched customers, {} matches", ranked.size());
+        return new CustomerSearchPageDTO(query, page, size, ranked.size(), List.copyOf(results));
+    }
+
+    @Override
+    public void rebuildIndex() {
+        long start = System.nanoTime();
+        List<CustomerResponseDTO> customers = customerRepository.findAllCustomers();
+        customers.forEach(customerSearchIndex::put);
+        AuditLogger.log("SEARCH_INDEX_REBUILT", "Indexed " + customerSearchIndex.size() + " customers in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    @Override
+    public String name() {
+        return "search-index";
+    }
+
+    @Override
+    public void onStart() {
+        rebuildIndex();
+    }
+
+    @Override
+    public void handle(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            if (event instanceof CustomerRegistered registered) {
+                customerSearchIndex.put(registered.customer());
+            } else if (event instanceof CustomerUpdated updated) {
+                customerSearchIndex.put(updated.customer());
+            } else if (event instanceof CustomerDeleted deleted) {
+                customerSearchIndex.remove(deleted.customerId());
+            }
+        }
+    }
+}
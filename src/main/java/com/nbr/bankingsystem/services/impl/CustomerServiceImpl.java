@@ -1,26 +1,42 @@
 package com.nbr.bankingsystem.services.impl;
 
 import com.nbr.bankingsystem.DTO.CustomerDTO;
+import com.nbr.bankingsystem.DTO.CustomerPageDTO;
+import com.nbr.bankingsystem.DTO.CustomerPageRequest;
+import com.nbr.bankingsystem.DTO.CustomerResponseDTO;
+import com.nbr.bankingsystem.DTO.CustomerSummaryDTO;
 import com.nbr.bankingsystem.DTO.CustomerUpdateDTO;
+import com.nbr.bankingsystem.config.datasource.ReadYourWritesTracker;
+import com.nbr.bankingsystem.enums.CurrencyCode;
+import com.nbr.bankingsystem.enums.CustomerSortField;
 import com.nbr.bankingsystem.enums.Role;
+import com.nbr.bankingsystem.eventbus.DomainEventBus;
+import com.nbr.bankingsystem.events.CustomerDeleted;
+import com.nbr.bankingsystem.events.CustomerRegistered;
+import com.nbr.bankingsystem.events.CustomerUpdated;
 import com.nbr.bankingsystem.exceptions.DuplicateEmailException;
-import com.nbr.bankingsystem.exceptions.InvalidEmailException;
-import com.nbr.bankingsystem.exceptions.InvalidPhoneNumberException;
+import com.nbr.bankingsystem.exceptions.InvalidCursorException;
 import com.nbr.bankingsystem.exceptions.ResourceNotFoundException;
 import com.nbr.bankingsystem.models.Customer;
 import com.nbr.bankingsystem.models.UserModel;
+import com.nbr.bankingsystem.repositories.CustomerQueryRepository;
 import com.nbr.bankingsystem.repositories.CustomerRepository;
 import com.nbr.bankingsystem.repositories.UserRepository;
+import com.nbr.bankingsystem.services.AuthenticationService;
 import com.nbr.bankingsystem.services.CustomerService;
-import com.nbr.bankingsystem.services.MessagingService;
+import com.nbr.bankingsystem.services.NotificationPreferenceService;
+import com.nbr.bankingsystem.services.PasswordHashingService;
 import com.nbr.bankingsystem.utils.AuditLogger;
 import com.nbr.bankingsystem.utils.DateUtil;
-import com.nbr.bankingsystem.utils.ValidationUtil;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import com.nbr.bankingsystem.utils.EnumConverter;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
 import java.util.Optional;
 import java.util.Random;
@@ -30,45 +46,58 @@ public class CustomerServiceImpl implements CustomerService {
 
     private final CustomerRepository customerRepository;
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
-    private final MessagingService messagingService;
+    private final PasswordHashingService passwordHashingService;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final TransactionTemplate transactionTemplate;
+    private final NotificationPreferenceService notificationPreferenceService;
+    private final DomainEventBus eventBus;
+    private final AuthenticationService authenticationService;
 
     public CustomerServiceImpl(CustomerRepository customerRepository, UserRepository userRepository,
-                               PasswordEncoder passwordEncoder, MessagingService messagingService) {
+                               PasswordHashingService passwordHashingService, ReadYourWritesTracker readYourWritesTracker,
+                               TransactionTemplate transactionTemplate, NotificationPreferenceService notificationPreferenceService,
+                               DomainEventBus eventBus, AuthenticationService authenticationService) {
         this.customerRepository = customerRepository;
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
-        this.messagingService = messagingService;
+        this.passwordHashingService = passwordHashingService;
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.transactionTemplate = transactionTemplate;
+        this.notificationPreferenceService = notificationPreferenceService;
+        this.eventBus = eventBus;
+        this.authenticationService = authenticationService;
     }
 
+    /**
+     * Not annotated with @Transactional: the password is hashed before the transaction starts,
+     * so no database connection is held while BCrypt runs.
+     * The email, mobile and date formats were already checked when the CustomerDTO was validated.
+     */
     @Override
-    @Transactional
-    public Customer createCustomer(CustomerDTO customerDTO) {
-        if (!ValidationUtil.isValidMobile(customerDTO.getMobile())) {
-            AuditLogger.log("CREATE_CUSTOMER_FAILED", "Invalid mobile number format for mobile: " + customerDTO.getMobile());
-            throw new InvalidPhoneNumberException("Invalid mobile number format");
-        }
-
-        if (!ValidationUtil.isValidEmail(customerDTO.getEmail())) {
-            AuditLogger.log("CREATE_CUSTOMER_FAILED", "Invalid email format: " + customerDTO.getEmail());
-            throw new InvalidEmailException("Invalid email format");
-        }
-
+    public CustomerResponseDTO createCustomer(CustomerDTO customerDTO) {
         Optional<Customer> existingCustomerByEmail = customerRepository.findByEmail(customerDTO.getEmail());
         if (existingCustomerByEmail.isPresent()) {
-            AuditLogger.log("CREATE_CUSTOMER_FAILED", "Email already exists: " + customerDTO.getEmail());
+            AuditLogger.log("CREATE_CUSTOMER_FAILED", "Email already exists: {}", customerDTO.getEmail());
             throw new DuplicateEmailException("Email already exists: " + customerDTO.getEmail());
         }
 
         Optional<Customer> existingCustomerByMobile = customerRepository.findByMobile(customerDTO.getMobile());
         if (existingCustomerByMobile.isPresent()) {
-            AuditLogger.log("CREATE_CUSTOMER_FAILED", "Mobile number already exists: " + customerDTO.getMobile());
+            AuditLogger.log("CREATE_CUSTOMER_FAILED", "Mobile number already exists: {}", customerDTO.getMobile());
             throw new DuplicateEmailException("Mobile number already exists: " + customerDTO.getMobile());
         }
 
+        CurrencyCode currency = customerDTO.getCurrency() == null
+                ? CurrencyCode.RWF
+                : EnumConverter.toCurrencyCode(customerDTO.getCurrency());
+        String passwordHash = passwordHashingService.encode(customerDTO.getPassword());
+
+        return transactionTemplate.execute(status -> saveNewCustomer(customerDTO, currency, passwordHash));
+    }
+
+    private CustomerResponseDTO saveNewCustomer(CustomerDTO customerDTO, CurrencyCode currency, String passwordHash) {
         UserModel userModel = new UserModel();
         userModel.setEmail(customerDTO.getEmail());
-        userModel.setPassword(passwordEncoder.encode(customerDTO.getPassword()));
+        userModel.setPassword(passwordHash);
         userModel.setRole(Role.CUSTOMER);
         UserModel savedUserModel = userRepository.save(userModel);
 
@@ -80,42 +109,32 @@ public class CustomerServiceImpl implements CustomerService {
         customer.setAccount(generateAccountNumber());
         customer.setDob(DateUtil.toDate(customerDTO.getDob()));
         customer.setBalance(0.0);
+        customer.setCurrency(currency);
         customer.setLastUpdateTime(LocalDateTime.now());
         customer.setUserModel(savedUserModel);
 
         Customer savedCustomer = customerRepository.save(customer);
-        AuditLogger.log("CREATE_CUSTOMER", "Created customer with ID: " + savedCustomer.getId());
-
-        String message = String.format("Dear %s %s,\n\nThank you for trusting our bank and creating an account. Your new account number is %s.\n\nBest regards,\nNational Bank of Rwanda",
-                customer.getFirstName(), customer.getLastName(), customer.getAccount());
-        messagingService.sendTransactionMessage(customer.getEmail(), message, savedCustomer.getId());
+        AuditLogger.log("CREATE_CUSTOMER", "Created customer with ID: {}", savedCustomer.getId());
 
-        return savedCustomer;
+        // the welcome notification is sent by the notifications consumer once this has committed
+        CustomerResponseDTO created = CustomerResponseDTO.fromEntity(savedCustomer);
+        eventBus.publishAfterCommit(new CustomerRegistered(created));
+        return created;
     }
 
     @Override
     @Transactional
-    public Customer updateCustomer(Long id, CustomerUpdateDTO customerUpdateDTO) {
+    public CustomerResponseDTO updateCustomer(Long id, CustomerUpdateDTO customerUpdateDTO) {
         Customer customer = customerRepository.findById(id)
                 .orElseThrow(() -> {
-                    AuditLogger.log("UPDATE_CUSTOMER_FAILED", "Customer not found with id " + id);
+                    AuditLogger.log("UPDATE_CUSTOMER_FAILED", "Customer not found with id {}", id);
                     return new ResourceNotFoundException("Customer not found with id " + id);
                 });
 
-        if (customerUpdateDTO.getMobile() != null && !ValidationUtil.isValidMobile(customerUpdateDTO.getMobile())) {
-            AuditLogger.log("UPDATE_CUSTOMER_FAILED", "Invalid mobile number format for mobile: " + customerUpdateDTO.getMobile());
-            throw new InvalidPhoneNumberException("Invalid mobile number format");
-        }
-
-        if (customerUpdateDTO.getEmail() != null && !ValidationUtil.isValidEmail(customerUpdateDTO.getEmail())) {
-            AuditLogger.log("UPDATE_CUSTOMER_FAILED", "Invalid email format: " + customerUpdateDTO.getEmail());
-            throw new InvalidEmailException("Invalid email format");
-        }
-
         if (customerUpdateDTO.getEmail() != null) {
             Optional<Customer> existingCustomerByEmail = customerRepository.findByEmail(customerUpdateDTO.getEmail());
             if (existingCustomerByEmail.isPresent() && !existingCustomerByEmail.get().getId().equals(id)) {
-                AuditLogger.log("UPDATE_CUSTOMER_FAILED", "Email already exists: " + customerUpdateDTO.getEmail());
+                AuditLogger.log("UPDATE_CUSTOMER_FAILED", "Email already exists: {}", customerUpdateDTO.getEmail());
                 throw new DuplicateEmailException("Email already exists: " + customerUpdateDTO.getEmail());
             }
         }
@@ -123,7 +142,7 @@ public class CustomerServiceImpl implements CustomerService {
         if (customerUpdateDTO.getMobile() != null) {
             Optional<Customer> existingCustomerByMobile = customerRepository.findByMobile(customerUpdateDTO.getMobile());
             if (existingCustomerByMobile.isPresent() && !existingCustomerByMobile.get().getId().equals(id)) {
-                AuditLogger.log("UPDATE_CUSTOMER_FAILED", "Mobile number already exists: " + customerUpdateDTO.getMobile());
+                AuditLogger.log("UPDATE_CUSTOMER_FAILED", "Mobile number already exists: {}", customerUpdateDTO.getMobile());
                 throw new DuplicateEmailException("Mobile number already exists: " + customerUpdateDTO.getMobile());
             }
         }
@@ -146,62 +165,137 @@ public class CustomerServiceImpl implements CustomerService {
         customer.setLastUpdateTime(LocalDateTime.now());
 
         Customer updatedCustomer = customerRepository.save(customer);
-        AuditLogger.log("UPDATE_CUSTOMER", "Updated customer with ID: " + updatedCustomer.getId());
+        readYourWritesTracker.recordWriteAfterCommit(customer.getUserModel().getEmail());
+        AuditLogger.log("UPDATE_CUSTOMER", "Updated customer with ID: {}", updatedCustomer.getId());
 
-        return updatedCustomer;
+        CustomerResponseDTO updated = CustomerResponseDTO.fromEntity(updatedCustomer);
+        eventBus.publishAfterCommit(new CustomerUpdated(updated));
+        return updated;
     }
 
 
     @Override
-    public Customer getCustomerById(Long id) {
-        Customer customer = customerRepository.findById(id)
+    @Transactional(readOnly = true)
+    public CustomerResponseDTO getCustomerById(Long id) {
+        CustomerResponseDTO customer = customerRepository.findCustomerById(id)
                 .orElseThrow(() -> {
-                    AuditLogger.log("GET_CUSTOMER_FAILED", "Customer not found with id " + id);
+                    AuditLogger.log("GET_CUSTOMER_FAILED", "Customer not found with id {}", id);
                     return new ResourceNotFoundException("Customer not found with id " + id);
                 });
-        AuditLogger.log("GET_CUSTOMER", "Fetched customer with ID: " + customer.getId());
+        AuditLogger.log("GET_CUSTOMER", "Fetched customer with ID: {}", customer.getId());
         return customer;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public LocalDateTime getCustomerVersion(Long id) {
+        return customerRepository.findLastUpdateTimeById(id)
+                .orElseThrow(() -> {
+                    AuditLogger.log("GET_CUSTOMER_FAILED", "Customer not found with id {}", id);
+                    return new ResourceNotFoundException("Customer not found with id " + id);
+                });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Long findCustomerIdByEmail(String email) {
+        return customerRepository.findIdByEmail(email)
+                .orElseThrow(() -> {
+                    AuditLogger.log("FIND_CUSTOMER_ID_FAILED", "Customer not found with email: {}", email);
+                    return new ResourceNotFoundException("Customer not found with email: " + email);
+                });
+    }
+
     @Override
     @Transactional
     public void deleteCustomer(Long id) {
         Customer customer = customerRepository.findById(id)
                 .orElseThrow(() -> {
-                    AuditLogger.log("DELETE_CUSTOMER_FAILED", "Customer not found with id " + id);
+                    AuditLogger.log("DELETE_CUSTOMER_FAILED", "Customer not found with id {}", id);
                     return new ResourceNotFoundException("Customer not found with id " + id);
                 });
-        customerRepository.delete(customer);
-        AuditLogger.log("DELETE_CUSTOMER", "Deleted customer with ID: " + customer.getId());
+        notificationPreferenceService.deletePreferences(id);
+        // only the tombstone is written here; the CustomerCleanupJob anonymizes the row and purges
+        // the messages in small chunks, so the request never holds locks on the ledger
+        customer.setDeleted(true);
+        customer.setDeletedAt(LocalDateTime.now());
+        // the duplicate checks cannot see tombstones, so the email and mobile are released right away
+        customer.setEmail(Customer.deletedEmail(id));
+        customer.setMobile(Customer.deletedMobile(id));
+        customer.getUserModel().setEmail(Customer.deletedEmail(id));
+        authenticationService.disableLogin(customer.getUserModel());
+        customerRepository.save(customer);
+        eventBus.publishAfterCommit(new CustomerDeleted(id));
+        AuditLogger.log("DELETE_CUSTOMER", "Deleted customer with ID: {}", customer.getId());
     }
 
     @Override
-    public List<Customer> getAllCustomers() {
-        List<Customer> customers = customerRepository.findAll();
-        AuditLogger.log("GET_ALL_CUSTOMERS", "Fetched all customers");
-        return customers;
+    @Transactional(readOnly = true)
+    public CustomerPageDTO getAllCustomers(CustomerPageRequest pageRequest) {
+        int size = pageRequest.getSize();
+        CustomerQueryRepository.Keyset after = pageRequest.getCursor() == null || pageRequest.getCursor().isBlank()
+                ? null
+                : decodeCursor(pageRequest.getCursor(), pageRequest);
+
+        // one extra row tells whether there is a next page without counting the matches
+        List<CustomerSummaryDTO> rows = customerRepository.findCustomerPage(pageRequest, after, size + 1);
+        boolean hasMore = rows.size() > size;
+        List<CustomerSummaryDTO> customers = hasMore ? List.copyOf(rows.subList(0, size)) : rows;
+        String nextCursor = hasMore ? encodeCursor(customers.get(size - 1), pageRequest) : null;
+
+        AuditLogger.log("GET_ALL_CUSTOMERS", "Fetched {} customers sorted by {}", customers.size(), pageRequest.getSort());
+        return new CustomerPageDTO(customers, customers.size(), nextCursor);
+    }
+
+    /**
+     * Cursors are the url-safe base64 of `SORT.DIRECTION|sortValue|id`, so a cursor cannot be
+     * replayed against a different ordering.
+     */
+    private static String encodeCursor(CustomerSummaryDTO last, CustomerPageRequest pageRequest) {
+        String cursor = pageRequest.getSort() + "." + pageRequest.getDirection()
+                + "|" + pageRequest.getSort().valueOf(last) + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static CustomerQueryRepository.Keyset decodeCursor(String cursor, CustomerPageRequest pageRequest) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int first = decoded.indexOf('|');
+            int last = decoded.lastIndexOf('|');
+            CustomerSortField sort = pageRequest.getSort();
+            if (first < 0 || first == last || !decoded.substring(0, first).equals(sort + "." + pageRequest.getDirection())) {
+                throw new InvalidCursorException("The cursor does not belong to this sort order");
+            }
+            return new CustomerQueryRepository.Keyset(sort.parse(decoded.substring(first + 1, last)),
+                    Long.valueOf(decoded.substring(last + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            AuditLogger.log("GET_ALL_CUSTOMERS_FAILED", "Invalid cursor: {}", cursor);
+            throw new InvalidCursorException("Invalid cursor", e);
+        }
     }
 
     @Override
+    @Transactional(readOnly = true)
     public boolean isCustomerAssociatedWithUser(Long customerId, Long userId) {
-        Customer customer = customerRepository.findById(customerId)
+        Long customerUserId = customerRepository.findUserIdById(customerId)
                 .orElseThrow(() -> {
-                    AuditLogger.log("CHECK_ASSOCIATION_FAILED", "Customer not found with id " + customerId);
+                    AuditLogger.log("CHECK_ASSOCIATION_FAILED", "Customer not found with id {}", customerId);
                     return new ResourceNotFoundException("Customer not found with id " + customerId);
                 });
-        boolean isAssociated = customer.getUserModel().getId().equals(userId);
-        AuditLogger.log("CHECK_ASSOCIATION", "Customer association check for customer ID: " + customerId + " and user ID: " + userId + " - Result: " + isAssociated);
+        boolean isAssociated = customerUserId.equals(userId);
+        AuditLogger.log("CHECK_ASSOCIATION", "Customer association check for customer ID: {} and user ID: {} - Result: {}", customerId, userId, isAssociated);
         return isAssociated;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Long findUserIdByEmail(String email) {
         UserModel user = userRepository.findByEmail(email)
                 .orElseThrow(() -> {
-                    AuditLogger.log("FIND_USER_ID_FAILED", "User not found with email: " + email);
+                    AuditLogger.log("FIND_USER_ID_FAILED", "User not found with email: {}", email);
                     return new ResourceNotFoundException("User not found with email: " + email);
                 });
-        AuditLogger.log("FIND_USER_ID", "Found user ID: " + user.getId() + " for email: " + email);
+        AuditLogger.log("FIND_USER_ID", "Found user ID: {} for email: {}", user.getId(), email);
         return user.getId();
     }
 
@@ -0,0 +1,213 @@
+package com.nbr.bankingsystem.services.impl;
+
+import com.nbr.bankingsystem.DTO.FraudAlertDTO;
+import com.nbr.bankingsystem.DTO.TransactionResponseDTO;
+import com.nbr.bankingsystem.config.fraud.FraudProperties;
+import com.nbr.bankingsystem.enums.CurrencyCode;
+import com.nbr.bankingsystem.enums.TransactionType;
+import com.nbr.bankingsystem.eventbus.DomainEventBus;
+import com.nbr.bankingsystem.eventbus.DomainEventConsumer;
+import com.nbr.bankingsystem.events.CustomerFrozen;
+import com.nbr.bankingsystem.events.DomainEvent;
+import com.nbr.bankingsystem.events.TransactionCreated;
+import com.nbr.bankingsystem.events.TransferCompleted;
+import com.nbr.bankingsystem.exceptions.ResourceNotFoundException;
+import com.nbr.bankingsystem.fraud.CustomerProfiles;
+import com.nbr.bankingsystem.fraud.FraudScore;
+import com.nbr.bankingsystem.fraud.FraudScorer;
+import com.nbr.bankingsystem.models.FraudAlert;
+import com.nbr.bankingsystem.repositories.BankingRepository;
+import com.nbr.bankingsystem.repositories.CustomerRepository;
+import com.nbr.bankingsystem.repositories.FraudAlertRepository;
+import com.nbr.bankingsystem.services.FraudService;
+import com.nbr.bankingsystem.services.FxRateService;
+import com.nbr.bankingsystem.utils.AuditLogger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+/**
+ * Scores committed transactions for fraud and acts on the alerts.
+ *
+ * Scoring runs on this consumer's own DomainEventBus thread, which owns the profiles, so it needs no locks
+ * and adds nothing to the latency of a transaction. Throughput is published as the `fraud.events.scored`
+ * counter, whose rate is the number of events scored per second. Before the first event, the profiles
+ * are learned from the last `app.fraud.warmup-days` of transactions, including the receivers of transfers.
+ * Alerts are stored, and the customer is frozen when auto-freezing is enabled and the score is high enough.
+ * They are raised on a thread of their own: a freeze publishes a CustomerFrozen event, and the consumer thread
+ * could wait forever for itself if it published while the ring is full.
+ */
+@Service
+public class FraudServiceImpl implements FraudService, DomainEventConsumer {
+
+    private static final int INITIAL_PROFILES = 1 << 16;
+
+    private final FraudAlertRepository fraudAlertRepository;
+    private final CustomerRepository customerRepository;
+    private final BankingRepository bankingRepository;
+    private final FxRateService fxRateService;
+    private final FraudProperties fraudProperties;
+    private final DomainEventBus eventBus;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService alertExecutor;
+    private final FraudScorer scorer;
+    private final Counter scored;
+    private final Counter alerts;
+
+    public FraudServiceImpl(FraudAlertRepository fraudAlertRepository, CustomerRepository customerRepository,
+                            BankingRepository bankingRepository, FxRateService fxRateService, FraudProperties fraudProperties,
+                            DomainEventBus eventBus, TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.fraudAlertRepository = fraudAlertRepository;
+        this.customerRepository = customerRepository;
+        this.bankingRepository = bankingRepository;
+        this.fxRateService = fxRateService;
+        this.fraudProperties = fraudProperties;
+        this.eventBus = eventBus;
+        this.transactionTemplate = transactionTemplate;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+        this.alertExecutor = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("fraud-alerts-"));
+        this.scorer = new FraudScorer(new CustomerProfiles(INITIAL_PROFILES), fraudProperties);
+        this.scored = Counter.builder("fraud.events.scored").register(meterRegistry);
+        this.alerts = Counter.builder("fraud.alerts").register(meterRegistry);
+        Gauge.builder("fraud.profiles", scorer, FraudScorer::profileCount).register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        alertExecutor.shutdown();
+    }
+
+    @Override
+    public String name() {
+        return "fraud";
+    }
+
+    @Override
+    public void onStart() {
+        if (fraudProperties.isEnabled()) {
+            warmUp();
+        }
+    }
+
+    @Override
+    public void handle(List<DomainEvent> events) {
+        if (!fraudProperties.isEnabled()) {
+            return;
+        }
+        int count = 0;
+        for (DomainEvent event : events) {
+            if (event instanceof TransactionCreated created) {
+                score(created.transactionId(), created.holder().customerId(), created.type(),
+                        toRwf(created.amount(), created.currency()), null, created.bankingDateTime());
+                count++;
+            } else if (event instanceof TransferCompleted transfer) {
+                score(transfer.transactionId(), transfer.sender().customerId(), TransactionType.TRANSFER,
+                        toRwf(transfer.amount(), transfer.currency()), transfer.receiver().customerId(),
+                        transfer.bankingDateTime());
+                count++;
+            }
+        }
+        scored.increment(count);
+    }
+
+    @Override
+    public List<FraudAlertDTO> getAlerts(Long customerId, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        List<FraudAlert> alerts = customerId == null
+                ? fraudAlertRepository.findAllByOrderByIdDesc(page)
+                : fraudAlertRepository.findByCustomerIdOrderByIdDesc(customerId, page);
+        AuditLogger.log("GET_FRAUD_ALERTS", "Fetched {} fraud alerts", alerts.size());
+        return alerts.stream().map(FraudAlertDTO::fromEntity).toList();
+    }
+
+    @Override
+    public void setFrozen(Long customerId, boolean frozen) {
+        Integer updated = transactionTemplate.execute(status -> {
+            int rows = customerRepository.updateFrozen(customerId, frozen);
+            if (rows > 0) {
+                eventBus.publishAfterCommit(new CustomerFrozen(customerId, frozen));
+            }
+            return rows;
+        });
+        if (updated == null || updated == 0) {
+            AuditLogger.log("FREEZE_CUSTOMER_FAILED", "Customer not found with ID: {}", customerId);
+            throw new ResourceNotFoundException("Customer not found with ID: " + customerId);
+        }
+        AuditLogger.log(frozen ? "FREEZE_CUSTOMER" : "UNFREEZE_CUSTOMER", "Customer ID: {}", customerId);
+    }
+
+    private void score(Long transactionId, Long customerId, TransactionType type, double amountRwf, Long receiverId,
+                       LocalDateTime bankingDateTime) {
+        try {
+            long at = bankingDateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            FraudScore score = scorer.score(customerId, type, amountRwf, receiverId, at);
+            if (score.score() >= fraudProperties.getAlertThreshold()) {
+                alerts.increment();
+                alertExecutor.execute(() -> raiseAlert(transactionId, customerId, score));
+            }
+        } catch (RuntimeException e) {
+            AuditLogger.log("FRAUD_SCORING_FAILED", "Transaction ID: {} - {}", transactionId, e.getMessage());
+        }
+    }
+
+    /**
+     * Called for every transaction scoring above the alert threshold, on the alert thread.
+     * The freeze, the alert and the event all commit or roll back together.
+     */
+    private void raiseAlert(Long transactionId, Long customerId, FraudScore score) {
+        boolean freeze = fraudProperties.isFreezeEnabled() && score.score() >= fraudProperties.getFreezeThreshold();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (freeze && customerRepository.updateFrozen(customerId, true) > 0) {
+                    eventBus.publishAfterCommit(new CustomerFrozen(customerId, true));
+                }
+                fraudAlertRepository.save(new FraudAlert(null, customerId, transactionId, score.score(),
+                        score.reasons(), freeze, null));
+            });
+        } catch (RuntimeException e) {
+            AuditLogger.log("FRAUD_ALERT_FAILED", "Transaction ID: {} - {}", transactionId, e.getMessage());
+            return;
+        }
+        AuditLogger.log("FRAUD_ALERT", "Transaction ID: {} of customer ID: {} scored {} ({}){}", transactionId,
+                customerId, score.score(), score.reasons(), freeze ? ", customer frozen" : "");
+    }
+
+    private void warmUp() {
+        long start = System.nanoTime();
+        LocalDateTime since = LocalDateTime.now().minusDays(fraudProperties.getWarmupDays());
+        Integer learned = readOnlyTransaction.execute(status -> {
+            int count = 0;
+            try (Stream<TransactionResponseDTO> transactions = bankingRepository.streamTransactionsSince(since)) {
+                Iterator<TransactionResponseDTO> iterator = transactions.iterator();
+                while (iterator.hasNext()) {
+                    TransactionResponseDTO transaction = iterator.next();
+                    scorer.learn(transaction.getCustomerId(), toRwf(transaction.getAmount(), transaction.getCurrency()),
+                            transaction.getReceiverId());
+                    count++;
+                }
+            }
+            return count;
+        });
+        AuditLogger.log("FRAUD_PROFILES_LOADED", "Learned {} transactions of {} customers in {} ms", learned,
+                scorer.profileCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private double toRwf(double amount, CurrencyCode currency) {
+        return currency == null || currency == CurrencyCode.RWF ? amount : amount * fxRateService.getRate(currency, CurrencyCode.RWF);
+    }
+}
@@ -0,0 +1,107 @@
+package com.nbr.bankingsystem.services.impl;
+
+import com.nbr.bankingsystem.DTO.FxRateDTO;
+import com.nbr.bankingsystem.config.fx.FxProperties;
+import com.nbr.bankingsystem.enums.CurrencyCode;
+import com.nbr.bankingsystem.exceptions.FxRateUnavailableException;
+import com.nbr.bankingsystem.exceptions.UnsupportedCurrencyException;
+import com.nbr.bankingsystem.fx.FxRateTable;
+import com.nbr.bankingsystem.models.FxRate;
+import com.nbr.bankingsystem.repositories.FxRateRepository;
+import com.nbr.bankingsystem.services.FxRateService;
+import com.nbr.bankingsystem.utils.AuditLogger;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Keeps the exchange rates in an immutable FxRateTable held by an AtomicReference.
+ *
+ * Transfers read the current table without locking or I/O. The rates live in the fx_rate table;
+ * they are loaded on startup, reloaded periodically so every node picks up changes made through
+ * another one, and reloaded right away on the node where an admin changes a rate. Until the first
+ * load only same-currency operations are possible.
+ */
+@Service
+public class FxRateServiceImpl implements FxRateService {
+
+    private final FxRateRepository fxRateRepository;
+    private final FxProperties fxProperties;
+    private final AtomicReference<FxRateTable> rates = new AtomicReference<>(FxRateTable.of(Map.of()));
+
+    public FxRateServiceImpl(FxRateRepository fxRateRepository, FxProperties fxProperties) {
+        this.fxRateRepository = fxRateRepository;
+        this.fxProperties = fxProperties;
+    }
+
+    @Override
+    public double getRate(CurrencyCode from, CurrencyCode to) {
+        double rate = rates.get().rate(from, to);
+        if (Double.isNaN(rate)) {
+            AuditLogger.log("FX_RATE_UNAVAILABLE", "No exchange rate loaded from {} to {}", from, to);
+            throw new FxRateUnavailableException("No exchange rate available from " + from + " to " + to);
+        }
+        return rate;
+    }
+
+    @Override
+    public List<FxRateDTO> getRates() {
+        FxRateTable table = rates.get();
+        List<FxRateDTO> result = new ArrayList<>();
+        for (CurrencyCode from : CurrencyCode.values()) {
+            for (CurrencyCode to : CurrencyCode.values()) {
+                if (from != to && table.hasRate(from, to)) {
+                    result.add(new FxRateDTO(from, to, table.rate(from, to), table.getLoadedAt()));
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<FxRateDTO> updateRate(CurrencyCode currency, double rwfPerUnit) {
+        if (currency == CurrencyCode.RWF) {
+            throw new UnsupportedCurrencyException("The rate of RWF is always 1");
+        }
+        fxRateRepository.save(new FxRate(currency, rwfPerUnit, LocalDateTime.now()));
+        AuditLogger.log("UPDATE_FX_RATE", "Set rate of {} to {} RWF", currency, rwfPerUnit);
+        reload();
+        return getRates();
+    }
+
+    /**
+     * Writes the configured initial rates of currencies without a stored rate, then loads the table.
+     * Runs before the other startup listeners, which may convert amounts.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void initialize() {
+        fxProperties.getInitialRates().forEach((currency, rwfPerUnit) -> {
+            if (currency != CurrencyCode.RWF && !fxRateRepository.existsById(currency)) {
+                fxRateRepository.save(new FxRate(currency, rwfPerUnit, LocalDateTime.now()));
+            }
+        });
+        reload();
+        AuditLogger.log("FX_RATES_LOADED", "Loaded exchange rates: {}", getRates().size());
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.fx.refresh-interval:60000}", initialDelayString = "${app.fx.refresh-interval:60000}")
+    public void reload() {
+        Map<CurrencyCode, Double> rwfPerUnit = new EnumMap<>(CurrencyCode.class);
+        for (FxRate rate : fxRateRepository.findAll()) {
+            rwfPerUnit.put(rate.getCurrency(), rate.getRwfPerUnit());
+        }
+        rates.set(FxRateTable.of(rwfPerUnit));
+    }
+}
@@ -0,0 +1,128 @@
+package com.nbr.bankingsystem.services.impl;
+
+import com.nbr.bankingsystem.DTO.TransactionResponseDTO;
+import com.nbr.bankingsystem.config.limits.LimitProperties;
+import com.nbr.bankingsystem.enums.CurrencyCode;
+import com.nbr.bankingsystem.enums.TransactionType;
+import com.nbr.bankingsystem.exceptions.LimitExceededException;
+import com.nbr.bankingsystem.limits.AccountLimits;
+import com.nbr.bankingsystem.repositories.BankingRepository;
+import com.nbr.bankingsystem.services.FxRateService;
+import com.nbr.bankingsystem.services.LimitService;
+import com.nbr.bankingsystem.utils.AuditLogger;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Enforces the account limits from the in-memory windows of AccountLimits.
+ *
+ * Amounts are converted to RWF with the cached FX rates before being checked. At startup the
+ * withdrawals and transfers of the last 24 hours are loaded from the database; transactions made
+ * while that load runs may be counted twice, which only makes the limits stricter for a moment.
+ * The load is streamed, so a busy day is never held in memory as a whole.
+ *
+ * The windows only see the transactions made through this instance. Running several instances would
+ * give every customer the limits once per instance, so limits require a single application instance.
+ */
+@Service
+public class LimitServiceImpl implements LimitService {
+
+    private final AccountLimits accountLimits;
+    private final LimitProperties limitProperties;
+    private final FxRateService fxRateService;
+    private final BankingRepository bankingRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public LimitServiceImpl(AccountLimits accountLimits, LimitProperties limitProperties, FxRateService fxRateService,
+                            BankingRepository bankingRepository, TransactionTemplate transactionTemplate) {
+        this.accountLimits = accountLimits;
+        this.limitProperties = limitProperties;
+        this.fxRateService = fxRateService;
+        this.bankingRepository = bankingRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public void reserveWithdrawal(Long customerId, double amount, CurrencyCode currency) {
+        if (!limitProperties.isEnabled()) {
+            return;
+        }
+        try {
+            releaseOnRollback(accountLimits.reserveWithdrawal(customerId, toRwf(amount, currency), System.currentTimeMillis()));
+        } catch (LimitExceededException e) {
+            AuditLogger.log("LIMIT_EXCEEDED", "{} for customer ID: {}", e.getMessage(), customerId);
+            throw e;
+        }
+    }
+
+    @Override
+    public void reserveTransfer(Long customerId, double amount, CurrencyCode currency) {
+        if (!limitProperties.isEnabled()) {
+            return;
+        }
+        try {
+            releaseOnRollback(accountLimits.reserveTransfer(customerId, toRwf(amount, currency), System.currentTimeMillis()));
+        } catch (LimitExceededException e) {
+            AuditLogger.log("LIMIT_EXCEEDED", "{} for customer ID: {}", e.getMessage(), customerId);
+            throw e;
+        }
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!limitProperties.isEnabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        LocalDateTime since = LocalDateTime.now().minusDays(1);
+        Integer loaded = readOnlyTransaction.execute(status -> {
+            int count = 0;
+            try (Stream<TransactionResponseDTO> transactions = bankingRepository.streamTransactionsSince(since)) {
+                Iterator<TransactionResponseDTO> iterator = transactions.iterator();
+                while (iterator.hasNext()) {
+                    TransactionResponseDTO transaction = iterator.next();
+                    long at = transaction.getBankingDateTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                    if (transaction.getType() == TransactionType.WITHDRAW) {
+                        accountLimits.recordWithdrawal(transaction.getCustomerId(), toRwf(transaction.getAmount(), transaction.getCurrency()), at);
+                        count++;
+                    } else if (transaction.getType() == TransactionType.TRANSFER) {
+                        accountLimits.recordTransfer(transaction.getCustomerId(), toRwf(transaction.getAmount(), transaction.getCurrency()), at);
+                        count++;
+                    }
+                }
+            }
+            return count;
+        });
+        AuditLogger.log("LIMITS_REBUILT", "Loaded {} withdrawals and transfers of the last 24 hours in {} ms",
+                loaded, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private double toRwf(double amount, CurrencyCode currency) {
+        return currency == CurrencyCode.RWF ? amount : amount * fxRateService.getRate(currency, CurrencyCode.RWF);
+    }
+
+    private static void releaseOnRollback(AccountLimits.Reservation reservation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    reservation.release();
+                }
+            }
+        });
+    }
+}
@@ -1,73 +1,199 @@
-package com.nbr.bankingsystem.services.impl;
-
-import com.nbr.bankingsystem.exceptions.ResourceNotFoundException;
-import com.nbr.bankingsystem.models.Customer;
-import com.nbr.bankingsystem.models.Message;
-import com.nbr.bankingsystem.repositories.CustomerRepository;
-import com.nbr.bankingsystem.repositories.MessageRepository;
-import com.nbr.bankingsystem.services.MessagingService;
-import com.nbr.bankingsystem.utils.AuditLogger;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.stereotype.Service;
-
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-
-@Service
-public class MessagingServiceImpl implements MessagingService {
-
-    private final JavaMailSender mailSender;
-    private final MessageRepository messageRepository;
-    private final CustomerRepository customerRepository;
-
-    public MessagingServiceImpl(JavaMailSender mailSender, MessageRepository messageRepository, CustomerRepository customerRepository) {
-        this.mailSender = mailSender;
-        this.messageRepository = messageRepository;
-        this.customerRepository = customerRepository;
-    }
-
-    @Override
-    public void sendTransactionMessage(String email, String message, Long customerId) {
-        // Fetch customer
-        Customer customer = customerRepository.findById(customerId)
-                .orElseThrow(() -> {
-                    AuditLogger.log("SEND_MESSAGE_FAILED", "Customer not found with id: " + customerId);
-                    return new ResourceNotFoundException("Customer not found with id: " + customerId);
-                });
-
-        // Format the date-time
-        LocalDateTime now = LocalDateTime.now();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-        String formattedDateTime = now.format(formatter);
-
-        // Create email content
-        String emailContent = String.format(
-                """
-                        Dear %s %s,
-
-                        Your saving of %.2f on your account %s has been completed at %s successfully.
-
-                        Best regards,
-                        National Bank of Rwanda""",
-                customer.getFirstName(), customer.getLastName(),
-                customer.getBalance(), customer.getAccount(), formattedDateTime
-        );
-
-        // Send email
-        SimpleMailMessage mailMessage = new SimpleMailMessage();
-        mailMessage.setTo(email);
-        mailMessage.setSubject("National Bank of Rwanda - Account Transactions");
-        mailMessage.setText(emailContent);
-        mailSender.send(mailMessage);
-        AuditLogger.log("SEND_EMAIL", "Sent email to: " + email);
-
-        // Log message in Message table
-        Message messageEntity = new Message();
-        messageEntity.setCustomer(customer);
-        messageEntity.setMessage(emailContent);
-        messageEntity.setMessageDateTime(now);
-        messageRepository.save(messageEntity);
-        AuditLogger.log("LOG_MESSAGE", "Logged message for customer ID: " + customerId);
-    }
-}
+package com.nbr.bankingsystem.services.impl;
+
+import com.nbr.bankingsystem.config.notifications.NotificationProperties;
+import com.nbr.bankingsystem.models.Customer;
+import com.nbr.bankingsystem.models.Message;
+import com.nbr.bankingsystem.models.PendingDigest;
+import com.nbr.bankingsystem.notifications.DeliveryMode;
+import com.nbr.bankingsystem.notifications.NotificationRecipient;
+import com.nbr.bankingsystem.notifications.channel.ChannelType;
+import com.nbr.bankingsystem.notifications.channel.NotificationDispatcher;
+import com.nbr.bankingsystem.notifications.template.NotificationTemplateEngine;
+import com.nbr.bankingsystem.notifications.template.RenderedNotification;
+import com.nbr.bankingsystem.notifications.template.TemplateId;
+import com.nbr.bankingsystem.notifications.template.TemplateParametersConverter;
+import com.nbr.bankingsystem.repositories.CustomerRepository;
+import com.nbr.bankingsystem.repositories.MessageRepository;
+import com.nbr.bankingsystem.repositories.PendingDigestRepository;
+import com.nbr.bankingsystem.services.MessagingService;
+import com.nbr.bankingsystem.services.NotificationPreferenceService;
+import com.nbr.bankingsystem.utils.AuditLogger;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Notifications on channels where the customer chose DIGEST are added right away to the customer's
+ * PendingDigest row. NotificationEventConsumer does so in its own transaction after the change has
+ * committed, and replays it from the event journal after a crash, so none of them is lost.
+ * The digest job later records each digest as a single Message; a busy account thus adds one Message
+ * row per digest window instead of one per notification.
+ */
+@Service
+public class MessagingServiceImpl implements MessagingService {
+
+    private static final int DIGESTS_PER_FLUSH = 500;
+    private static final TemplateParametersConverter PARAMETERS_CONVERTER = new TemplateParametersConverter();
+
+    private final MessageRepository messageRepository;
+    private final PendingDigestRepository pendingDigestRepository;
+    private final CustomerRepository customerRepository;
+    private final NotificationTemplateEngine templateEngine;
+    private final NotificationDispatcher notificationDispatcher;
+    private final NotificationPreferenceService notificationPreferenceService;
+    private final TransactionTemplate transactionTemplate;
+    private final Locale locale;
+    private final Duration digestWindow;
+    private final int digestMaxItems;
+
+    public MessagingServiceImpl(MessageRepository messageRepository, PendingDigestRepository pendingDigestRepository,
+                                CustomerRepository customerRepository, NotificationTemplateEngine templateEngine, NotificationDispatcher notificationDispatcher,
+                                NotificationPreferenceService notificationPreferenceService, TransactionTemplate transactionTemplate,
+                                NotificationProperties notificationProperties) {
+        this.messageRepository = messageRepository;
+        this.pendingDigestRepository = pendingDigestRepository;
+        this.customerRepository = customerRepository;
+        this.templateEngine = templateEngine;
+        this.notificationDispatcher = notificationDispatcher;
+        this.notificationPreferenceService = notificationPreferenceService;
+        this.transactionTemplate = transactionTemplate;
+        this.locale = notificationProperties.getLocale();
+        this.digestWindow = notificationProperties.getDigest().getWindow();
+        this.digestMaxItems = notificationProperties.getDigest().getMaxItems();
+    }
+
+    @Override
+    public void sendNotification(NotificationRecipient recipient, TemplateId templateId, String... parameters) {
+        Map<ChannelType, DeliveryMode> modes = notificationPreferenceService.getDeliveryModes(recipient.customerId());
+        Set<ChannelType> immediate = EnumSet.noneOf(ChannelType.class);
+        Set<ChannelType> digest = EnumSet.noneOf(ChannelType.class);
+        for (ChannelType channel : notificationDispatcher.enabledChannels()) {
+            DeliveryMode mode = modes.get(channel);
+            if (mode == DeliveryMode.DIGEST && templateId.isDigestible()) {
+                digest.add(channel);
+            } else if (mode != DeliveryMode.OFF) {
+                immediate.add(channel);
+            }
+        }
+
+        if (!digest.isEmpty()) {
+            String line = "- " + templateEngine.renderLine(templateId, locale, parameters);
+            if (line.length() > PendingDigest.MAX_ITEMS_LENGTH) {
+                line = line.substring(0, PendingDigest.MAX_ITEMS_LENGTH);
+            }
+            pendingDigestRepository.addItem(recipient.customerId(), LocalDateTime.now(), templateId.name(),
+                    PARAMETERS_CONVERTER.convertToDatabaseColumn(parameters), line, digestMaxItems, PendingDigest.MAX_ITEMS_LENGTH);
+        }
+        if (!immediate.isEmpty()) {
+            recordMessage(recipient.customerId(), templateId, parameters);
+            RenderedNotification notification = templateEngine.render(templateId, locale, parameters);
+            afterCommit(() -> notificationDispatcher.dispatch(recipient, notification, immediate));
+        }
+    }
+
+    @Override
+    public int flushDigests() {
+        LocalDateTime openedBefore = LocalDateTime.now().minus(digestWindow);
+        List<Long> customerIds = pendingDigestRepository.findCustomersWithDigestDue(openedBefore, PageRequest.of(0, DIGESTS_PER_FLUSH));
+        int sent = 0;
+        for (Long customerId : customerIds) {
+            try {
+                Boolean digestSent = transactionTemplate.execute(status -> sendDigest(customerId));
+                if (Boolean.TRUE.equals(digestSent)) {
+                    sent++;
+                }
+            } catch (RuntimeException e) {
+                AuditLogger.log("SEND_DIGEST_FAILED", "Customer ID: {} - {}", customerId, e.getMessage());
+            }
+        }
+        return sent;
+    }
+
+    /**
+     * Records the pending digest of a customer as one message and removes it, all in one transaction;
+     * the digest is dispatched once it has committed.
+     *
+     * @return true if a digest was sent
+     */
+    private boolean sendDigest(Long customerId) {
+        Optional<PendingDigest> pending = pendingDigestRepository.lockByCustomerId(customerId);
+        if (pending.isEmpty()) {
+            // sent by another node in the meantime
+            return false;
+        }
+        PendingDigest digest = pending.get();
+        pendingDigestRepository.delete(digest);
+
+        Optional<Customer> customer = customerRepository.findById(customerId);
+        Set<ChannelType> channels = EnumSet.noneOf(ChannelType.class);
+        Map<ChannelType, DeliveryMode> modes = notificationPreferenceService.getDeliveryModes(customerId);
+        for (ChannelType channel : notificationDispatcher.enabledChannels()) {
+            if (modes.get(channel) == DeliveryMode.DIGEST) {
+                channels.add(channel);
+            }
+        }
+        if (customer.isEmpty() || channels.isEmpty()) {
+            // deleted customer, or digests were switched off while these were waiting
+            return false;
+        }
+
+        TemplateId templateId;
+        String[] parameters;
+        if (digest.getItemCount() == 1) {
+            templateId = digest.getFirstTemplateId();
+            parameters = templateId.completeParameters(digest.getFirstParameters());
+        } else {
+            templateId = TemplateId.DIGEST;
+            parameters = new String[]{customer.get().getFirstName(), customer.get().getLastName(),
+                    String.valueOf(digest.getItemCount()), digest.getItems()};
+        }
+
+        recordMessage(customerId, templateId, parameters);
+        NotificationRecipient recipient = new NotificationRecipient(customerId, customer.get().getEmail(), customer.get().getMobile());
+        RenderedNotification notification = templateEngine.render(templateId, locale, parameters);
+        afterCommit(() -> notificationDispatcher.dispatch(recipient, notification, channels));
+        AuditLogger.log("SEND_DIGEST", "Sent digest of " + digest.getItemCount() + " notifications to customer ID: "
+                + customerId + " on " + channels);
+        return true;
+    }
+
+    private void recordMessage(Long customerId, TemplateId templateId, String[] parameters) {
+        // Log message in Message table; the caller already loaded the customer, a reference is enough
+        Message messageEntity = new Message();
+        messageEntity.setCustomer(customerRepository.getReferenceById(customerId));
+        messageEntity.setTemplateId(templateId);
+        messageEntity.setLocale(locale.getLanguage());
+        messageEntity.setParameters(parameters);
+        messageEntity.setMessageDateTime(LocalDateTime.now());
+        messageRepository.save(messageEntity);
+        AuditLogger.log("LOG_MESSAGE", "Logged message for customer ID: {}", customerId);
+    }
+
+    /**
+     * Runs the action once the current transaction has committed, or immediately outside a transaction,
+     * so customers are only notified about changes that were actually committed.
+     */
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
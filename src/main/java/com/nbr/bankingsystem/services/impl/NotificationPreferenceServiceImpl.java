@@ -0,0 +1,126 @@
+package com.nbr.bankingsystem.services.impl;
+
+import com.nbr.bankingsystem.DTO.NotificationPreferenceDTO;
+import com.nbr.bankingsystem.config.notifications.NotificationProperties;
+import com.nbr.bankingsystem.exceptions.ResourceNotFoundException;
+import com.nbr.bankingsystem.models.NotificationPreference;
+import com.nbr.bankingsystem.notifications.DeliveryMode;
+import com.nbr.bankingsystem.notifications.channel.ChannelType;
+import com.nbr.bankingsystem.repositories.CustomerRepository;
+import com.nbr.bankingsystem.repositories.NotificationPreferenceRepository;
+import com.nbr.bankingsystem.services.NotificationPreferenceService;
+import com.nbr.bankingsystem.utils.AuditLogger;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class NotificationPreferenceServiceImpl implements NotificationPreferenceService {
+
+    private static final long CACHE_TTL_MILLIS = 60_000;
+    private static final int CACHE_MAX_ENTRIES = 50_000;
+
+    private final NotificationPreferenceRepository notificationPreferenceRepository;
+    private final CustomerRepository customerRepository;
+    private final NotificationProperties notificationProperties;
+    private final Map<Long, CachedModes> cache = new ConcurrentHashMap<>();
+
+    public NotificationPreferenceServiceImpl(NotificationPreferenceRepository notificationPreferenceRepository,
+                                             CustomerRepository customerRepository,
+                                             NotificationProperties notificationProperties) {
+        this.notificationPreferenceRepository = notificationPreferenceRepository;
+        this.customerRepository = customerRepository;
+        this.notificationProperties = notificationProperties;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<NotificationPreferenceDTO> getPreferences(Long customerId) {
+        if (!customerRepository.existsById(customerId)) {
+            AuditLogger.log("GET_NOTIFICATION_PREFERENCES_FAILED", "Customer not found with id {}", customerId);
+            throw new ResourceNotFoundException("Customer not found with id " + customerId);
+        }
+        AuditLogger.log("GET_NOTIFICATION_PREFERENCES", "Fetched notification preferences for customer ID: {}", customerId);
+        return toDTOs(loadModes(customerId));
+    }
+
+    @Override
+    @Transactional
+    public List<NotificationPreferenceDTO> updatePreferences(Long customerId, List<NotificationPreferenceDTO> preferences) {
+        if (!customerRepository.existsById(customerId)) {
+            AuditLogger.log("UPDATE_NOTIFICATION_PREFERENCES_FAILED", "Customer not found with id {}", customerId);
+            throw new ResourceNotFoundException("Customer not found with id " + customerId);
+        }
+
+        Map<ChannelType, NotificationPreference> existing = new EnumMap<>(ChannelType.class);
+        notificationPreferenceRepository.findByCustomerId(customerId).forEach(p -> existing.put(p.getChannel(), p));
+
+        for (NotificationPreferenceDTO preference : preferences) {
+            NotificationPreference entity = existing.computeIfAbsent(preference.getChannel(),
+                    channel -> new NotificationPreference(null, customerId, channel, null));
+            entity.setMode(preference.getMode());
+            notificationPreferenceRepository.save(entity);
+        }
+
+        cache.remove(customerId);
+        AuditLogger.log("UPDATE_NOTIFICATION_PREFERENCES", "Updated notification preferences for customer ID: {}", customerId);
+        return toDTOs(loadModes(customerId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<ChannelType, DeliveryMode> getDeliveryModes(Long customerId) {
+        long now = System.currentTimeMillis();
+        CachedModes cached = cache.get(customerId);
+        if (cached != null && now - cached.loadedAt() < CACHE_TTL_MILLIS) {
+            return cached.modes();
+        }
+
+        Map<ChannelType, DeliveryMode> modes = Collections.unmodifiableMap(loadModes(customerId));
+        if (cache.size() >= CACHE_MAX_ENTRIES) {
+            cache.clear();
+        }
+        cache.put(customerId, new CachedModes(modes, now));
+        return modes;
+    }
+
+    @Override
+    @Transactional
+    public void deletePreferences(Long customerId) {
+        notificationPreferenceRepository.deleteByCustomerId(customerId);
+        cache.remove(customerId);
+        AuditLogger.log("DELETE_NOTIFICATION_PREFERENCES", "Deleted notification preferences for customer ID: {}", customerId);
+    }
+
+    private Map<ChannelType, DeliveryMode> loadModes(Long customerId) {
+        Map<ChannelType, DeliveryMode> modes = new EnumMap<>(ChannelType.class);
+        for (ChannelType channel : ChannelType.values()) {
+            modes.put(channel, defaultMode(channel));
+        }
+        notificationPreferenceRepository.findByCustomerId(customerId).forEach(p -> modes.put(p.getChannel(), p.getMode()));
+        return modes;
+    }
+
+    private DeliveryMode defaultMode(ChannelType channel) {
+        return switch (channel) {
+            case EMAIL -> notificationProperties.getEmail().getDefaultMode();
+            case SMS -> notificationProperties.getSms().getDefaultMode();
+            case PUSH -> notificationProperties.getPush().getDefaultMode();
+        };
+    }
+
+    private static List<NotificationPreferenceDTO> toDTOs(Map<ChannelType, DeliveryMode> modes) {
+        List<NotificationPreferenceDTO> preferences = new ArrayList<>();
+        modes.forEach((channel, mode) -> preferences.add(new NotificationPreferenceDTO(channel, mode)));
+        return preferences;
+    }
+
+    private record CachedModes(Map<ChannelType, DeliveryMode> modes, long loadedAt) {
+    }
+}
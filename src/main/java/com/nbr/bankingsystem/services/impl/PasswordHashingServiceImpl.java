@@ -0,0 +1,91 @@
+package com.nbr.bankingsystem.services.impl;
+
+import com.nbr.bankingsystem.config.security.PasswordHashingProperties;
+import com.nbr.bankingsystem.exceptions.PasswordHashingBusyException;
+import com.nbr.bankingsystem.services.PasswordHashingService;
+import com.nbr.bankingsystem.utils.AuditLogger;
+import jakarta.annotation.PreDestroy;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt on a fixed-size pool with a bounded queue. When the queue is full new jobs are
+ * rejected immediately, so a login storm turns into fast 503s instead of piling up on request threads.
+ */
+@Service
+public class PasswordHashingServiceImpl implements PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor passwordHashingExecutor;
+    private final long timeoutMillis;
+
+    public PasswordHashingServiceImpl(PasswordEncoder passwordEncoder, PasswordHashingProperties properties) {
+        int poolSize = properties.getPoolSize() > 0
+                ? properties.getPoolSize()
+                : Runtime.getRuntime().availableProcessors();
+
+        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingExecutor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeoutMillis = properties.getTimeout().toMillis();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        passwordHashingExecutor.shutdown();
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        try {
+            return encodeAsync(rawPassword).get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            AuditLogger.log("PASSWORD_HASHING_TIMEOUT", "Password hashing did not complete within {} ms", timeoutMillis);
+            throw new PasswordHashingBusyException("The server is busy, please try again later");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException("The server is busy, please try again later");
+        }
+    }
+
+    @Override
+    public CompletableFuture<String> encodeAsync(CharSequence rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> matchesAsync(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean needsRehash(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, passwordHashingExecutor);
+        } catch (RejectedExecutionException e) {
+            AuditLogger.log("PASSWORD_HASHING_REJECTED", "Password hashing pool is saturated");
+            return CompletableFuture.failedFuture(new PasswordHashingBusyException("The server is busy, please try again later"));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.nbr.bankingsystem.services.impl;
+
+import com.nbr.bankingsystem.DTO.AccountVolumeDTO;
+import com.nbr.bankingsystem.DTO.CurrencyTotalDTO;
+import com.nbr.bankingsystem.DTO.TransactionResponseDTO;
+import com.nbr.bankingsystem.DTO.TransactionStatisticsDTO;
+import com.nbr.bankingsystem.DTO.TransactionTypeTotalDTO;
+import com.nbr.bankingsystem.enums.CurrencyCode;
+import com.nbr.bankingsystem.eventbus.DomainEventConsumer;
+import com.nbr.bankingsystem.events.DomainEvent;
+import com.nbr.bankingsystem.events.TransactionCreated;
+import com.nbr.bankingsystem.events.TransferCompleted;
+import com.nbr.bankingsystem.repositories.BankingRepository;
+import com.nbr.bankingsystem.repositories.CustomerRepository;
+import com.nbr.bankingsystem.services.StatisticsService;
+import com.nbr.bankingsystem.statistics.TransactionStatistics;
+import com.nbr.bankingsystem.utils.AuditLogger;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Feeds the in-memory TransactionStatistics from committed transactions.
+ *
+ * At startup the totals of the transactions up to the current highest id are read from the database;
+ * events of transactions at or below that id are then ignored so nothing is counted twice.
+ * Balances of customers deleted while the service runs are not subtracted until the next restart.
+ */
+@Service
+public class StatisticsServiceImpl implements StatisticsService, DomainEventConsumer {
+
+    private static final int SEEDED_ACCOUNTS = 256;
+
+    private final TransactionStatistics transactionStatistics;
+    private final BankingRepository bankingRepository;
+    private final CustomerRepository customerRepository;
+
+    private volatile long rebuiltThroughId = Long.MAX_VALUE;
+
+    public StatisticsServiceImpl(TransactionStatistics transactionStatistics, BankingRepository bankingRepository,
+                                 CustomerRepository customerRepository) {
+        this.transactionStatistics = transactionStatistics;
+        this.bankingRepository = bankingRepository;
+        this.customerRepository = customerRepository;
+    }
+
+    @Override
+    public TransactionStatisticsDTO getStatistics(int top) {
+        TransactionStatisticsDTO statistics = transactionStatistics.snapshot(top);
+        AuditLogger.log("GET_STATISTICS", "Fetched live transaction statistics");
+        return statistics;
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        long maxId = bankingRepository.findMaxId();
+        rebuiltThroughId = maxId;
+
+        for (TransactionTypeTotalDTO total : bankingRepository.summarizeByType(maxId)) {
+            transactionStatistics.addTotals(total.getType(), total.getCurrency(), total.getCount(), total.getAmount());
+        }
+        for (CurrencyCode currency : CurrencyCode.values()) {
+            for (AccountVolumeDTO volume : bankingRepository.findTopAccountVolumes(maxId, currency, PageRequest.of(0, SEEDED_ACCOUNTS))) {
+                transactionStatistics.addAccountVolume(volume.getAccount(), currency, volume.getVolume());
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (TransactionResponseDTO transaction : bankingRepository.findTransactionsBetween(now.minusHours(1), now)) {
+            if (transaction.getId() <= maxId) {
+                transactionStatistics.recordRecent(transaction.getType(), transaction.getCurrency(), transaction.getAmount(),
+                        transaction.getBankingDateTime());
+            }
+        }
+        for (CurrencyTotalDTO balances : customerRepository.sumBalancesByCurrency()) {
+            transactionStatistics.addBalances(balances.getCurrency(), balances.getAmount());
+        }
+
+        AuditLogger.log("STATISTICS_REBUILT", "Loaded statistics of transactions up to ID " + maxId + " in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    @Override
+    public String name() {
+        return "statistics";
+    }
+
+    /**
+     * Counts committed transactions.
+     */
+    @Override
+    public void handle(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            if (event instanceof TransactionCreated created && created.transactionId() > rebuiltThroughId) {
+                transactionStatistics.record(created.holder().account(), created.type(), created.currency(), created.amount(),
+                        created.bankingDateTime());
+            } else if (event instanceof TransferCompleted transfer && transfer.transactionId() > rebuiltThroughId) {
+                transactionStatistics.recordTransfer(transfer.sender().account(), transfer.currency(), transfer.amount(),
+                        transfer.creditedCurrency(), transfer.creditedAmount(), transfer.bankingDateTime());
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.nbr.bankingsystem.statistics;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ring of per-minute buckets holding a transaction count and an amount in cents.
+ *
+ * Each slot is reused every `minutes` minutes: the first writer of a new minute swaps in a fresh
+ * bucket. Writes that race with the swap may land in the outgoing bucket and be lost, which only
+ * affects the boundary of a minute and is acceptable for live figures.
+ */
+final class MinuteRing {
+
+    private final int minutes;
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    MinuteRing(int minutes) {
+        this.minutes = minutes;
+        this.buckets = new AtomicReferenceArray<>(minutes);
+    }
+
+    void add(long epochMinute, long cents) {
+        int slot = (int) Math.floorMod(epochMinute, (long) minutes);
+        Bucket bucket = buckets.get(slot);
+        while (bucket == null || bucket.minute != epochMinute) {
+            if (bucket != null && bucket.minute > epochMinute) {
+                return; // older than the ring covers
+            }
+            Bucket fresh = new Bucket(epochMinute);
+            if (buckets.compareAndSet(slot, bucket, fresh)) {
+                bucket = fresh;
+            } else {
+                bucket = buckets.get(slot);
+            }
+        }
+        bucket.count.increment();
+        bucket.cents.add(cents);
+    }
+
+    /**
+     * Sums the buckets of the minutes in [fromMinute, toMinute].
+     *
+     * @return the count and the amount in cents
+     */
+    long[] sum(long fromMinute, long toMinute) {
+        long count = 0;
+        long cents = 0;
+        for (int i = 0; i < minutes; i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket != null && bucket.minute >= fromMinute && bucket.minute <= toMinute) {
+                count += bucket.count.sum();
+                cents += bucket.cents.sum();
+            }
+        }
+        return new long[]{count, cents};
+    }
+
+    private static final class Bucket {
+        private final long minute;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder cents = new LongAdder();
+
+        private Bucket(long minute) {
+            this.minute = minute;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.nbr.bankingsystem.statistics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving top-k sketch: tracks the heaviest keys by weight in a fixed number of counters.
+ *
+ * When a new key arrives and all counters are taken, it replaces the lightest key and inherits its
+ * weight as an over-estimation error. Any key heavier than total / capacity is guaranteed to be kept,
+ * and its reported weight is at most `error` above the true value.
+ */
+final class SpaceSavingSketch {
+
+    /**
+     * A tracked key with its estimated weight and the maximum over-estimation of that weight.
+     */
+    record Entry(String key, long weight, long error) {
+    }
+
+    private final int capacity;
+    private final Map<String, long[]> counters;
+
+    SpaceSavingSketch(int capacity) {
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    synchronized void offer(String key, long weight) {
+        long[] counter = counters.get(key);
+        if (counter != null) {
+            counter[0] += weight;
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(key, new long[]{weight, 0});
+            return;
+        }
+
+        // linear scan for the minimum; capacity is small and offers are short critical sections
+        String lightest = null;
+        long minimum = Long.MAX_VALUE;
+        for (Map.Entry<String, long[]> entry : counters.entrySet()) {
+            if (entry.getValue()[0] < minimum) {
+                minimum = entry.getValue()[0];
+                lightest = entry.getKey();
+            }
+        }
+        counters.remove(lightest);
+        counters.put(key, new long[]{minimum + weight, minimum});
+    }
+
+    synchronized List<Entry> top(int k) {
+        List<Entry> entries = new ArrayList<>(counters.size());
+        counters.forEach((key, counter) -> entries.add(new Entry(key, counter[0], counter[1])));
+        entries.sort(Comparator.comparingLong(Entry::weight).reversed());
+        return entries.size() > k ? entries.subList(0, k) : entries;
+    }
+}
@@ -0,0 +1,180 @@
+package com.nbr.bankingsystem.statistics;
+
+import com.nbr.bankingsystem.DTO.AccountVolumeDTO;
+import com.nbr.bankingsystem.DTO.CurrencyStatisticsDTO;
+import com.nbr.bankingsystem.DTO.TransactionStatisticsDTO;
+import com.nbr.bankingsystem.DTO.TransactionTypeStatisticsDTO;
+import com.nbr.bankingsystem.DTO.WindowStatisticsDTO;
+import com.nbr.bankingsystem.enums.CurrencyCode;
+import com.nbr.bankingsystem.enums.TransactionType;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Streaming aggregates over committed transactions, kept separately per currency so amounts of
+ * different currencies are never added together.
+ *
+ * Amounts are kept in cents in LongAdders, which stripe their cells across threads so concurrent
+ * transactions never contend on a single counter. Per type, a ring of per-minute buckets backs
+ * the tumbling (current and previous minute) and sliding (last 5, 15 and 60 minutes) windows.
+ * Accounts are ranked by volume with a Space-Saving sketch; an account has a single currency,
+ * so each currency ranks its own accounts.
+ *
+ * All aggregates are additive, so the startup rebuild can add the database totals on top of
+ * transactions that were already recorded live.
+ */
+@Component
+public class TransactionStatistics {
+
+    private static final int RING_MINUTES = 64;
+    private static final int TOP_ACCOUNTS_CAPACITY = 256;
+
+    private final Map<CurrencyCode, CurrencyAggregates> currencies = new EnumMap<>(CurrencyCode.class);
+
+    public TransactionStatistics() {
+        for (CurrencyCode currency : CurrencyCode.values()) {
+            currencies.put(currency, new CurrencyAggregates());
+        }
+    }
+
+    /**
+     * Records a committed saving or withdrawal.
+     */
+    public void record(String account, TransactionType type, CurrencyCode currency, double amount, LocalDateTime dateTime) {
+        CurrencyAggregates aggregates = currencies.get(currency);
+        long amountCents = toCents(amount);
+        aggregates.record(account, type, amountCents, dateTime);
+
+        if (type == TransactionType.SAVING) {
+            aggregates.balanceCents.add(amountCents);
+        } else if (type == TransactionType.WITHDRAW) {
+            aggregates.balanceCents.add(-amountCents);
+        }
+    }
+
+    /**
+     * Records a committed transfer under the currency of the sender. The money leaves the balances
+     * of the sender currency and, converted, enters those of the receiver currency.
+     */
+    public void recordTransfer(String account, CurrencyCode currency, double amount,
+                               CurrencyCode creditedCurrency, double creditedAmount, LocalDateTime dateTime) {
+        long amountCents = toCents(amount);
+        currencies.get(currency).record(account, TransactionType.TRANSFER, amountCents, dateTime);
+        currencies.get(currency).balanceCents.add(-amountCents);
+        currencies.get(creditedCurrency).balanceCents.add(toCents(creditedAmount));
+    }
+
+    /**
+     * Adds a transaction to the recent windows only, for replaying the last hour at startup.
+     */
+    public void recordRecent(TransactionType type, CurrencyCode currency, double amount, LocalDateTime dateTime) {
+        currencies.get(currency).minutes.get(type).add(epochMinute(dateTime), toCents(amount));
+    }
+
+    /**
+     * Adds database totals of a transaction type in one currency to the all-time counters.
+     */
+    public void addTotals(TransactionType type, CurrencyCode currency, long count, double amount) {
+        CurrencyAggregates aggregates = currencies.get(currency);
+        aggregates.counts.get(type).add(count);
+        aggregates.cents.get(type).add(toCents(amount));
+    }
+
+    public void addBalances(CurrencyCode currency, double amount) {
+        currencies.get(currency).balanceCents.add(toCents(amount));
+    }
+
+    public void addAccountVolume(String account, CurrencyCode currency, double volume) {
+        currencies.get(currency).topAccounts.offer(account, toCents(volume));
+    }
+
+    /**
+     * Takes a snapshot of all aggregates, one entry per currency.
+     *
+     * @param top the number of top accounts to include per currency
+     */
+    public TransactionStatisticsDTO snapshot(int top) {
+        LocalDateTime now = LocalDateTime.now();
+        long currentMinute = epochMinute(now);
+
+        List<CurrencyStatisticsDTO> byCurrency = new ArrayList<>();
+        currencies.forEach((currency, aggregates) -> byCurrency.add(aggregates.snapshot(currency, currentMinute, top)));
+        return new TransactionStatisticsDTO(now, byCurrency);
+    }
+
+    /**
+     * The aggregates of one currency.
+     */
+    private static final class CurrencyAggregates {
+
+        private final Map<TransactionType, LongAdder> counts = new EnumMap<>(TransactionType.class);
+        private final Map<TransactionType, LongAdder> cents = new EnumMap<>(TransactionType.class);
+        private final Map<TransactionType, MinuteRing> minutes = new EnumMap<>(TransactionType.class);
+        private final LongAdder balanceCents = new LongAdder();
+        private final SpaceSavingSketch topAccounts = new SpaceSavingSketch(TOP_ACCOUNTS_CAPACITY);
+
+        private CurrencyAggregates() {
+            for (TransactionType type : TransactionType.values()) {
+                counts.put(type, new LongAdder());
+                cents.put(type, new LongAdder());
+                minutes.put(type, new MinuteRing(RING_MINUTES));
+            }
+        }
+
+        private void record(String account, TransactionType type, long amountCents, LocalDateTime dateTime) {
+            counts.get(type).increment();
+            cents.get(type).add(amountCents);
+            minutes.get(type).add(epochMinute(dateTime), amountCents);
+            topAccounts.offer(account, amountCents);
+        }
+
+        private CurrencyStatisticsDTO snapshot(CurrencyCode currency, long currentMinute, int top) {
+            List<TransactionTypeStatisticsDTO> byType = new ArrayList<>();
+            for (TransactionType type : TransactionType.values()) {
+                MinuteRing ring = minutes.get(type);
+                List<WindowStatisticsDTO> windows = List.of(
+                        window("currentMinute", ring.sum(currentMinute, currentMinute)),
+                        window("previousMinute", ring.sum(currentMinute - 1, currentMinute - 1)),
+                        window("last5Minutes", ring.sum(currentMinute - 4, currentMinute)),
+                        window("last15Minutes", ring.sum(currentMinute - 14, currentMinute)),
+                        window("last60Minutes", ring.sum(currentMinute - 59, currentMinute)));
+                byType.add(new TransactionTypeStatisticsDTO(type, counts.get(type).sum(),
+                        fromCents(cents.get(type).sum()), windows));
+            }
+
+            List<AccountVolumeDTO> accounts = topAccounts.top(top).stream()
+                    .map(entry -> new AccountVolumeDTO(entry.key(), fromCents(entry.weight()), fromCents(entry.error())))
+                    .toList();
+
+            return new CurrencyStatisticsDTO(currency,
+                    fromCents(balanceCents.sum()),
+                    fromCents(cents.get(TransactionType.SAVING).sum()),
+                    fromCents(cents.get(TransactionType.WITHDRAW).sum()),
+                    fromCents(cents.get(TransactionType.TRANSFER).sum()),
+                    byType, accounts);
+        }
+    }
+
+    private static WindowStatisticsDTO window(String name, long[] countAndCents) {
+        return new WindowStatisticsDTO(name, countAndCents[0], fromCents(countAndCents[1]));
+    }
+
+    private static long epochMinute(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toEpochSecond() / 60;
+    }
+
+    private static long toCents(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    private static double fromCents(long cents) {
+        return cents / 100.0;
+    }
+}
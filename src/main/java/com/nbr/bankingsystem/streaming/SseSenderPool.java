@@ -0,0 +1,158 @@
+package com.nbr.bankingsystem.streaming;
+
+import com.nbr.bankingsystem.utils.AuditLogger;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Writes server-sent events of many streams on a few sender threads, so a client that stops reading only
+ * costs its own stream.
+ *
+ * SseEmitter.send blocks until the connection has taken the event, which a client whose receive window is
+ * full never lets happen, and the emitter stays locked meanwhile. A write still running after the write
+ * timeout is given up on: the stream is dropped through the callback passed with it, and the pool gets a
+ * spare thread for as long as the write hangs, so the other streams keep all their senders. The hanging
+ * write ends when the connection times out; its emitter is then completed if it is still open.
+ * At most maxStalledWrites spare threads are added; beyond that, stalled writes hold up the pool again.
+ *
+ * Callers run at most one task per stream at a time, so writes to one emitter never overlap.
+ */
+public final class SseSenderPool {
+
+    private final String name;
+    private final ThreadPoolExecutor senders;
+    private final ScheduledExecutorService watchdog;
+    private final long writeTimeoutNanos;
+    private final int maxStalledWrites;
+    private final Set<Write> writes = ConcurrentHashMap.newKeySet();
+    private final Counter timeouts;
+
+    /**
+     * Stalled writes that have a spare thread; guarded by this.
+     */
+    private int stalledWrites;
+
+    public SseSenderPool(String name, int threads, Duration writeTimeout, int maxStalledWrites, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.writeTimeoutNanos = writeTimeout.toNanos();
+        this.maxStalledWrites = maxStalledWrites;
+        this.senders = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new CustomizableThreadFactory(name + "-"));
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory(name + "-watchdog-"));
+        long period = Math.max(10, writeTimeout.toMillis() / 4);
+        this.watchdog.scheduleWithFixedDelay(this::giveUpStalledWrites, period, period, TimeUnit.MILLISECONDS);
+        this.timeouts = Counter.builder("sse.write.timeouts").tag("stream", name).register(meterRegistry);
+    }
+
+    public void shutdown() {
+        watchdog.shutdownNow();
+        senders.shutdownNow();
+    }
+
+    /**
+     * Runs a task, typically writing out the pending events of one stream, on a sender thread.
+     */
+    public void execute(Runnable task) {
+        senders.execute(task);
+    }
+
+    /**
+     * Sends an event from a sender thread, which waits for as long as the write takes.
+     *
+     * @param onStalled called on the watchdog thread if the write is given up on; must not touch the emitter
+     * @return false if the client is gone or the write was given up on; the stream is over either way
+     */
+    public boolean send(SseEmitter emitter, SseEmitter.SseEventBuilder event, Runnable onStalled) {
+        Write write = new Write(onStalled);
+        writes.add(write);
+        boolean sent;
+        try {
+            emitter.send(event);
+            sent = true;
+        } catch (IOException | IllegalStateException e) {
+            sent = false;
+        } finally {
+            writes.remove(write);
+        }
+        if (write.claimed.compareAndSet(false, true)) {
+            return sent;
+        }
+        release(write);
+        if (sent) {
+            // too late, the stream has been dropped; the client reconnects
+            emitter.complete();
+        }
+        return false;
+    }
+
+    private void giveUpStalledWrites() {
+        try {
+            long now = System.nanoTime();
+            for (Write write : writes) {
+                if (now - write.started >= writeTimeoutNanos && write.claimed.compareAndSet(false, true)) {
+                    timeouts.increment();
+                    AuditLogger.log("SSE_WRITE_TIMED_OUT", "Gave up on a {} write after {} ms", name,
+                            (now - write.started) / 1_000_000);
+                    // the stream is dropped before the spare thread lets the other streams move on
+                    try {
+                        write.onStalled.run();
+                    } finally {
+                        stall(write);
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            AuditLogger.log("SSE_WATCHDOG_FAILED", e.getMessage());
+        }
+    }
+
+    private synchronized void stall(Write write) {
+        if (stalledWrites < maxStalledWrites) {
+            stalledWrites++;
+            write.spareThread = true;
+            senders.setMaximumPoolSize(senders.getMaximumPoolSize() + 1);
+            senders.setCorePoolSize(senders.getCorePoolSize() + 1);
+        }
+    }
+
+    private synchronized void release(Write write) {
+        if (write.spareThread) {
+            stalledWrites--;
+            senders.setCorePoolSize(senders.getCorePoolSize() - 1);
+            senders.setMaximumPoolSize(senders.getMaximumPoolSize() - 1);
+        }
+    }
+
+    private static final class Write {
+
+        private final long started = System.nanoTime();
+        private final Runnable onStalled;
+
+        /**
+         * Set by whichever comes first: the sender finishing the write, or the watchdog giving up on it.
+         */
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        /**
+         * Guarded by the pool.
+         */
+        private boolean spareThread;
+
+        private Write(Runnable onStalled) {
+            this.onStalled = onStalled;
+        }
+    }
+}
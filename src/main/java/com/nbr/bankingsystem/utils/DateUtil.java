@@ -2,21 +2,19 @@ package com.nbr.bankingsystem.utils;
 
 import lombok.Data;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.Date;
 
 @Data
 public class DateUtil {
 
-    private static final SimpleDateFormat dateFormatter = new SimpleDateFormat("yyyy-MM-dd");
-
-    // Converts a date string to Date
+    // Converts a date string to Date; parsed without a shared SimpleDateFormat, which is not thread-safe
     public static Date toDate(String date) {
-        try {
-            return dateFormatter.parse(date);
-        } catch (ParseException e) {
+        LocalDate parsed = ValidationUtil.parseIsoDate(date);
+        if (parsed == null) {
             throw new RuntimeException("Invalid date format. Please use yyyy-MM-dd");
         }
+        return Date.from(parsed.atStartOfDay(ZoneId.systemDefault()).toInstant());
     }
 }
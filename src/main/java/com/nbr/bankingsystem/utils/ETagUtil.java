@@ -0,0 +1,36 @@
+package com.nbr.bankingsystem.utils;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Builds the strong ETags of the cacheable read endpoints.
+ *
+ * A customer (and its balance) is versioned by its lastUpdateTime, which changes on every update
+ * including balance changes; a transaction is immutable, so its id is its version. When Tomcat
+ * compresses a response it turns these into weak ETags, which conditional GETs still match.
+ */
+public final class ETagUtil {
+
+    private ETagUtil() {
+    }
+
+    public static String customer(Long id, LocalDateTime lastUpdateTime) {
+        return "\"c" + id + "-" + version(lastUpdateTime) + "\"";
+    }
+
+    public static String balance(Long customerId, LocalDateTime lastUpdateTime) {
+        return "\"b" + customerId + "-" + version(lastUpdateTime) + "\"";
+    }
+
+    public static String transaction(Long id) {
+        return "\"t" + id + "\"";
+    }
+
+    private static String version(LocalDateTime lastUpdateTime) {
+        if (lastUpdateTime == null) {
+            return "0";
+        }
+        return Long.toHexString(lastUpdateTime.toEpochSecond(ZoneOffset.UTC)) + "." + Integer.toHexString(lastUpdateTime.getNano());
+    }
+}
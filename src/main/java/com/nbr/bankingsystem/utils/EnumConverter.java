@@ -1,6 +1,8 @@
 package com.nbr.bankingsystem.utils;
 
+import com.nbr.bankingsystem.enums.CurrencyCode;
 import com.nbr.bankingsystem.enums.TransactionType;
+import com.nbr.bankingsystem.exceptions.UnsupportedCurrencyException;
 
 /**
  * Utility class for converting strings to enum values.
@@ -21,4 +23,19 @@ public class EnumConverter {
             throw new RuntimeException("Invalid transaction type: " + type);
         }
     }
+
+    /**
+     * Converts a string to a CurrencyCode enum value.
+     *
+     * @param currency the ISO code of the currency, e.g. USD
+     * @return the CurrencyCode enum value
+     * @throws UnsupportedCurrencyException if the bank holds no accounts in that currency
+     */
+    public static CurrencyCode toCurrencyCode(String currency) {
+        try {
+            return CurrencyCode.valueOf(currency.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new UnsupportedCurrencyException("Unsupported currency: " + currency);
+        }
+    }
 }
@@ -1,54 +1,132 @@
 package com.nbr.bankingsystem.utils;
 
-import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.ExceptionHandler;
-import org.springframework.web.bind.annotation.RestControllerAdvice;
 import com.nbr.bankingsystem.enums.ResponseType;
 import com.nbr.bankingsystem.exceptions.*;
 import com.nbr.bankingsystem.responses.Response;
+import jakarta.validation.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.validation.FieldError;
+import org.springframework.web.ErrorResponse;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Map;
+
+import static java.util.Map.entry;
 
-@RestControllerAdvice //global exception handler
-//Response Entity is a generic container for returning data along with an HTTP status code
+/**
+ * Global exception handler: every exception escaping a controller is turned into a Response here.
+ *
+ * Exception types are mapped to an HTTP status and ResponseType through a table. The first lookup of
+ * a class walks its superclasses against the table and the result is cached per class in a ClassValue,
+ * so later lookups are a single field read instead of a chain of instanceof checks.
+ */
+@RestControllerAdvice
 public class ExceptionHandlerUtil {
 
+    private static final Logger logger = LoggerFactory.getLogger(ExceptionHandlerUtil.class);
+
+    /**
+     * @param message a fixed message replacing the exception's, for exceptions that would leak internals
+     * @param retryAfter whether the client is told to retry after a second
+     */
+    private record ErrorMapping(HttpStatusCode status, ResponseType responseType, String message, boolean retryAfter) {
+
+        ErrorMapping(HttpStatus status, ResponseType responseType) {
+            this(status, responseType, null, false);
+        }
+    }
+
+    private static final ErrorMapping INTERNAL_ERROR = new ErrorMapping(HttpStatus.INTERNAL_SERVER_ERROR,
+            ResponseType.INTERNAL_SERVER_ERROR, "An unexpected error occurred", false);
+
+    /**
+     * Spring MVC exceptions (missing parameter, unreadable body...) carry their own status.
+     */
+    private static final ErrorMapping SPRING_ERROR_RESPONSE = new ErrorMapping(HttpStatus.BAD_REQUEST, ResponseType.BAD_REQUEST);
+
+    private static final Map<Class<? extends Throwable>, ErrorMapping> MAPPINGS = Map.ofEntries(
+            entry(ResourceNotFoundException.class, new ErrorMapping(HttpStatus.NOT_FOUND, ResponseType.RESOURCE_NOT_FOUND)),
+            entry(UsernameNotFoundException.class, new ErrorMapping(HttpStatus.NOT_FOUND, ResponseType.RESOURCE_NOT_FOUND)),
+            entry(DuplicateEmailException.class, new ErrorMapping(HttpStatus.CONFLICT, ResponseType.DUPLICATE_EMAIL)),
+            entry(DuplicateMobileNumberException.class, new ErrorMapping(HttpStatus.BAD_REQUEST, ResponseType.BAD_REQUEST)),
+            entry(InsufficientBalanceException.class, new ErrorMapping(HttpStatus.BAD_REQUEST, ResponseType.INSUFFICIENT_BALANCE)),
+            entry(AccountFrozenException.class, new ErrorMapping(HttpStatus.FORBIDDEN, ResponseType.ACCOUNT_FROZEN)),
+            entry(LimitExceededException.class, new ErrorMapping(HttpStatus.BAD_REQUEST, ResponseType.LIMIT_EXCEEDED)),
+            entry(InvalidTransactionTypeException.class, new ErrorMapping(HttpStatus.BAD_REQUEST, ResponseType.INVALID_TRANSACTION_TYPE)),
+            entry(InvalidCursorException.class, new ErrorMapping(HttpStatus.BAD_REQUEST, ResponseType.BAD_REQUEST)),
+            entry(ArchivedPeriodException.class, new ErrorMapping(HttpStatus.BAD_REQUEST, ResponseType.BAD_REQUEST)),
+            entry(ChangeOffsetExpiredException.class, new ErrorMapping(HttpStatus.GONE, ResponseType.OFFSET_EXPIRED)),
+            entry(UnsupportedCurrencyException.class, new ErrorMapping(HttpStatus.BAD_REQUEST, ResponseType.BAD_REQUEST)),
+            entry(FxRateUnavailableException.class, new ErrorMapping(HttpStatus.SERVICE_UNAVAILABLE, ResponseType.SERVICE_UNAVAILABLE)),
+            entry(AuthenticationFailedException.class, new ErrorMapping(HttpStatus.UNAUTHORIZED, ResponseType.UNAUTHORIZED)),
+            entry(PasswordHashingBusyException.class, new ErrorMapping(HttpStatus.SERVICE_UNAVAILABLE, ResponseType.SERVICE_UNAVAILABLE, null, true)),
+            entry(TooManyStreamsException.class, new ErrorMapping(HttpStatus.SERVICE_UNAVAILABLE, ResponseType.SERVICE_UNAVAILABLE, null, true)),
+            entry(AuthenticationException.class, new ErrorMapping(HttpStatus.UNAUTHORIZED, ResponseType.UNAUTHORIZED, "Authentication failed", false)),
+            entry(AccessDeniedException.class, new ErrorMapping(HttpStatus.FORBIDDEN, ResponseType.FORBIDDEN, "You have no permissions to access this endpoint.", false)),
+            entry(MethodArgumentNotValidException.class, new ErrorMapping(HttpStatus.BAD_REQUEST, ResponseType.BAD_REQUEST)),
+            entry(ConstraintViolationException.class, new ErrorMapping(HttpStatus.BAD_REQUEST, ResponseType.BAD_REQUEST)),
+            entry(DataIntegrityViolationException.class, new ErrorMapping(HttpStatus.CONFLICT, ResponseType.BAD_REQUEST, "Data integrity violation", false)));
+
+    private static final ClassValue<ErrorMapping> RESOLVED_MAPPINGS = new ClassValue<>() {
+        @Override
+        protected ErrorMapping computeValue(Class<?> type) {
+            for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                ErrorMapping mapping = MAPPINGS.get(current);
+                if (mapping != null) {
+                    return mapping;
+                }
+            }
+            return ErrorResponse.class.isAssignableFrom(type) ? SPRING_ERROR_RESPONSE : INTERNAL_ERROR;
+        }
+    };
+
     /**
      * Handles all exceptions and maps them to appropriate HTTP responses.
      *
      * @param e the exception thrown
      * @return a ResponseEntity with a custom Response object and HTTP status code
      */
-    @ExceptionHandler(Exception.class) //handles all exceptions of type Exception
-    public static ResponseEntity<Response> handleException(Exception e) {
-        if (e instanceof ResourceNotFoundException) {
-            return ResponseEntity.status(404)
-                    .body(new Response()
-                            .setResponseType(ResponseType.RESOURCE_NOT_FOUND)
-                            .setMessage(e.getMessage())
-                            .setPayload(null));
-        } else if (e instanceof DuplicateEmailException) {
-            return ResponseEntity.status(409)
-                    .body(new Response()
-                            .setResponseType(ResponseType.DUPLICATE_EMAIL)
-                            .setMessage(e.getMessage())
-                            .setPayload(null));
-        } else if (e instanceof InsufficientBalanceException) {
-            return ResponseEntity.status(400)
-                    .body(new Response()
-                            .setResponseType(ResponseType.INSUFFICIENT_BALANCE)
-                            .setMessage(e.getMessage())
-                            .setPayload(null));
-        } else if (e instanceof InvalidTransactionTypeException) {
-            return ResponseEntity.status(400)
-                    .body(new Response()
-                            .setResponseType(ResponseType.INVALID_TRANSACTION_TYPE)
-                            .setMessage(e.getMessage())
-                            .setPayload(null));
-        } else {
-            return ResponseEntity.status(500)
-                    .body(new Response()
-                            .setResponseType(ResponseType.INTERNAL_SERVER_ERROR)
-                            .setMessage(e.getMessage())
-                            .setPayload(null));
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<Response> handleException(Exception e) {
+        return toResponse(e);
+    }
+
+    /**
+     * Maps an exception to its response; also usable outside of controllers, e.g. from filters.
+     */
+    public static ResponseEntity<Response> toResponse(Throwable e) {
+        ErrorMapping mapping = RESOLVED_MAPPINGS.get(e.getClass());
+        HttpStatusCode status = mapping.status();
+        String message = mapping.message() != null ? mapping.message() : e.getMessage();
+
+        if (mapping == INTERNAL_ERROR) {
+            logger.error("Unhandled exception", e);
+        } else if (mapping == SPRING_ERROR_RESPONSE) {
+            status = ((ErrorResponse) e).getStatusCode();
+            message = ((ErrorResponse) e).getBody().getDetail();
+        } else if (e instanceof MethodArgumentNotValidException validation) {
+            FieldError error = validation.getFieldError();
+            if (error != null) {
+                message = error.getField() + ": " + error.getDefaultMessage();
+            }
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(status);
+        if (mapping.retryAfter()) {
+            response.header("Retry-After", "1");
         }
+        return response.body(new Response()
+                .setResponseType(mapping.responseType())
+                .setMessage(message)
+                .setPayload(null));
     }
 }
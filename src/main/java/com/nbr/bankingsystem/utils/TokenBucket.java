@@ -0,0 +1,55 @@
+package com.nbr.bankingsystem.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented as a generic cell rate algorithm (GCRA).
+ *
+ * Instead of a token count and a refill timestamp, the bucket only keeps the theoretical arrival time
+ * of the next request, so a request is admitted with a single compare-and-set.
+ * Used by the login rate limiter and to pace the notification channels.
+ */
+public final class TokenBucket {
+
+    private final AtomicLong theoreticalArrival;
+    private volatile long lastAccess;
+
+    public TokenBucket(long now) {
+        this.theoreticalArrival = new AtomicLong(now);
+        this.lastAccess = now;
+    }
+
+    /**
+     * Takes one token.
+     *
+     * @param now               the current time in nanoseconds
+     * @param emissionInterval  the time needed to refill one token, in nanoseconds
+     * @param burstTolerance    how far the arrival time may run ahead of now, i.e. (capacity - 1) * emissionInterval
+     * @return 0 if the request is admitted, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(long now, long emissionInterval, long burstTolerance) {
+        lastAccess = now;
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long next = Math.max(arrival, now) + emissionInterval;
+            long allowedAt = next - emissionInterval - burstTolerance;
+            if (allowedAt - now > 0) {
+                return allowedAt - now;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * A bucket that has refilled completely behaves like a new one and can be dropped.
+     */
+    public boolean isFull(long now) {
+        return theoreticalArrival.get() - now <= 0;
+    }
+
+    public long lastAccess() {
+        return lastAccess;
+    }
+}
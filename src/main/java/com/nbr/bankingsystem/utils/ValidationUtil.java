@@ -1,17 +1,122 @@
 package com.nbr.bankingsystem.utils;
 
-import java.util.regex.Pattern;
+import java.time.LocalDate;
 
+/**
+ * Hand-written validators for the formats accepted by the API.
+ *
+ * Each check is a single left-to-right pass over the input with no backtracking, so its cost is
+ * linear in the input length whatever the input is. They accept the same values as the regular
+ * expressions they replace:
+ * - mobile: ^(078|079|072|073|074)\d{7}$
+ * - email:  ^[\w-\.]+@([\w-]+\.)+[\w-]{2,4}$
+ * - date:   yyyy-MM-dd, and a real calendar date
+ *
+ * Emails are additionally capped at 254 characters, the longest address SMTP can deliver to.
+ */
 public class ValidationUtil {
 
-    private static final Pattern MOBILE_PATTERN = Pattern.compile("^(078|079|072|073|074)\\d{7}$");
-    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[\\w-\\.]+@([\\w-]+\\.)+[\\w-]{2,4}$");
+    private static final int MOBILE_LENGTH = 10;
+    private static final int MAX_EMAIL_LENGTH = 254;
 
     public static boolean isValidMobile(String mobile) {
-        return MOBILE_PATTERN.matcher(mobile).matches();
+        if (mobile == null || mobile.length() != MOBILE_LENGTH || mobile.charAt(0) != '0' || mobile.charAt(1) != '7') {
+            return false;
+        }
+        char operator = mobile.charAt(2);
+        if (operator != '8' && operator != '9' && operator != '2' && operator != '3' && operator != '4') {
+            return false;
+        }
+        for (int i = 3; i < MOBILE_LENGTH; i++) {
+            if (!isDigit(mobile.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
     }
 
     public static boolean isValidEmail(String email) {
-        return email != null && EMAIL_PATTERN.matcher(email).matches();
+        if (email == null || email.length() > MAX_EMAIL_LENGTH) {
+            return false;
+        }
+
+        int at = email.indexOf('@');
+        if (at <= 0) {
+            return false;
+        }
+        for (int i = 0; i < at; i++) {
+            char c = email.charAt(i);
+            if (!isWordChar(c) && c != '-' && c != '.') {
+                return false;
+            }
+        }
+
+        // domain: one or more "label." followed by a last label of 2 to 4 characters
+        int labels = 0;
+        int labelLength = 0;
+        for (int i = at + 1; i < email.length(); i++) {
+            char c = email.charAt(i);
+            if (c == '.') {
+                if (labelLength == 0) {
+                    return false;
+                }
+                labels++;
+                labelLength = 0;
+            } else if (isWordChar(c) || c == '-') {
+                labelLength++;
+            } else {
+                return false;
+            }
+        }
+        return labels > 0 && labelLength >= 2 && labelLength <= 4;
+    }
+
+    /**
+     * Parses a yyyy-MM-dd date without throwing.
+     *
+     * @param value the date text
+     * @return the date, or null if the text is not a valid calendar date in that format
+     */
+    public static LocalDate parseIsoDate(String value) {
+        if (value == null || value.length() != 10 || value.charAt(4) != '-' || value.charAt(7) != '-') {
+            return null;
+        }
+        int year = parseDigits(value, 0, 4);
+        int month = parseDigits(value, 5, 7);
+        int day = parseDigits(value, 8, 10);
+        if (year < 0 || month < 1 || month > 12 || day < 1) {
+            return null;
+        }
+        if (day > LocalDate.of(year, month, 1).lengthOfMonth()) {
+            return null;
+        }
+        return LocalDate.of(year, month, day);
+    }
+
+    public static boolean isValidIsoDate(String value) {
+        return parseIsoDate(value) != null;
+    }
+
+    private static int parseDigits(String value, int from, int to) {
+        int result = 0;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Same characters as the regex class \w: ASCII letters, digits and underscore.
+     */
+    private static boolean isWordChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || isDigit(c) || c == '_';
     }
 }
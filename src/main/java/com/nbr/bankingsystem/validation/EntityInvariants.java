@@ -0,0 +1,9 @@
+package com.nbr.bankingsystem.validation;
+
+/**
+ * Validation group of the entity constraints that are checked again whenever an entity is persisted or
+ * updated. Only cheap invariants protecting the ledger belong here; formats are checked once, on the
+ * request DTOs.
+ */
+public interface EntityInvariants {
+}
@@ -0,0 +1,22 @@
+package com.nbr.bankingsystem.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The annotated string must be a valid calendar date in the yyyy-MM-dd format.
+ * Null values are valid; combine with @NotBlank when the value is required.
+ */
+@Constraint(validatedBy = IsoDateValidator.class)
+@Target({ ElementType.METHOD, ElementType.FIELD, ElementType.ANNOTATION_TYPE, ElementType.PARAMETER })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface IsoDate {
+    String message() default "Date should be in the format yyyy-MM-dd";
+    Class<?>[] groups() default {};
+    Class<? extends Payload>[] payload() default {};
+}
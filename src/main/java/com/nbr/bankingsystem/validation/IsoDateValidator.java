@@ -0,0 +1,13 @@
+package com.nbr.bankingsystem.validation;
+
+import com.nbr.bankingsystem.utils.ValidationUtil;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class IsoDateValidator implements ConstraintValidator<IsoDate, String> {
+
+    @Override
+    public boolean isValid(String value, ConstraintValidatorContext context) {
+        return value == null || ValidationUtil.isValidIsoDate(value);
+    }
+}
@@ -1,12 +1,11 @@
 package com.nbr.bankingsystem.validation;
 
+import com.nbr.bankingsystem.utils.ValidationUtil;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 import lombok.Data;
-import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeParseException;
 
 @Data
 public class PastOrPresentDateValidator implements ConstraintValidator<PastOrPresentDate, String> {
@@ -20,11 +19,7 @@ public class PastOrPresentDateValidator implements ConstraintValidator<PastOrPre
         if (value == null || value.isEmpty()) {
             return true; // Let @NotBlank handle null or empty values
         }
-        try {
-            LocalDate date = LocalDate.parse(value);
-            return !date.isAfter(LocalDate.now());
-        } catch (DateTimeParseException e) {
-            return false; // Invalid date format
-        }
+        LocalDate date = ValidationUtil.parseIsoDate(value);
+        return date != null && !date.isAfter(LocalDate.now()); // Invalid date format is rejected too
     }
 }
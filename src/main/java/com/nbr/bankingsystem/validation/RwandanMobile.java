@@ -0,0 +1,22 @@
+package com.nbr.bankingsystem.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The annotated string must be a valid Rwandan mobile number (078, 079, 072, 073 or 074 followed by 7 digits).
+ * Null values are valid; combine with @NotBlank when the value is required.
+ */
+@Constraint(validatedBy = RwandanMobileValidator.class)
+@Target({ ElementType.METHOD, ElementType.FIELD, ElementType.ANNOTATION_TYPE, ElementType.PARAMETER })
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RwandanMobile {
+    String message() default "Mobile number should be valid";
+    Class<?>[] groups() default {};
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,13 @@
+package com.nbr.bankingsystem.validation;
+
+import com.nbr.bankingsystem.utils.ValidationUtil;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class RwandanMobileValidator implements ConstraintValidator<RwandanMobile, String> {
+
+    @Override
+    public boolean isValid(String value, ConstraintValidatorContext context) {
+        return value == null || ValidationUtil.isValidMobile(value);
+    }
+}
@@ -0,0 +1,13 @@
+package com.nbr.bankingsystem.validation;
+
+import com.nbr.bankingsystem.utils.ValidationUtil;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class ValidEmailValidator implements ConstraintValidator<ValidEmail, String> {
+
+    @Override
+    public boolean isValid(String value, ConstraintValidatorContext context) {
+        return value == null || ValidationUtil.isValidEmail(value);
+    }
+}
@@ -0,0 +1,30 @@
+-- Prepares the banking and message tables for monthly partitioning (app.partitioning.enabled=true).
+--
+-- MariaDB partitioned tables cannot have foreign keys, and every unique key must include the partition
+-- column. Both ALTERs rebuild their table, so run this once during a maintenance window, before enabling
+-- partitioning. The partition maintenance job refuses to partition a table until this has been applied.
+-- Safe to run again: it only drops foreign keys that still exist and only changes keys that still need it.
+
+DELIMITER //
+
+BEGIN NOT ATOMIC
+    FOR fk IN (SELECT TABLE_NAME, CONSTRAINT_NAME FROM information_schema.REFERENTIAL_CONSTRAINTS
+               WHERE CONSTRAINT_SCHEMA = DATABASE()
+                 AND (TABLE_NAME IN ('banking', 'message') OR REFERENCED_TABLE_NAME IN ('banking', 'message'))) DO
+        EXECUTE IMMEDIATE CONCAT('ALTER TABLE `', fk.TABLE_NAME, '` DROP FOREIGN KEY `', fk.CONSTRAINT_NAME, '`');
+    END FOR;
+
+    IF NOT EXISTS (SELECT 1 FROM information_schema.KEY_COLUMN_USAGE
+                   WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'banking'
+                     AND CONSTRAINT_NAME = 'PRIMARY' AND COLUMN_NAME = 'banking_date_time') THEN
+        ALTER TABLE banking DROP PRIMARY KEY, ADD PRIMARY KEY (id, banking_date_time);
+    END IF;
+
+    IF NOT EXISTS (SELECT 1 FROM information_schema.KEY_COLUMN_USAGE
+                   WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'message'
+                     AND CONSTRAINT_NAME = 'PRIMARY' AND COLUMN_NAME = 'message_date_time') THEN
+        ALTER TABLE message DROP PRIMARY KEY, ADD PRIMARY KEY (id, message_date_time);
+    END IF;
+END //
+
+DELIMITER ;
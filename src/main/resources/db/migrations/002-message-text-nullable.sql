@@ -0,0 +1,9 @@
+-- Makes the old rendered-text column of the message table nullable.
+--
+-- Messages now store their template id and parameters instead of the rendered text, so new rows leave
+-- the old NOT NULL message column empty and every insert fails until this has been applied. ddl-auto=update
+-- never changes or drops existing columns. The column is kept rather than dropped because it still holds
+-- the only copy of the text of messages sent before templates were introduced.
+-- Safe to run again, and a no-op on databases created after the change.
+
+ALTER TABLE message MODIFY COLUMN IF EXISTS message VARCHAR(255) NULL;
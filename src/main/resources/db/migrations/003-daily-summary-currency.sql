@@ -0,0 +1,21 @@
+-- Adds the currency to the unique key of the daily_summary rollup.
+--
+-- Rollup rows are now kept per currency so amounts of different currencies are never added together.
+-- ddl-auto=update adds the currency column, with RWF for existing rows, but never changes an existing
+-- unique key, so until this has been applied the first transaction of a day in a second currency is added
+-- to the row of the first one. Existing rows that mixed currencies can be corrected afterwards with
+-- POST /reports/summaries/rebuild for the affected days.
+-- Safe to run again, and a no-op on databases created after the change.
+
+DELIMITER //
+
+BEGIN NOT ATOMIC
+    IF NOT EXISTS (SELECT 1 FROM information_schema.KEY_COLUMN_USAGE
+                   WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'daily_summary'
+                     AND CONSTRAINT_NAME = 'uk_daily_summary' AND COLUMN_NAME = 'currency') THEN
+        ALTER TABLE daily_summary DROP INDEX IF EXISTS uk_daily_summary,
+            ADD CONSTRAINT uk_daily_summary UNIQUE (summary_date, customer_id, type, currency);
+    END IF;
+END //
+
+DELIMITER ;
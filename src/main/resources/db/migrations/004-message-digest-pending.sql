@@ -0,0 +1,10 @@
+-- Drops the digest_pending flag and its index from the message table.
+--
+-- Notifications waiting for a digest are now kept in one pending_digest row per customer, which ddl-auto
+-- creates, instead of one flagged message row each. ddl-auto=update never drops columns, and the old
+-- column stays harmless until this has been applied: it defaults to false on every new row.
+-- Rows still flagged when the new version starts remain in the message log but are not sent in a digest.
+-- Rebuilds the message table, so run it during a maintenance window.
+-- Safe to run again, and a no-op on databases created after the change.
+
+ALTER TABLE message DROP INDEX IF EXISTS idx_message_digest_pending, DROP COLUMN IF EXISTS digest_pending;
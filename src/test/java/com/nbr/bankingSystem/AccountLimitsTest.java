@@ -0,0 +1,121 @@
+package com.nbr.bankingSystem;
+
+import com.nbr.bankingsystem.config.limits.LimitProperties;
+import com.nbr.bankingsystem.exceptions.LimitExceededException;
+import com.nbr.bankingsystem.limits.AccountLimits;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AccountLimitsTest {
+
+	private static final long DAY = Duration.ofDays(1).toMillis();
+	private static final long MINUTE = Duration.ofMinutes(1).toMillis();
+
+	private AccountLimits limits;
+
+	@BeforeEach
+	void setUp() {
+		LimitProperties properties = new LimitProperties();
+		properties.setDailyWithdrawalLimit(1_000);
+		properties.setDailyTransferLimit(2_000);
+		properties.setMaxTransfersPerWindow(3);
+		properties.setVelocityWindow(Duration.ofMinutes(10));
+		limits = new AccountLimits(properties);
+	}
+
+	@Test
+	void rejectsWithdrawalOverDailyLimit() {
+		limits.reserveWithdrawal(1, 600, 0);
+		limits.reserveWithdrawal(1, 400, 1);
+
+		LimitExceededException e = assertThrows(LimitExceededException.class, () -> limits.reserveWithdrawal(1, 0.01, 2));
+		assertSame(LimitExceededException.DAILY_WITHDRAWAL, e);
+	}
+
+	@Test
+	void keepsCustomersApart() {
+		limits.reserveWithdrawal(1, 1_000, 0);
+
+		assertDoesNotThrow(() -> limits.reserveWithdrawal(2, 1_000, 0));
+	}
+
+	@Test
+	void forgetsAmountsOnceOutOfTheWindow() {
+		limits.reserveWithdrawal(1, 1_000, 0);
+
+		assertThrows(LimitExceededException.class, () -> limits.reserveWithdrawal(1, 1, DAY - 1));
+		assertDoesNotThrow(() -> limits.reserveWithdrawal(1, 1_000, DAY));
+	}
+
+	@Test
+	void slidesRatherThanResetting() {
+		limits.reserveWithdrawal(1, 500, 0);
+		limits.reserveWithdrawal(1, 500, DAY / 2);
+
+		// only the first withdrawal has left the window
+		assertDoesNotThrow(() -> limits.reserveWithdrawal(1, 500, DAY));
+		assertThrows(LimitExceededException.class, () -> limits.reserveWithdrawal(1, 1, DAY + 1));
+	}
+
+	@Test
+	void releasedReservationFreesTheLimit() {
+		AccountLimits.Reservation reservation = limits.reserveWithdrawal(1, 1_000, 0);
+		reservation.release();
+
+		assertDoesNotThrow(() -> limits.reserveWithdrawal(1, 1_000, 1));
+	}
+
+	@Test
+	void releaseAfterEvictionDoesNotUndercount() {
+		AccountLimits.Reservation old = limits.reserveWithdrawal(1, 1_000, 0);
+		limits.reserveWithdrawal(1, 1_000, DAY);
+		old.release();
+
+		assertThrows(LimitExceededException.class, () -> limits.reserveWithdrawal(1, 1, DAY + 1));
+	}
+
+	@Test
+	void enforcesTransferVelocity() {
+		for (int i = 0; i < 3; i++) {
+			limits.reserveTransfer(1, 10, i * MINUTE);
+		}
+
+		LimitExceededException e = assertThrows(LimitExceededException.class, () -> limits.reserveTransfer(1, 10, 3 * MINUTE));
+		assertSame(LimitExceededException.TRANSFER_VELOCITY, e);
+		assertDoesNotThrow(() -> limits.reserveTransfer(1, 10, 10 * MINUTE));
+	}
+
+	@Test
+	void enforcesDailyTransferLimit() {
+		limits.reserveTransfer(1, 2_000, 0);
+
+		LimitExceededException e = assertThrows(LimitExceededException.class, () -> limits.reserveTransfer(1, 1, 20 * MINUTE));
+		assertSame(LimitExceededException.DAILY_TRANSFER, e);
+	}
+
+	@Test
+	void releasedTransferFreesBothWindows() {
+		for (int i = 0; i < 3; i++) {
+			limits.reserveTransfer(1, 600, i).release();
+		}
+
+		assertDoesNotThrow(() -> limits.reserveTransfer(1, 2_000, 3));
+	}
+
+	@Test
+	void recordedHistoryCountsTowardsLimits() {
+		limits.recordWithdrawal(1, 900, 0);
+		limits.recordTransfer(1, 10, 0);
+		limits.recordTransfer(1, 10, 0);
+		limits.recordTransfer(1, 10, 0);
+
+		assertThrows(LimitExceededException.class, () -> limits.reserveWithdrawal(1, 101, 1));
+		assertThrows(LimitExceededException.class, () -> limits.reserveTransfer(1, 10, 1));
+	}
+}
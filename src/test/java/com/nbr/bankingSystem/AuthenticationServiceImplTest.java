@@ -0,0 +1,164 @@
+package com.nbr.bankingSystem;
+
+import com.nbr.bankingsystem.DTO.AuthenticationRequest;
+import com.nbr.bankingsystem.DTO.AuthenticationResponse;
+import com.nbr.bankingsystem.authentication.JwtTokenUtil;
+import com.nbr.bankingsystem.authentication.TokenRevocationIndex;
+import com.nbr.bankingsystem.config.security.JwtProperties;
+import com.nbr.bankingsystem.enums.Role;
+import com.nbr.bankingsystem.exceptions.AuthenticationFailedException;
+import com.nbr.bankingsystem.models.UserModel;
+import com.nbr.bankingsystem.repositories.UserRepository;
+import com.nbr.bankingsystem.services.PasswordHashingService;
+import com.nbr.bankingsystem.services.impl.AuthenticationServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthenticationServiceImplTest {
+
+	private final JwtTokenUtil jwtTokenUtil = new JwtTokenUtil(new JwtProperties());
+	private UserRepository userRepository;
+	private PasswordHashingService passwordHashingService;
+	private final AtomicInteger completions = new AtomicInteger();
+	private AuthenticationServiceImpl service;
+	private UserModel user;
+
+	@BeforeEach
+	void setUp() {
+		userRepository = mock(UserRepository.class);
+		passwordHashingService = mock(PasswordHashingService.class);
+		service = newNode();
+
+		user = new UserModel(7L, "admin@nbr.rw", "$2a$04$weak", Role.ADMIN, null, null);
+		when(userRepository.findByEmail("admin@nbr.rw")).thenReturn(Optional.of(user));
+		when(userRepository.updateRefreshTokenId(eq(7L), eq("$2a$04$weak"), anyString())).thenReturn(1);
+		when(passwordHashingService.matchesAsync("s3cret!", "$2a$04$weak")).thenReturn(CompletableFuture.completedFuture(true));
+	}
+
+	@Test
+	void rehashOnlyReplacesTheHashTheLoginWasCheckedAgainst() {
+		when(passwordHashingService.needsRehash("$2a$04$weak")).thenReturn(true);
+		when(passwordHashingService.encodeAsync("s3cret!")).thenReturn(CompletableFuture.completedFuture("$2a$12$strong"));
+
+		login();
+
+		verify(userRepository).updatePassword(7L, "$2a$04$weak", "$2a$12$strong");
+	}
+
+	@Test
+	void theDatabaseWritesAfterAPasswordCheckLeaveTheHashingPool() {
+		when(passwordHashingService.needsRehash("$2a$04$weak")).thenReturn(true);
+		CompletableFuture<Boolean> matches = new CompletableFuture<>();
+		CompletableFuture<String> hash = new CompletableFuture<>();
+		when(passwordHashingService.matchesAsync("s3cret!", "$2a$04$weak")).thenReturn(matches);
+		when(passwordHashingService.encodeAsync("s3cret!")).thenReturn(hash);
+
+		CompletableFuture<AuthenticationResponse> tokens = service.authenticate(new AuthenticationRequest("admin@nbr.rw", "s3cret!"));
+		// completed by a hashing thread
+		matches.complete(true);
+		hash.complete("$2a$12$strong");
+
+		tokens.join();
+		assertEquals(2, completions.get());
+		verify(userRepository).updatePassword(7L, "$2a$04$weak", "$2a$12$strong");
+	}
+
+	@Test
+	void keepsHashesOfTheCurrentStrength() {
+		when(passwordHashingService.needsRehash("$2a$04$weak")).thenReturn(false);
+
+		login();
+
+		verify(passwordHashingService, never()).encodeAsync(any());
+		verify(userRepository, never()).updatePassword(any(), any(), any());
+	}
+
+	@Test
+	void loginStoresTheIdOfItsRefreshToken() {
+		AuthenticationResponse tokens = login();
+
+		verify(userRepository).updateRefreshTokenId(7L, "$2a$04$weak", refreshTokenId(tokens));
+	}
+
+	@Test
+	void loginFailsWhenThePasswordChangedWhileItWasChecked() {
+		when(userRepository.updateRefreshTokenId(eq(7L), eq("$2a$04$weak"), anyString())).thenReturn(0);
+
+		CompletionException e = assertThrows(CompletionException.class, this::login);
+
+		assertInstanceOf(AuthenticationFailedException.class, e.getCause());
+	}
+
+	@Test
+	void refreshRotatesTheStoredRefreshToken() {
+		AuthenticationResponse tokens = login();
+		user.setRefreshTokenId(refreshTokenId(tokens));
+		when(userRepository.replaceRefreshTokenId(eq(7L), eq(refreshTokenId(tokens)), anyString())).thenReturn(1);
+
+		AuthenticationResponse refreshed = service.refresh(tokens.getRefreshToken());
+
+		verify(userRepository).replaceRefreshTokenId(7L, refreshTokenId(tokens), refreshTokenId(refreshed));
+	}
+
+	@Test
+	void aRotatedRefreshTokenIsRefusedByANodeThatNeverSawIt() {
+		AuthenticationResponse tokens = login();
+		// rotated by another node, or before a restart: only the database knows
+		user.setRefreshTokenId("rotated-elsewhere");
+
+		assertThrows(AuthenticationFailedException.class, () -> newNode().refresh(tokens.getRefreshToken()));
+		verify(userRepository, never()).replaceRefreshTokenId(any(), any(), any());
+	}
+
+	@Test
+	void onlyOneOfTwoConcurrentRefreshesSucceeds() {
+		AuthenticationResponse tokens = login();
+		user.setRefreshTokenId(refreshTokenId(tokens));
+		// the other refresh replaced the id between the read and the update
+		when(userRepository.replaceRefreshTokenId(eq(7L), eq(refreshTokenId(tokens)), anyString())).thenReturn(0);
+
+		assertThrows(AuthenticationFailedException.class, () -> service.refresh(tokens.getRefreshToken()));
+	}
+
+	@Test
+	void logoutRevokesTheRefreshTokenInTheDatabase() {
+		AuthenticationResponse tokens = login();
+
+		service.logout(tokens.getToken(), tokens.getRefreshToken());
+
+		verify(userRepository).replaceRefreshTokenId(eq(7L), eq(refreshTokenId(tokens)), isNull());
+	}
+
+	private AuthenticationServiceImpl newNode() {
+		return new AuthenticationServiceImpl(userRepository, passwordHashingService, jwtTokenUtil, new TokenRevocationIndex(),
+				task -> {
+					completions.incrementAndGet();
+					task.run();
+				});
+	}
+
+	private AuthenticationResponse login() {
+		return service.authenticate(new AuthenticationRequest("admin@nbr.rw", "s3cret!")).join();
+	}
+
+	private String refreshTokenId(AuthenticationResponse tokens) {
+		return jwtTokenUtil.parseClaims(tokens.getRefreshToken()).getId();
+	}
+}
@@ -0,0 +1,220 @@
+package com.nbr.bankingSystem;
+
+import com.nbr.bankingsystem.DTO.CustomerResponseDTO;
+import com.nbr.bankingsystem.config.streaming.BalanceStreamProperties;
+import com.nbr.bankingsystem.controllers.BankingController;
+import com.nbr.bankingsystem.enums.CurrencyCode;
+import com.nbr.bankingsystem.enums.TransactionType;
+import com.nbr.bankingsystem.events.AccountHolder;
+import com.nbr.bankingsystem.events.CustomerDeleted;
+import com.nbr.bankingsystem.events.DomainEvent;
+import com.nbr.bankingsystem.events.TransactionCreated;
+import com.nbr.bankingsystem.repositories.CustomerRepository;
+import com.nbr.bankingsystem.services.BankingService;
+import com.nbr.bankingsystem.services.CustomerService;
+import com.nbr.bankingsystem.services.impl.BalanceStreamServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static com.nbr.bankingSystem.Conditions.awaitTrue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Balance streams served through the controller, with clients that can be made to stop reading.
+ */
+class BalanceStreamServiceImplTest {
+
+	private final CustomerRepository customerRepository = mock(CustomerRepository.class);
+	private final CustomerService customerService = mock(CustomerService.class);
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final BalanceStreamProperties properties = new BalanceStreamProperties();
+	private final StallingClients clients = new StallingClients();
+	private BalanceStreamServiceImpl service;
+	private MockMvc mockMvc;
+
+	@AfterEach
+	void tearDown() {
+		clients.release();
+		if (service != null) {
+			service.shutdown();
+		}
+	}
+
+	@Test
+	void startsWithTheCurrentBalance() throws Exception {
+		start();
+
+		MvcResult stream = subscribe(1L, false);
+
+		assertTrue(content(stream).startsWith("event:balance\ndata:{"), content(stream));
+		assertTrue(content(stream).contains("\"balance\":1500.0"), content(stream));
+		assertEquals(1.0, streams());
+	}
+
+	@Test
+	void pushesTheTransactionsOfTheStreamingCustomerOnly() throws Exception {
+		start();
+		MvcResult stream = subscribe(1L, false);
+
+		service.handle(List.of(transaction(70L, 2L, 900.0), transaction(71L, 1L, 1750.0)));
+
+		awaitTrue(() -> content(stream).contains("id:71\n"));
+		assertTrue(content(stream).contains("\"balance\":1750.0"));
+		assertFalse(content(stream).contains("id:70\n"));
+	}
+
+	@Test
+	void tellsAClientThatFellBehindToResync() throws Exception {
+		properties.setMaxPendingUpdates(2);
+		start();
+		MvcResult stream = subscribe(1L, true);
+		clients.stall();
+		service.handle(List.of(transaction(71L, 1L, 1600.0)));
+		awaitTrue(() -> clients.hangingWrites() == 1);
+
+		service.handle(List.of(transaction(72L, 1L, 1700.0), transaction(73L, 1L, 1800.0), transaction(74L, 1L, 1900.0)));
+		clients.release();
+
+		awaitTrue(() -> content(stream).contains("event:resync"));
+		assertTrue(content(stream).contains("id:71\n"));
+		assertFalse(content(stream).contains("id:74\n"));
+		assertEquals(1.0, meterRegistry.get("balance.stream.resyncs").counter().count());
+	}
+
+	@Test
+	void sendsHeartbeatsToIdleStreams() throws Exception {
+		properties.setHeartbeatInterval(Duration.ofMillis(100));
+		start();
+
+		MvcResult stream = subscribe(1L, false);
+
+		awaitTrue(() -> content(stream).contains(":heartbeat\n"));
+	}
+
+	@Test
+	void forgetsTheStreamOnceTheClientDisconnects() throws Exception {
+		properties.setMaxStreamsPerCustomer(1);
+		start();
+		MvcResult stream = subscribe(1L, false);
+
+		MockAsyncContext asyncContext = (MockAsyncContext) stream.getRequest().getAsyncContext();
+		for (AsyncListener listener : asyncContext.getListeners()) {
+			listener.onError(new AsyncEvent(asyncContext, new IOException("Broken pipe")));
+		}
+
+		assertEquals(0.0, streams());
+		subscribe(1L, false);
+		assertEquals(1.0, streams());
+	}
+
+	@Test
+	void dropsAStreamWhoseClientStoppedReadingWithoutHoldingUpTheOthers() throws Exception {
+		properties.setSenderThreads(1);
+		properties.setWriteTimeout(Duration.ofMillis(200));
+		start();
+		subscribe(1L, true);
+		MvcResult other = subscribe(2L, false);
+		clients.stall();
+
+		service.handle(List.of(transaction(71L, 1L, 1600.0)));
+		awaitTrue(() -> clients.hangingWrites() == 1);
+		service.handle(List.of(transaction(72L, 2L, 2600.0)));
+
+		awaitTrue(() -> content(other).contains("id:72\n"));
+		assertEquals(1, clients.hangingWrites());
+		assertEquals(1.0, streams());
+		assertEquals(1.0, meterRegistry.get("sse.write.timeouts").counter().count());
+	}
+
+	@Test
+	void endsTheStreamsOfADeletedCustomer() throws Exception {
+		start();
+		MvcResult stream = subscribe(1L, false);
+
+		service.handle(List.of(new CustomerDeleted(1L)));
+
+		// the emitter completes, which dispatches the request back to the container
+		stream.getAsyncResult(5_000);
+	}
+
+	private void start() {
+		service = new BalanceStreamServiceImpl(customerRepository, properties, meterRegistry);
+		when(customerRepository.findCustomerById(1L)).thenReturn(Optional.of(customer(1L, 1500.0)));
+		when(customerRepository.findCustomerById(2L)).thenReturn(Optional.of(customer(2L, 2500.0)));
+		when(customerService.findCustomerIdByEmail(email(1L))).thenReturn(1L);
+		when(customerService.findCustomerIdByEmail(email(2L))).thenReturn(2L);
+		mockMvc = MockMvcBuilders.standaloneSetup(new BankingController(mock(BankingService.class), customerService, service))
+				.addFilters(clients)
+				.build();
+	}
+
+	private MvcResult subscribe(Long customerId, boolean stallable) throws Exception {
+		MockHttpServletRequestBuilder request = get("/banking/balance/stream").principal(user(customerId));
+		if (stallable) {
+			request.header(StallingClients.HEADER, "true");
+		}
+		MvcResult stream = mockMvc.perform(request).andExpect(request().asyncStarted()).andReturn();
+		// the current balance is written by a sender thread
+		awaitTrue(() -> content(stream).contains("\n\n"));
+		return stream;
+	}
+
+	private double streams() {
+		return meterRegistry.get("balance.streams").gauge().value();
+	}
+
+	private static String content(MvcResult result) {
+		try {
+			return result.getResponse().getContentAsString();
+		} catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static DomainEvent transaction(Long id, Long customerId, double balance) {
+		return new TransactionCreated(id, new AccountHolder(customerId, "ACC-" + customerId, "First", "Last",
+				customerId + "@example.com", null, balance), TransactionType.SAVING, 100.0, CurrencyCode.RWF,
+				LocalDateTime.of(2026, 10, 1, 12, 0));
+	}
+
+	private static CustomerResponseDTO customer(Long id, double balance) {
+		CustomerResponseDTO customer = new CustomerResponseDTO();
+		customer.setId(id);
+		customer.setBalance(balance);
+		customer.setCurrency(CurrencyCode.RWF);
+		return customer;
+	}
+
+	private static Authentication user(Long customerId) {
+		return new UsernamePasswordAuthenticationToken(email(customerId), null,
+				List.of(new SimpleGrantedAuthority("ROLE_CUSTOMER")));
+	}
+
+	private static String email(Long customerId) {
+		return "customer" + customerId + "@nbr.rw";
+	}
+}
@@ -0,0 +1,94 @@
+package com.nbr.bankingSystem;
+
+import com.nbr.bankingsystem.config.datasource.ReadYourWritesTracker;
+import com.nbr.bankingsystem.config.partitioning.PartitioningProperties;
+import com.nbr.bankingsystem.eventbus.DomainEventBus;
+import com.nbr.bankingsystem.exceptions.ArchivedPeriodException;
+import com.nbr.bankingsystem.repositories.BankingRepository;
+import com.nbr.bankingsystem.repositories.CustomerRepository;
+import com.nbr.bankingsystem.repositories.DailySummaryRepository;
+import com.nbr.bankingsystem.repositories.UserRepository;
+import com.nbr.bankingsystem.services.FxRateService;
+import com.nbr.bankingsystem.services.LimitService;
+import com.nbr.bankingsystem.services.impl.BankingServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BankingServiceImplTest {
+
+	private final BankingRepository bankingRepository = mock(BankingRepository.class);
+	private final CustomerRepository customerRepository = mock(CustomerRepository.class);
+	private final PartitioningProperties partitioningProperties = new PartitioningProperties();
+	private BankingServiceImpl service;
+	private LocalDateTime oldestLive;
+
+	@BeforeEach
+	void setUp() {
+		partitioningProperties.setEnabled(true);
+		partitioningProperties.setRetentionMonths(12);
+		oldestLive = YearMonth.now().minusMonths(12).atDay(1).atStartOfDay();
+		service = new BankingServiceImpl(bankingRepository, customerRepository, mock(UserRepository.class),
+				mock(ReadYourWritesTracker.class), mock(DomainEventBus.class), mock(DailySummaryRepository.class),
+				mock(FxRateService.class), mock(LimitService.class), partitioningProperties);
+		when(customerRepository.findIdByEmail("alice@nbr.rw")).thenReturn(Optional.of(1L));
+	}
+
+	@Test
+	void refusesAHistoryStartingInAnArchivedMonth() {
+		assertThrows(ArchivedPeriodException.class,
+				() -> service.getCustomerTransactions("alice@nbr.rw", oldestLive.minusDays(1), LocalDateTime.now()));
+
+		verify(bankingRepository, never()).findCustomerTransactionsBetween(any(), any(), any());
+	}
+
+	@Test
+	void refusesARangeStartingInAnArchivedMonth() {
+		assertThrows(ArchivedPeriodException.class,
+				() -> service.getTransactionsBetween(oldestLive.minusSeconds(1), LocalDateTime.now()));
+
+		verify(bankingRepository, never()).findTransactionsBetween(any(), any());
+	}
+
+	@Test
+	void readsRangesOfLiveMonths() {
+		LocalDateTime to = LocalDateTime.now();
+		when(bankingRepository.findCustomerTransactionsBetween(1L, oldestLive, to)).thenReturn(List.of());
+
+		assertEquals(List.of(), service.getCustomerTransactions("alice@nbr.rw", oldestLive, to));
+	}
+
+	@Test
+	void anOpenRangeStartsAtTheOldestLiveMonth() {
+		LocalDateTime to = LocalDateTime.now();
+
+		service.getTransactionsBetween(null, to);
+
+		verify(bankingRepository).findTransactionsBetween(oldestLive, to);
+	}
+
+	@Test
+	void nothingIsArchivedWithoutPartitioning() {
+		partitioningProperties.setEnabled(false);
+		LocalDateTime to = LocalDateTime.now();
+
+		service.getTransactionsBetween(null, to);
+		service.getCustomerTransactions("alice@nbr.rw", LocalDate.EPOCH.atStartOfDay(), to);
+
+		verify(bankingRepository).findTransactionsBetween(LocalDate.EPOCH.atStartOfDay(), to);
+		verify(bankingRepository).findCustomerTransactionsBetween(1L, LocalDate.EPOCH.atStartOfDay(), to);
+	}
+}
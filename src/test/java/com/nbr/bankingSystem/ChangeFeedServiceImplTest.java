@@ -0,0 +1,153 @@
+package com.nbr.bankingSystem;
+
+import com.nbr.bankingsystem.DTO.ChangeBatchDTO;
+import com.nbr.bankingsystem.config.events.ChangeFeedProperties;
+import com.nbr.bankingsystem.controllers.ChangeFeedController;
+import com.nbr.bankingsystem.eventbus.DomainEventBus;
+import com.nbr.bankingsystem.eventbus.SequencedEvent;
+import com.nbr.bankingsystem.events.CustomerDeleted;
+import com.nbr.bankingsystem.exceptions.ChangeOffsetExpiredException;
+import com.nbr.bankingsystem.services.impl.ChangeFeedServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.UnsupportedEncodingException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.nbr.bankingSystem.Conditions.awaitTrue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class ChangeFeedServiceImplTest {
+
+	private final ChangeFeedProperties properties = new ChangeFeedProperties();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final StallingClients clients = new StallingClients();
+	private final AtomicLong head = new AtomicLong(150);
+	private DomainEventBus eventBus;
+	private ChangeFeedServiceImpl service;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		eventBus = mock(DomainEventBus.class);
+		when(eventBus.firstAvailableSequence()).thenReturn(101L);
+		// stubbed up front: the feed's threads call the bus concurrently, and Mockito cannot stub meanwhile
+		when(eventBus.headSequence()).thenAnswer(invocation -> head.get());
+		when(eventBus.read(100L, 10)).thenReturn(List.of(event(101), event(102)));
+		when(eventBus.read(120L, 10)).thenReturn(List.of(event(121)));
+		when(eventBus.read(150L, 10)).thenReturn(List.of());
+		when(eventBus.read(150L, properties.getMaxBatchSize())).thenReturn(List.of(event(151)));
+		properties.setSenderThreads(1);
+		properties.setWriteTimeout(Duration.ofMillis(200));
+		service = new ChangeFeedServiceImpl(eventBus, properties, meterRegistry);
+	}
+
+	@AfterEach
+	void tearDown() {
+		clients.release();
+		service.shutdown();
+	}
+
+	@Test
+	void startsAtOldestRetainedChangeFromZero() {
+		ChangeBatchDTO batch = service.read(0, 10);
+
+		assertEquals(2, batch.getChanges().size());
+		assertEquals(101, batch.getChanges().get(0).getSequence());
+		assertEquals(102, batch.getNextOffset());
+		assertEquals(150, batch.getHeadSequence());
+	}
+
+	@Test
+	void resumesAfterRetainedOffset() {
+		ChangeBatchDTO batch = service.read(120, 10);
+
+		assertEquals(1, batch.getChanges().size());
+		assertEquals(121, batch.getNextOffset());
+	}
+
+	@Test
+	void keepsOffsetWhenCaughtUp() {
+		ChangeBatchDTO batch = service.read(150, 10);
+
+		assertEquals(0, batch.getChanges().size());
+		assertEquals(150, batch.getNextOffset());
+	}
+
+	@Test
+	void rejectsTrimmedAndFutureOffsets() {
+		assertThrows(ChangeOffsetExpiredException.class, () -> service.read(50, 10));
+		assertThrows(ChangeOffsetExpiredException.class, () -> service.read(151, 10));
+	}
+
+	@Test
+	void acceptsOffsetJustBeforeFirstRetainedChange() {
+		assertEquals(2, service.read(100, 10).getChanges().size());
+	}
+
+	@Test
+	void answersALongPollAtItsOwnDeadline() throws Exception {
+		long start = System.nanoTime();
+
+		ChangeBatchDTO batch = service.poll(150, 10, Duration.ofMillis(200)).get(700, TimeUnit.MILLISECONDS);
+
+		assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(200));
+		assertEquals(0, batch.getChanges().size());
+		assertEquals(150, batch.getNextOffset());
+	}
+
+	@Test
+	void keepsServingStreamsAndLongPollsWhileAClientStopsReading() throws Exception {
+		MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new ChangeFeedController(service, properties))
+				.addFilters(clients)
+				.build();
+		stream(mockMvc, true);
+		MvcResult reading = stream(mockMvc, false);
+		clients.stall();
+		head.set(151);
+
+		service.handle(List.of());
+
+		awaitTrue(() -> content(reading).contains("id:151\n"));
+		CompletableFuture<ChangeBatchDTO> poll = service.poll(151, 10, Duration.ofMillis(200));
+		assertEquals(0, poll.get(700, TimeUnit.MILLISECONDS).getChanges().size());
+		awaitTrue(() -> meterRegistry.get("changefeed.streams").gauge().value() == 1.0);
+		assertEquals(1, clients.hangingWrites());
+		assertEquals(1.0, meterRegistry.get("sse.write.timeouts").counter().count());
+	}
+
+	private static MvcResult stream(MockMvc mockMvc, boolean stallable) throws Exception {
+		MockHttpServletRequestBuilder request = get("/reports/changes/stream").param("after", "150");
+		if (stallable) {
+			request.header(StallingClients.HEADER, "true");
+		}
+		return mockMvc.perform(request).andExpect(request().asyncStarted()).andReturn();
+	}
+
+	private static String content(MvcResult result) {
+		try {
+			return result.getResponse().getContentAsString();
+		} catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static SequencedEvent event(long sequence) {
+		return new SequencedEvent(sequence, new CustomerDeleted(sequence));
+	}
+}
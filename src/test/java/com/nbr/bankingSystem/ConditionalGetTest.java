@@ -0,0 +1,177 @@
+package com.nbr.bankingSystem;
+
+import com.nbr.bankingsystem.DTO.CustomerResponseDTO;
+import com.nbr.bankingsystem.DTO.TransactionResponseDTO;
+import com.nbr.bankingsystem.controllers.BankingController;
+import com.nbr.bankingsystem.controllers.CustomerController;
+import com.nbr.bankingsystem.exceptions.ResourceNotFoundException;
+import com.nbr.bankingsystem.services.BalanceStreamService;
+import com.nbr.bankingsystem.services.BankingService;
+import com.nbr.bankingsystem.services.CustomerSearchService;
+import com.nbr.bankingsystem.services.CustomerService;
+import com.nbr.bankingsystem.services.NotificationPreferenceService;
+import com.nbr.bankingsystem.utils.ExceptionHandlerUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The ETags and 304 answers of the cacheable read endpoints, against the controllers with mocked services.
+ */
+class ConditionalGetTest {
+
+	private static final LocalDateTime VERSION = LocalDateTime.of(2026, 1, 1, 10, 0, 0, 123_000_000);
+
+	private final BankingService bankingService = mock(BankingService.class);
+	private final CustomerService customerService = mock(CustomerService.class);
+	private final Authentication admin = user("admin@nbr.rw", "ROLE_ADMIN");
+	private final Authentication customer = user("alice@nbr.rw", "ROLE_CUSTOMER");
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		mockMvc = MockMvcBuilders.standaloneSetup(
+						new BankingController(bankingService, customerService, mock(BalanceStreamService.class)),
+						new CustomerController(customerService, mock(NotificationPreferenceService.class), mock(CustomerSearchService.class)))
+				.setControllerAdvice(new ExceptionHandlerUtil())
+				.build();
+
+		when(customerService.findCustomerIdByEmail("alice@nbr.rw")).thenReturn(1L);
+		when(customerService.findUserIdByEmail(any())).thenReturn(10L);
+		when(customerService.getCustomerVersion(1L)).thenReturn(VERSION);
+		when(customerService.getCustomerById(1L)).thenReturn(customerDto(VERSION));
+		when(bankingService.getBalance(1L)).thenReturn(1500.0);
+		when(bankingService.getTransactionById(5L)).thenReturn(mock(TransactionResponseDTO.class));
+		when(bankingService.isTransactionOwner(customer, 5L)).thenReturn(true);
+	}
+
+	@Test
+	void anUnchangedBalanceIsAnsweredWith304() throws Exception {
+		String eTag = eTagOf("/banking/balance", customer);
+
+		mockMvc.perform(get("/banking/balance").principal(customer).header("If-None-Match", eTag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string("ETag", eTag))
+				.andExpect(content().string(""));
+	}
+
+	@Test
+	void aBalanceChangeGivesANewETag() throws Exception {
+		String eTag = eTagOf("/banking/balance", customer);
+		when(customerService.getCustomerVersion(1L)).thenReturn(VERSION.plusNanos(1_000));
+
+		mockMvc.perform(get("/banking/balance").principal(customer).header("If-None-Match", eTag))
+				.andExpect(status().isOk());
+		assertNotEquals(eTag, eTagOf("/banking/balance", customer));
+	}
+
+	@Test
+	void anUnchangedCustomerIsAnsweredWith304WithoutLoadingIt() throws Exception {
+		String eTag = eTagOf("/customers/1", admin);
+
+		mockMvc.perform(get("/customers/1").principal(admin).header("If-None-Match", eTag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string("ETag", eTag));
+		// once for eTagOf
+		verify(customerService).getCustomerById(1L);
+	}
+
+	@Test
+	void anUpdatedCustomerGetsANewETag() throws Exception {
+		String eTag = eTagOf("/customers/1", admin);
+		LocalDateTime updated = VERSION.plusSeconds(1);
+		when(customerService.getCustomerVersion(1L)).thenReturn(updated);
+		when(customerService.getCustomerById(1L)).thenReturn(customerDto(updated));
+
+		mockMvc.perform(get("/customers/1").principal(admin).header("If-None-Match", eTag))
+				.andExpect(status().isOk());
+		assertNotEquals(eTag, eTagOf("/customers/1", admin));
+	}
+
+	@Test
+	void anotherCustomersRecordIsForbiddenEvenWithItsETag() throws Exception {
+		String eTag = eTagOf("/customers/1", admin);
+		when(customerService.isCustomerAssociatedWithUser(1L, 10L)).thenReturn(false);
+
+		mockMvc.perform(get("/customers/1").principal(customer).header("If-None-Match", eTag))
+				.andExpect(status().isForbidden());
+	}
+
+	@Test
+	void aMissingCustomerIsNotFoundRatherThanNotModified() throws Exception {
+		String eTag = eTagOf("/customers/1", admin);
+		when(customerService.getCustomerVersion(1L)).thenThrow(new ResourceNotFoundException("Customer not found with id 1"));
+
+		mockMvc.perform(get("/customers/1").principal(admin).header("If-None-Match", eTag))
+				.andExpect(status().isNotFound());
+	}
+
+	@Test
+	void aTransactionIsAnsweredWith304WithoutLoadingIt() throws Exception {
+		String eTag = eTagOf("/banking/5", customer);
+
+		mockMvc.perform(get("/banking/5").principal(customer).header("If-None-Match", eTag))
+				.andExpect(status().isNotModified());
+		mockMvc.perform(get("/banking/5").principal(admin).header("If-None-Match", eTag))
+				.andExpect(status().isNotModified());
+		// once for eTagOf
+		verify(bankingService).getTransactionById(5L);
+	}
+
+	@Test
+	void anotherCustomersTransactionIsForbiddenEvenWithItsETag() throws Exception {
+		String eTag = eTagOf("/banking/5", admin);
+		when(bankingService.isTransactionOwner(customer, 5L)).thenReturn(false);
+
+		mockMvc.perform(get("/banking/5").principal(customer).header("If-None-Match", eTag))
+				.andExpect(status().isForbidden());
+	}
+
+	@Test
+	void aMissingTransactionIsNotFoundRatherThanNotModified() throws Exception {
+		String eTag = eTagOf("/banking/5", admin);
+		doThrow(new ResourceNotFoundException("Transaction not found with id 5")).when(bankingService).ensureTransactionExists(anyLong());
+
+		mockMvc.perform(get("/banking/5").principal(admin).header("If-None-Match", eTag))
+				.andExpect(status().isNotFound());
+	}
+
+	private String eTagOf(String path, Authentication authentication) throws Exception {
+		String eTag = mockMvc.perform(get(path).principal(authentication))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader("ETag");
+		assertNotNull(eTag);
+		return eTag;
+	}
+
+	private static CustomerResponseDTO customerDto(LocalDateTime lastUpdateTime) {
+		CustomerResponseDTO dto = new CustomerResponseDTO();
+		dto.setId(1L);
+		dto.setLastUpdateTime(lastUpdateTime);
+		return dto;
+	}
+
+	private static Authentication user(String email, String role) {
+		return new UsernamePasswordAuthenticationToken(email, null, List.of(new SimpleGrantedAuthority(role)));
+	}
+}
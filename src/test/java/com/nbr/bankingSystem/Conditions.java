@@ -0,0 +1,30 @@
+package com.nbr.bankingSystem;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Waiting in tests for what other threads do.
+ */
+final class Conditions {
+
+	private static final long TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(5);
+	private static final long POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	private Conditions() {
+	}
+
+	/**
+	 * Checks the condition every millisecond until it holds, failing the test after five seconds.
+	 */
+	static void awaitTrue(BooleanSupplier condition) {
+		long deadline = System.nanoTime() + TIMEOUT_NANOS;
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.nanoTime() < deadline, "timed out");
+			LockSupport.parkNanos(POLL_NANOS);
+		}
+	}
+}
@@ -0,0 +1,37 @@
+package com.nbr.bankingSystem;
+
+import com.nbr.bankingsystem.enums.CurrencyCode;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CurrencyCodeTest {
+
+	@Test
+	void roundsToTheSmallestUnitHalfToEven() {
+		assertEquals(1_234.0, CurrencyCode.RWF.round(1_234.4));
+		assertEquals(1_234.0, CurrencyCode.RWF.round(1_234.5));
+		assertEquals(1_236.0, CurrencyCode.RWF.round(1_235.5));
+		assertEquals(10.12, CurrencyCode.USD.round(10.125));
+		assertEquals(10.14, CurrencyCode.EUR.round(10.135));
+	}
+
+	@Test
+	void roundsTheDecimalValueNotTheBinaryOne() {
+		// 0.1 + 0.2 is 0.30000000000000004 in binary
+		assertEquals(0.3, CurrencyCode.USD.round(0.1 + 0.2));
+		assertEquals(1.02, CurrencyCode.USD.round(1.015));
+	}
+
+	@Test
+	void acceptsOnlyAmountsInWholeUnits() {
+		assertTrue(CurrencyCode.RWF.isWholeUnits(5_000));
+		assertTrue(CurrencyCode.RWF.isWholeUnits(5_000.0));
+		assertFalse(CurrencyCode.RWF.isWholeUnits(5_000.5));
+		assertTrue(CurrencyCode.USD.isWholeUnits(12.5));
+		assertTrue(CurrencyCode.USD.isWholeUnits(12.34));
+		assertFalse(CurrencyCode.USD.isWholeUnits(12.345));
+	}
+}
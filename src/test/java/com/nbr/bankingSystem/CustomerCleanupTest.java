@@ -0,0 +1,232 @@
+package com.nbr.bankingSystem;
+
+import com.nbr.bankingsystem.config.customers.CustomerCleanupProperties;
+import com.nbr.bankingsystem.jobs.CustomerCleanupJob;
+import com.nbr.bankingsystem.models.Customer;
+import com.nbr.bankingsystem.models.Message;
+import com.nbr.bankingsystem.notifications.template.TemplateId;
+import com.nbr.bankingsystem.notifications.template.TemplateParametersConverter;
+import com.nbr.bankingsystem.repositories.CustomerCleanupRepository;
+import com.nbr.bankingsystem.repositories.PartitionAdminRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.transaction.AfterTransaction;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Runs the cleanup SQL against H2 in MariaDB mode.
+ */
+@DataJpaTest(properties = {JpaTestConfiguration.DATABASE, JpaTestConfiguration.SCHEMA, JpaTestConfiguration.URL, JpaTestConfiguration.DRIVER})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = JpaTestConfiguration.class)
+class CustomerCleanupTest {
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private CustomerCleanupRepository customerCleanupRepository;
+
+	private final TemplateParametersConverter converter = new TemplateParametersConverter();
+
+	@BeforeEach
+	void setUp() {
+		customerCleanupRepository = new CustomerCleanupRepository(jdbcTemplate);
+		customerCleanupRepository.createMessageArchiveTable();
+	}
+
+	@Test
+	void archivesTheOldestMessagesWithTheNamesReplaced() {
+		Customer customer = deletedCustomer(1);
+		Message saving = message(customer, TemplateId.SAVING, "Alice", "Uwase", "1500", "ACC-1", "2026-01-01 10:00:00", "RWF");
+		Message withdraw = message(customer, TemplateId.WITHDRAW, "Alice", "Uwase", "", "ACC-1", "", "");
+		Message transfer = message(customer, TemplateId.TRANSFER_SENT, "Alice", "Uwase", "200", "ACC-2", "2026-01-02 10:00:00", "RWF");
+		entityManager.flush();
+
+		assertEquals(2, customerCleanupRepository.archiveMessages(customer.getId(), 2));
+
+		assertArrayEquals(new String[]{"Deleted", "Customer", "1500", "ACC-1", "2026-01-01 10:00:00", "RWF"},
+				archivedParameters(saving.getId()));
+		assertArrayEquals(new String[]{"Deleted", "Customer", "", "ACC-1", "", ""}, archivedParameters(withdraw.getId()));
+		assertEquals(List.of(transfer.getId()), messageIds(customer.getId()));
+
+		assertEquals(1, customerCleanupRepository.archiveMessages(customer.getId(), 2));
+		assertEquals(0, customerCleanupRepository.archiveMessages(customer.getId(), 2));
+		assertEquals(List.of(), messageIds(customer.getId()));
+		assertEquals(3, countArchived(customer.getId()));
+	}
+
+	@Test
+	void replacesMultibyteNamesWithoutShiftingTheOtherParameters() {
+		Customer customer = deletedCustomer(1);
+		Message saving = message(customer, TemplateId.SAVING, "Émile", "Ngoga-Müller", "1500", "ACC-1", "2026-01-01 10:00:00", "RWF");
+		entityManager.flush();
+
+		assertEquals(1, customerCleanupRepository.archiveMessages(customer.getId(), 10));
+
+		assertArrayEquals(new String[]{"Deleted", "Customer", "1500", "ACC-1", "2026-01-01 10:00:00", "RWF"},
+				archivedParameters(saving.getId()));
+	}
+
+	@Test
+	void anonymizesTheMonthlyArchivesOfTheMessageTableBeforeMarkingTheCustomerPurged() {
+		Customer customer = deletedCustomer(1);
+		Customer other = customer(2);
+		message(customer, TemplateId.SAVING, "Émile", "Uwase", "1", "ACC-1", "2026-01-01 10:00:00", "RWF");
+		message(customer, TemplateId.SAVING, "Émile", "Uwase", "2", "ACC-1", "2026-01-01 10:00:00", "RWF");
+		message(customer, TemplateId.WITHDRAW, "Émile", "Uwase", "3", "ACC-1", "2026-01-01 10:00:00", "RWF");
+		message(other, TemplateId.SAVING, "Bob", "Kalisa", "10", "ACC-2", "2026-01-01 10:00:00", "RWF");
+		entityManager.flush();
+		// what PartitionMaintenanceJob leaves behind after archiving a closed month
+		createMonthlyArchive();
+		jdbcTemplate.execute("INSERT INTO message_archive_202601 SELECT * FROM message");
+		jdbcTemplate.execute("DELETE FROM message");
+		// one chunk anonymizes the customer, one finds no live message, one anonymizes two archived messages
+		CustomerCleanupJob job = job(2, 3);
+
+		job.cleanUpDeletedCustomers();
+
+		assertEquals(1, countWithName("message_archive_202601", customer.getId(), "Émile"));
+		assertNull(customerColumn(customer.getId(), "purged_at"));
+
+		job.cleanUpDeletedCustomers();
+		job.cleanUpDeletedCustomers();
+
+		assertEquals(0, countWithName("message_archive_202601", customer.getId(), "Émile"));
+		assertEquals(3, countWithName("message_archive_202601", customer.getId(), "Deleted"));
+		assertEquals(1, countWithName("message_archive_202601", other.getId(), "Bob"));
+		assertArrayEquals(new String[]{"Deleted", "Customer", "3", "ACC-1", "2026-01-01 10:00:00", "RWF"},
+				converter.convertToEntityAttribute(jdbcTemplate.queryForObject(
+						"SELECT parameters FROM message_archive_202601 WHERE template_id = 'WITHDRAW'", String.class)));
+		assertNotNull(customerColumn(customer.getId(), "purged_at"));
+	}
+
+	@Test
+	void leavesOtherCustomersMessagesAlone() {
+		Customer deleted = deletedCustomer(1);
+		Customer other = customer(2);
+		message(deleted, TemplateId.SAVING, "Alice", "Uwase", "1500", "ACC-1", "2026-01-01 10:00:00", "RWF");
+		Message kept = message(other, TemplateId.SAVING, "Bob", "Kalisa", "10", "ACC-2", "2026-01-01 10:00:00", "RWF");
+		entityManager.flush();
+
+		assertEquals(1, customerCleanupRepository.archiveMessages(deleted.getId(), 10));
+
+		assertEquals(List.of(kept.getId()), messageIds(other.getId()));
+		assertEquals(0, countArchived(other.getId()));
+	}
+
+	@Test
+	void aRunStoppedAtItsChunkLimitIsResumedByTheNextOne() {
+		Customer customer = deletedCustomer(1);
+		for (int i = 0; i < 5; i++) {
+			message(customer, TemplateId.SAVING, "Alice", "Uwase", String.valueOf(i), "ACC-1", "2026-01-01 10:00:00", "RWF");
+		}
+		entityManager.flush();
+		// one chunk anonymizes, two chunks of two messages each, then the run stops
+		CustomerCleanupJob job = job(2, 3);
+
+		job.cleanUpDeletedCustomers();
+
+		assertEquals(1, messageIds(customer.getId()).size());
+		assertEquals("Deleted", customerColumn(customer.getId(), "first_name"));
+		assertNull(customerColumn(customer.getId(), "purged_at"));
+
+		job.cleanUpDeletedCustomers();
+
+		assertEquals(List.of(), messageIds(customer.getId()));
+		assertEquals(5, countArchived(customer.getId()));
+		assertNotNull(customerColumn(customer.getId(), "purged_at"));
+		assertEquals(List.of(), customerCleanupRepository.findCustomersPendingCleanup(10));
+	}
+
+	/**
+	 * H2 commits the current transaction on DDL, so the table is created from a transaction of its own.
+	 */
+	private void createMonthlyArchive() {
+		TransactionTemplate ddl = new TransactionTemplate(transactionManager);
+		ddl.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		ddl.executeWithoutResult(status -> jdbcTemplate.execute("CREATE TABLE message_archive_202601 AS SELECT * FROM message WHERE 1 = 0"));
+	}
+
+	@AfterTransaction
+	void dropMonthlyArchive() {
+		jdbcTemplate.execute("DROP TABLE IF EXISTS message_archive_202601");
+	}
+
+	private CustomerCleanupJob job(int chunkSize, int maxChunksPerRun) {
+		CustomerCleanupProperties properties = new CustomerCleanupProperties();
+		properties.setChunkSize(chunkSize);
+		properties.setMaxChunksPerRun(maxChunksPerRun);
+		properties.setPause(Duration.ZERO);
+		return new CustomerCleanupJob(customerCleanupRepository, new PartitionAdminRepository(jdbcTemplate), properties,
+				new TransactionTemplate(transactionManager));
+	}
+
+	private Customer deletedCustomer(int n) {
+		Customer customer = customer(n);
+		entityManager.flush();
+		jdbcTemplate.update("UPDATE customer SET deleted = true, deleted_at = ? WHERE id = ?", LocalDateTime.now(), customer.getId());
+		return customer;
+	}
+
+	private Customer customer(int n) {
+		Customer customer = new Customer();
+		customer.setFirstName("Alice");
+		customer.setLastName("Uwase");
+		customer.setEmail("customer" + n + "@nbr.rw");
+		customer.setMobile("078000000" + n);
+		customer.setAccount("ACC-" + n);
+		customer.setBalance(0.0);
+		customer.setDob(new Date(0));
+		return entityManager.persist(customer);
+	}
+
+	private Message message(Customer customer, TemplateId templateId, String... parameters) {
+		return entityManager.persist(new Message(null, customer, templateId, "en", parameters, LocalDateTime.now()));
+	}
+
+	private String[] archivedParameters(Long messageId) {
+		return converter.convertToEntityAttribute(jdbcTemplate.queryForObject(
+				"SELECT parameters FROM message_archive WHERE id = ?", String.class, messageId));
+	}
+
+	private List<Long> messageIds(Long customerId) {
+		return jdbcTemplate.queryForList("SELECT id FROM message WHERE customer_id = ? ORDER BY id", Long.class, customerId);
+	}
+
+	private int countArchived(Long customerId) {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM message_archive WHERE customer_id = ?", Integer.class, customerId);
+	}
+
+	private int countWithName(String table, Long customerId, String firstName) {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE customer_id = ? AND parameters LIKE ?",
+				Integer.class, customerId, firstName + "\u001F%");
+	}
+
+	private Object customerColumn(Long customerId, String column) {
+		return jdbcTemplate.queryForObject("SELECT " + column + " FROM customer WHERE id = ?", Object.class, customerId);
+	}
+}
@@ -0,0 +1,158 @@
+package com.nbr.bankingSystem;
+
+import com.nbr.bankingsystem.DTO.CustomerPageDTO;
+import com.nbr.bankingsystem.DTO.CustomerPageRequest;
+import com.nbr.bankingsystem.DTO.CustomerSummaryDTO;
+import com.nbr.bankingsystem.enums.CustomerSortField;
+import com.nbr.bankingsystem.exceptions.InvalidCursorException;
+import com.nbr.bankingsystem.models.Customer;
+import com.nbr.bankingsystem.repositories.CustomerRepository;
+import com.nbr.bankingsystem.services.impl.CustomerServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Walks the keyset-paginated customer listing page by page against H2, through the cursors the
+ * service hands out. The customers share last names, balances and registration times, so pages
+ * end in the middle of ties and only the id tiebreaker keeps rows from being skipped or repeated.
+ */
+@DataJpaTest(properties = {JpaTestConfiguration.DATABASE, JpaTestConfiguration.SCHEMA, JpaTestConfiguration.URL, JpaTestConfiguration.DRIVER})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = JpaTestConfiguration.class)
+class CustomerPaginationTest {
+
+	private static final LocalDateTime MORNING = LocalDateTime.of(2025, 3, 1, 9, 15, 30, 123_456_000);
+	private static final LocalDateTime EVENING = LocalDateTime.of(2025, 3, 1, 18, 0);
+
+	@Autowired
+	private CustomerRepository customerRepository;
+
+	private CustomerServiceImpl customerService;
+
+	private List<Customer> customers;
+
+	@BeforeEach
+	void setUp() {
+		customerService = new CustomerServiceImpl(customerRepository, null, null, null, null, null, null, null);
+		customers = customerRepository.saveAll(List.of(
+				customer(1, "Uwase", 0.1 + 0.2, MORNING),
+				customer(2, "Kalisa", 1500.0, EVENING),
+				customer(3, "Uwase", 1500.0, MORNING),
+				customer(4, "Mugisha", 0.1 + 0.2, EVENING),
+				customer(5, "Uwase", 1500.0, MORNING),
+				customer(6, "Kalisa", 250.75, MORNING),
+				customer(7, "Mugisha", 1500.0, EVENING)));
+	}
+
+	@ParameterizedTest
+	@EnumSource(CustomerSortField.class)
+	void ascendingPagesListEveryCustomerOnce(CustomerSortField sort) {
+		assertEquals(expectedIds(sort, Sort.Direction.ASC), walk(sort, Sort.Direction.ASC));
+	}
+
+	@ParameterizedTest
+	@EnumSource(CustomerSortField.class)
+	void descendingPagesListEveryCustomerOnce(CustomerSortField sort) {
+		assertEquals(expectedIds(sort, Sort.Direction.DESC), walk(sort, Sort.Direction.DESC));
+	}
+
+	@Test
+	void theLastPageHasNoCursor() {
+		CustomerPageDTO page = customerService.getAllCustomers(request(CustomerSortField.ID, Sort.Direction.ASC, 7, null));
+
+		assertEquals(7, page.getSize());
+		assertNull(page.getNextCursor());
+	}
+
+	@Test
+	void refusesACursorOfAnotherSortOrDirection() {
+		String cursor = customerService.getAllCustomers(request(CustomerSortField.BALANCE, Sort.Direction.ASC, 2, null))
+				.getNextCursor();
+		assertNotNull(cursor);
+
+		assertThrows(InvalidCursorException.class,
+				() -> customerService.getAllCustomers(request(CustomerSortField.BALANCE, Sort.Direction.DESC, 2, cursor)));
+		assertThrows(InvalidCursorException.class,
+				() -> customerService.getAllCustomers(request(CustomerSortField.REGISTRATION_DATE, Sort.Direction.ASC, 2, cursor)));
+	}
+
+	@Test
+	void refusesAMalformedCursor() {
+		String badValue = Base64.getUrlEncoder().withoutPadding()
+				.encodeToString("REGISTRATION_DATE.ASC|yesterday|3".getBytes(StandardCharsets.UTF_8));
+
+		assertThrows(InvalidCursorException.class,
+				() -> customerService.getAllCustomers(request(CustomerSortField.ID, Sort.Direction.ASC, 2, "not base64!")));
+		assertThrows(InvalidCursorException.class,
+				() -> customerService.getAllCustomers(request(CustomerSortField.REGISTRATION_DATE, Sort.Direction.ASC, 2, badValue)));
+	}
+
+	private List<Long> walk(CustomerSortField sort, Sort.Direction direction) {
+		List<Long> ids = new ArrayList<>();
+		String cursor = null;
+		do {
+			CustomerPageDTO page = customerService.getAllCustomers(request(sort, direction, 2, cursor));
+			page.getItems().stream().map(CustomerSummaryDTO::getId).forEach(ids::add);
+			cursor = page.getNextCursor();
+		} while (cursor != null);
+		return ids;
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<Long> expectedIds(CustomerSortField sort, Sort.Direction direction) {
+		Comparator<CustomerSummaryDTO> order = Comparator
+				.comparing((CustomerSummaryDTO customer) -> (Comparable<Object>) sort.valueOf(customer))
+				.thenComparing(CustomerSummaryDTO::getId);
+		if (direction == Sort.Direction.DESC) {
+			order = order.reversed();
+		}
+		return customers.stream()
+				.map(c -> new CustomerSummaryDTO(c.getId(), c.getFirstName(), c.getLastName(), c.getEmail(),
+						c.getAccount(), c.getBalance(), c.getCurrency(), c.getRegistrationDateTime()))
+				.sorted(order)
+				.map(CustomerSummaryDTO::getId)
+				.toList();
+	}
+
+	private static CustomerPageRequest request(CustomerSortField sort, Sort.Direction direction, int size, String cursor) {
+		CustomerPageRequest request = new CustomerPageRequest();
+		request.setSort(sort);
+		request.setDirection(direction);
+		request.setSize(size);
+		request.setCursor(cursor);
+		return request;
+	}
+
+	private static Customer customer(int n, String lastName, double balance, LocalDateTime registered) {
+		Customer customer = new Customer();
+		customer.setFirstName("Customer");
+		customer.setLastName(lastName);
+		customer.setEmail("customer" + n + "@nbr.rw");
+		customer.setMobile("078000000" + n);
+		customer.setAccount("ACC-" + n);
+		customer.setBalance(balance);
+		customer.setDob(new Date(0));
+		customer.setRegistrationDateTime(registered);
+		return customer;
+	}
+}
@@ -0,0 +1,109 @@
+package com.nbr.bankingSystem;
+
+import com.nbr.bankingsystem.fraud.CustomerProfiles;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CustomerProfilesTest {
+
+	@Test
+	void returnsSameSlotForSameCustomer() {
+		CustomerProfiles profiles = new CustomerProfiles(16);
+		int slot = profiles.slotOf(42);
+
+		assertEquals(slot, profiles.slotOf(42));
+		assertNotEquals(slot, profiles.slotOf(43));
+		assertEquals(2, profiles.size());
+	}
+
+	@Test
+	void keepsProfilesAcrossResizes() {
+		CustomerProfiles profiles = new CustomerProfiles(16);
+		for (long id = 1; id <= 10_000; id++) {
+			int slot = profiles.slotOf(id);
+			profiles.addValue(slot, id);
+			profiles.addCounterparty(slot, id + 1_000_000);
+			profiles.addToBurst(slot, id, 60_000);
+		}
+
+		assertEquals(10_000, profiles.size());
+		for (long id = 1; id <= 10_000; id++) {
+			int slot = profiles.slotOf(id);
+			assertEquals(1, profiles.count(slot));
+			assertEquals(id, profiles.mean(slot));
+			assertTrue(profiles.mightKnowCounterparty(slot, id + 1_000_000));
+			assertEquals(2, profiles.addToBurst(slot, id, 60_000));
+		}
+		assertEquals(10_000, profiles.size());
+	}
+
+	@Test
+	void computesMeanAndSampleVariance() {
+		CustomerProfiles profiles = new CustomerProfiles(16);
+		int slot = profiles.slotOf(1);
+		assertEquals(0, profiles.variance(slot));
+
+		for (double value : new double[]{2, 4, 4, 4, 5, 5, 7, 9}) {
+			profiles.addValue(slot, value);
+		}
+
+		assertEquals(5, profiles.mean(slot), 1e-12);
+		assertEquals(32.0 / 7, profiles.variance(slot), 1e-12);
+	}
+
+	@Test
+	void restartsBurstWindowOnceElapsed() {
+		CustomerProfiles profiles = new CustomerProfiles(16);
+		int slot = profiles.slotOf(1);
+
+		assertEquals(1, profiles.addToBurst(slot, 1_000, 100));
+		assertEquals(2, profiles.addToBurst(slot, 1_099, 100));
+		assertEquals(1, profiles.addToBurst(slot, 1_100, 100));
+	}
+
+	@Test
+	void bloomFilterHasNoFalseNegatives() {
+		CustomerProfiles profiles = new CustomerProfiles(16);
+		int slot = profiles.slotOf(1);
+		for (long counterparty = 1; counterparty <= 20; counterparty++) {
+			profiles.addCounterparty(slot, counterparty);
+		}
+
+		for (long counterparty = 1; counterparty <= 20; counterparty++) {
+			assertTrue(profiles.mightKnowCounterparty(slot, counterparty));
+		}
+	}
+
+	@Test
+	void bloomFilterFalsePositiveRateStaysLowForTypicalCounterparties() {
+		CustomerProfiles profiles = new CustomerProfiles(16);
+		int slot = profiles.slotOf(1);
+		SplittableRandom random = new SplittableRandom(1);
+		for (int i = 0; i < 20; i++) {
+			profiles.addCounterparty(slot, random.nextLong(1, Long.MAX_VALUE));
+		}
+
+		int falsePositives = 0;
+		for (int i = 0; i < 100_000; i++) {
+			if (profiles.mightKnowCounterparty(slot, random.nextLong(1, Long.MAX_VALUE))) {
+				falsePositives++;
+			}
+		}
+		// 20 entries in 256 bits with 3 hashes: about 1%
+		assertTrue(falsePositives < 3_000, "false positives: " + falsePositives);
+	}
+
+	@Test
+	void profilesDoNotShareBloomFilters() {
+		CustomerProfiles profiles = new CustomerProfiles(16);
+		profiles.addCounterparty(profiles.slotOf(1), 99);
+
+		assertFalse(profiles.mightKnowCounterparty(profiles.slotOf(2), 99));
+	}
+}
@@ -0,0 +1,93 @@
+package com.nbr.bankingSystem;
+
+import com.nbr.bankingsystem.DTO.CustomerResponseDTO;
+import com.nbr.bankingsystem.DTO.CustomerSearchHitDTO;
+import com.nbr.bankingsystem.search.CustomerSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CustomerSearchIndexTest {
+
+	private CustomerSearchIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new CustomerSearchIndex();
+		index.put(customer(1L, "Jane", "Mukamana", "jane.mukamana@bank.rw", "0781234567", "ACC1001"));
+		index.put(customer(2L, "John", "Habimana", "john.h@mail.rw", "0729876543", "ACC1002"));
+		index.put(customer(3L, "Janet", "Uwase", "janet@bank.rw", "0791112223", "ACC1003"));
+	}
+
+	@Test
+	void findsExactMatchFirst() {
+		List<CustomerSearchHitDTO> hits = index.search("Jane", 10);
+
+		assertEquals(1L, hits.get(0).getId());
+		assertEquals(List.of(1L, 3L), ids(hits));
+	}
+
+	@Test
+	void toleratesTypos() {
+		assertEquals(1L, index.search("mukamna", 10).get(0).getId());
+	}
+
+	@Test
+	void answersShortQueriesByPrefix() {
+		assertEquals(List.of(1L, 2L, 3L), ids(index.search("j", 10)).stream().sorted().toList());
+		assertEquals(List.of(2L), ids(index.search("jo", 10)));
+	}
+
+	@Test
+	void normalizesGroupedDigits() {
+		assertEquals(2L, index.search("072 987-6543", 10).get(0).getId());
+	}
+
+	@Test
+	void respectsLimit() {
+		assertEquals(1, index.search("j", 1).size());
+		assertTrue(index.search("jane", 0).isEmpty());
+		assertTrue(index.search("  ", 10).isEmpty());
+	}
+
+	@Test
+	void reindexesUpdatedCustomers() {
+		index.put(customer(1L, "Grace", "Mukamana", "grace@bank.rw", "0781234567", "ACC1001"));
+
+		assertEquals(List.of(3L), ids(index.search("jane", 10)));
+		assertEquals(1L, index.search("grace", 10).get(0).getId());
+		assertEquals(3, index.size());
+	}
+
+	@Test
+	void forgetsRemovedCustomers() {
+		index.remove(1L);
+
+		assertFalse(ids(index.search("mukamana", 10)).contains(1L));
+		assertEquals(2, index.size());
+	}
+
+	@Test
+	void findsRareMatchAmongManyCommonOnes() {
+		for (long id = 100; id < 20_100; id++) {
+			index.put(customer(id, "User", "Number", "user" + id + "@gmail.com", "078" + (1_000_000 + id), "ACC" + id));
+		}
+		index.put(customer(99L, "Zanele", "Mokoena", "zanele@gmail.com", "0780000099", "ACC99"));
+
+		assertEquals(99L, index.search("zanele@gmail.com", 5).get(0).getId());
+		assertEquals(99L, index.search("gmail.com zanele", 5).get(0).getId());
+	}
+
+	private static List<Long> ids(List<CustomerSearchHitDTO> hits) {
+		return hits.stream().map(CustomerSearchHitDTO::getId).toList();
+	}
+
+	static CustomerResponseDTO customer(Long id, String firstName, String lastName, String email, String mobile, String account) {
+		return new CustomerResponseDTO(id, firstName, lastName, email, mobile, account, 0.0, null, null, null);
+	}
+}
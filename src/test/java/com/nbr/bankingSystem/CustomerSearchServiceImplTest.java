@@ -0,0 +1,98 @@
+package com.nbr.bankingSystem;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nbr.bankingsystem.DTO.CustomerResponseDTO;
+import com.nbr.bankingsystem.DTO.CustomerSearchHitDTO;
+import com.nbr.bankingsystem.config.events.EventBusProperties;
+import com.nbr.bankingsystem.eventbus.DomainEventBus;
+import com.nbr.bankingsystem.eventbus.DomainEventConsumer;
+import com.nbr.bankingsystem.events.CustomerDeleted;
+import com.nbr.bankingsystem.events.CustomerRegistered;
+import com.nbr.bankingsystem.events.CustomerUpdated;
+import com.nbr.bankingsystem.repositories.CustomerRepository;
+import com.nbr.bankingsystem.search.CustomerSearchIndex;
+import com.nbr.bankingsystem.services.impl.CustomerSearchServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.nbr.bankingSystem.Conditions.awaitTrue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The startup load of the search index racing with customer changes.
+ */
+class CustomerSearchServiceImplTest {
+
+	private final CustomerRepository customerRepository = mock(CustomerRepository.class);
+	private CustomerSearchServiceImpl service;
+	private DomainEventBus eventBus;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() throws Exception {
+		service = new CustomerSearchServiceImpl(new CustomerSearchIndex(), customerRepository);
+		EventBusProperties properties = new EventBusProperties();
+		properties.getJournal().setEnabled(false);
+		ObjectProvider<DomainEventConsumer> consumers = mock(ObjectProvider.class);
+		when(consumers.orderedStream()).thenAnswer(invocation -> Stream.of(service));
+		eventBus = new DomainEventBus(properties, new ObjectMapper(), consumers, new SimpleMeterRegistry());
+	}
+
+	@AfterEach
+	void tearDown() {
+		eventBus.shutdown();
+	}
+
+	@Test
+	void keepsACustomerDeletedDuringTheLoadOutOfTheIndex() {
+		// the deletion commits after the customers were read, but before the load puts them in the index
+		when(customerRepository.findAllCustomers()).thenAnswer(invocation -> {
+			eventBus.publish(new CustomerDeleted(1L));
+			return List.of(customer(1L, "Jane"), customer(2L, "John"));
+		});
+
+		eventBus.start();
+		eventBus.publish(new CustomerRegistered(customer(3L, "Janet")));
+
+		awaitTrue(() -> ids("Janet").contains(3L));
+		assertEquals(List.of(2L, 3L), ids("Mukamana").stream().sorted().toList());
+	}
+
+	@Test
+	void appliesAnUpdateCommittedDuringTheLoad() {
+		when(customerRepository.findAllCustomers()).thenAnswer(invocation -> {
+			eventBus.publish(new CustomerUpdated(customer(2L, "Johnny")));
+			return List.of(customer(2L, "John"));
+		});
+
+		eventBus.start();
+
+		awaitTrue(() -> firstNames("Mukamana").equals(List.of("Johnny")));
+	}
+
+	private List<Long> ids(String query) {
+		return service.search(query, 0, 10).getResults().stream().map(CustomerSearchHitDTO::getId).toList();
+	}
+
+	private List<String> firstNames(String query) {
+		return service.search(query, 0, 10).getResults().stream().map(CustomerSearchHitDTO::getFirstName).toList();
+	}
+
+	private static CustomerResponseDTO customer(Long id, String firstName) {
+		CustomerResponseDTO customer = new CustomerResponseDTO();
+		customer.setId(id);
+		customer.setFirstName(firstName);
+		customer.setLastName("Mukamana");
+		customer.setEmail(firstName.toLowerCase() + id + "@bank.rw");
+		customer.setAccount("ACC100" + id);
+		return customer;
+	}
+}
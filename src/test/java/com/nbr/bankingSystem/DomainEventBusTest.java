@@ -0,0 +1,233 @@
+package com.nbr.bankingSystem;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nbr.bankingsystem.config.events.EventBusProperties;
+import com.nbr.bankingsystem.eventbus.DomainEventBus;
+import com.nbr.bankingsystem.eventbus.DomainEventConsumer;
+import com.nbr.bankingsystem.eventbus.EventJournal;
+import com.nbr.bankingsystem.events.CustomerDeleted;
+import com.nbr.bankingsystem.events.DomainEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static com.nbr.bankingSystem.Conditions.awaitTrue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DomainEventBusTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+	private final List<DomainEventBus> buses = new ArrayList<>();
+
+	@TempDir
+	private Path directory;
+
+	@AfterEach
+	void tearDown() {
+		buses.forEach(DomainEventBus::shutdown);
+	}
+
+	@Test
+	void deliversEveryEventInOrderAcrossBatches() {
+		RecordingConsumer consumer = new RecordingConsumer("recorder", false);
+		DomainEventBus bus = bus(properties(16, 4, false), consumer);
+		publish(bus, 1, 5);
+		bus.start();
+
+		publish(bus, 6, 100);
+
+		awaitTrue(() -> consumer.received.size() == 100);
+		assertEquals(sequences(1, 100), consumer.received);
+		assertTrue(consumer.batchSizes.stream().allMatch(size -> size <= 4), consumer.batchSizes.toString());
+		assertTrue(consumer.batchSizes.size() >= 25);
+	}
+
+	@Test
+	void blocksPublishersWhileTheSlowestConsumerIsAWholeRingBehind() throws InterruptedException {
+		RecordingConsumer consumer = new RecordingConsumer("recorder", false);
+		consumer.blocked = new CountDownLatch(1);
+		DomainEventBus bus = bus(properties(4, 1, false), consumer);
+		bus.start();
+		Thread publisher = new Thread(() -> publish(bus, 1, 10));
+
+		publisher.start();
+
+		// the consumer hangs on the first event, so only three more fit in the ring
+		awaitTrue(() -> bus.headSequence() == 4);
+		TimeUnit.MILLISECONDS.sleep(100);
+		assertEquals(4, bus.headSequence());
+		assertTrue(publisher.isAlive());
+
+		consumer.blocked.countDown();
+		publisher.join(5_000);
+		awaitTrue(() -> consumer.received.size() == 10);
+		assertEquals(sequences(1, 10), consumer.received);
+	}
+
+	@Test
+	void replaysTheJournalFromTheStoredOffset() throws IOException {
+		RecordingConsumer before = new RecordingConsumer("durable", true);
+		DomainEventBus first = bus(properties(16, 4, true), before);
+		first.start();
+		publish(first, 1, 3);
+		awaitTrue(() -> before.received.size() == 3);
+		first.shutdown();
+		// published while the durable consumer was not running
+		DomainEventBus second = bus(properties(16, 4, true));
+		second.start();
+		publish(second, 4, 6);
+		second.shutdown();
+
+		RecordingConsumer after = new RecordingConsumer("durable", true);
+		DomainEventBus third = bus(properties(16, 4, true), after);
+		third.start();
+		publish(third, 7, 7);
+
+		awaitTrue(() -> after.received.size() == 4);
+		assertEquals(sequences(4, 7), after.received);
+		third.shutdown();
+		assertEquals(OptionalLong.of(7), storedOffset("durable"));
+	}
+
+	@Test
+	void redeliversTheBatchAfterADurableConsumerFails() throws IOException {
+		RecordingConsumer consumer = new RecordingConsumer("durable", true);
+		consumer.failures.set(2);
+		DomainEventBus bus = bus(properties(16, 4, true), consumer);
+		bus.start();
+
+		publish(bus, 1, 3);
+		awaitTrue(() -> consumer.received.size() == 3);
+		publish(bus, 4, 6);
+
+		awaitTrue(() -> consumer.received.size() == 6);
+		assertEquals(sequences(1, 6), consumer.received);
+		assertTrue(consumer.calls.get() >= 4, "failed twice, then delivered both batches");
+		bus.shutdown();
+		assertEquals(OptionalLong.of(6), storedOffset("durable"));
+	}
+
+	@Test
+	void skipsTheFailedBatchOfAConsumerThatIsNotDurable() {
+		RecordingConsumer consumer = new RecordingConsumer("recorder", false);
+		consumer.blocked = new CountDownLatch(1);
+		consumer.failures.set(1);
+		DomainEventBus bus = bus(properties(16, 4, false), consumer);
+		bus.start();
+
+		publish(bus, 1, 1);
+		awaitTrue(() -> consumer.calls.get() == 1);
+		publish(bus, 2, 3);
+		consumer.blocked.countDown();
+
+		awaitTrue(() -> consumer.received.size() == 2);
+		assertEquals(sequences(2, 3), consumer.received);
+	}
+
+	private EventBusProperties properties(int ringSize, int maxBatchSize, boolean journal) {
+		EventBusProperties properties = new EventBusProperties();
+		properties.setRingSize(ringSize);
+		properties.setMaxBatchSize(maxBatchSize);
+		properties.setRetryBackoff(Duration.ofMillis(1));
+		properties.setMaxRetryBackoff(Duration.ofMillis(10));
+		properties.getJournal().setEnabled(journal);
+		properties.getJournal().setDirectory(directory.toString());
+		return properties;
+	}
+
+	@SuppressWarnings("unchecked")
+	private DomainEventBus bus(EventBusProperties properties, DomainEventConsumer... consumers) {
+		ObjectProvider<DomainEventConsumer> provider = mock(ObjectProvider.class);
+		when(provider.orderedStream()).thenAnswer(invocation -> Stream.of(consumers));
+		try {
+			DomainEventBus bus = new DomainEventBus(properties, objectMapper, provider, new SimpleMeterRegistry());
+			buses.add(bus);
+			return bus;
+		} catch (IOException e) {
+			throw new AssertionError(e);
+		}
+	}
+
+	/**
+	 * Publishes CustomerDeleted events whose customer id is their expected sequence.
+	 */
+	private static void publish(DomainEventBus bus, long first, long last) {
+		for (long id = first; id <= last; id++) {
+			bus.publish(new CustomerDeleted(id));
+		}
+	}
+
+	private OptionalLong storedOffset(String consumer) throws IOException {
+		try (EventJournal journal = new EventJournal(directory, objectMapper, 1 << 20, false)) {
+			return journal.readOffset(consumer);
+		}
+	}
+
+	private static List<Long> sequences(long first, long last) {
+		return LongStream.rangeClosed(first, last).boxed().toList();
+	}
+
+	/**
+	 * Records the customer ids of the batches it handled; the first calls can be made to fail or to hang.
+	 */
+	private static final class RecordingConsumer implements DomainEventConsumer {
+
+		final List<Long> received = new CopyOnWriteArrayList<>();
+		final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+		final AtomicInteger calls = new AtomicInteger();
+		final AtomicInteger failures = new AtomicInteger();
+		private final String name;
+		private final boolean durable;
+		volatile CountDownLatch blocked;
+
+		RecordingConsumer(String name, boolean durable) {
+			this.name = name;
+			this.durable = durable;
+		}
+
+		@Override
+		public String name() {
+			return name;
+		}
+
+		@Override
+		public boolean durable() {
+			return durable;
+		}
+
+		@Override
+		public void handle(List<DomainEvent> events) {
+			calls.incrementAndGet();
+			if (blocked != null) {
+				try {
+					blocked.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			if (failures.getAndDecrement() > 0) {
+				throw new IllegalStateException("database unavailable");
+			}
+			batchSizes.add(events.size());
+			events.forEach(event -> received.add(((CustomerDeleted) event).customerId()));
+		}
+	}
+}
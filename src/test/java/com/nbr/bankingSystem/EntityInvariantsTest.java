@@ -0,0 +1,60 @@
+package com.nbr.bankingSystem;
+
+import com.nbr.bankingsystem.models.Banking;
+import com.nbr.bankingsystem.models.Customer;
+import com.nbr.bankingsystem.validation.EntityInvariants;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EntityInvariantsTest {
+
+	private static ValidatorFactory factory;
+	private static Validator validator;
+
+	@BeforeAll
+	static void setUp() {
+		factory = Validation.buildDefaultValidatorFactory();
+		validator = factory.getValidator();
+	}
+
+	@AfterAll
+	static void tearDown() {
+		factory.close();
+	}
+
+	@Test
+	void rejectsNegativeBalance() {
+		Customer customer = new Customer();
+		customer.setBalance(-1.0);
+
+		assertEquals(1, validator.validate(customer, EntityInvariants.class).size());
+	}
+
+	@Test
+	void skipsFormatChecksOnFlush() {
+		Customer customer = new Customer();
+		customer.setBalance(0.0);
+		customer.setMobile(Customer.deletedMobile(42L));
+		customer.setEmail(Customer.deletedEmail(42L));
+
+		assertTrue(validator.validate(customer, EntityInvariants.class).isEmpty());
+	}
+
+	@Test
+	void rejectsMissingOrNegativeAmount() {
+		Banking banking = new Banking();
+		banking.setAmount(-5.0);
+
+		// negative amount and missing type
+		assertEquals(2, validator.validate(banking, EntityInvariants.class).size());
+		banking.setAmount(null);
+		assertEquals(2, validator.validate(banking, EntityInvariants.class).size());
+	}
+}
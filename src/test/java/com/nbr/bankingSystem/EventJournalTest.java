@@ -0,0 +1,239 @@
+package com.nbr.bankingSystem;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nbr.bankingsystem.DTO.CustomerResponseDTO;
+import com.nbr.bankingsystem.enums.CurrencyCode;
+import com.nbr.bankingsystem.enums.TransactionType;
+import com.nbr.bankingsystem.eventbus.EventJournal;
+import com.nbr.bankingsystem.events.AccountHolder;
+import com.nbr.bankingsystem.events.CustomerDeleted;
+import com.nbr.bankingsystem.events.CustomerRegistered;
+import com.nbr.bankingsystem.events.DomainEvent;
+import com.nbr.bankingsystem.events.TransactionCreated;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventJournalTest {
+
+	private static final long LARGE_SEGMENTS = 1 << 20;
+
+	private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+	@TempDir
+	private Path directory;
+
+	private EventJournal journal;
+
+	@AfterEach
+	void tearDown() throws IOException {
+		journal.close();
+	}
+
+	@Test
+	void replaysTheRequestedRangeInOrder() throws IOException {
+		journal = open(LARGE_SEGMENTS);
+		appendUpTo(10);
+
+		assertEquals(List.of(4L, 5L, 6L, 7L), replay(3, 7));
+		assertEquals(List.of(4L, 5L), read(3, 10, 2));
+	}
+
+	@Test
+	void continuesAfterTheLastRecordWhenReopened() throws IOException {
+		journal = open(LARGE_SEGMENTS);
+		appendUpTo(10);
+		journal.close();
+
+		journal = open(LARGE_SEGMENTS);
+
+		assertEquals(10, journal.lastSequence());
+		assertEquals(11, journal.append(new CustomerDeleted(11L)));
+		assertEquals(sequences(1, 11), replay(0, 11));
+	}
+
+	@Test
+	void cutsOffATornRecordWhenReopened() throws IOException {
+		journal = open(LARGE_SEGMENTS);
+		appendUpTo(5);
+		journal.close();
+		Path segment = onlySegment();
+		long validSize = Files.size(segment);
+		// a record header promising 100 bytes, of which only 10 made it to disk
+		write(segment, validSize, ByteBuffer.allocate(22).putInt(100).putLong(6).put(new byte[10]).flip());
+
+		journal = open(LARGE_SEGMENTS);
+
+		assertEquals(5, journal.lastSequence());
+		assertEquals(validSize, Files.size(segment));
+		assertEquals(6, journal.append(new CustomerDeleted(6L)));
+		assertEquals(sequences(1, 6), replay(0, 6));
+	}
+
+	@Test
+	void skipsRecordsThatAreNoLongerAnEvent() throws IOException {
+		journal = open(LARGE_SEGMENTS);
+		appendUpTo(5);
+		journal.close();
+		Path segment = onlySegment();
+		byte[] json = "{\"type\":\"Unknown\"}".getBytes(StandardCharsets.UTF_8);
+		write(segment, Files.size(segment), ByteBuffer.allocate(12 + json.length).putInt(json.length).putLong(6).put(json).flip());
+
+		journal = open(LARGE_SEGMENTS);
+		journal.append(new CustomerDeleted(7L));
+
+		assertEquals(List.of(4L, 5L, 7L), replay(3, 7));
+	}
+
+	@Test
+	void startsMidSegmentReadsAtTheIndexedRecord() throws IOException {
+		journal = open(LARGE_SEGMENTS);
+		appendUpTo(3_000);
+		// break the first record: a read that starts at the beginning of the segment now stops there
+		write(onlySegment(), 0, ByteBuffer.allocate(4).putInt(-1).flip());
+
+		assertEquals(List.of(), replay(0, 5));
+		assertEquals(List.of(2_048L, 2_049L, 2_050L), replay(2_047, 2_050));
+	}
+
+	@Test
+	void readsAcrossSegments() throws IOException {
+		journal = open(200);
+		appendUpTo(50);
+
+		assertTrue(segments().size() > 5);
+		assertEquals(sequences(1, 50), replay(0, 50));
+		assertEquals(sequences(20, 29), read(19, 50, 10));
+	}
+
+	@Test
+	void deletesOnlyOldSegmentsFullyBeforeTheSequence() throws IOException {
+		journal = open(200);
+		appendUpTo(50);
+		List<Path> before = segments();
+
+		int deleted = journal.deleteSegmentsBefore(25, Instant.now().plusSeconds(60));
+
+		assertTrue(deleted > 0);
+		assertEquals(before.size() - deleted, segments().size());
+		assertTrue(journal.firstSequence() <= 26);
+		assertEquals(sequences(journal.firstSequence(), 50), replay(0, 50));
+		assertEquals(0, journal.deleteSegmentsBefore(50, Instant.now().minusSeconds(60)));
+	}
+
+	@Test
+	void neverDeletesTheCurrentSegment() throws IOException {
+		journal = open(200);
+		appendUpTo(50);
+
+		journal.deleteSegmentsBefore(Long.MAX_VALUE - 1, Instant.now().plusSeconds(60));
+
+		assertEquals(1, segments().size());
+		assertEquals(51, journal.append(new CustomerDeleted(51L)));
+		assertEquals(List.of(51L), replay(50, 51));
+	}
+
+	@Test
+	void storesConsumerOffsets() throws IOException {
+		journal = open(LARGE_SEGMENTS);
+
+		assertEquals(OptionalLong.empty(), journal.readOffset("notifications"));
+		journal.writeOffset("notifications", 41);
+		journal.writeOffset("notifications", 42);
+
+		assertEquals(OptionalLong.of(42), journal.readOffset("notifications"));
+	}
+
+	@Test
+	void leavesPersonalDataOutOfTheJournal() throws IOException {
+		journal = open(LARGE_SEGMENTS);
+		journal.append(new TransactionCreated(1L, new AccountHolder(7L, "ACC-7", "Ada", "Lovelace", "ada@example.com",
+				"0788000007", 250.0), TransactionType.SAVING, 250.0, CurrencyCode.RWF, LocalDateTime.of(2026, 10, 1, 12, 0)));
+		journal.append(new CustomerRegistered(new CustomerResponseDTO(7L, "Ada", "Lovelace", "ada@example.com",
+				"0788000007", "ACC-7", 0.0, CurrencyCode.RWF, new Date(0), null)));
+
+		String segment = Files.readString(onlySegment(), StandardCharsets.ISO_8859_1);
+		for (String personal : List.of("Ada", "Lovelace", "ada@example.com", "0788000007")) {
+			assertFalse(segment.contains(personal), personal);
+		}
+		List<DomainEvent> replayed = new ArrayList<>();
+		journal.replay(0, 2, (sequence, event) -> replayed.add(event));
+		AccountHolder holder = ((TransactionCreated) replayed.get(0)).holder();
+		assertEquals(new AccountHolder(7L, "ACC-7", null, null, null, null, 250.0), holder);
+		assertFalse(holder.hasContactDetails());
+		CustomerResponseDTO customer = ((CustomerRegistered) replayed.get(1)).customer();
+		assertEquals(7L, customer.getId());
+		assertEquals("ACC-7", customer.getAccount());
+		assertNull(customer.getEmail());
+		assertNull(customer.getDob());
+	}
+
+	private EventJournal open(long segmentBytes) throws IOException {
+		return new EventJournal(directory, objectMapper, segmentBytes, false);
+	}
+
+	private void appendUpTo(long last) {
+		for (long sequence = journal.lastSequence() + 1; sequence <= last; sequence++) {
+			assertEquals(sequence, journal.append(new CustomerDeleted(sequence)));
+		}
+	}
+
+	private List<Long> replay(long after, long upTo) throws IOException {
+		return read(after, upTo, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Reads the events and checks each still carries its own sequence as customer id.
+	 */
+	private List<Long> read(long after, long upTo, int limit) throws IOException {
+		List<Long> read = new ArrayList<>();
+		journal.read(after, upTo, limit, (sequence, event) -> {
+			assertEquals(sequence, ((CustomerDeleted) event).customerId());
+			read.add(sequence);
+		});
+		return read;
+	}
+
+	private static List<Long> sequences(long first, long last) {
+		return LongStream.rangeClosed(first, last).boxed().toList();
+	}
+
+	private List<Path> segments() throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.filter(path -> path.getFileName().toString().endsWith(".log")).sorted().toList();
+		}
+	}
+
+	private Path onlySegment() throws IOException {
+		List<Path> segments = segments();
+		assertEquals(1, segments.size());
+		return segments.get(0);
+	}
+
+	private static void write(Path file, long position, ByteBuffer bytes) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			channel.write(bytes, position);
+		}
+	}
+}
@@ -0,0 +1,127 @@
+package com.nbr.bankingSystem;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal SMTP server on a local port for tests and benchmarks: answers EHLO, MAIL, RCPT, DATA, RSET, NOOP
+ * and QUIT, without authentication or TLS. Recipients can be refused, and the connection can be dropped
+ * instead of accepting a given message. Every reply can be delayed to stand in for a network round trip.
+ */
+public class FakeSmtpServer implements AutoCloseable {
+
+	private final ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+	private final long replyDelayMillis;
+	private final Set<String> refusedRecipients = ConcurrentHashMap.newKeySet();
+	private final AtomicInteger connections = new AtomicInteger();
+	private final AtomicInteger openConnections = new AtomicInteger();
+	private final AtomicInteger messages = new AtomicInteger();
+	private volatile int dropAtMessage;
+
+	public FakeSmtpServer(long replyDelayMillis) throws IOException {
+		this.replyDelayMillis = replyDelayMillis;
+		Thread acceptor = new Thread(this::accept, "fake-smtp");
+		acceptor.setDaemon(true);
+		acceptor.start();
+	}
+
+	public int port() {
+		return serverSocket.getLocalPort();
+	}
+
+	/** Connections accepted so far. */
+	public int connections() {
+		return connections.get();
+	}
+
+	/** Connections not closed yet. */
+	public int openConnections() {
+		return openConnections.get();
+	}
+
+	/** Messages accepted so far. */
+	public int messages() {
+		return messages.get();
+	}
+
+	public void refuse(String recipient) {
+		refusedRecipients.add(recipient);
+	}
+
+	/** Closes the connection at the end of the data of the given message, counted from 1, instead of accepting it. */
+	public void dropAtMessage(int message) {
+		dropAtMessage = message;
+	}
+
+	private void accept() {
+		while (!serverSocket.isClosed()) {
+			try {
+				Socket socket = serverSocket.accept();
+				connections.incrementAndGet();
+				openConnections.incrementAndGet();
+				Thread session = new Thread(() -> serve(socket), "fake-smtp-session");
+				session.setDaemon(true);
+				session.start();
+			} catch (IOException e) {
+				return;
+			}
+		}
+	}
+
+	private void serve(Socket socket) {
+		try (socket; BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII))) {
+			OutputStream out = socket.getOutputStream();
+			reply(out, "220 fake ESMTP");
+			String line;
+			while ((line = in.readLine()) != null) {
+				String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line;
+				switch (command) {
+					case "EHLO", "HELO", "MAIL", "RSET", "NOOP" -> reply(out, "250 OK");
+					case "RCPT" -> reply(out, refusedRecipients.stream().anyMatch(line::contains) ? "550 No such user" : "250 OK");
+					case "DATA" -> {
+						reply(out, "354 End data with <CR><LF>.<CR><LF>");
+						while ((line = in.readLine()) != null && !line.equals(".")) {
+							// message content is discarded
+						}
+						if (messages.get() + 1 == dropAtMessage) {
+							return;
+						}
+						messages.incrementAndGet();
+						reply(out, "250 OK");
+					}
+					case "QUIT" -> {
+						reply(out, "221 Bye");
+						return;
+					}
+					default -> reply(out, "502 Command not implemented");
+				}
+			}
+		} catch (IOException | InterruptedException e) {
+			// the client went away
+		} finally {
+			openConnections.decrementAndGet();
+		}
+	}
+
+	private void reply(OutputStream out, String reply) throws IOException, InterruptedException {
+		if (replyDelayMillis > 0) {
+			Thread.sleep(replyDelayMillis);
+		}
+		out.write((reply + "\r\n").getBytes(StandardCharsets.US_ASCII));
+		out.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		serverSocket.close();
+	}
+}
@@ -0,0 +1,65 @@
+package com.nbr.bankingSystem;
+
+import com.nbr.bankingsystem.config.fraud.FraudProperties;
+import com.nbr.bankingsystem.enums.TransactionType;
+import com.nbr.bankingsystem.fraud.CustomerProfiles;
+import com.nbr.bankingsystem.fraud.FraudScore;
+import com.nbr.bankingsystem.fraud.FraudScorer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FraudScorerTest {
+
+	private static final long HOUR = 3_600_000;
+
+	private FraudScorer scorer;
+
+	@BeforeEach
+	void setUp() {
+		scorer = new FraudScorer(new CustomerProfiles(16), new FraudProperties());
+		for (int i = 0; i < 10; i++) {
+			scorer.learn(1, 1_000 + i * 10, 2L);
+		}
+	}
+
+	@Test
+	void usualTransactionsScoreZero() {
+		FraudScore score = scorer.score(1, TransactionType.TRANSFER, 1_050, 2L, 0);
+
+		assertEquals(0, score.score());
+		assertEquals("", score.reasons());
+	}
+
+	@Test
+	void flagsUnusualAmountAndNewReceiver() {
+		FraudScore score = scorer.score(1, TransactionType.TRANSFER, 1_000_000, 3L, 0);
+
+		assertEquals(0.8, score.score(), 1e-9);
+		assertEquals("UNUSUAL_AMOUNT,NEW_RECEIVER", score.reasons());
+	}
+
+	@Test
+	void learnedReceiversAreKnown() {
+		scorer.score(1, TransactionType.TRANSFER, 1_000, 3L, 0);
+
+		assertEquals(0, scorer.score(1, TransactionType.TRANSFER, 1_000, 3L, HOUR).score());
+	}
+
+	@Test
+	void flagsBursts() {
+		FraudScore score = null;
+		for (int i = 0; i <= 5; i++) {
+			score = scorer.score(1, TransactionType.WITHDRAW, 1_000, null, i);
+		}
+
+		assertTrue(score.reasons().contains("BURST"));
+	}
+
+	@Test
+	void doesNotJudgeNewCustomers() {
+		assertEquals(0, scorer.score(7, TransactionType.TRANSFER, 50_000_000, 3L, 0).score());
+	}
+}
@@ -0,0 +1,116 @@
+package com.nbr.bankingSystem;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nbr.bankingsystem.DTO.ChangeDTO;
+import com.nbr.bankingsystem.config.events.ChangeFeedProperties;
+import com.nbr.bankingsystem.config.events.EventBusProperties;
+import com.nbr.bankingsystem.config.fraud.FraudProperties;
+import com.nbr.bankingsystem.enums.CurrencyCode;
+import com.nbr.bankingsystem.enums.TransactionType;
+import com.nbr.bankingsystem.eventbus.DomainEventBus;
+import com.nbr.bankingsystem.eventbus.DomainEventConsumer;
+import com.nbr.bankingsystem.events.AccountHolder;
+import com.nbr.bankingsystem.events.CustomerFrozen;
+import com.nbr.bankingsystem.events.DomainEvent;
+import com.nbr.bankingsystem.events.TransactionCreated;
+import com.nbr.bankingsystem.exceptions.ResourceNotFoundException;
+import com.nbr.bankingsystem.repositories.BankingRepository;
+import com.nbr.bankingsystem.repositories.CustomerRepository;
+import com.nbr.bankingsystem.repositories.FraudAlertRepository;
+import com.nbr.bankingsystem.services.FxRateService;
+import com.nbr.bankingsystem.services.impl.ChangeFeedServiceImpl;
+import com.nbr.bankingsystem.services.impl.FraudServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static com.nbr.bankingSystem.Conditions.awaitTrue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Freezes, by an administrator or by fraud detection, as readers of the change feed see them.
+ */
+class FraudServiceImplTest {
+
+	private final CustomerRepository customerRepository = mock(CustomerRepository.class);
+	private final FraudAlertRepository fraudAlertRepository = mock(FraudAlertRepository.class);
+	private final FraudProperties properties = new FraudProperties();
+	private DomainEventBus eventBus;
+	private ChangeFeedServiceImpl changeFeed;
+	private FraudServiceImpl service;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() throws Exception {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		EventBusProperties busProperties = new EventBusProperties();
+		busProperties.getJournal().setEnabled(false);
+		ObjectProvider<DomainEventConsumer> consumers = mock(ObjectProvider.class);
+		when(consumers.orderedStream()).thenAnswer(invocation -> Stream.empty());
+		eventBus = new DomainEventBus(busProperties, new ObjectMapper(), consumers, meterRegistry);
+		eventBus.start();
+		changeFeed = new ChangeFeedServiceImpl(eventBus, new ChangeFeedProperties(), meterRegistry);
+		service = new FraudServiceImpl(fraudAlertRepository, customerRepository, mock(BankingRepository.class),
+				mock(FxRateService.class), properties, eventBus,
+				new TransactionTemplate(mock(PlatformTransactionManager.class)), meterRegistry);
+	}
+
+	@AfterEach
+	void tearDown() {
+		service.shutdown();
+		changeFeed.shutdown();
+		eventBus.shutdown();
+	}
+
+	@Test
+	void publishesAFreezeAndAnUnfreezeToTheChangeFeed() {
+		when(customerRepository.updateFrozen(7L, true)).thenReturn(1);
+		when(customerRepository.updateFrozen(7L, false)).thenReturn(1);
+
+		service.setFrozen(7L, true);
+		service.setFrozen(7L, false);
+
+		assertEquals(List.of(new CustomerFrozen(7L, true), new CustomerFrozen(7L, false)), changes());
+	}
+
+	@Test
+	void publishesNothingForAnUnknownCustomer() {
+		when(customerRepository.updateFrozen(8L, true)).thenReturn(0);
+
+		assertThrows(ResourceNotFoundException.class, () -> service.setFrozen(8L, true));
+
+		assertEquals(List.of(), changes());
+	}
+
+	@Test
+	void publishesTheAutomaticFreezeOfASuspiciousTransaction() {
+		properties.setAlertThreshold(0);
+		properties.setFreezeEnabled(true);
+		properties.setFreezeThreshold(0);
+		when(customerRepository.updateFrozen(7L, true)).thenReturn(1);
+
+		service.handle(List.of(new TransactionCreated(70L, new AccountHolder(7L, "ACC-7", null, null, null, null, 500.0),
+				TransactionType.WITHDRAW, 1_000.0, CurrencyCode.RWF, LocalDateTime.of(2026, 10, 1, 12, 0))));
+
+		awaitTrue(() -> !changes().isEmpty());
+		assertEquals(List.of(new CustomerFrozen(7L, true)), changes());
+		verify(fraudAlertRepository).save(any());
+	}
+
+	private List<DomainEvent> changes() {
+		return changeFeed.read(0, 10).getChanges().stream().map(ChangeDTO::getEvent).toList();
+	}
+}
@@ -0,0 +1,51 @@
+package com.nbr.bankingSystem;
+
+import com.nbr.bankingsystem.enums.CurrencyCode;
+import com.nbr.bankingsystem.fx.FxRateTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FxRateTableTest {
+
+	@Test
+	void derivesCrossRatesFromTheRwfRates() {
+		FxRateTable table = FxRateTable.of(Map.of(CurrencyCode.USD, 1_300.0, CurrencyCode.EUR, 1_430.0));
+
+		assertEquals(1_300.0, table.rate(CurrencyCode.USD, CurrencyCode.RWF));
+		assertEquals(1 / 1_300.0, table.rate(CurrencyCode.RWF, CurrencyCode.USD));
+		assertEquals(1.1, table.rate(CurrencyCode.EUR, CurrencyCode.USD), 1e-12);
+		assertEquals(1 / 1.1, table.rate(CurrencyCode.USD, CurrencyCode.EUR), 1e-12);
+	}
+
+	@Test
+	void sameCurrencyIsAlwaysOne() {
+		FxRateTable table = FxRateTable.of(Map.of());
+
+		for (CurrencyCode currency : CurrencyCode.values()) {
+			assertEquals(1.0, table.rate(currency, currency));
+			assertTrue(table.hasRate(currency, currency));
+		}
+	}
+
+	@Test
+	void pairsWithAMissingOrInvalidRateAreUnavailable() {
+		FxRateTable table = FxRateTable.of(Map.of(CurrencyCode.USD, 1_300.0, CurrencyCode.EUR, 0.0));
+
+		assertTrue(table.hasRate(CurrencyCode.USD, CurrencyCode.RWF));
+		assertFalse(table.hasRate(CurrencyCode.EUR, CurrencyCode.RWF));
+		assertFalse(table.hasRate(CurrencyCode.USD, CurrencyCode.EUR));
+		assertTrue(Double.isNaN(table.rate(CurrencyCode.RWF, CurrencyCode.EUR)));
+	}
+
+	@Test
+	void ignoresAnRwfRateOtherThanOne() {
+		FxRateTable table = FxRateTable.of(Map.of(CurrencyCode.RWF, 2.0, CurrencyCode.USD, 1_300.0));
+
+		assertEquals(1_300.0, table.rate(CurrencyCode.USD, CurrencyCode.RWF));
+	}
+}
@@ -0,0 +1,23 @@
+package com.nbr.bankingSystem;
+
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * Entities and repositories of the application, for repository tests against H2 in MariaDB mode.
+ * The test package differs from the application package, so @DataJpaTest cannot find them itself.
+ */
+@Configuration
+@EntityScan("com.nbr.bankingsystem.models")
+@EnableJpaRepositories("com.nbr.bankingsystem.repositories")
+class JpaTestConfiguration {
+
+	/**
+	 * Properties for @DataJpaTest, replacing the MariaDB settings of application.properties.
+	 */
+	static final String DATABASE = "spring.jpa.database=h2";
+	static final String SCHEMA = "spring.jpa.hibernate.ddl-auto=create-drop";
+	static final String URL = "spring.datasource.url=jdbc:h2:mem:repositories;MODE=MariaDB;DB_CLOSE_DELAY=-1";
+	static final String DRIVER = "spring.datasource.driver-class-name=org.h2.Driver";
+}
@@ -0,0 +1,74 @@
+package com.nbr.bankingSystem;
+
+import com.nbr.bankingsystem.config.limits.LimitProperties;
+import com.nbr.bankingsystem.enums.CurrencyCode;
+import com.nbr.bankingsystem.exceptions.LimitExceededException;
+import com.nbr.bankingsystem.limits.AccountLimits;
+import com.nbr.bankingsystem.repositories.BankingRepository;
+import com.nbr.bankingsystem.services.FxRateService;
+import com.nbr.bankingsystem.services.impl.LimitServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LimitServiceImplTest {
+
+	private LimitServiceImpl service;
+
+	@BeforeEach
+	void setUp() {
+		LimitProperties properties = new LimitProperties();
+		properties.setDailyWithdrawalLimit(1_000);
+		FxRateService fxRateService = mock(FxRateService.class);
+		when(fxRateService.getRate(CurrencyCode.USD, CurrencyCode.RWF)).thenReturn(1_000.0);
+		service = new LimitServiceImpl(new AccountLimits(properties), properties, fxRateService, mock(BankingRepository.class),
+				new TransactionTemplate(mock(PlatformTransactionManager.class)));
+		TransactionSynchronizationManager.initSynchronization();
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void rollbackReleasesTheReservation() {
+		service.reserveWithdrawal(1L, 1_000, CurrencyCode.RWF);
+		complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+		assertDoesNotThrow(() -> service.reserveWithdrawal(1L, 1_000, CurrencyCode.RWF));
+	}
+
+	@Test
+	void commitKeepsTheReservation() {
+		service.reserveWithdrawal(1L, 1_000, CurrencyCode.RWF);
+		complete(TransactionSynchronization.STATUS_COMMITTED);
+
+		assertThrows(LimitExceededException.class, () -> service.reserveWithdrawal(1L, 1, CurrencyCode.RWF));
+	}
+
+	@Test
+	void convertsToRwfBeforeChecking() {
+		service.reserveWithdrawal(1L, 0.5, CurrencyCode.USD);
+
+		assertThrows(LimitExceededException.class, () -> service.reserveWithdrawal(1L, 501, CurrencyCode.RWF));
+	}
+
+	private static void complete(int status) {
+		for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			synchronization.afterCompletion(status);
+		}
+		TransactionSynchronizationManager.clearSynchronization();
+	}
+}
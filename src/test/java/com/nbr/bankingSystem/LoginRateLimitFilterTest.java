@@ -0,0 +1,95 @@
+package com.nbr.bankingSystem;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nbr.bankingsystem.authentication.ratelimit.LoginRateLimitFilter;
+import com.nbr.bankingsystem.authentication.ratelimit.LoginRateLimiter;
+import com.nbr.bankingsystem.config.security.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LoginRateLimitFilterTest {
+
+	private RateLimitProperties properties;
+	private LoginRateLimitFilter filter;
+
+	@BeforeEach
+	void setUp() {
+		properties = new RateLimitProperties();
+		properties.setIp(new RateLimitProperties.Limit(1, Duration.ofHours(1)));
+		properties.setEmail(new RateLimitProperties.Limit(1, Duration.ofHours(1)));
+		properties.setEmailTotal(new RateLimitProperties.Limit(3, Duration.ofHours(1)));
+		properties.setTrustedProxies(Set.of("10.0.0.2", "10.0.0.3"));
+		filter = new LoginRateLimitFilter(new LoginRateLimiter(properties, new SimpleMeterRegistry()), properties, new ObjectMapper());
+	}
+
+	@Test
+	void ignoresForwardedForFromUntrustedPeers() throws Exception {
+		assertEquals(200, post("192.168.1.1", "1.1.1.1", null));
+		assertEquals(429, post("192.168.1.1", "2.2.2.2", null));
+	}
+
+	@Test
+	void usesRightmostUntrustedForwardedForEntry() throws Exception {
+		assertEquals(200, post("10.0.0.2", "1.1.1.1, 7.7.7.7, 10.0.0.3", null));
+		// a spoofed leftmost entry does not give the client a fresh bucket
+		assertEquals(429, post("10.0.0.2", "2.2.2.2, 7.7.7.7, 10.0.0.3", null));
+		assertEquals(200, post("10.0.0.2", "8.8.8.8", null));
+	}
+
+	@Test
+	void fallsBackToRemoteAddressWithoutForwardedFor() throws Exception {
+		assertEquals(200, post("10.0.0.2", null, null));
+		assertEquals(429, post("10.0.0.2", null, null));
+	}
+
+	@Test
+	void limitsEmailsPerClientIp() throws Exception {
+		properties.setIp(new RateLimitProperties.Limit(100, Duration.ofHours(1)));
+		filter = new LoginRateLimitFilter(new LoginRateLimiter(properties, new SimpleMeterRegistry()), properties, new ObjectMapper());
+
+		assertEquals(200, post("192.168.1.1", null, "jane@bank.rw"));
+		assertEquals(429, post("192.168.1.1", null, "jane@bank.rw"));
+		// the owner of the account is not locked out by someone else's attempts
+		assertEquals(200, post("192.168.1.2", null, "jane@bank.rw"));
+	}
+
+	@Test
+	void limitsEmailsAcrossClientIps() throws Exception {
+		properties.setIp(new RateLimitProperties.Limit(100, Duration.ofHours(1)));
+		filter = new LoginRateLimitFilter(new LoginRateLimiter(properties, new SimpleMeterRegistry()), properties, new ObjectMapper());
+
+		assertEquals(200, post("192.168.1.1", null, "jane@bank.rw"));
+		assertEquals(200, post("192.168.1.2", null, "jane@bank.rw"));
+		// refused by the per-IP bucket, so not charged to the one of the email
+		assertEquals(429, post("192.168.1.2", null, "jane@bank.rw"));
+		assertEquals(200, post("192.168.1.3", null, "jane@bank.rw"));
+		// a distributed run against one account is throttled too
+		assertEquals(429, post("192.168.1.4", null, "jane@bank.rw"));
+		assertEquals(200, post("192.168.1.4", null, "john@bank.rw"));
+	}
+
+	private int post(String remoteAddr, String forwardedFor, String email) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/users/login");
+		request.setServletPath("/users/login");
+		request.setRemoteAddr(remoteAddr);
+		if (forwardedFor != null) {
+			request.addHeader("X-Forwarded-For", forwardedFor);
+		}
+		if (email != null) {
+			request.setContent(("{\"email\":\"" + email + "\",\"password\":\"secret\"}").getBytes(StandardCharsets.UTF_8));
+		}
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, new MockFilterChain());
+		return response.getStatus();
+	}
+}
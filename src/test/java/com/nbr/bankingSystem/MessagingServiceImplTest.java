@@ -0,0 +1,188 @@
+package com.nbr.bankingSystem;
+
+import com.nbr.bankingsystem.config.notifications.NotificationProperties;
+import com.nbr.bankingsystem.models.Customer;
+import com.nbr.bankingsystem.models.Message;
+import com.nbr.bankingsystem.models.PendingDigest;
+import com.nbr.bankingsystem.notifications.DeliveryMode;
+import com.nbr.bankingsystem.notifications.NotificationRecipient;
+import com.nbr.bankingsystem.notifications.channel.ChannelType;
+import com.nbr.bankingsystem.notifications.channel.NotificationDispatcher;
+import com.nbr.bankingsystem.notifications.template.NotificationTemplateEngine;
+import com.nbr.bankingsystem.notifications.template.TemplateId;
+import com.nbr.bankingsystem.repositories.CustomerRepository;
+import com.nbr.bankingsystem.repositories.MessageRepository;
+import com.nbr.bankingsystem.repositories.PendingDigestRepository;
+import com.nbr.bankingsystem.services.NotificationPreferenceService;
+import com.nbr.bankingsystem.services.impl.MessagingServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = {JpaTestConfiguration.DATABASE, JpaTestConfiguration.SCHEMA, JpaTestConfiguration.URL, JpaTestConfiguration.DRIVER})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = JpaTestConfiguration.class)
+class MessagingServiceImplTest {
+
+	private static final int MAX_ITEMS = 3;
+
+	@Autowired
+	private MessageRepository messageRepository;
+	@Autowired
+	private PendingDigestRepository pendingDigestRepository;
+	@Autowired
+	private CustomerRepository customerRepository;
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+	@Autowired
+	private TestEntityManager entityManager;
+
+	private final NotificationPreferenceService preferences = mock(NotificationPreferenceService.class);
+	private MessagingServiceImpl service;
+	private NotificationRecipient recipient;
+
+	@BeforeEach
+	void setUp() {
+		NotificationDispatcher dispatcher = mock(NotificationDispatcher.class);
+		when(dispatcher.enabledChannels()).thenReturn(Set.of(ChannelType.EMAIL));
+		NotificationProperties properties = new NotificationProperties();
+		properties.getDigest().setWindow(Duration.ZERO);
+		properties.getDigest().setMaxItems(MAX_ITEMS);
+		service = new MessagingServiceImpl(messageRepository, pendingDigestRepository, customerRepository,
+				new NotificationTemplateEngine(), dispatcher, preferences, new TransactionTemplate(transactionManager), properties);
+
+		Customer customer = new Customer();
+		customer.setFirstName("Alice");
+		customer.setLastName("Uwase");
+		customer.setEmail("alice@nbr.rw");
+		customer.setBalance(0.0);
+		customer.setMobile("0781234567");
+		customer.setAccount("ACC-1");
+		customer.setDob(new Date(0));
+		customer = customerRepository.save(customer);
+		recipient = new NotificationRecipient(customer.getId(), customer.getEmail(), customer.getMobile());
+	}
+
+	@Test
+	void aBusyAccountRecordsOneMessagePerDigestInsteadOfOnePerNotification() {
+		digest();
+
+		for (int i = 1; i <= 50; i++) {
+			saving(i);
+		}
+		entityManager.clear();
+
+		assertEquals(0, messageRepository.count());
+		assertEquals(1, pendingDigestRepository.count());
+		PendingDigest pending = pendingDigestRepository.findById(recipient.customerId()).orElseThrow();
+		assertEquals(50, pending.getItemCount());
+		// only the first MAX_ITEMS notifications are itemized
+		assertEquals(MAX_ITEMS, pending.getItems().split("\n").length);
+		assertEquals("- Saving of 1.00 RWF on account ACC-1 at 2026-01-01 10:00:00", pending.getItems().split("\n")[0]);
+
+		assertEquals(1, service.flushDigests());
+		entityManager.flush();
+		entityManager.clear();
+
+		assertEquals(0, pendingDigestRepository.count());
+		Message digest = messageRepository.findAll().get(0);
+		assertEquals(1, messageRepository.count());
+		assertEquals(TemplateId.DIGEST, digest.getTemplateId());
+		assertEquals("50", digest.getParameters()[2]);
+	}
+
+	@Test
+	void theItemizedLinesStayWithinTheMessageColumnWhateverMaxItemsIsSetTo() {
+		NotificationDispatcher dispatcher = mock(NotificationDispatcher.class);
+		when(dispatcher.enabledChannels()).thenReturn(Set.of(ChannelType.EMAIL));
+		NotificationProperties properties = new NotificationProperties();
+		properties.getDigest().setWindow(Duration.ZERO);
+		properties.getDigest().setMaxItems(10_000);
+		service = new MessagingServiceImpl(messageRepository, pendingDigestRepository, customerRepository,
+				new NotificationTemplateEngine(), dispatcher, preferences, new TransactionTemplate(transactionManager), properties);
+		digest();
+
+		for (int i = 1; i <= 200; i++) {
+			saving(i);
+		}
+		entityManager.clear();
+
+		PendingDigest pending = pendingDigestRepository.findById(recipient.customerId()).orElseThrow();
+		assertEquals(200, pending.getItemCount());
+		assertTrue(pending.getItems().length() <= PendingDigest.MAX_ITEMS_LENGTH, pending.getItems());
+
+		assertEquals(1, service.flushDigests());
+		entityManager.flush();
+		entityManager.clear();
+
+		Message digest = messageRepository.findAll().get(0);
+		assertEquals("200", digest.getParameters()[2]);
+		assertEquals(pending.getItems(), digest.getParameters()[3]);
+	}
+
+	@Test
+	void aSingleNotificationIsSentWithItsOwnTemplate() {
+		digest();
+		saving(7);
+
+		assertEquals(1, service.flushDigests());
+		entityManager.flush();
+		entityManager.clear();
+
+		Message message = messageRepository.findAll().get(0);
+		assertEquals(TemplateId.SAVING, message.getTemplateId());
+		assertArrayEquals(parameters(7), message.getParameters());
+	}
+
+	@Test
+	void immediateNotificationsAreRecordedRightAway() {
+		when(preferences.getDeliveryModes(recipient.customerId())).thenReturn(Map.of(ChannelType.EMAIL, DeliveryMode.IMMEDIATE));
+
+		saving(1);
+		saving(2);
+
+		assertEquals(2, messageRepository.count());
+		assertEquals(0, pendingDigestRepository.count());
+		assertEquals(0, service.flushDigests());
+	}
+
+	@Test
+	void nothingIsDueBeforeTheWindowHasElapsed() {
+		digest();
+		saving(1);
+
+		assertEquals(0, pendingDigestRepository.findCustomersWithDigestDue(LocalDateTime.now().minusMinutes(1),
+				PageRequest.of(0, 10)).size());
+	}
+
+	private void digest() {
+		when(preferences.getDeliveryModes(recipient.customerId())).thenReturn(Map.of(ChannelType.EMAIL, DeliveryMode.DIGEST));
+	}
+
+	private void saving(int amount) {
+		service.sendNotification(recipient, TemplateId.SAVING, parameters(amount));
+	}
+
+	private static String[] parameters(int amount) {
+		return new String[]{"Alice", "Uwase", amount + ".00", "ACC-1", "2026-01-01 10:00:00", "RWF"};
+	}
+}
@@ -0,0 +1,160 @@
+package com.nbr.bankingSystem;
+
+import com.nbr.bankingsystem.config.notifications.NotificationProperties;
+import com.nbr.bankingsystem.notifications.NotificationRecipient;
+import com.nbr.bankingsystem.notifications.channel.ChannelType;
+import com.nbr.bankingsystem.notifications.channel.NotificationChannel;
+import com.nbr.bankingsystem.notifications.channel.NotificationDispatcher;
+import com.nbr.bankingsystem.notifications.channel.OutboundNotification;
+import com.nbr.bankingsystem.notifications.template.RenderedNotification;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.nbr.bankingSystem.Conditions.awaitTrue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NotificationDispatcherTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final FakeEmailChannel channel = new FakeEmailChannel();
+	private NotificationDispatcher dispatcher;
+
+	@AfterEach
+	void tearDown() {
+		if (dispatcher != null) {
+			dispatcher.shutdown();
+		}
+	}
+
+	@Test
+	void retriesAFailedSendUntilItIsDelivered() {
+		channel.failures.set(2);
+		dispatcher = dispatcher(emailChannel());
+
+		dispatch(1L);
+
+		awaitTrue(() -> channel.delivered.size() == 1);
+		assertEquals(3, channel.calls.get());
+		assertEquals(2.0, count("notifications.retried"));
+		assertEquals(0.0, count("notifications.rejected"));
+	}
+
+	@Test
+	void dropsANotificationOnceItsRetriesAreUsedUp() {
+		channel.failures.set(Integer.MAX_VALUE);
+		NotificationProperties.Channel properties = emailChannel();
+		properties.setRetryAttempts(2);
+		dispatcher = dispatcher(properties);
+
+		dispatch(1L);
+
+		awaitTrue(() -> count("notifications.rejected") == 1.0);
+		assertEquals(3, channel.calls.get());
+		assertEquals(2.0, count("notifications.retried"));
+	}
+
+	@Test
+	void retriesNotificationsThatFindTheQueueFull() throws InterruptedException {
+		NotificationProperties.Channel properties = emailChannel();
+		properties.setWorkers(1);
+		properties.setQueueCapacity(1);
+		channel.blocked = new CountDownLatch(1);
+		dispatcher = dispatcher(properties);
+
+		dispatch(1L);
+		awaitTrue(() -> channel.calls.get() == 1);
+		// the worker is busy with the first one, so only one more fits in the queue
+		dispatch(2L);
+		dispatch(3L);
+		dispatch(4L);
+		channel.blocked.countDown();
+
+		awaitTrue(() -> channel.delivered.size() == 4);
+		assertEquals(2.0, count("notifications.retried"));
+		assertEquals(0.0, count("notifications.rejected"));
+	}
+
+	@Test
+	void doesNotRetryNotificationsRefusedIndividually() throws InterruptedException {
+		channel.refuseAll = true;
+		dispatcher = dispatcher(emailChannel());
+
+		dispatch(1L);
+
+		awaitTrue(() -> count("notifications.failed") == 1.0);
+		TimeUnit.MILLISECONDS.sleep(100);
+		assertEquals(1, channel.calls.get());
+		assertEquals(0.0, count("notifications.retried"));
+	}
+
+	private NotificationDispatcher dispatcher(NotificationProperties.Channel email) {
+		NotificationProperties properties = new NotificationProperties();
+		properties.setEmail(email);
+		return new NotificationDispatcher(List.of(channel), properties, meterRegistry);
+	}
+
+	private static NotificationProperties.Channel emailChannel() {
+		NotificationProperties.Channel properties = new NotificationProperties.Channel(true);
+		properties.setRatePerSecond(10_000);
+		properties.setRetryDelay(Duration.ofMillis(10));
+		return properties;
+	}
+
+	private void dispatch(Long customerId) {
+		dispatcher.dispatch(new NotificationRecipient(customerId, customerId + "@example.com", null),
+				new RenderedNotification("Subject", "Body"), Set.of(ChannelType.EMAIL));
+	}
+
+	private double count(String name) {
+		return meterRegistry.get(name).counter().count();
+	}
+
+	private static final class FakeEmailChannel implements NotificationChannel {
+
+		final AtomicInteger calls = new AtomicInteger();
+		final AtomicInteger failures = new AtomicInteger();
+		final List<OutboundNotification> delivered = new CopyOnWriteArrayList<>();
+		volatile CountDownLatch blocked;
+		volatile boolean refuseAll;
+
+		@Override
+		public ChannelType type() {
+			return ChannelType.EMAIL;
+		}
+
+		@Override
+		public String addressOf(NotificationRecipient recipient) {
+			return recipient.email();
+		}
+
+		@Override
+		public void send(OutboundNotification notification) throws Exception {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public int sendBatch(List<OutboundNotification> notifications) throws Exception {
+			calls.incrementAndGet();
+			if (blocked != null) {
+				blocked.await();
+			}
+			if (failures.getAndDecrement() > 0) {
+				throw new IllegalStateException("provider unavailable");
+			}
+			if (refuseAll) {
+				return 0;
+			}
+			delivered.addAll(notifications);
+			return notifications.size();
+		}
+	}
+}
@@ -0,0 +1,123 @@
+package com.nbr.bankingSystem;
+
+import com.nbr.bankingsystem.notifications.template.NotificationTemplateEngine;
+import com.nbr.bankingsystem.notifications.template.RenderedNotification;
+import com.nbr.bankingsystem.notifications.template.TemplateId;
+import com.nbr.bankingsystem.notifications.template.TemplateParametersConverter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NotificationTemplateEngineTest {
+
+	private static final String[] SAVING = {"Alice", "Uwase", "1500", "ACC-1", "2026-01-01 10:00:00", "RWF"};
+
+	private final NotificationTemplateEngine engine = new NotificationTemplateEngine("templates/valid");
+
+	@Test
+	void rendersLiteralsAndParametersInTemplateOrder() {
+		RenderedNotification notification = engine.render(TemplateId.SAVING, Locale.ENGLISH, SAVING);
+
+		assertEquals("Saving", notification.subject());
+		assertEquals("AliceUwase: 1500 RWF, 1500 again on ACC-1 at 2026-01-01 10:00:00", notification.body());
+	}
+
+	@Test
+	void rendersTheTranslationOfTheRecipientLocale() {
+		assertEquals("Dépôt de 1500 RWF", engine.render(TemplateId.SAVING, Locale.FRENCH, SAVING).body());
+		assertEquals("Dépôt de 1500 RWF", engine.render(TemplateId.SAVING, Locale.CANADA_FRENCH, SAVING).body());
+	}
+
+	@Test
+	void fallsBackToEnglishForAMissingTranslation() {
+		assertEquals("Withdrawal of 1500 RWF", engine.render(TemplateId.WITHDRAW, Locale.FRENCH, SAVING).body());
+		assertEquals("Withdrawal of 1500 RWF", engine.render(TemplateId.WITHDRAW, Locale.GERMAN, SAVING).body());
+		assertEquals("Withdrawal of 1500 RWF", engine.render(TemplateId.WITHDRAW, null, SAVING).body());
+	}
+
+	@Test
+	void fallsBackToEnglishForAMissingDigestLine() {
+		assertEquals("Saving of 1500 RWF", engine.renderLine(TemplateId.SAVING, Locale.FRENCH, SAVING));
+		assertEquals("Virement de 1500 RWF vers ACC-1", engine.renderLine(TemplateId.TRANSFER_SENT, Locale.FRENCH, SAVING));
+	}
+
+	@Test
+	void refusesADigestLineOfATemplateThatHasNone() {
+		assertThrows(IllegalArgumentException.class,
+				() -> engine.renderLine(TemplateId.DIGEST, Locale.ENGLISH, "Alice", "Uwase", "2", "- a\n- b"));
+	}
+
+	@Test
+	void refusesTheWrongNumberOfParameters() {
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+				() -> engine.render(TemplateId.SAVING, Locale.ENGLISH, "Alice", "Uwase", "1500", "ACC-1", "2026-01-01 10:00:00"));
+
+		assertTrue(e.getMessage().contains("currency"), e.getMessage());
+	}
+
+	@Test
+	void refusesTheWrongNumberOfParametersForADigestLine() {
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+				() -> engine.renderLine(TemplateId.SAVING, Locale.FRENCH, "Alice", "Uwase", "1500"));
+
+		assertTrue(e.getMessage().contains("currency"), e.getMessage());
+	}
+
+	@Test
+	void theApplicationTemplatesAllCompile() {
+		NotificationTemplateEngine applicationEngine = new NotificationTemplateEngine();
+
+		for (TemplateId templateId : TemplateId.values()) {
+			String[] parameters = templateId.getParameterNames().toArray(String[]::new);
+			for (Locale locale : new Locale[]{Locale.ENGLISH, Locale.FRENCH}) {
+				applicationEngine.render(templateId, locale, parameters);
+				if (templateId.isDigestible()) {
+					applicationEngine.renderLine(templateId, locale, parameters);
+				}
+			}
+		}
+	}
+
+	@ParameterizedTest
+	@CsvSource({
+			"templates/unknown-placeholder, Unknown placeholder {balance}",
+			"templates/unclosed-placeholder, Unclosed placeholder",
+			"templates/missing-line, Missing digest line withdraw",
+			"templates/missing-template, Missing template transfer-sent",
+			"templates/missing, Could not load"})
+	void failsAtStartupOnABrokenTemplate(String basePath, String error) {
+		IllegalStateException e = assertThrows(IllegalStateException.class, () -> new NotificationTemplateEngine(basePath));
+
+		assertTrue(e.getMessage().startsWith(error), e.getMessage());
+	}
+
+	@Test
+	void parametersRoundTripThroughTheirColumnIncludingEmptyTrailingOnes() {
+		TemplateParametersConverter converter = new TemplateParametersConverter();
+		String[] parameters = {"Alice", "", "1500", "", ""};
+
+		String column = converter.convertToDatabaseColumn(parameters);
+
+		assertEquals("Alice\u001F\u001F1500\u001F\u001F", column);
+		assertArrayEquals(parameters, converter.convertToEntityAttribute(column));
+		assertNull(converter.convertToDatabaseColumn(null));
+		assertNull(converter.convertToEntityAttribute(null));
+	}
+
+	@Test
+	void completesParametersStoredBeforeTheLastOnesWereAdded() {
+		String[] stored = {"Alice", "Uwase", "1500", "ACC-1", "2026-01-01 10:00:00"};
+
+		assertArrayEquals(new String[]{"Alice", "Uwase", "1500", "ACC-1", "2026-01-01 10:00:00", ""},
+				TemplateId.SAVING.completeParameters(stored));
+		assertArrayEquals(SAVING, TemplateId.SAVING.completeParameters(SAVING));
+	}
+}
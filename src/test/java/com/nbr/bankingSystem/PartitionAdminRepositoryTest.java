@@ -0,0 +1,112 @@
+package com.nbr.bankingSystem;
+
+import com.nbr.bankingsystem.repositories.PartitionAdminRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The partition DDL is MariaDB-only, so these tests check the statements issued for each state an
+ * interrupted archiving can leave behind, against a mocked JdbcTemplate.
+ */
+class PartitionAdminRepositoryTest {
+
+	private static final YearMonth MONTH = YearMonth.of(2025, 1);
+	private static final String ARCHIVE = "message_archive_202501";
+	private static final String EXCHANGE = "ALTER TABLE message EXCHANGE PARTITION p202501 WITH TABLE " + ARCHIVE;
+	private static final String COMPRESS = "ALTER TABLE " + ARCHIVE + " ROW_FORMAT=COMPRESSED";
+	private static final String DROP = "ALTER TABLE message DROP PARTITION p202501";
+
+	private JdbcTemplate jdbcTemplate;
+	private PartitionAdminRepository repository;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate = mock(JdbcTemplate.class);
+		repository = new PartitionAdminRepository(jdbcTemplate);
+		// CREATE TABLE ... LIKE copies the partitioning of the live table
+		when(jdbcTemplate.queryForList(startsWith("SELECT PARTITION_NAME"), eq(String.class), eq(ARCHIVE)))
+				.thenReturn(List.of("p202501", "pmax"));
+	}
+
+	@Test
+	void exchangesCompressesAndDropsAFreshPartition() {
+		state(true, false, "Dynamic");
+
+		assertEquals(ARCHIVE, repository.archiveMonthPartition("message", MONTH));
+
+		InOrder order = inOrder(jdbcTemplate);
+		order.verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS " + ARCHIVE + " LIKE message");
+		order.verify(jdbcTemplate).execute("ALTER TABLE " + ARCHIVE + " REMOVE PARTITIONING");
+		order.verify(jdbcTemplate).execute(EXCHANGE);
+		order.verify(jdbcTemplate).execute(COMPRESS);
+		order.verify(jdbcTemplate).execute(DROP);
+	}
+
+	@Test
+	void resumesAfterTheExchangeWithoutExchangingTheRowsBack() {
+		when(jdbcTemplate.queryForList(startsWith("SELECT PARTITION_NAME"), eq(String.class), eq(ARCHIVE))).thenReturn(List.of());
+		state(false, true, "Dynamic");
+
+		repository.archiveMonthPartition("message", MONTH);
+
+		verify(jdbcTemplate, never()).execute(EXCHANGE);
+		verify(jdbcTemplate, never()).execute("ALTER TABLE " + ARCHIVE + " REMOVE PARTITIONING");
+		verify(jdbcTemplate).execute(COMPRESS);
+		verify(jdbcTemplate).execute(DROP);
+	}
+
+	@Test
+	void resumesAfterTheCompressionWithTheDropAlone() {
+		when(jdbcTemplate.queryForList(startsWith("SELECT PARTITION_NAME"), eq(String.class), eq(ARCHIVE))).thenReturn(List.of());
+		state(false, true, "Compressed");
+
+		repository.archiveMonthPartition("message", MONTH);
+
+		verify(jdbcTemplate, never()).execute(EXCHANGE);
+		verify(jdbcTemplate, never()).execute(COMPRESS);
+		verify(jdbcTemplate).execute(DROP);
+	}
+
+	@Test
+	void refusesToArchiveWhenBothThePartitionAndTheArchiveHoldRows() {
+		state(true, true, "Compressed");
+
+		assertThrows(IllegalStateException.class, () -> repository.archiveMonthPartition("message", MONTH));
+
+		verify(jdbcTemplate, never()).execute(EXCHANGE);
+		verify(jdbcTemplate, never()).execute(DROP);
+	}
+
+	@Test
+	void namesPartitionsAndArchivesAfterTheirMonth() {
+		assertEquals("p202501", PartitionAdminRepository.partitionName(MONTH));
+		assertEquals(MONTH, PartitionAdminRepository.monthOf("p202501").orElseThrow());
+		assertFalse(PartitionAdminRepository.monthOf(PartitionAdminRepository.MAX_PARTITION).isPresent());
+		assertEquals(ARCHIVE, PartitionAdminRepository.archiveTableName("message", MONTH));
+	}
+
+	private void state(boolean partitionHasRows, boolean archiveHasRows, String archiveRowFormat) {
+		when(jdbcTemplate.queryForList("SELECT 1 FROM message PARTITION (p202501) LIMIT 1", Integer.class))
+				.thenReturn(partitionHasRows ? List.of(1) : List.of());
+		when(jdbcTemplate.queryForList("SELECT 1 FROM " + ARCHIVE + " LIMIT 1", Integer.class))
+				.thenReturn(archiveHasRows ? List.of(1) : List.of());
+		when(jdbcTemplate.queryForObject(startsWith("SELECT ROW_FORMAT"), eq(String.class), eq(ARCHIVE)))
+				.thenReturn(archiveRowFormat);
+	}
+}
@@ -0,0 +1,107 @@
+package com.nbr.bankingSystem;
+
+import com.nbr.bankingsystem.config.partitioning.PartitioningProperties;
+import com.nbr.bankingsystem.jobs.PartitionMaintenanceJob;
+import com.nbr.bankingsystem.repositories.PartitionAdminRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PartitionMaintenanceJobTest {
+
+	private final PartitionAdminRepository repository = mock(PartitionAdminRepository.class);
+	private final YearMonth now = YearMonth.now();
+	private PartitionMaintenanceJob job;
+
+	@BeforeEach
+	void setUp() {
+		PartitioningProperties properties = new PartitioningProperties();
+		properties.setEnabled(true);
+		properties.setFutureMonths(2);
+		properties.setRetentionMonths(3);
+		job = new PartitionMaintenanceJob(repository, properties);
+		when(repository.findPartitionNames(anyString())).thenReturn(List.of());
+	}
+
+	@Test
+	void partitionsATableFromItsOldestMonthOnceItsKeysAreReady() {
+		when(repository.isReadyForPartitioning("banking", "banking_date_time")).thenReturn(true);
+		when(repository.findOldestMonth("banking", "banking_date_time")).thenReturn(Optional.of(now.minusMonths(1)));
+
+		job.maintainPartitions();
+
+		verify(repository).partitionByMonth("banking", "banking_date_time",
+				List.of(now.minusMonths(1), now, now.plusMonths(1), now.plusMonths(2)));
+	}
+
+	@Test
+	void leavesATableWithForeignKeysAlone() {
+		when(repository.isReadyForPartitioning("message", "message_date_time")).thenReturn(false);
+
+		job.maintainPartitions();
+
+		verify(repository, never()).partitionByMonth(eq("message"), anyString(), any());
+		verify(repository, never()).addMonthPartition(eq("message"), any());
+	}
+
+	@Test
+	void createsFuturePartitionsRightAfterTheNewestOne() {
+		// after a long downtime the newest month partition lies in the past
+		partitions("banking", now.minusMonths(2));
+
+		job.maintainPartitions();
+
+		InOrder order = inOrder(repository);
+		order.verify(repository).addMonthPartition("banking", now.minusMonths(1));
+		order.verify(repository).addMonthPartition("banking", now);
+		order.verify(repository).addMonthPartition("banking", now.plusMonths(1));
+		order.verify(repository).addMonthPartition("banking", now.plusMonths(2));
+	}
+
+	@Test
+	void archivesOnlyMonthsBeforeTheRetentionPeriod() {
+		partitions("message", now.minusMonths(5), now.minusMonths(4), now.minusMonths(3), now, now.plusMonths(2));
+
+		job.maintainPartitions();
+
+		verify(repository).archiveMonthPartition("message", now.minusMonths(5));
+		verify(repository).archiveMonthPartition("message", now.minusMonths(4));
+		verify(repository, never()).archiveMonthPartition("message", now.minusMonths(3));
+		verify(repository, never()).addMonthPartition(eq("message"), any());
+	}
+
+	@Test
+	void aFailingTableDoesNotStopTheOther() {
+		partitions("banking", now.minusMonths(5), now.plusMonths(2));
+		partitions("message", now.minusMonths(5), now.plusMonths(2));
+		when(repository.archiveMonthPartition("banking", now.minusMonths(5)))
+				.thenThrow(new IllegalStateException("Both partition and archive hold rows"));
+
+		job.maintainPartitions();
+
+		verify(repository).archiveMonthPartition("message", now.minusMonths(5));
+	}
+
+	private void partitions(String table, YearMonth... months) {
+		List<String> names = new ArrayList<>();
+		for (YearMonth month : months) {
+			names.add(PartitionAdminRepository.partitionName(month));
+		}
+		names.add(PartitionAdminRepository.MAX_PARTITION);
+		when(repository.findPartitionNames(table)).thenReturn(names);
+	}
+}
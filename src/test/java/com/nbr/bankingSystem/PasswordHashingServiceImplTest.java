@@ -0,0 +1,104 @@
+package com.nbr.bankingSystem;
+
+import com.nbr.bankingsystem.config.security.PasswordHashingProperties;
+import com.nbr.bankingsystem.exceptions.PasswordHashingBusyException;
+import com.nbr.bankingsystem.services.impl.PasswordHashingServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PasswordHashingServiceImplTest {
+
+	private final CountDownLatch release = new CountDownLatch(1);
+	private PasswordHashingServiceImpl service;
+
+	@AfterEach
+	void tearDown() {
+		release.countDown();
+		service.shutdown();
+	}
+
+	@Test
+	void verifiesPasswordsItHashed() {
+		service = new PasswordHashingServiceImpl(new BCryptPasswordEncoder(4), properties(2, 8));
+
+		String hash = service.encode("s3cret!");
+
+		assertTrue(service.matchesAsync("s3cret!", hash).join());
+		assertFalse(service.matchesAsync("wrong", hash).join());
+	}
+
+	@Test
+	void rejectsJobsOnceThePoolAndQueueAreFull() {
+		service = new PasswordHashingServiceImpl(blockingEncoder(), properties(1, 1));
+
+		CompletableFuture<String> running = service.encodeAsync("a");
+		CompletableFuture<String> queued = service.encodeAsync("b");
+		CompletableFuture<String> rejected = service.encodeAsync("c");
+
+		CompletionException e = assertThrows(CompletionException.class, rejected::join);
+		assertInstanceOf(PasswordHashingBusyException.class, e.getCause());
+		assertFalse(running.isDone());
+		assertFalse(queued.isDone());
+	}
+
+	@Test
+	void encodeGivesUpAfterTheTimeout() {
+		PasswordHashingProperties properties = properties(1, 1);
+		properties.setTimeout(Duration.ofMillis(50));
+		service = new PasswordHashingServiceImpl(blockingEncoder(), properties);
+
+		assertThrows(PasswordHashingBusyException.class, () -> service.encode("a"));
+	}
+
+	@Test
+	void encodeRethrowsTheEncodersException() {
+		IllegalArgumentException failure = new IllegalArgumentException("rawPassword cannot be null");
+		PasswordEncoder encoder = mock(PasswordEncoder.class);
+		when(encoder.encode(any())).thenThrow(failure);
+		service = new PasswordHashingServiceImpl(encoder, properties(1, 1));
+
+		assertSame(failure, assertThrows(IllegalArgumentException.class, () -> service.encode("a")));
+	}
+
+	@Test
+	void weakerHashesNeedARehash() {
+		String weak = new BCryptPasswordEncoder(4).encode("s3cret!");
+		String current = new BCryptPasswordEncoder(5).encode("s3cret!");
+		service = new PasswordHashingServiceImpl(new BCryptPasswordEncoder(5), properties(1, 1));
+
+		assertTrue(service.needsRehash(weak));
+		assertFalse(service.needsRehash(current));
+	}
+
+	private PasswordEncoder blockingEncoder() {
+		PasswordEncoder encoder = mock(PasswordEncoder.class);
+		when(encoder.encode(any())).thenAnswer(invocation -> {
+			release.await();
+			return "hash";
+		});
+		return encoder;
+	}
+
+	private static PasswordHashingProperties properties(int poolSize, int queueCapacity) {
+		PasswordHashingProperties properties = new PasswordHashingProperties();
+		properties.setPoolSize(poolSize);
+		properties.setQueueCapacity(queueCapacity);
+		return properties;
+	}
+}
@@ -0,0 +1,100 @@
+package com.nbr.bankingSystem;
+
+import com.nbr.bankingsystem.config.datasource.ReadYourWritesTracker;
+import com.nbr.bankingsystem.config.datasource.ReplicaProperties;
+import com.nbr.bankingsystem.config.datasource.ReplicaRoutingDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaRoutingDataSourceTest {
+
+	private final Connection primaryConnection = mock(Connection.class);
+	private final Connection replica0Connection = mock(Connection.class);
+	private final Connection replica1Connection = mock(Connection.class);
+
+	private ReadYourWritesTracker tracker;
+	private ReplicaRoutingDataSource routing;
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		tracker = new ReadYourWritesTracker(new ReplicaProperties());
+		routing = new ReplicaRoutingDataSource(List.of("replica-0", "replica-1"), tracker);
+		routing.setTargetDataSources(Map.of(
+				ReplicaRoutingDataSource.PRIMARY, dataSource(primaryConnection),
+				"replica-0", dataSource(replica0Connection),
+				"replica-1", dataSource(replica1Connection)));
+		routing.afterPropertiesSet();
+	}
+
+	@AfterEach
+	void tearDown() {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void readWriteTransactionsUseThePrimary() throws SQLException {
+		assertSame(primaryConnection, routing.getConnection());
+	}
+
+	@Test
+	void readOnlyTransactionsRoundRobinOverTheReplicas() throws SQLException {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		assertSame(replica0Connection, routing.getConnection());
+		assertSame(replica1Connection, routing.getConnection());
+		assertSame(replica0Connection, routing.getConnection());
+	}
+
+	@Test
+	void customerWhoseAccountChangedReadsThePrimary() throws SQLException {
+		tracker.recordWriteAfterCommit("alice@example.com");
+		authenticate("alice@example.com");
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		assertSame(primaryConnection, routing.getConnection());
+	}
+
+	@Test
+	void userWhoMadeTheWriteReadsThePrimary() throws SQLException {
+		authenticate("admin@example.com");
+		tracker.recordWriteAfterCommit("alice@example.com");
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		assertSame(primaryConnection, routing.getConnection());
+	}
+
+	@Test
+	void otherUsersKeepReadingReplicas() throws SQLException {
+		tracker.recordWriteAfterCommit("alice@example.com");
+		authenticate("bob@example.com");
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		assertSame(replica0Connection, routing.getConnection());
+	}
+
+	private static DataSource dataSource(Connection connection) throws SQLException {
+		DataSource dataSource = mock(DataSource.class);
+		when(dataSource.getConnection()).thenReturn(connection);
+		return dataSource;
+	}
+
+	private static void authenticate(String email) {
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken(email, null, List.of()));
+	}
+}
@@ -0,0 +1,81 @@
+package com.nbr.bankingSystem;
+
+import com.nbr.bankingsystem.DTO.SummaryRebuildDTO;
+import com.nbr.bankingsystem.config.partitioning.PartitioningProperties;
+import com.nbr.bankingsystem.config.reports.ReportProperties;
+import com.nbr.bankingsystem.exceptions.ArchivedPeriodException;
+import com.nbr.bankingsystem.repositories.DailySummaryRepository;
+import com.nbr.bankingsystem.services.impl.ReportServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ReportServiceImplTest {
+
+	private DailySummaryRepository repository;
+	private PartitioningProperties partitioning;
+	private ReportServiceImpl service;
+
+	@BeforeEach
+	void setUp() {
+		repository = mock(DailySummaryRepository.class);
+		partitioning = new PartitioningProperties();
+		partitioning.setEnabled(true);
+		partitioning.setRetentionMonths(12);
+		TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+		service = new ReportServiceImpl(repository, transactionTemplate, new ReportProperties(), partitioning);
+		when(repository.insertFromBanking(any(), any())).thenReturn(3);
+	}
+
+	@AfterEach
+	void tearDown() {
+		service.shutdown();
+	}
+
+	@Test
+	void refusesRangesStartingInAnArchivedMonth() {
+		LocalDate oldestLiveDay = YearMonth.now().minusMonths(12).atDay(1);
+
+		assertThrows(ArchivedPeriodException.class,
+				() -> service.rebuildSummaries(oldestLiveDay.minusDays(1), oldestLiveDay.plusDays(1)));
+		verifyNoInteractions(repository);
+	}
+
+	@Test
+	void rebuildsLiveDays() {
+		LocalDate oldestLiveDay = YearMonth.now().minusMonths(12).atDay(1);
+
+		SummaryRebuildDTO result = service.rebuildSummaries(oldestLiveDay, oldestLiveDay.plusDays(1));
+
+		assertEquals(2, result.getDays());
+		assertEquals(6, result.getRows());
+		verify(repository).deleteByDate(oldestLiveDay);
+		verify(repository).deleteByDate(oldestLiveDay.plusDays(1));
+		verify(repository, times(2)).insertFromBanking(any(), any());
+	}
+
+	@Test
+	void rebuildsAnyDayWithoutPartitioning() {
+		partitioning.setEnabled(false);
+		LocalDate day = YearMonth.now().minusYears(5).atDay(1);
+
+		SummaryRebuildDTO result = service.rebuildSummaries(day, day);
+
+		assertEquals(1, result.getDays());
+		verify(repository).deleteByDate(day);
+	}
+}
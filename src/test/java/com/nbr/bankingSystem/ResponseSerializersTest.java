@@ -0,0 +1,57 @@
+package com.nbr.bankingSystem;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.nbr.bankingsystem.DTO.CustomerSummaryDTO;
+import com.nbr.bankingsystem.DTO.TransactionResponseDTO;
+import com.nbr.bankingsystem.config.web.JacksonConfig;
+import com.nbr.bankingsystem.enums.CurrencyCode;
+import com.nbr.bankingsystem.enums.ResponseType;
+import com.nbr.bankingsystem.enums.TransactionType;
+import com.nbr.bankingsystem.responses.Response;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ResponseSerializersTest {
+
+	@ParameterizedTest
+	@ValueSource(booleans = {false, true})
+	void writeTheSameJsonAsTheBeanSerializer(boolean datesAsTimestamps) throws Exception {
+		ObjectMapper beanSerializer = mapper(datesAsTimestamps);
+		JacksonConfig config = new JacksonConfig();
+		ObjectMapper handWritten = mapper(datesAsTimestamps)
+				.registerModule(config.blackbirdModule())
+				.registerModule(config.responseSerializersModule());
+
+		LocalDateTime time = LocalDateTime.of(2026, 3, 2, 9, 5, 7);
+		Response response = new Response().setResponseType(ResponseType.SUCCESS).setMessage("Fetched").setPayload(List.of(
+				transaction(1L, time),
+				transaction(2L, time.withNano(120_000_000)),
+				transaction(3L, time.withNano(123_456_789)),
+				transaction(4L, time.withNano(1_000)),
+				transaction(5L, LocalDateTime.of(12026, 1, 1, 0, 0)),
+				transaction(6L, LocalDateTime.of(33, 12, 31, 23, 59)),
+				transaction(7L, null),
+				new CustomerSummaryDTO(8L, "Jane", "Uwase", "jane.uwase@mail.bank.rw", "RW-0000-4242", 1_250_000.0,
+						CurrencyCode.RWF, time)));
+
+		assertEquals(beanSerializer.writeValueAsString(response), handWritten.writeValueAsString(response));
+	}
+
+	private static TransactionResponseDTO transaction(Long id, LocalDateTime time) {
+		return new TransactionResponseDTO(id, 42L, "RW-0000-4242", 12_500.5, CurrencyCode.USD, 0.00077,
+				TransactionType.TRANSFER, 7L, time);
+	}
+
+	private static ObjectMapper mapper(boolean datesAsTimestamps) {
+		return new ObjectMapper()
+				.registerModule(new JavaTimeModule())
+				.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, datesAsTimestamps);
+	}
+}
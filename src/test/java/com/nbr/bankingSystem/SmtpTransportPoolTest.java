@@ -0,0 +1,170 @@
+package com.nbr.bankingSystem;
+
+import com.nbr.bankingsystem.config.mail.MailTransportProperties;
+import com.nbr.bankingsystem.notifications.channel.OutboundNotification;
+import com.nbr.bankingsystem.notifications.channel.PartialDeliveryException;
+import com.nbr.bankingsystem.notifications.channel.SmtpEmailChannel;
+import com.nbr.bankingsystem.notifications.mail.PartialSendException;
+import com.nbr.bankingsystem.notifications.mail.SmtpTransportPool;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SmtpTransportPoolTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final MailTransportProperties properties = new MailTransportProperties();
+	private FakeSmtpServer server;
+	private SmtpTransportPool pool;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		server = new FakeSmtpServer(0);
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		if (pool != null) {
+			pool.close();
+		}
+		server.close();
+	}
+
+	@Test
+	void reusesTheConnectionAcrossBatches() throws Exception {
+		pool = pool();
+
+		assertEquals(3, pool.sendAll(messages(3)));
+		assertEquals(3, pool.sendAll(messages(3)));
+
+		assertEquals(1, server.connections());
+		assertEquals(6, server.messages());
+		assertEquals(1.0, connections("opened"));
+		assertEquals(1.0, connections("reused"));
+	}
+
+	@Test
+	void replacesAConnectionOnceItSentMaxMessages() throws Exception {
+		properties.setMaxMessagesPerConnection(3);
+		pool = pool();
+
+		pool.sendAll(messages(2));
+		pool.sendAll(messages(1));
+		// the first connection is closed after its third message, the next batch opens a new one
+		pool.sendAll(messages(1));
+		pool.sendAll(messages(1));
+
+		assertEquals(2, server.connections());
+		assertEquals(5, server.messages());
+		awaitOpenConnections(1);
+	}
+
+	@Test
+	void closesConnectionsIdleLongerThanTheTimeout() throws Exception {
+		properties.setIdleTimeout(Duration.ofMillis(200));
+		pool = pool();
+		pool.sendAll(messages(1));
+
+		pool.closeIdleConnections();
+		assertEquals(1, server.openConnections());
+
+		Thread.sleep(250);
+		pool.closeIdleConnections();
+		awaitOpenConnections(0);
+
+		pool.sendAll(messages(1));
+		assertEquals(2, server.connections());
+	}
+
+	@Test
+	void reportsAcceptedAndAttemptedMessagesWhenTheConnectionFails() throws Exception {
+		pool = pool();
+		server.refuse("refused@nbr.rw");
+		server.dropAtMessage(3);
+		List<MimeMessage> messages = messages(5);
+		messages.get(1).setRecipient(Message.RecipientType.TO, new InternetAddress("refused@nbr.rw"));
+
+		// message 0 accepted, 1 refused, 2 accepted, 3 lost with the connection, 4 never sent
+		PartialSendException e = assertThrows(PartialSendException.class, () -> pool.sendAll(messages));
+
+		assertEquals(3, e.getAttempted());
+		assertEquals(2, e.getAccepted());
+		// the broken connection is not returned to the pool
+		server.dropAtMessage(0);
+		pool.sendAll(messages(1));
+		assertEquals(2, server.connections());
+	}
+
+	@Test
+	void theEmailChannelMapsAPartialSendBackToItsNotifications() throws Exception {
+		pool = pool();
+		server.refuse("refused@nbr.rw");
+		server.dropAtMessage(3);
+		SmtpEmailChannel channel = new SmtpEmailChannel(pool, "bank@nbr.rw");
+		List<OutboundNotification> notifications = List.of(
+				notification("a@nbr.rw"),
+				// no message is created for an invalid address, so message indexes shift by one from here
+				notification("missing-domain"),
+				notification("refused@nbr.rw"),
+				notification("b@nbr.rw"),
+				notification("c@nbr.rw"),
+				notification("d@nbr.rw"));
+
+		PartialDeliveryException e = assertThrows(PartialDeliveryException.class, () -> channel.sendBatch(notifications));
+
+		// the connection failed on the message of c@nbr.rw, the fifth notification
+		assertEquals(4, e.getAttempted());
+		assertEquals(2, e.getDelivered());
+		assertEquals(2, server.messages());
+	}
+
+	private SmtpTransportPool pool() {
+		JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+		mailSender.setHost("localhost");
+		mailSender.setPort(server.port());
+		mailSender.getJavaMailProperties().put("mail.smtp.connectiontimeout", "2000");
+		mailSender.getJavaMailProperties().put("mail.smtp.timeout", "2000");
+		return new SmtpTransportPool(mailSender, properties, meterRegistry);
+	}
+
+	private List<MimeMessage> messages(int count) throws MessagingException {
+		List<MimeMessage> messages = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			MimeMessage message = pool.createMessage();
+			message.setFrom(new InternetAddress("bank@nbr.rw"));
+			message.setRecipient(Message.RecipientType.TO, new InternetAddress("customer" + i + "@nbr.rw"));
+			message.setSubject("Notification " + i);
+			message.setText("Body " + i);
+			messages.add(message);
+		}
+		return messages;
+	}
+
+	private static OutboundNotification notification(String address) {
+		return new OutboundNotification(1L, address, "Subject", "Body");
+	}
+
+	private double connections(String result) {
+		return meterRegistry.get("mail.smtp.connections").tag("result", result).counter().count();
+	}
+
+	private void awaitOpenConnections(int expected) throws InterruptedException {
+		for (int i = 0; i < 100 && server.openConnections() != expected; i++) {
+			Thread.sleep(20);
+		}
+		assertEquals(expected, server.openConnections());
+	}
+}
@@ -0,0 +1,104 @@
+package com.nbr.bankingSystem;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A servlet filter standing in for clients that stop reading: between stall() and release(), writes to the
+ * responses of requests with the HEADER hang, as they do once a client's receive window is full.
+ */
+final class StallingClients implements Filter {
+
+	static final String HEADER = "X-Test-Stall";
+
+	private final AtomicInteger hangingWrites = new AtomicInteger();
+	private volatile CountDownLatch stalled;
+
+	@Override
+	public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+		boolean stallable = ((HttpServletRequest) request).getHeader(HEADER) != null;
+		chain.doFilter(request, stallable ? new StallingResponse((HttpServletResponse) response) : response);
+	}
+
+	void stall() {
+		stalled = new CountDownLatch(1);
+	}
+
+	void release() {
+		CountDownLatch latch = stalled;
+		stalled = null;
+		if (latch != null) {
+			latch.countDown();
+		}
+	}
+
+	int hangingWrites() {
+		return hangingWrites.get();
+	}
+
+	private void awaitReader() throws IOException {
+		CountDownLatch latch = stalled;
+		if (latch == null) {
+			return;
+		}
+		hangingWrites.incrementAndGet();
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted", e);
+		} finally {
+			hangingWrites.decrementAndGet();
+		}
+	}
+
+	private final class StallingResponse extends HttpServletResponseWrapper {
+
+		private final ServletOutputStream outputStream;
+
+		private StallingResponse(HttpServletResponse response) throws IOException {
+			super(response);
+			ServletOutputStream delegate = response.getOutputStream();
+			this.outputStream = new ServletOutputStream() {
+				@Override
+				public void write(int b) throws IOException {
+					awaitReader();
+					delegate.write(b);
+				}
+
+				@Override
+				public void write(byte[] bytes, int offset, int length) throws IOException {
+					awaitReader();
+					delegate.write(bytes, offset, length);
+				}
+
+				@Override
+				public boolean isReady() {
+					return stalled == null;
+				}
+
+				@Override
+				public void setWriteListener(WriteListener writeListener) {
+					throw new UnsupportedOperationException();
+				}
+			};
+		}
+
+		@Override
+		public ServletOutputStream getOutputStream() {
+			return outputStream;
+		}
+	}
+}
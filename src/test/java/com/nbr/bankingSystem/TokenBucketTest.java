@@ -0,0 +1,83 @@
+package com.nbr.bankingSystem;
+
+import com.nbr.bankingsystem.utils.TokenBucket;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+	private static final long INTERVAL = 1_000;
+	private static final long BURST = 2 * INTERVAL; // capacity of 3
+
+	@Test
+	void admitsBurstThenThrottles() {
+		TokenBucket bucket = new TokenBucket(0);
+
+		assertEquals(0, bucket.tryAcquire(0, INTERVAL, BURST));
+		assertEquals(0, bucket.tryAcquire(0, INTERVAL, BURST));
+		assertEquals(0, bucket.tryAcquire(0, INTERVAL, BURST));
+		assertEquals(INTERVAL, bucket.tryAcquire(0, INTERVAL, BURST));
+	}
+
+	@Test
+	void refillsOneTokenPerInterval() {
+		TokenBucket bucket = new TokenBucket(0);
+		for (int i = 0; i < 3; i++) {
+			bucket.tryAcquire(0, INTERVAL, BURST);
+		}
+
+		assertEquals(INTERVAL - 400, bucket.tryAcquire(400, INTERVAL, BURST));
+		assertEquals(0, bucket.tryAcquire(INTERVAL, INTERVAL, BURST));
+		assertTrue(bucket.tryAcquire(INTERVAL, INTERVAL, BURST) > 0);
+	}
+
+	@Test
+	void rejectedRequestsDoNotConsumeTokens() {
+		TokenBucket bucket = new TokenBucket(0);
+		for (int i = 0; i < 3; i++) {
+			bucket.tryAcquire(0, INTERVAL, BURST);
+		}
+		for (int i = 0; i < 100; i++) {
+			bucket.tryAcquire(0, INTERVAL, BURST);
+		}
+
+		assertEquals(0, bucket.tryAcquire(INTERVAL, INTERVAL, BURST));
+	}
+
+	@Test
+	void idleTimeDoesNotGrowBurstBeyondCapacity() {
+		TokenBucket bucket = new TokenBucket(0);
+		long later = 1_000_000;
+
+		for (int i = 0; i < 3; i++) {
+			assertEquals(0, bucket.tryAcquire(later, INTERVAL, BURST));
+		}
+		assertTrue(bucket.tryAcquire(later, INTERVAL, BURST) > 0);
+	}
+
+	@Test
+	void isConsistentUnderContention() throws InterruptedException {
+		TokenBucket bucket = new TokenBucket(0);
+		AtomicInteger admitted = new AtomicInteger();
+		Thread[] threads = new Thread[8];
+		for (int t = 0; t < threads.length; t++) {
+			threads[t] = new Thread(() -> {
+				for (int i = 0; i < 1_000; i++) {
+					if (bucket.tryAcquire(0, INTERVAL, BURST) == 0) {
+						admitted.incrementAndGet();
+					}
+				}
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertEquals(3, admitted.get());
+	}
+}
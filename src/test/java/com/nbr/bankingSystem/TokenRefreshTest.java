@@ -0,0 +1,62 @@
+package com.nbr.bankingSystem;
+
+import com.nbr.bankingsystem.controllers.UserController;
+import com.nbr.bankingsystem.exceptions.AuthenticationFailedException;
+import com.nbr.bankingsystem.services.AuthenticationService;
+import com.nbr.bankingsystem.services.UserService;
+import com.nbr.bankingsystem.utils.ExceptionHandlerUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The answers of the refresh endpoint: only a bad refresh token is a 401.
+ */
+class TokenRefreshTest {
+
+	private final AuthenticationService authenticationService = mock(AuthenticationService.class);
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		mockMvc = MockMvcBuilders.standaloneSetup(new UserController(mock(UserService.class), authenticationService))
+				.setControllerAdvice(new ExceptionHandlerUtil())
+				.build();
+	}
+
+	@Test
+	void answersABadRefreshTokenWith401() throws Exception {
+		when(authenticationService.refresh("revoked"))
+				.thenThrow(new AuthenticationFailedException("Invalid or expired refresh token."));
+
+		refresh("revoked")
+				.andExpect(status().isUnauthorized())
+				.andExpect(jsonPath("$.message").value("Invalid or expired refresh token."));
+	}
+
+	@Test
+	void answersAFailureOfTheServerWith500() throws Exception {
+		when(authenticationService.refresh("valid"))
+				.thenThrow(new DataAccessResourceFailureException("Connection to db-primary:5432 refused"));
+
+		refresh("valid")
+				.andExpect(status().isInternalServerError())
+				.andExpect(jsonPath("$.message").value("An unexpected error occurred"));
+	}
+
+	private ResultActions refresh(String refreshToken) throws Exception {
+		return mockMvc.perform(post("/users/refresh")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"refreshToken\":\"" + refreshToken + "\"}"));
+	}
+}
@@ -0,0 +1,74 @@
+package com.nbr.bankingSystem;
+
+import com.nbr.bankingsystem.authentication.TokenRevocationIndex;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenRevocationIndexTest {
+
+	private final TokenRevocationIndex index = new TokenRevocationIndex();
+	private final long inAnHour = System.currentTimeMillis() + 3_600_000;
+
+	@Test
+	void findsEveryRevokedTokenAndNoOther() {
+		// enough entries to give the bloom filter false positives, which the exact set must rule out
+		for (int i = 0; i < 50_000; i++) {
+			index.revoke("revoked-" + i, inAnHour);
+		}
+
+		for (int i = 0; i < 50_000; i++) {
+			assertTrue(index.isRevoked("revoked-" + i));
+			assertFalse(index.isRevoked("valid-" + i));
+		}
+	}
+
+	@Test
+	void ignoresTokensThatAlreadyExpiredAndNullIds() {
+		index.revoke("expired", System.currentTimeMillis() - 1);
+		index.revoke(null, inAnHour);
+
+		assertFalse(index.isRevoked("expired"));
+		assertFalse(index.isRevoked(null));
+	}
+
+	@Test
+	void purgeDropsExpiredEntriesAndKeepsTheOthers() throws InterruptedException {
+		index.revoke("short-lived", System.currentTimeMillis() + 50);
+		index.revoke("long-lived", inAnHour);
+		assertTrue(index.isRevoked("short-lived"));
+
+		Thread.sleep(100);
+		index.purgeExpired();
+
+		assertFalse(index.isRevoked("short-lived"));
+		// still found after the bloom filter was rebuilt
+		assertTrue(index.isRevoked("long-lived"));
+	}
+
+	@Test
+	void revokingAUserRejectsOnlyTokensIssuedUntilThen() throws InterruptedException {
+		long issuedBefore = System.currentTimeMillis();
+		Thread.sleep(5);
+		index.revokeUser(7L, inAnHour);
+		Thread.sleep(5);
+		long issuedAfter = System.currentTimeMillis();
+
+		assertTrue(index.isUserRevoked(7L, issuedBefore));
+		assertFalse(index.isUserRevoked(7L, issuedAfter));
+		assertFalse(index.isUserRevoked(8L, issuedBefore));
+		assertFalse(index.isUserRevoked(null, issuedBefore));
+	}
+
+	@Test
+	void purgeForgetsUserRevocationsOnceTheirTokensExpired() throws InterruptedException {
+		long issued = System.currentTimeMillis();
+		index.revokeUser(7L, System.currentTimeMillis() + 50);
+
+		Thread.sleep(100);
+		index.purgeExpired();
+
+		assertFalse(index.isUserRevoked(7L, issued));
+	}
+}
@@ -0,0 +1,177 @@
+package com.nbr.bankingSystem;
+
+import com.nbr.bankingsystem.DTO.AccountVolumeDTO;
+import com.nbr.bankingsystem.DTO.CurrencyStatisticsDTO;
+import com.nbr.bankingsystem.DTO.TransactionStatisticsDTO;
+import com.nbr.bankingsystem.DTO.TransactionTypeStatisticsDTO;
+import com.nbr.bankingsystem.DTO.WindowStatisticsDTO;
+import com.nbr.bankingsystem.enums.CurrencyCode;
+import com.nbr.bankingsystem.enums.TransactionType;
+import com.nbr.bankingsystem.statistics.TransactionStatistics;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransactionStatisticsTest {
+
+	private final TransactionStatistics statistics = new TransactionStatistics();
+	private final LocalDateTime now = LocalDateTime.now();
+
+	@Test
+	void windowsOnlyCountTheirOwnMinutes() {
+		// ten minutes or more from the window edges, so the test cannot straddle a minute boundary
+		statistics.record("A", TransactionType.SAVING, CurrencyCode.RWF, 10.25, now.minusMinutes(10));
+		statistics.record("A", TransactionType.SAVING, CurrencyCode.RWF, 4.75, now.minusMinutes(30));
+		statistics.record("A", TransactionType.SAVING, CurrencyCode.RWF, 100, now.minusHours(3));
+
+		TransactionTypeStatisticsDTO savings = byType(statistics.snapshot(10), CurrencyCode.RWF, TransactionType.SAVING);
+		assertWindow(savings, "last5Minutes", 0, 0);
+		assertWindow(savings, "last15Minutes", 1, 10.25);
+		assertWindow(savings, "last60Minutes", 2, 15.0);
+		assertEquals(3, savings.getCount());
+		assertEquals(115.0, savings.getAmount());
+	}
+
+	@Test
+	void aReusedMinuteSlotForgetsTheOlderMinute() {
+		// 64 minutes apart, so both fall in the same slot of the ring
+		statistics.recordRecent(TransactionType.WITHDRAW, CurrencyCode.RWF, 7, now.minusMinutes(74));
+		statistics.recordRecent(TransactionType.WITHDRAW, CurrencyCode.RWF, 3, now.minusMinutes(10));
+		// arrives late for a minute the ring has already moved past
+		statistics.recordRecent(TransactionType.WITHDRAW, CurrencyCode.RWF, 7, now.minusMinutes(74));
+
+		TransactionTypeStatisticsDTO withdrawals = byType(statistics.snapshot(10), CurrencyCode.RWF, TransactionType.WITHDRAW);
+		assertWindow(withdrawals, "last15Minutes", 1, 3);
+		assertWindow(withdrawals, "last60Minutes", 1, 3);
+	}
+
+	@Test
+	void concurrentRecordsInTheSameMinuteAreAllCounted() throws InterruptedException {
+		int threads = 8;
+		int perThread = 10_000;
+		LocalDateTime minute = now.minusMinutes(10);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> writers = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			String account = "ACC-" + t;
+			Thread writer = new Thread(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					return;
+				}
+				for (int i = 0; i < perThread; i++) {
+					statistics.recordTransfer(account, CurrencyCode.RWF, 0.01, CurrencyCode.RWF, 0.01, minute);
+				}
+			});
+			writers.add(writer);
+			writer.start();
+		}
+		start.countDown();
+		for (Thread writer : writers) {
+			writer.join();
+		}
+
+		TransactionStatisticsDTO snapshot = statistics.snapshot(threads);
+		assertWindow(byType(snapshot, CurrencyCode.RWF, TransactionType.TRANSFER), "last15Minutes", threads * perThread, threads * perThread / 100.0);
+		for (AccountVolumeDTO account : currency(snapshot, CurrencyCode.RWF).getTopAccounts()) {
+			assertEquals(perThread / 100.0, account.getVolume());
+			assertEquals(0.0, account.getError());
+		}
+	}
+
+	@Test
+	void balancesFollowSavingsAndWithdrawalsAndTransfersWithinACurrencyCancelOut() {
+		statistics.addBalances(CurrencyCode.RWF, 1_000);
+		statistics.record("A", TransactionType.SAVING, CurrencyCode.RWF, 50, now);
+		statistics.record("A", TransactionType.WITHDRAW, CurrencyCode.RWF, 20, now);
+		statistics.recordTransfer("A", CurrencyCode.RWF, 5, CurrencyCode.RWF, 5, now);
+
+		assertEquals(1_030.0, currency(statistics.snapshot(10), CurrencyCode.RWF).getTotalBalances());
+	}
+
+	@Test
+	void keepsEachCurrencyApart() {
+		statistics.addBalances(CurrencyCode.RWF, 100_000);
+		statistics.addBalances(CurrencyCode.USD, 500);
+		statistics.record("RWF-1", TransactionType.SAVING, CurrencyCode.RWF, 13_000, now);
+		statistics.record("USD-1", TransactionType.SAVING, CurrencyCode.USD, 10, now);
+		statistics.addTotals(TransactionType.SAVING, CurrencyCode.USD, 4, 40);
+		// 13000 RWF leave the RWF balances and arrive as 10 USD
+		statistics.recordTransfer("RWF-1", CurrencyCode.RWF, 13_000, CurrencyCode.USD, 10, now);
+
+		TransactionStatisticsDTO snapshot = statistics.snapshot(10);
+		CurrencyStatisticsDTO rwf = currency(snapshot, CurrencyCode.RWF);
+		CurrencyStatisticsDTO usd = currency(snapshot, CurrencyCode.USD);
+		assertEquals(100_000.0, rwf.getTotalBalances());
+		assertEquals(13_000.0, rwf.getTotalDeposits());
+		assertEquals(13_000.0, rwf.getTotalTransferred());
+		assertEquals(520.0, usd.getTotalBalances());
+		assertEquals(50.0, usd.getTotalDeposits());
+		assertEquals(0.0, usd.getTotalTransferred());
+		assertEquals(5, byType(snapshot, CurrencyCode.USD, TransactionType.SAVING).getCount());
+		assertEquals(List.of("RWF-1"), rwf.getTopAccounts().stream().map(AccountVolumeDTO::getAccount).toList());
+		assertEquals(List.of("USD-1"), usd.getTopAccounts().stream().map(AccountVolumeDTO::getAccount).toList());
+		assertEquals(0.0, currency(snapshot, CurrencyCode.EUR).getTotalBalances());
+	}
+
+	@Test
+	void ranksAccountsByVolume() {
+		statistics.record("small", TransactionType.SAVING, CurrencyCode.RWF, 1, now);
+		statistics.record("large", TransactionType.SAVING, CurrencyCode.RWF, 300, now);
+		statistics.record("medium", TransactionType.SAVING, CurrencyCode.RWF, 20, now);
+		statistics.addAccountVolume("medium", CurrencyCode.RWF, 30);
+
+		List<AccountVolumeDTO> top = currency(statistics.snapshot(2), CurrencyCode.RWF).getTopAccounts();
+
+		assertEquals(2, top.size());
+		assertEquals("large", top.get(0).getAccount());
+		assertEquals(300.0, top.get(0).getVolume());
+		assertEquals("medium", top.get(1).getAccount());
+		assertEquals(50.0, top.get(1).getVolume());
+	}
+
+	@Test
+	void keepsHeavyAccountsAmongManyMoreLightOnesThanItTracks() {
+		// the sketch tracks 256 accounts; 10 heavy ones each carry more than total / 256
+		for (int round = 0; round < 20; round++) {
+			for (int heavy = 0; heavy < 10; heavy++) {
+				statistics.record("HEAVY-" + heavy, TransactionType.SAVING, CurrencyCode.RWF, 50, now);
+			}
+			for (int light = 0; light < 1_000; light++) {
+				statistics.record("LIGHT-" + round + "-" + light, TransactionType.SAVING, CurrencyCode.RWF, 0.01, now);
+			}
+		}
+
+		List<AccountVolumeDTO> top = currency(statistics.snapshot(10), CurrencyCode.RWF).getTopAccounts();
+
+		assertEquals(10, top.size());
+		for (AccountVolumeDTO account : top) {
+			assertTrue(account.getAccount().startsWith("HEAVY-"), account.getAccount());
+			// the estimate never under-counts and over-counts by at most its error
+			assertTrue(account.getVolume() >= 1_000.0);
+			assertTrue(account.getVolume() - account.getError() <= 1_000.0 + 1e-9);
+		}
+	}
+
+	private static CurrencyStatisticsDTO currency(TransactionStatisticsDTO snapshot, CurrencyCode currency) {
+		return snapshot.getCurrencies().stream().filter(stats -> stats.getCurrency() == currency).findFirst().orElseThrow();
+	}
+
+	private static TransactionTypeStatisticsDTO byType(TransactionStatisticsDTO snapshot, CurrencyCode currency, TransactionType type) {
+		return currency(snapshot, currency).getByType().stream().filter(stats -> stats.getType() == type).findFirst().orElseThrow();
+	}
+
+	private static void assertWindow(TransactionTypeStatisticsDTO stats, String name, long count, double amount) {
+		WindowStatisticsDTO window = stats.getWindows().stream()
+				.filter(candidate -> candidate.getWindow().equals(name)).findFirst().orElseThrow();
+		assertEquals(count, window.getCount(), name);
+		assertEquals(amount, window.getAmount(), 1e-9, name);
+	}
+}
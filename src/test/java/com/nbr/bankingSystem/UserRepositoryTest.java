@@ -0,0 +1,70 @@
+package com.nbr.bankingSystem;
+
+import com.nbr.bankingsystem.enums.Role;
+import com.nbr.bankingsystem.models.UserModel;
+import com.nbr.bankingsystem.repositories.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ContextConfiguration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DataJpaTest(properties = {JpaTestConfiguration.DATABASE, JpaTestConfiguration.SCHEMA, JpaTestConfiguration.URL, JpaTestConfiguration.DRIVER})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = JpaTestConfiguration.class)
+class UserRepositoryTest {
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Test
+	void replacesAHashThatIsUnchanged() {
+		UserModel user = userRepository.save(new UserModel(null, "a@nbr.rw", "$2a$04$old", Role.ADMIN, null, null));
+
+		assertEquals(1, userRepository.updatePassword(user.getId(), "$2a$04$old", "$2a$12$new"));
+
+		entityManager.clear();
+		assertEquals("$2a$12$new", userRepository.findByEmail("a@nbr.rw").orElseThrow().getPassword());
+	}
+
+	@Test
+	void keepsAPasswordChangedSinceTheHashWasRead() {
+		UserModel user = userRepository.save(new UserModel(null, "b@nbr.rw", "$2a$04$old", Role.ADMIN, null, null));
+		// login disabled while the rehash was running
+		assertEquals(1, userRepository.updatePassword(user.getId(), "$2a$04$old", "!"));
+
+		assertEquals(0, userRepository.updatePassword(user.getId(), "$2a$04$old", "$2a$12$new"));
+
+		entityManager.clear();
+		assertEquals("!", userRepository.findByEmail("b@nbr.rw").orElseThrow().getPassword());
+	}
+
+	@Test
+	void aRefreshTokenIdIsOnlyReplacedOnce() {
+		UserModel user = userRepository.save(new UserModel(null, "c@nbr.rw", "$2a$04$hash", Role.ADMIN, null, null));
+		assertEquals(1, userRepository.updateRefreshTokenId(user.getId(), "$2a$04$hash", "first"));
+
+		assertEquals(1, userRepository.replaceRefreshTokenId(user.getId(), "first", "second"));
+		// a second use of the first token, e.g. a replay or a concurrent refresh
+		assertEquals(0, userRepository.replaceRefreshTokenId(user.getId(), "first", "third"));
+		// logout
+		assertEquals(1, userRepository.replaceRefreshTokenId(user.getId(), "second", null));
+
+		entityManager.clear();
+		assertNull(userRepository.findByEmail("c@nbr.rw").orElseThrow().getRefreshTokenId());
+	}
+
+	@Test
+	void loginDoesNotStoreARefreshTokenAfterThePasswordChanged() {
+		UserModel user = userRepository.save(new UserModel(null, "d@nbr.rw", "!", Role.ADMIN, null, null));
+
+		assertEquals(0, userRepository.updateRefreshTokenId(user.getId(), "$2a$04$hash", "first"));
+	}
+}
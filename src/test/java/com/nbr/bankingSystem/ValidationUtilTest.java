@@ -0,0 +1,63 @@
+package com.nbr.bankingSystem;
+
+import com.nbr.bankingsystem.utils.ValidationUtil;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ValidationUtilTest {
+
+	@Test
+	void acceptsValidMobiles() {
+		assertTrue(ValidationUtil.isValidMobile("0781234567"));
+		assertTrue(ValidationUtil.isValidMobile("0721234567"));
+		assertFalse(ValidationUtil.isValidMobile("0751234567"));
+		assertFalse(ValidationUtil.isValidMobile("078123456"));
+		assertFalse(ValidationUtil.isValidMobile("078123456a"));
+		assertFalse(ValidationUtil.isValidMobile(null));
+	}
+
+	@Test
+	void acceptsValidEmails() {
+		assertTrue(ValidationUtil.isValidEmail("jane.doe@bank.rw"));
+		assertTrue(ValidationUtil.isValidEmail("jane_doe-1@mail.bank.info"));
+		assertFalse(ValidationUtil.isValidEmail("jane@bank"));
+		assertFalse(ValidationUtil.isValidEmail("jane@bank.r"));
+		assertFalse(ValidationUtil.isValidEmail("jane@bank.rwand"));
+		assertFalse(ValidationUtil.isValidEmail("jane@@bank.rw"));
+		assertFalse(ValidationUtil.isValidEmail("@bank.rw"));
+		assertFalse(ValidationUtil.isValidEmail("jane@bank..rw"));
+		assertFalse(ValidationUtil.isValidEmail("jane doe@bank.rw"));
+	}
+
+	@Test
+	void parsesIsoDates() {
+		assertEquals(LocalDate.of(2000, 2, 29), ValidationUtil.parseIsoDate("2000-02-29"));
+		assertNull(ValidationUtil.parseIsoDate("2001-02-29"));
+		assertNull(ValidationUtil.parseIsoDate("2001-13-01"));
+		assertNull(ValidationUtil.parseIsoDate("2001-1-01"));
+		assertNull(ValidationUtil.parseIsoDate("01/01/2001"));
+	}
+
+	@Test
+	void rejectsAdversarialInputsInLinearTime() {
+		String domain = "a.".repeat(50_000) + "!";
+		String localPart = "a".repeat(100_000) + "@";
+		String mobile = "078" + "1".repeat(100_000);
+
+		assertTimeoutPreemptively(Duration.ofMillis(500), () -> {
+			assertFalse(ValidationUtil.isValidEmail("jane@" + domain));
+			assertFalse(ValidationUtil.isValidEmail("jane@" + "a.".repeat(120) + "!"));
+			assertFalse(ValidationUtil.isValidEmail(localPart));
+			assertFalse(ValidationUtil.isValidMobile(mobile));
+			assertFalse(ValidationUtil.isValidIsoDate(mobile));
+		});
+	}
+}
@@ -0,0 +1,70 @@
+package com.nbr.bankingSystem.benchmarks;
+
+import com.nbr.bankingsystem.DTO.CustomerResponseDTO;
+import com.nbr.bankingsystem.DTO.CustomerSearchHitDTO;
+import com.nbr.bankingsystem.search.CustomerSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search latency of CustomerSearchIndex over 100,000 customers with generated names, for a rare name,
+ * a name with a typo, a common email domain, a mobile number prefix and a two character prefix.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class CustomerSearchBenchmark {
+
+	private static final String[] SYLLABLES = {"ka", "mu", "ne", "ri", "to", "sa", "la", "mi", "go", "be", "zu", "di", "wa", "ye"};
+	private static final String[] DOMAINS = {"gmail.com", "yahoo.com", "bank.rw", "mail.rw"};
+
+	@Param({"zanele", "mukamna", "gmail.com", "078123", "ka"})
+	private String query;
+
+	private CustomerSearchIndex index;
+
+	@Setup
+	public void setUp() {
+		index = new CustomerSearchIndex();
+		SplittableRandom random = new SplittableRandom(7);
+		for (long id = 1; id <= 100_000; id++) {
+			String firstName = name(random);
+			String lastName = name(random);
+			index.put(new CustomerResponseDTO(id, firstName, lastName,
+					firstName + "." + lastName + id + "@" + DOMAINS[random.nextInt(DOMAINS.length)],
+					"078" + (1_000_000 + random.nextInt(9_000_000)), "ACC" + id, 0.0, null, null, null));
+		}
+		index.put(new CustomerResponseDTO(100_001L, "Zanele", "Mukamana", "zanele@bank.rw", "0780000001", "ACC100001",
+				0.0, null, null, null));
+	}
+
+	@Benchmark
+	public List<CustomerSearchHitDTO> search() {
+		return index.search(query, 20);
+	}
+
+	private static String name(SplittableRandom random) {
+		StringBuilder name = new StringBuilder();
+		for (int i = 2 + random.nextInt(3); i > 0; i--) {
+			name.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+		}
+		name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+		return name.toString();
+	}
+}
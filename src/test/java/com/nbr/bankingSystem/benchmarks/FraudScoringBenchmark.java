@@ -0,0 +1,67 @@
+package com.nbr.bankingSystem.benchmarks;
+
+import com.nbr.bankingsystem.config.fraud.FraudProperties;
+import com.nbr.bankingsystem.enums.TransactionType;
+import com.nbr.bankingsystem.fraud.CustomerProfiles;
+import com.nbr.bankingsystem.fraud.FraudScore;
+import com.nbr.bankingsystem.fraud.FraudScorer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Events scored per second by FraudScorer, on profiles warmed up with ten transactions per customer.
+ * Every event is a transfer between random customers at a random amount, so profile lookups miss the
+ * CPU caches as they would with real traffic.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FraudScoringBenchmark {
+
+	@Param({"10000", "1000000"})
+	private int customers;
+
+	private FraudScorer scorer;
+	private SplittableRandom random;
+	private long now;
+
+	@Setup
+	public void setUp() {
+		scorer = new FraudScorer(new CustomerProfiles(customers), new FraudProperties());
+		random = new SplittableRandom(42);
+		for (int i = 0; i < 10; i++) {
+			for (long customerId = 1; customerId <= customers; customerId++) {
+				scorer.learn(customerId, amount(), randomCustomer());
+			}
+		}
+	}
+
+	@Benchmark
+	public FraudScore score() {
+		now += 10;
+		return scorer.score(randomCustomer(), TransactionType.TRANSFER, amount(), randomCustomer(), now);
+	}
+
+	private long randomCustomer() {
+		return random.nextLong(1, customers + 1L);
+	}
+
+	private double amount() {
+		return Math.exp(random.nextDouble(5, 12));
+	}
+}
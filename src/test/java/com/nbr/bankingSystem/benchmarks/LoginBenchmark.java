@@ -0,0 +1,104 @@
+package com.nbr.bankingSystem.benchmarks;
+
+import com.nbr.bankingsystem.config.security.PasswordHashingProperties;
+import com.nbr.bankingsystem.exceptions.PasswordHashingBusyException;
+import com.nbr.bankingsystem.services.impl.PasswordHashingServiceImpl;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password verification during a login storm: 16 request threads verifying at once, either inline on the
+ * request thread as before or through PasswordHashingServiceImpl. The pool verifies about as many passwords
+ * per second, since BCrypt is CPU bound, but once `queueCapacity` logins are waiting it answers the excess
+ * with an immediate rejection instead of keeping every request thread busy; the verified and rejected
+ * counters show the split. A rejected client waits 100 ms, a tenth of the Retry-After it is sent, before
+ * its next login. `inline` does not depend on `queueCapacity`.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 5)
+@Threads(16)
+@Fork(1)
+public class LoginBenchmark {
+
+	private static final String PASSWORD = "correct horse battery staple";
+
+	@Param({"10"})
+	private int strength;
+
+	@Param({"64", "4"})
+	private int queueCapacity;
+
+	private BCryptPasswordEncoder encoder;
+	private PasswordHashingServiceImpl hashingService;
+	private String hash;
+
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class Outcome {
+
+		public long verified;
+		public long rejected;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			verified = 0;
+			rejected = 0;
+		}
+	}
+
+	@Setup
+	public void setUp() {
+		encoder = new BCryptPasswordEncoder(strength);
+		hash = encoder.encode(PASSWORD);
+		PasswordHashingProperties properties = new PasswordHashingProperties();
+		properties.setQueueCapacity(queueCapacity);
+		hashingService = new PasswordHashingServiceImpl(encoder, properties);
+	}
+
+	@TearDown
+	public void tearDown() {
+		hashingService.shutdown();
+	}
+
+	@Benchmark
+	public void inline(Outcome outcome) {
+		if (encoder.matches(PASSWORD, hash)) {
+			outcome.verified++;
+		}
+	}
+
+	@Benchmark
+	public void pooled(Outcome outcome) throws InterruptedException {
+		try {
+			if (hashingService.matchesAsync(PASSWORD, hash).join()) {
+				outcome.verified++;
+			}
+		} catch (CompletionException e) {
+			if (!(e.getCause() instanceof PasswordHashingBusyException)) {
+				throw e;
+			}
+			outcome.rejected++;
+			TimeUnit.MILLISECONDS.sleep(100);
+		}
+	}
+}
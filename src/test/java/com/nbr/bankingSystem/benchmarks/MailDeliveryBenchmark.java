@@ -0,0 +1,93 @@
+package com.nbr.bankingSystem.benchmarks;
+
+import com.nbr.bankingSystem.FakeSmtpServer;
+import com.nbr.bankingsystem.config.mail.MailTransportProperties;
+import com.nbr.bankingsystem.notifications.mail.SmtpTransportPool;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emails per second against a local FakeSmtpServer: one connection per message through JavaMailSenderImpl,
+ * as MessagingServiceImpl sent them before, against batches of 20 over a connection of SmtpTransportPool.
+ * `replyDelayMillis` delays every server reply to stand in for the round trip to a real server; the TLS
+ * handshake and AUTH a real connection also costs are not simulated, so the gain is a lower bound.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 4, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MailDeliveryBenchmark {
+
+	private static final int BATCH_SIZE = 20;
+
+	@Param({"0", "1"})
+	private long replyDelayMillis;
+
+	private FakeSmtpServer server;
+	private JavaMailSenderImpl mailSender;
+	private SmtpTransportPool pool;
+	private List<MimeMessage> batch;
+
+	@Setup
+	public void setUp() throws Exception {
+		server = new FakeSmtpServer(replyDelayMillis);
+		mailSender = new JavaMailSenderImpl();
+		mailSender.setHost("localhost");
+		mailSender.setPort(server.port());
+		pool = new SmtpTransportPool(mailSender, new MailTransportProperties(), new SimpleMeterRegistry());
+
+		batch = new ArrayList<>(BATCH_SIZE);
+		for (int i = 0; i < BATCH_SIZE; i++) {
+			batch.add(message(i));
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		pool.close();
+		server.close();
+	}
+
+	@Benchmark
+	public void connectionPerMessage() {
+		mailSender.send(batch.get(0));
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public int pooledBatch() throws MessagingException, InterruptedException {
+		return pool.sendAll(batch);
+	}
+
+	private MimeMessage message(int i) throws MessagingException {
+		MimeMessage message = pool.createMessage();
+		message.setFrom(new InternetAddress("bank@nbr.rw"));
+		message.setRecipient(Message.RecipientType.TO, new InternetAddress("customer" + i + "@nbr.rw"));
+		message.setSubject("National Bank of Rwanda - Account Transactions");
+		message.setText("Dear Alice Uwase,\n\nYour saving of 1500 RWF on your account ACC-1 has been completed successfully.");
+		return message;
+	}
+}
@@ -0,0 +1,81 @@
+package com.nbr.bankingSystem.benchmarks;
+
+import com.nbr.bankingsystem.exceptions.InsufficientBalanceException;
+import com.nbr.bankingsystem.exceptions.ResourceNotFoundException;
+import com.nbr.bankingsystem.responses.Response;
+import com.nbr.bankingsystem.utils.ExceptionHandlerUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.CompilerControl;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Time per rejection, thrown `depth` frames below the handler as they would be from a service behind
+ * the Spring MVC and security filter stack: an exception that captures its stack trace, as business
+ * rejections used to, against a new stackless BusinessException and a preallocated shared one.
+ * `sharedToResponse` adds the mapping by ExceptionHandlerUtil to an HTTP response.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RejectionBenchmark {
+
+	@Param({"10", "100"})
+	private int depth;
+
+	@Benchmark
+	public String withStackTrace() {
+		return reject(() -> new IllegalStateException("Customer not found with email: jane.doe@mail.bank.rw"));
+	}
+
+	@Benchmark
+	public String stackless() {
+		return reject(() -> new ResourceNotFoundException("Customer not found with email: jane.doe@mail.bank.rw"));
+	}
+
+	@Benchmark
+	public String shared() {
+		return reject(() -> InsufficientBalanceException.FOR_WITHDRAWAL);
+	}
+
+	@Benchmark
+	public ResponseEntity<Response> sharedToResponse() {
+		try {
+			throwAt(depth, () -> InsufficientBalanceException.FOR_WITHDRAWAL);
+			return null;
+		} catch (RuntimeException e) {
+			return ExceptionHandlerUtil.toResponse(e);
+		}
+	}
+
+	private String reject(Supplier<RuntimeException> rejection) {
+		try {
+			throwAt(depth, rejection);
+			return null;
+		} catch (RuntimeException e) {
+			return e.getMessage();
+		}
+	}
+
+	@CompilerControl(CompilerControl.Mode.DONT_INLINE)
+	private static void throwAt(int depth, Supplier<RuntimeException> rejection) {
+		if (depth == 0) {
+			throw rejection.get();
+		}
+		throwAt(depth - 1, rejection);
+	}
+}
@@ -0,0 +1,104 @@
+package com.nbr.bankingSystem.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.nbr.bankingsystem.DTO.CustomerResponseDTO;
+import com.nbr.bankingsystem.DTO.TransactionResponseDTO;
+import com.nbr.bankingsystem.config.web.JacksonConfig;
+import com.nbr.bankingsystem.enums.CurrencyCode;
+import com.nbr.bankingsystem.enums.ResponseType;
+import com.nbr.bankingsystem.enums.TransactionType;
+import com.nbr.bankingsystem.responses.Response;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of the hot responses into a reused output buffer: a page of 50 transactions and a single
+ * customer, by an ObjectMapper with the modules of JacksonConfig against one with only the bean serializer,
+ * both configured for dates as Spring Boot does. The two produce the same JSON.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+	@Param({"transactions", "customer"})
+	private String payload;
+
+	private ObjectMapper beanSerializer;
+	private ObjectMapper jacksonConfig;
+	private Response response;
+	private final ByteArrayOutputStream out = new ByteArrayOutputStream(16 * 1024);
+
+	@Setup
+	public void setUp() throws IOException {
+		beanSerializer = mapper();
+		JacksonConfig config = new JacksonConfig();
+		jacksonConfig = mapper().registerModule(config.blackbirdModule()).registerModule(config.responseSerializersModule());
+
+		Object body = "transactions".equals(payload) ? transactions(50) : customer();
+		response = new Response().setResponseType(ResponseType.SUCCESS).setMessage("Fetched").setPayload(body);
+
+		if (!beanSerializer.writeValueAsString(response).equals(jacksonConfig.writeValueAsString(response))) {
+			throw new IllegalStateException("the serializers disagree on " + payload);
+		}
+	}
+
+	@Benchmark
+	public int beanSerializer() throws IOException {
+		out.reset();
+		beanSerializer.writeValue(out, response);
+		return out.size();
+	}
+
+	@Benchmark
+	public int jacksonConfig() throws IOException {
+		out.reset();
+		jacksonConfig.writeValue(out, response);
+		return out.size();
+	}
+
+	private static ObjectMapper mapper() {
+		return new ObjectMapper()
+				.registerModule(new JavaTimeModule())
+				.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+	}
+
+	private static List<TransactionResponseDTO> transactions(int count) {
+		LocalDateTime start = LocalDateTime.of(2026, 3, 2, 9, 30);
+		List<TransactionResponseDTO> transactions = new ArrayList<>(count);
+		for (long id = 1; id <= count; id++) {
+			boolean transfer = id % 3 == 0;
+			transactions.add(new TransactionResponseDTO(id, 42L, "RW-0000-4242", 12_500.0 + id, CurrencyCode.RWF,
+					transfer ? 0.00077 : null, transfer ? TransactionType.TRANSFER : TransactionType.SAVING,
+					transfer ? 7L : null, start.plusMinutes(id).plusNanos(id % 2 == 0 ? 0 : 125_000_000)));
+		}
+		return transactions;
+	}
+
+	private static CustomerResponseDTO customer() {
+		return new CustomerResponseDTO(42L, "Jane", "Uwase", "jane.uwase@mail.bank.rw", "0788123456", "RW-0000-4242",
+				1_250_000.0, CurrencyCode.RWF, new Date(631152000000L), LocalDateTime.of(2026, 3, 2, 9, 30));
+	}
+}
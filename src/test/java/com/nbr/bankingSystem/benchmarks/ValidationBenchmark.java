@@ -0,0 +1,52 @@
+package com.nbr.bankingSystem.benchmarks;
+
+import com.nbr.bankingsystem.utils.ValidationUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Email validation by ValidationUtil against the regex it replaced, on a valid address and on an input
+ * built to make the regex backtrack, kept under the 254 character cap of ValidationUtil.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+	private static final Pattern OLD_EMAIL_PATTERN = Pattern.compile("^[\\w-\\.]+@([\\w-]+\\.)+[\\w-]{2,4}$");
+
+	@Param({"valid", "adversarial"})
+	private String input;
+
+	private String email;
+
+	@Setup
+	public void setUp() {
+		email = "valid".equals(input) ? "jane.doe@mail.bank.rw" : "jane@" + "a.".repeat(120) + "!";
+	}
+
+	@Benchmark
+	public boolean validationUtil() {
+		return ValidationUtil.isValidEmail(email);
+	}
+
+	@Benchmark
+	public boolean regex() {
+		return OLD_EMAIL_PATTERN.matcher(email).matches();
+	}
+}
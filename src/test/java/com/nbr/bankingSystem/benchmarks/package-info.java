@@ -0,0 +1,9 @@
+/**
+ * JMH benchmarks of the hot paths. They are compiled with the tests but never run by them; to run one:
+ *
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.includeScope=test -Dmdep.outputFile=target/test.classpath
+ * java -cp target/test-classes:target/classes:$(cat target/test.classpath) org.openjdk.jmh.Main ValidationBenchmark
+ * </pre>
+ */
+package com.nbr.bankingSystem.benchmarks;